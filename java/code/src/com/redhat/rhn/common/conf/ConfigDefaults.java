@@ -21,6 +21,7 @@ import com.redhat.rhn.manager.content.ContentSyncManager;
 import org.apache.commons.lang3.StringUtils;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -214,6 +215,7 @@ public class ConfigDefaults {
      * Taskomatic defaults
      */
     private static final String TASKOMATIC_CHANNEL_REPODATA_WORKERS = "java.taskomatic_channel_repodata_workers";
+    private static final String REPOMD_COMPRESSION_THREADS = "java.repomd_compression_threads";
 
     /**
      * HTTP proxy defaults
@@ -234,6 +236,10 @@ public class ConfigDefaults {
     public static final String PRODUCT_TREE_TAG = "java.product_tree_tag";
 
     public static final String MESSAGE_QUEUE_THREAD_POOL_SIZE = "java.message_queue_thread_pool_size";
+    public static final String MESSAGE_QUEUE_SHARDS = "java.message_queue_shards";
+
+    public static final String API_SESSION_CACHE_SIZE = "java.api_session_cache_size";
+    public static final String DOWNLOAD_CACHE_SIZE = "java.download_cache_size";
 
     public static final String CVE_AUDIT_ENABLE_OVAL_METADATA = "java.cve_audit.enable_oval_metadata";
 
@@ -335,6 +341,11 @@ public class ConfigDefaults {
      */
     public static final String SALT_EVENTS_PER_COMMIT = "java.salt_events_per_commit";
 
+    /**
+     * Maximum number of queued events of a minion looked at when coalescing redundant events, 0 to disable
+     */
+    public static final String SALT_EVENT_COALESCING_WINDOW = "java.salt_event_coalescing_window";
+
     /**
      * Single Sign-On associated config option name in rhn.conf
      */
@@ -391,6 +402,21 @@ public class ConfigDefaults {
      */
     public static final String RHUI_DEFAULT_ORG_ID = "java.rhui_default_org_id";
 
+    /**
+     * Number of rows fetched at once from the database when a query result is streamed
+     */
+    public static final String DB_STREAM_FETCH_SIZE = "java.db_stream_fetch_size";
+
+    /**
+     * Maximum number of statements sent to the database in a single JDBC batch
+     */
+    public static final String DB_BATCH_SIZE = "java.db_batch_size";
+
+    /**
+     * If true, the PostgreSQL driver rewrites batched INSERT statements into multi-row INSERTs
+     */
+    public static final String DB_REWRITE_BATCHED_INSERTS = "java.db_rewrite_batched_inserts";
+
     private ConfigDefaults() {
     }
 
@@ -885,8 +911,15 @@ public class ConfigDefaults {
         }
         connectionUrl.append(name);
 
+        List<String> options = new ArrayList<>();
         if (!"localhost".equals(host) && useSsl) {
-            connectionUrl.append("?ssl=true&sslrootcert=" + sslrootcert + "&sslmode=" + sslmode);
+            options.add("ssl=true&sslrootcert=" + sslrootcert + "&sslmode=" + sslmode);
+        }
+        if (isDbRewriteBatchedInserts()) {
+            options.add("reWriteBatchedInserts=true");
+        }
+        if (!options.isEmpty()) {
+            connectionUrl.append('?').append(String.join("&", options));
         }
 
         return connectionUrl.toString();
@@ -900,6 +933,15 @@ public class ConfigDefaults {
         return Config.get().getInt(TASKOMATIC_CHANNEL_REPODATA_WORKERS, 1);
     }
 
+    /**
+     * Returns the number of threads shared by all channel repodata workers for compressing metadata
+     * @return the number of repository metadata compression threads
+     */
+    public int getRepomdCompressionThreads() {
+        int defaultThreads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return Math.max(1, Config.get().getInt(REPOMD_COMPRESSION_THREADS, defaultThreads));
+    }
+
     /**
      * Gets the proxy host.
      * @return the proxy host
@@ -1087,6 +1129,16 @@ public class ConfigDefaults {
         return Config.get().getInt(SALT_EVENTS_PER_COMMIT, 1);
     }
 
+    /**
+     * Maximum number of queued events of a minion looked at when coalescing redundant events.
+     * Repeated events which only carry the latest state of a minion, like minion start or beacon events,
+     * are dropped in favour of the last one found within the window. 0 disables coalescing.
+     * @return the coalescing window
+     */
+    public int getSaltEventCoalescingWindow() {
+        return Config.get().getInt(SALT_EVENT_COALESCING_WINDOW, 20);
+    }
+
 
     /**
      * Returns the notifications type disabled.
@@ -1206,4 +1258,62 @@ public class ConfigDefaults {
     public boolean isOvalEnabledForCveAudit() {
         return Config.get().getBoolean(CVE_AUDIT_ENABLE_OVAL_METADATA, false);
     }
+
+    /**
+     * Returns the number of rows fetched at once from a database cursor when streaming query results
+     *
+     * @return the fetch size, always greater than 0
+     */
+    public int getDbStreamFetchSize() {
+        return Math.max(1, Config.get().getInt(DB_STREAM_FETCH_SIZE, 1000));
+    }
+
+    /**
+     * Returns the maximum number of statements sent to the database in a single JDBC batch
+     *
+     * @return the batch size, always greater than 0
+     */
+    public int getDbBatchSize() {
+        return Math.max(1, Config.get().getInt(DB_BATCH_SIZE, 1000));
+    }
+
+    /**
+     * Check if the PostgreSQL driver should rewrite batched INSERT statements into multi-row INSERTs.
+     * Update counts of rewritten batches are reported as {@link java.sql.Statement#SUCCESS_NO_INFO}.
+     *
+     * @return true if batched inserts are rewritten
+     */
+    public boolean isDbRewriteBatchedInserts() {
+        return Config.get().getBoolean(DB_REWRITE_BATCHED_INSERTS, false);
+    }
+
+    /**
+     * Returns the number of queues, each with its own dispatcher thread, the message queue distributes
+     * messages whose actions can run concurrently to. Messages of the same type always go to the same queue.
+     * Messages whose actions cannot run concurrently use one additional queue.
+     *
+     * @return the number of message queue shards, always greater than 0
+     */
+    public int getMessageQueueShards() {
+        return Math.max(1, Config.get().getInt(MESSAGE_QUEUE_SHARDS, 4));
+    }
+
+    /**
+     * Returns the maximum number of API sessions kept in the in-process session cache of each JVM.
+     *
+     * @return the session cache size, 0 if the cache is disabled
+     */
+    public int getApiSessionCacheSize() {
+        return Math.max(0, Config.get().getInt(API_SESSION_CACHE_SIZE, 10000));
+    }
+
+    /**
+     * Returns the maximum number of verified download tokens and channel access decisions kept in the
+     * in-process download cache of each JVM.
+     *
+     * @return the download cache size, 0 if the cache is disabled
+     */
+    public int getDownloadCacheSize() {
+        return Math.max(0, Config.get().getInt(DOWNLOAD_CACHE_SIZE, 10000));
+    }
 }
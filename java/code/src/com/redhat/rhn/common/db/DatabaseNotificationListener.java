@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2025 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.redhat.rhn.common.db;
+
+import com.redhat.rhn.common.conf.Config;
+import com.redhat.rhn.common.conf.ConfigDefaults;
+
+import com.impossibl.postgres.api.jdbc.PGConnection;
+import com.impossibl.postgres.api.jdbc.PGNotificationListener;
+import com.impossibl.postgres.jdbc.PGDataSource;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Base class of the in-process caches which are invalidated through PostgreSQL notifications.
+ *
+ * The listening connection is opened lazily and reopened at most every 30 seconds after a failure. Notifications
+ * sent while the connection is down are lost, so subclasses must clear their state in
+ * {@link #onMissedNotifications()} and must not use it while {@link #isListening()} returns false.
+ *
+ * An entry read from the database while a notification about it is processed must not be cached, or it would stay
+ * in the cache although it was invalidated. Callers take the generation with {@link #getGeneration()} before reading
+ * the database, and subclasses only cache the entry if no invalidation happened since, see {@link #isCurrent(long)}.
+ */
+public abstract class DatabaseNotificationListener implements PGNotificationListener {
+
+    private static final Logger LOG = LogManager.getLogger(DatabaseNotificationListener.class);
+
+    private static final long RECONNECT_INTERVAL = 30_000;
+
+    private final String[] channels;
+    private PGConnection connection;
+    private volatile boolean listening;
+    private long lastConnectionAttempt;
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Constructor
+     * @param channelsIn the notification channels to listen on
+     */
+    protected DatabaseNotificationListener(String... channelsIn) {
+        channels = channelsIn;
+    }
+
+    /**
+     * Returns the current invalidation generation, to be taken before reading an entry from the database.
+     * @return the generation
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Checks that nothing was invalidated since a generation was taken.
+     * @param generationIn the generation taken before reading the entry from the database
+     * @return true if the entry can be cached
+     */
+    protected boolean isCurrent(long generationIn) {
+        return generation.get() == generationIn;
+    }
+
+    /**
+     * Starts a new generation. Subclasses call this before removing anything from the cache.
+     */
+    protected void newGeneration() {
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Called when notifications may have been missed, i.e. when the listening connection is opened or lost.
+     */
+    protected abstract void onMissedNotifications();
+
+    /**
+     * Checks that the notification connection is up, trying to reconnect if needed.
+     * @return true if the notifications sent by other processes are received
+     */
+    protected boolean isListening() {
+        return listening || reconnect();
+    }
+
+    private synchronized boolean reconnect() {
+        if (listening) {
+            return true;
+        }
+        long now = System.currentTimeMillis();
+        if (now - lastConnectionAttempt < RECONNECT_INTERVAL) {
+            return false;
+        }
+        lastConnectionAttempt = now;
+        try {
+            connection = listen();
+            // notifications sent before are lost
+            onMissedNotifications();
+            listening = true;
+            return true;
+        }
+        catch (SQLException e) {
+            LOG.warn("Cannot listen on {}, the cache is bypassed: {}", String.join(", ", channels), e.getMessage());
+            return false;
+        }
+    }
+
+    private PGConnection listen() throws SQLException {
+        PGDataSource dataSource = new PGDataSource();
+        Config config = Config.get();
+        dataSource.setHost(config.getString(ConfigDefaults.DB_HOST));
+        dataSource.setPort(config.getInt(ConfigDefaults.DB_PORT));
+        dataSource.setDatabaseName(config.getString(ConfigDefaults.DB_NAME));
+        dataSource.setUser(config.getString(ConfigDefaults.DB_USER));
+        dataSource.setPassword(config.getString(ConfigDefaults.DB_PASSWORD));
+        dataSource.setSslMode("allow");
+        dataSource.setProtocolIoMode("nio");
+
+        PGConnection pgConnection = (PGConnection) dataSource.getConnection();
+        try (Statement stmt = pgConnection.createStatement()) {
+            for (String channel : channels) {
+                pgConnection.addNotificationListener(channel, this);
+                stmt.execute("LISTEN " + channel);
+            }
+        }
+        catch (SQLException e) {
+            pgConnection.close();
+            throw e;
+        }
+        return pgConnection;
+    }
+
+    @Override
+    public void closed() {
+        listening = false;
+        LOG.warn("Notification connection for {} was closed", String.join(", ", channels));
+        onMissedNotifications();
+    }
+}
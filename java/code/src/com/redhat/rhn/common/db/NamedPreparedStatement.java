@@ -17,20 +17,24 @@ package com.redhat.rhn.common.db;
 import com.redhat.rhn.common.db.datasource.DataResult;
 import com.redhat.rhn.common.translation.SqlExceptionTranslator;
 
+import java.math.BigDecimal;
 import java.sql.CallableStatement;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * Our own preparedStatement class.  RHN wants to use named bind variables,
  * but jdbc doesn't provide them.  This class takes a SQL query to be
  * prepared, and converts all named variables to "?".  It also keeps a hash
  * so that we can find the correct variable when trying to bind the correct
- * values.
+ * values. Collection values are bound as SQL arrays.
  *
  * This should extend PreparedStatement, but it isn't possible to get
  * OracleConnection to return a subclass of OraclePreparedStatement.
@@ -40,6 +44,16 @@ import java.util.Map;
  */
 public final class NamedPreparedStatement {
 
+    /** PostgreSQL element types used when binding collections as arrays */
+    private static final Map<Class<?>, String> ARRAY_TYPES = Map.of(
+            Long.class, "int8",
+            Integer.class, "int4",
+            Short.class, "int2",
+            BigDecimal.class, "numeric",
+            Double.class, "float8",
+            Boolean.class, "bool",
+            String.class, "text");
+
     // private constructor, because this is a static class.
     private NamedPreparedStatement() {
     }
@@ -189,7 +203,12 @@ public final class NamedPreparedStatement {
                 Integer pos = positions.next();
                 try {
                     Object value = map.get(name);
-                    ps.setObject(pos, value);
+                    if (value instanceof Collection<?> values) {
+                        setArray(ps, pos, values);
+                    }
+                    else {
+                        ps.setObject(pos, value);
+                    }
                 }
                 catch (SQLException e) {
                     throw SqlExceptionTranslator.sqlException(e);
@@ -198,6 +217,26 @@ public final class NamedPreparedStatement {
         }
     }
 
+    /**
+     * Binds a collection as SQL array, to be used with e.g. <code>= ANY(:ids)</code>.
+     * The array type is derived from the first element. Empty collections are sent
+     * untyped, so that the database infers the type from the query.
+     */
+    private static void setArray(PreparedStatement ps, int pos, Collection<?> values)
+        throws SQLException {
+        Object first = values.stream().filter(Objects::nonNull).findFirst().orElse(null);
+        if (first == null) {
+            ps.setObject(pos, "{}", Types.OTHER);
+            return;
+        }
+        String typeName = ARRAY_TYPES.get(first.getClass());
+        if (typeName == null) {
+            throw new IllegalArgumentException("Cannot bind a collection of " +
+                    first.getClass().getName() + " as array");
+        }
+        ps.setArray(pos, ps.getConnection().createArrayOf(typeName, values.toArray()));
+    }
+
     private static void setOutputVars(CallableStatement cs,
             Map<String, List<Integer>> parameterMap, Map<String, Integer> map) {
 
@@ -232,15 +271,52 @@ public final class NamedPreparedStatement {
      */
     public static int[] executeBatch(PreparedStatement ps,
             Map<String, List<Integer>> parameterMap, DataResult<Map<String, Object>> batch) {
+        return executeBatch(ps, parameterMap, batch, batch.size());
+    }
+
+    /**
+     * Execute the PreparedStatement using the given values for bind
+     * parameters in batch mode, sending at most batchSize commands to the
+     * database with each round trip.
+     * @param ps The PreparedStatement to execute
+     * @param parameterMap The Map returned setup by replaceBindParams
+     * @param batch The values to substitute for the named bind parameters
+     * @param batchSize maximum number of commands sent to the database at once
+     * @see java.sql.PreparedStatement#executeBatch()
+     * @return an array of update counts containing one element for each command in the batch.
+     *         Elements might be {@link java.sql.Statement#SUCCESS_NO_INFO} if the driver
+     *         rewrites the batch, e.g. when using reWriteBatchedInserts.
+     * @throws DatabaseException in case of SQL Exception
+     */
+    public static int[] executeBatch(PreparedStatement ps,
+            Map<String, List<Integer>> parameterMap, Collection<? extends Map<String, ?>> batch,
+            int batchSize) {
+        int maxPending = batchSize > 0 ? batchSize : Integer.MAX_VALUE;
+        int[] result = new int[batch.size()];
+        int executed = 0;
+        int pending = 0;
         try {
             for (Map<String, ?> parameters : batch) {
                 setVars(ps, parameterMap, parameters);
                 ps.addBatch();
+                pending++;
+                if (pending >= maxPending) {
+                    executed = copyCounts(ps.executeBatch(), result, executed);
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                copyCounts(ps.executeBatch(), result, executed);
             }
-            return ps.executeBatch();
+            return result;
         }
         catch (SQLException e) {
             throw SqlExceptionTranslator.sqlException(e);
         }
     }
+
+    private static int copyCounts(int[] counts, int[] result, int offset) {
+        System.arraycopy(counts, 0, result, offset, counts.length);
+        return offset + counts.length;
+    }
 }
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2025 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.redhat.rhn.common.db.datasource;
+
+import com.redhat.rhn.common.db.NamedPreparedStatement;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of SQL statements with their named bind parameters already replaced.
+ *
+ * Every mode returned by {@link ModeFactory} gets a fresh {@link CachedStatement}, which used
+ * to parse its SQL again with {@link NamedPreparedStatement#replaceBindParams(String, Map)}.
+ * Keeping the result keyed by the SQL text also keeps the text handed to the JDBC driver
+ * stable, which allows the driver to reuse its server side prepared statements.
+ */
+final class BoundSqlCache {
+
+    /** Maximum number of statements kept in the cache */
+    static final int MAX_SIZE = 2048;
+
+    private static final Map<String, BoundSql> CACHE = Collections.synchronizedMap(
+            new LinkedHashMap<String, BoundSql>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, BoundSql> eldest) {
+                    return size() > MAX_SIZE;
+                }
+            });
+
+    private BoundSqlCache() {
+    }
+
+    /**
+     * A SQL statement ready for JDBC, together with the positions of its named parameters.
+     * Instances are immutable and shared between all the statements using the same SQL.
+     */
+    static final class BoundSql implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String sql;
+        private final Map<String, List<Integer>> positions;
+
+        private BoundSql(String sqlIn, Map<String, List<Integer>> positionsIn) {
+            sql = sqlIn;
+            positions = positionsIn;
+        }
+
+        /**
+         * @return the SQL statement with all the named parameters replaced by '?'
+         */
+        String getSql() {
+            return sql;
+        }
+
+        /**
+         * @return the unmodifiable map of parameter names to their positions
+         */
+        Map<String, List<Integer>> getPositions() {
+            return positions;
+        }
+    }
+
+    /**
+     * Returns the given statement with the named parameters replaced, parsing it only if
+     * it is not already in the cache.
+     * @param rawSql the SQL statement with named bind parameters
+     * @return the bound statement
+     */
+    static BoundSql bind(String rawSql) {
+        BoundSql bound = CACHE.get(rawSql);
+        if (bound != null) {
+            QueryStatistics.recordCacheHit();
+            return bound;
+        }
+        QueryStatistics.recordCacheMiss();
+
+        Map<String, List<Integer>> positions = new HashMap<>();
+        String sql = NamedPreparedStatement.replaceBindParams(rawSql, positions);
+        positions.replaceAll((name, list) -> List.copyOf(list));
+        bound = new BoundSql(sql, Map.copyOf(positions));
+        CACHE.put(rawSql, bound);
+        return bound;
+    }
+
+    /**
+     * @return the number of statements currently cached
+     */
+    static int size() {
+        return CACHE.size();
+    }
+}
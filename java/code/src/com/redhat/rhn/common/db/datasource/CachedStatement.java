@@ -16,6 +16,7 @@ package com.redhat.rhn.common.db.datasource;
 
 import com.redhat.rhn.common.ObjectCreateWrapperException;
 import com.redhat.rhn.common.RhnRuntimeException;
+import com.redhat.rhn.common.conf.ConfigDefaults;
 import com.redhat.rhn.common.db.NamedPreparedStatement;
 import com.redhat.rhn.common.hibernate.HibernateHelper;
 import com.redhat.rhn.common.hibernate.HibernateRuntimeException;
@@ -39,6 +40,7 @@ import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
@@ -46,6 +48,11 @@ import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import javax.persistence.FlushModeType;
 
@@ -70,6 +77,19 @@ public class CachedStatement implements Serializable {
      */
     public static final int BATCH_SIZE = 500;
 
+    /**
+     * Name of the parameter which receives the values of the in clause as an array,
+     * for queries which use e.g. <code>= ANY(:in_clause)</code> instead of
+     * <code>IN (%s)</code>. Such queries run as one single, stable prepared statement
+     * regardless of the number of values. The parameter has to be listed in the params
+     * of the query.
+     */
+    public static final String IN_CLAUSE_PARAM = "in_clause";
+
+    private static final String PAGE_FILTER_PARAM = "page_filter";
+    private static final String PAGE_LIMIT_PARAM = "page_limit";
+    private static final String PAGE_OFFSET_PARAM = "page_offset";
+
     /*
      * This is the original config for this query as specified in the mode query
      * xml file. It is intended to be immutable.
@@ -97,6 +117,12 @@ public class CachedStatement implements Serializable {
     private RestartData restartData = null;
     private Session session = null;
 
+    // true once the named bind parameters in sqlStatement have been replaced
+    private boolean parametersBound = false;
+
+    // key used to record the execution statistics of this statement
+    private String statisticsKey;
+
     // We could (and probably should) cache the ResultSet metadata here as
     // well. There is no reason that the first call to each statement
     // couldn't do the work to determine what is returned.
@@ -113,6 +139,7 @@ public class CachedStatement implements Serializable {
         this.params = new ArrayList<>(parsedQuery.getParameterList());
         this.sqlStatement = parsedQuery.getSqlStatement();
         this.session = sessionIn;
+        this.statisticsKey = name;
     }
 
     /**
@@ -129,6 +156,7 @@ public class CachedStatement implements Serializable {
         parentStatement = orig;
         this.name = newName;
         this.params = paramsIn;
+        this.statisticsKey = orig.statisticsKey;
     }
 
     /**
@@ -156,6 +184,23 @@ public class CachedStatement implements Serializable {
         return name;
     }
 
+    /**
+     * Set the key used to record the execution statistics of this statement,
+     * typically the name of the query file and of the mode.
+     * @param key the statistics key
+     */
+    public void setStatisticsKey(String key) {
+        statisticsKey = key;
+    }
+
+    /**
+     * Get the key used to record the execution statistics of this statement
+     * @return the statistics key
+     */
+    public String getStatisticsKey() {
+        return statisticsKey;
+    }
+
     /**
      * Get the query string
      * @return the query string
@@ -224,6 +269,20 @@ public class CachedStatement implements Serializable {
         sqlStatement = sqlStatement.replace(replaceToken, replacementString);
     }
 
+    /**
+     * Replaces the named bind parameters of the statement with '?' and records their
+     * positions. The result is shared through the {@link BoundSqlCache}, so each distinct
+     * SQL statement is parsed only once.
+     */
+    private void bindParameters() {
+        if (!parametersBound) {
+            BoundSqlCache.BoundSql bound = BoundSqlCache.bind(sqlStatement);
+            sqlStatement = bound.getSql();
+            qMap = bound.getPositions();
+            parametersBound = true;
+        }
+    }
+
     int executeUpdate(Map<String, ?> parameters) {
         return executeUpdate(parameters, null);
     }
@@ -233,51 +292,191 @@ public class CachedStatement implements Serializable {
     }
 
     /**
-     * Executes multiple updates with one only prepared statement.
+     * Executes multiple updates with one only prepared statement. The updates
+     * are sent to the database in JDBC batches of the configured batch size.
      *
      * @param parameterList a list of parameter maps
      * @return a list of affected rows counts
      */
     List<Integer> executeUpdates(List<Map<String, Object>> parameterList) {
-        return doWithStolenConnection(connection -> {
-            try {
-                List<Integer> result = new ArrayList<>(parameterList.size());
+        int[] counts = executeBatchUpdates(parameterList, ConfigDefaults.get().getDbBatchSize());
+        return Arrays.stream(counts).boxed().collect(Collectors.toList());
+    }
 
-                sqlStatement = NamedPreparedStatement.replaceBindParams(sqlStatement, qMap);
-                for (Map<String, Object> parameters : parameterList) {
-                    result.add((Integer) execute(connection, sqlStatement, qMap, parameters,
-                            null, null));
-                }
-                return result;
+    <T> DataResult<T> execute(Map<String, ?> parameters, Mode mode) {
+        return internalExecute(parameters, null, mode);
+    }
+
+    <T> DataResult<T> execute(List<?> parameters, Mode mode) {
+        return internalExecute(null, parameters, mode);
+    }
+
+    <T> DataResult<T> execute(Map<String, ?> parameters, List<?> inClause,
+            Mode mode) {
+        return internalExecute(parameters, inClause, mode);
+    }
+
+    /**
+     * Executes the query on a server side cursor and returns the rows lazily. The rows are
+     * fetched and elaborated in chunks of fetchSize, so memory usage does not depend on the
+     * size of the result. The returned stream must be closed by the caller and must be
+     * consumed before the current transaction ends.
+     * @param parameters the query parameters, also used for the elaborators
+     * @param mode the mode which owns this query
+     * @param fetchSize the number of rows to fetch from the database at once
+     * @param <T> the type of the returned items
+     * @return a stream of the query results
+     */
+    @SuppressWarnings("unchecked")
+    <T> Stream<T> executeStream(Map<String, ?> parameters, SelectMode mode, int fetchSize) {
+        bindParameters();
+        if (sqlStatement.contains("%s")) {
+            throw new IllegalArgumentException("Query " + getName() +
+                    " contains an IN clause and cannot be streamed");
+        }
+
+        CursorIterator<T> iterator = doWithStolenConnection(connection -> {
+            if (log.isDebugEnabled()) {
+                log.debug("executeStream() - Executing: {}", sqlStatement);
+                log.debug("executeStream() - With: {}", parameters);
+            }
+            PreparedStatement ps = null;
+            try {
+                ps = prepareStatement(connection, sqlStatement, mode);
+                // the PostgreSQL driver only uses a cursor if a fetch size is given
+                ps.setFetchSize(fetchSize);
+                NamedPreparedStatement.execute(ps, qMap, setupParamMap(parameters));
+                ResultSet rs = ps.getResultSet();
+                List<String> columns = getColumnNames(rs.getMetaData());
+                String className = mode.getClassString();
+                return new CursorIterator<>(ps, rs, row -> createRow(columns, row, className),
+                        mode, parameters, fetchSize);
             }
             catch (SQLException e) {
+                HibernateHelper.cleanupDB(ps);
                 throw SqlExceptionTranslator.sqlException(e);
             }
-            catch (HibernateException he) {
-                throw new
-                    HibernateRuntimeException(
-                        "HibernateException executing CachedStatement", he);
-
-            }
-            catch (RhnRuntimeException e) {
-                log.error("Error while processing cached statement sql: {}", getQuery(), e);
+            catch (RuntimeException e) {
+                HibernateHelper.cleanupDB(ps);
+                log.error("Error while processing cached statement sql: {}", sqlStatement, e);
                 throw e;
             }
         });
+
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(iterator::close);
     }
 
+    /**
+     * Executes the query for one page of its results. The driving query is wrapped in a sub-select which
+     * filters, sorts and limits its rows, so only the rows of the page are transferred. The page is not
+     * elaborated. The restart data is the one of the complete query, e.g. for exporting the whole list.
+     * @param parameters the query parameters
+     * @param mode the mode which owns this query
+     * @param page the page to return
+     * @param <T> the type of the returned items
+     * @return the rows of the page. The total size is the number of rows matching the filter, the unfiltered
+     * size the number of rows of the driving query. If the offset is past the last matching row, the last
+     * page is returned.
+     */
+    <T> DataResult<T> executePage(Map<String, ?> parameters, SelectMode mode, PageRequest page) {
+        String sql = protoQuery.getSqlStatement();
+        if (sql.contains("%s")) {
+            throw new IllegalArgumentException("Query " + getName() +
+                    " contains an IN clause and cannot be paged");
+        }
+        storeForRestart(parameters, null, mode);
 
-    <T> DataResult<T> execute(Map<String, ?> parameters, Mode mode) {
-        return internalExecute(parameters, null, mode);
+        Map<String, Object> pageParameters = parameters == null ? new HashMap<>() : new HashMap<>(parameters);
+        List<String> pageParams = new ArrayList<>(params);
+        String condition = "TRUE";
+        if (page.hasFilter()) {
+            condition = "strpos(lower(page_q." + page.filterColumn() + "::text), :" + PAGE_FILTER_PARAM + ") > 0";
+            pageParameters.put(PAGE_FILTER_PARAM, page.filterValue().toLowerCase());
+            pageParams.add(PAGE_FILTER_PARAM);
+        }
+        String from = " FROM (" + sql + ") page_q ";
+
+        CachedStatement count = derivedStatement(getName() + "_count", pageParams,
+                "SELECT count(*) AS unfiltered, count(*) FILTER (WHERE " + condition + ") AS matching" + from);
+        long[] sizes = count.executeCount(pageParameters);
+        int matching = (int) sizes[1];
+
+        int offset = page.offset();
+        if (offset >= matching) {
+            offset = matching == 0 ? 0 : (matching - 1) / page.limit() * page.limit();
+        }
+        pageParameters.put(PAGE_LIMIT_PARAM, page.limit());
+        pageParameters.put(PAGE_OFFSET_PARAM, offset);
+        pageParams.add(PAGE_LIMIT_PARAM);
+        pageParams.add(PAGE_OFFSET_PARAM);
+        String order = page.ascending() ? " ASC NULLS FIRST" : " DESC NULLS LAST";
+        CachedStatement rows = derivedStatement(getName() + "_page", pageParams,
+                "SELECT page_q.*" + from + "WHERE " + condition +
+                " ORDER BY page_q." + page.sortColumn() + order + ", page_q." + page.keyColumn() +
+                " LIMIT :" + PAGE_LIMIT_PARAM + " OFFSET :" + PAGE_OFFSET_PARAM);
+
+        DataResult<T> dr = rows.internalExecuteNoSubClause(pageParameters, mode);
+        dr.setStart(offset + 1);
+        dr.setEnd(offset + dr.size());
+        dr.setTotalSize(matching);
+        dr.setUnfilteredSize((int) sizes[0]);
+        dr.setFilter(page.hasFilter());
+        dr.setFilterData(page.filterValue());
+        return dr;
     }
 
-    <T> DataResult<T> execute(List<?> parameters, Mode mode) {
-        return internalExecute(null, parameters, mode);
+    /**
+     * Creates a statement which runs a different SQL statement with the parameters of this query.
+     */
+    private CachedStatement derivedStatement(String newName, List<String> newParams, String sql) {
+        CachedStatement cs = new CachedStatement(session, newName, protoQuery, newParams, this);
+        cs.sqlStatement = sql;
+        return cs;
     }
 
-    <T> DataResult<T> execute(Map<String, ?> parameters, List<?> inClause,
-            Mode mode) {
-        return internalExecute(parameters, inClause, mode);
+    /**
+     * Executes a statement returning the two counts 'unfiltered' and 'matching'.
+     */
+    private long[] executeCount(Map<String, ?> parameters) {
+        bindParameters();
+        return doWithStolenConnection(connection -> {
+            PreparedStatement ps = null;
+            ResultSet rs = null;
+            try {
+                ps = connection.prepareStatement(sqlStatement);
+                NamedPreparedStatement.execute(ps, qMap, setupParamMap(parameters));
+                rs = ps.getResultSet();
+                rs.next();
+                return new long[] {rs.getLong("unfiltered"), rs.getLong("matching")};
+            }
+            catch (SQLException e) {
+                throw SqlExceptionTranslator.sqlException(e);
+            }
+            finally {
+                HibernateHelper.cleanupDB(rs, ps);
+            }
+        });
+    }
+
+    /**
+     * Creates the object of a driving query for the current row of the result set.
+     */
+    private Object createRow(List<String> columns, ResultSet rs, String className) throws SQLException {
+        if (className == null || className.equals("java.util.Map")) {
+            Row row = new Row();
+            addToMap(columns, rs, row, -1);
+            return row;
+        }
+        try {
+            Object obj = Class.forName(className).getDeclaredConstructor().newInstance();
+            addToObject(columns, rs, obj, false);
+            return obj;
+        }
+        catch (ReflectiveOperationException e) {
+            throw new ObjectCreateWrapperException("Could not create " + className, e);
+        }
     }
 
     private Integer internalExecuteUpdateNoSubClause(Map<String, ?> parameters, Mode mode) {
@@ -290,19 +489,22 @@ public class CachedStatement implements Serializable {
 
     private <T> DataResult<T> internalExecuteNoSubClause(Map<String, ?> parameters, Mode mode) {
         storeForRestart(parameters, null, mode);
-        this.sqlStatement = NamedPreparedStatement.replaceBindParams(sqlStatement, qMap);
+        bindParameters();
         Object resultObj = executeChecking(sqlStatement, qMap, parameters, mode, null);
         Class<DataResult<T>> drClazz = (Class<DataResult<T>>)(Class<?>) DataResult.class;
         if (drClazz.isAssignableFrom(resultObj.getClass())) {
-            return drClazz.cast(executeChecking(sqlStatement, qMap, parameters, mode, null));
+            return drClazz.cast(resultObj);
         }
         return new DataResult<>(mode);
     }
 
     private int internalExecuteUpdate(Map<String, ?> parameters, List<?> inClause, Mode mode) {
         storeForRestart(parameters, inClause, mode);
-        this.sqlStatement = NamedPreparedStatement.replaceBindParams(sqlStatement, qMap);
+        bindParameters();
 
+        if (usesInClauseArray(inClause)) {
+            return internalExecuteUpdateNoSubClause(withInClauseArray(parameters, inClause), mode);
+        }
         if (sqlStatement.contains("%s")) {
             int returnInt = 0;
 
@@ -345,8 +547,14 @@ public class CachedStatement implements Serializable {
     private <T> DataResult<T> internalExecute(Map<String, ?> parameters, List<?> inClause, Mode mode) {
 
         storeForRestart(parameters, inClause, mode);
-        this.sqlStatement = NamedPreparedStatement.replaceBindParams(sqlStatement, qMap);
+        bindParameters();
 
+        if (usesInClauseArray(inClause)) {
+            if (inClause.isEmpty()) {
+                return new DataResult<>(mode);
+            }
+            return internalExecuteNoSubClause(withInClauseArray(parameters, inClause), mode);
+        }
         if (sqlStatement.contains("%s")) {
             if (inClause == null || inClause.isEmpty()) {
                 return new DataResult<>(mode);
@@ -373,6 +581,16 @@ public class CachedStatement implements Serializable {
         }
     }
 
+    private boolean usesInClauseArray(List<?> inClause) {
+        return inClause != null && params.contains(IN_CLAUSE_PARAM);
+    }
+
+    private Map<String, ?> withInClauseArray(Map<String, ?> parameters, List<?> inClause) {
+        Map<String, Object> result = parameters == null ? new HashMap<>() : new HashMap<>(parameters);
+        result.put(IN_CLAUSE_PARAM, inClause);
+        return result;
+    }
+
     private String commaSeparatedList(List<?> list) {
         StringBuilder sb = new StringBuilder();
         boolean firstValue = true;
@@ -411,7 +629,7 @@ public class CachedStatement implements Serializable {
     private Collection<Object> executeElaboratorBatch(List<Object> resultList, Mode mode,
         Map<String, ?> parametersIn) {
 
-        this.sqlStatement = NamedPreparedStatement.replaceBindParams(sqlStatement, qMap);
+        bindParameters();
 
         int len = resultList.size();
 
@@ -423,6 +641,17 @@ public class CachedStatement implements Serializable {
             return resultList;
         }
 
+        // Elaborators using = ANY(:in_clause) get all the keys bound as one array
+        if (params.contains(IN_CLAUSE_PARAM)) {
+            if (!checkForColumn(resultList.get(0), getColumn())) {
+                throw new MapColumnNotFoundException(
+                        "Column, " + getColumn() + ", not found in driving query results");
+            }
+            parameters.put(IN_CLAUSE_PARAM, resultList.stream().map(r -> getKey(r, getColumn())).toList());
+            return (DataResult<Object>) executeChecking(sqlStatement, qMap, parameters,
+                    mode, resultList);
+        }
+
         // If we aren't actually operating on a list, just elaborate.
         if (!sqlStatement.contains("%s")) {
             return (DataResult<Object>) executeChecking(sqlStatement, qMap, parameters,
@@ -529,6 +758,8 @@ public class CachedStatement implements Serializable {
         }
 
         PreparedStatement ps = null;
+        // the driver prepares the statement on its first execution, so both are timed together
+        long start = System.nanoTime();
         try {
             ps = prepareStatement(connection, sql, mode);
             boolean returnType = NamedPreparedStatement.execute(ps, parameterMap,
@@ -543,6 +774,7 @@ public class CachedStatement implements Serializable {
         }
         finally {
             HibernateHelper.cleanupDB(ps);
+            QueryStatistics.recordExecution(statisticsKey, System.nanoTime() - start);
         }
     }
 
@@ -590,8 +822,7 @@ public class CachedStatement implements Serializable {
             Map<String, Integer> outParams) {
 
         return doWithStolenConnection(connection -> {
-            this.sqlStatement =
-                    NamedPreparedStatement.replaceBindParams(sqlStatement, qMap);
+            bindParameters();
             CallableStatement cs = null;
             try {
                 cs = connection.prepareCall(this.sqlStatement);
@@ -964,12 +1195,27 @@ public class CachedStatement implements Serializable {
      * @param batch a list of parameter maps
      * @return an array of update counts containing one element for each command in the batch
      */
-    public int [] executeBatchUpdates(DataResult<Map<String, Object>> batch) {
+    public int [] executeBatchUpdates(List<Map<String, Object>> batch) {
+        return executeBatchUpdates(batch, ConfigDefaults.get().getDbBatchSize());
+    }
+
+    /**
+     * Executes multiple updates with one only prepared statement in batch mode,
+     * sending at most batchSize statements to the database at once.
+     *
+     * @param batch a list of parameter maps
+     * @param batchSize the maximum number of statements per round trip
+     * @return an array of update counts containing one element for each command in the batch
+     */
+    public int [] executeBatchUpdates(List<Map<String, Object>> batch, int batchSize) {
+        if (batch.isEmpty()) {
+            return new int[0];
+        }
         return doWithStolenConnection(connection -> {
             try {
-                sqlStatement = NamedPreparedStatement.replaceBindParams(sqlStatement, qMap);
+                bindParameters();
 
-                return executeBatch(connection, sqlStatement, qMap, batch);
+                return executeBatch(connection, sqlStatement, qMap, batch, batchSize);
             }
             catch (SQLException e) {
                 throw SqlExceptionTranslator.sqlException(e);
@@ -988,19 +1234,63 @@ public class CachedStatement implements Serializable {
     }
 
     private int [] executeBatch(Connection connection, String sql,
-            Map<String, List<Integer>> parameterMap, DataResult<Map<String, Object>> batch) throws SQLException {
+            Map<String, List<Integer>> parameterMap, List<Map<String, Object>> batch, int batchSize)
+        throws SQLException {
         if (log.isDebugEnabled()) {
-            log.debug("execute() - Executing: {}", sql);
-            log.debug("execute() - With: {}", batch);
+            log.debug("executeBatch() - Executing: {}", sql);
+            log.debug("executeBatch() - With {} parameter sets in batches of {}", batch.size(), batchSize);
         }
 
+        // Only bind the parameters of the original query, like execute() does
+        List<Map<String, ?>> boundBatch = batch.stream()
+                .<Map<String, ?>>map(this::setupParamMap)
+                .toList();
+
         PreparedStatement ps = null;
         try {
             ps = prepareStatement(connection, sql, null);
-            return NamedPreparedStatement.executeBatch(ps, parameterMap, batch);
+            return NamedPreparedStatement.executeBatch(ps, parameterMap, boundBatch, batchSize);
         }
         finally {
             HibernateHelper.cleanupDB(ps);
         }
     }
+
+    /**
+     * Executes a stored procedure without output parameters once for each set of input
+     * parameters, sending the calls to the database in JDBC batches.
+     *
+     * @param inParamsList a list of input parameter maps
+     * @param batchSize the maximum number of calls per round trip
+     * @return an array of update counts containing one element for each call in the batch
+     */
+    int [] executeCallableBatch(List<Map<String, Object>> inParamsList, int batchSize) {
+        if (inParamsList.isEmpty()) {
+            return new int[0];
+        }
+        return doWithStolenConnection(connection -> {
+            bindParameters();
+            CallableStatement cs = null;
+            try {
+                cs = connection.prepareCall(this.sqlStatement);
+                return NamedPreparedStatement.executeBatch(cs, qMap, inParamsList, batchSize);
+            }
+            catch (SQLException e) {
+                throw SqlExceptionTranslator.sqlException(e);
+            }
+            catch (HibernateException he) {
+                throw new HibernateRuntimeException(
+                        "HibernateException executing CachedStatement", he);
+            }
+            catch (RuntimeException e) {
+                if (e.getCause() instanceof SQLException ex) {
+                    throw SqlExceptionTranslator.sqlException(ex);
+                }
+                throw e;
+            }
+            finally {
+                HibernateHelper.cleanupDB(cs);
+            }
+        });
+    }
 }
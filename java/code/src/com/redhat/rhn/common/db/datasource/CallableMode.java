@@ -14,8 +14,11 @@
  */
 package com.redhat.rhn.common.db.datasource;
 
+import com.redhat.rhn.common.conf.ConfigDefaults;
+
 import org.hibernate.Session;
 
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -43,5 +46,25 @@ public class CallableMode extends BaseMode {
             Map<String, Integer> outParams) {
         return getQuery().executeCallable(inParams, outParams);
     }
-}
 
+    /**
+     * Execute a stored procedure without output parameters once for each
+     * map of input parameters, using JDBC batches of java.db_batch_size calls.
+     * @param inParamsList A list of maps of parameter names to values
+     * @return an array of update counts containing one element for each call
+     */
+    public int[] executeBatch(List<Map<String, Object>> inParamsList) {
+        return executeBatch(inParamsList, ConfigDefaults.get().getDbBatchSize());
+    }
+
+    /**
+     * Execute a stored procedure without output parameters once for each
+     * map of input parameters, sending at most batchSize calls at once.
+     * @param inParamsList A list of maps of parameter names to values
+     * @param batchSize the maximum number of calls per round trip
+     * @return an array of update counts containing one element for each call
+     */
+    public int[] executeBatch(List<Map<String, Object>> inParamsList, int batchSize) {
+        return getQuery().executeCallableBatch(inParamsList, batchSize);
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2025 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.redhat.rhn.common.db.datasource;
+
+import com.redhat.rhn.common.hibernate.HibernateHelper;
+import com.redhat.rhn.common.translation.SqlExceptionTranslator;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterator over a server side cursor. Rows are fetched from the database in chunks of
+ * the statement fetch size, elaborated one chunk at a time and then handed out to the
+ * caller, so only a single chunk is kept in memory at any time.
+ *
+ * The iterator releases the underlying JDBC resources once it is exhausted, callers
+ * stopping earlier must invoke {@link #close()}.
+ *
+ * @param <T> the type of the returned items
+ */
+class CursorIterator<T> implements Iterator<T>, AutoCloseable {
+
+    /**
+     * Maps the current row of a result set to an object.
+     */
+    @FunctionalInterface
+    interface RowMapper {
+        /**
+         * Create the object for the current row
+         * @param rs the result set, positioned on the row to map
+         * @return the mapped object
+         * @throws SQLException if reading from the result set fails
+         */
+        Object map(ResultSet rs) throws SQLException;
+    }
+
+    private final PreparedStatement statement;
+    private final ResultSet resultSet;
+    private final RowMapper mapper;
+    private final SelectMode mode;
+    private final Map<String, ?> elaborationParams;
+    private final int chunkSize;
+
+    private List<Object> chunk = new ArrayList<>();
+    private int position;
+    private boolean exhausted;
+
+    /**
+     * Creates an iterator over an already executed statement
+     * @param statementIn the executed statement, closed together with this iterator
+     * @param resultSetIn the result set of the statement
+     * @param mapperIn the mapper used to create an object for each row
+     * @param modeIn the mode to use for elaborating each chunk, or null to skip elaboration
+     * @param elaborationParamsIn the parameters passed to the elaborators
+     * @param chunkSizeIn the number of rows to elaborate together
+     */
+    CursorIterator(PreparedStatement statementIn, ResultSet resultSetIn, RowMapper mapperIn,
+            SelectMode modeIn, Map<String, ?> elaborationParamsIn, int chunkSizeIn) {
+        statement = statementIn;
+        resultSet = resultSetIn;
+        mapper = mapperIn;
+        mode = modeIn;
+        elaborationParams = elaborationParamsIn;
+        chunkSize = Math.max(1, chunkSizeIn);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean hasNext() {
+        if (position < chunk.size()) {
+            return true;
+        }
+        if (exhausted) {
+            return false;
+        }
+        fetchChunk();
+        return position < chunk.size();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        T result = (T) chunk.get(position);
+        // do not keep rows which were already handed out to the caller
+        chunk.set(position, null);
+        position++;
+        return result;
+    }
+
+    private void fetchChunk() {
+        chunk = new ArrayList<>(chunkSize);
+        position = 0;
+        try {
+            while (chunk.size() < chunkSize) {
+                if (!resultSet.next()) {
+                    close();
+                    break;
+                }
+                chunk.add(mapper.map(resultSet));
+            }
+        }
+        catch (SQLException e) {
+            close();
+            throw SqlExceptionTranslator.sqlException(e);
+        }
+        catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+
+        if (mode != null && !chunk.isEmpty() && !mode.getElaborators().isEmpty()) {
+            mode.elaborate(chunk, elaborationParams);
+        }
+    }
+
+    /**
+     * Releases the cursor and the statement. Calling this method more than once has no effect.
+     */
+    @Override
+    public void close() {
+        if (!exhausted) {
+            exhausted = true;
+            HibernateHelper.cleanupDB(resultSet);
+            HibernateHelper.cleanupDB(statement);
+        }
+    }
+}
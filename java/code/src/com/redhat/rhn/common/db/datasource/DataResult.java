@@ -35,6 +35,7 @@ public class DataResult<T> extends ArrayList<T> {
     // SelectMode here, but we return Mode to the user when asked for it.
     private SelectMode mode;
     private int totalSize;
+    private int unfilteredSize;
     private int start;
     private int end;
     private Map<Character, Integer> index;
@@ -52,6 +53,7 @@ public class DataResult<T> extends ArrayList<T> {
         start = dr.getStart();
         end = dr.getEnd();
         totalSize = dr.getTotalSize();
+        unfilteredSize = dr.getUnfilteredSize();
         index = dr.getIndex();
         filterData = dr.getFilterData();
         filter = dr.hasFilter();
@@ -120,6 +122,7 @@ public class DataResult<T> extends ArrayList<T> {
         dr.start = fromIndex + 1;
         dr.end = toIndex;
         dr.totalSize = this.getTotalSize();
+        dr.unfilteredSize = this.getUnfilteredSize();
         dr.index = this.getIndex();
         dr.filterData = this.getFilterData();
         dr.filter = this.hasFilter();
@@ -208,6 +211,23 @@ public class DataResult<T> extends ArrayList<T> {
         this.totalSize = ts;
     }
 
+    /**
+     * Get the number of entries before filtering, for pages queried with
+     * {@link SelectMode#executePage(Map, PageRequest)}
+     * @return Returns the unfiltered size.
+     */
+    public int getUnfilteredSize() {
+        return unfilteredSize;
+    }
+
+    /**
+     * Set the number of entries before filtering
+     * @param us The unfiltered size to set.
+     */
+    public void setUnfilteredSize(int us) {
+        this.unfilteredSize = us;
+    }
+
     /**
      * Get the index of the first element in the list
      * @return the index of the first element of the list
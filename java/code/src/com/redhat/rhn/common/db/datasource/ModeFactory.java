@@ -92,17 +92,23 @@ public class ModeFactory implements ManifestFactoryBuilder {
             throw new ModeNotFoundException(
                               "Could not find mode " + mode + " in " + name);
         }
+        BaseMode result;
         switch (pm.getType()) {
         case SELECT:
-            return new SelectMode(session, pm);
+            result = new SelectMode(session, pm);
+            break;
         case CALLABLE:
-            return new CallableMode(session, pm);
+            result = new CallableMode(session, pm);
+            break;
         case WRITE:
-            return new WriteMode(session, pm);
+            result = new WriteMode(session, pm);
+            break;
         default:
             // should never reach here
             return null;
         }
+        result.getQuery().setStatisticsKey(name + "." + mode);
+        return result;
     }
 
     private static SelectMode getSelectMode(String name, String mode) {
@@ -117,7 +123,9 @@ public class ModeFactory implements ManifestFactoryBuilder {
             throw new ModeNotFoundException(
                               "Could not find mode " + mode + " in " + name);
         }
-        return new SelectMode(session, pm);
+        SelectMode result = new SelectMode(session, pm);
+        result.getQuery().setStatisticsKey(name + "." + mode);
+        return result;
     }
 
     /**
@@ -180,7 +188,9 @@ public class ModeFactory implements ManifestFactoryBuilder {
      * @return the new mode with updated session
      */
     public static SelectMode getMode(Session session, SelectMode selectMode) {
-        return new SelectMode(session, selectMode.getParsedMode());
+        SelectMode result = new SelectMode(session, selectMode.getParsedMode());
+        result.getQuery().setStatisticsKey(selectMode.getQuery().getStatisticsKey());
+        return result;
     }
 
     /**
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2025 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.redhat.rhn.common.db.datasource;
+
+import java.util.regex.Pattern;
+
+/**
+ * A page of the results of a select mode, sorted and filtered in the database.
+ *
+ * Column names refer to the columns returned by the driving query. They are written into the SQL statement, so
+ * only plain identifiers are accepted.
+ *
+ * @param keyColumn a unique column of the results, used to make the sort order stable
+ * @param sortColumn the column to sort by
+ * @param ascending true to sort in ascending order, null values first
+ * @param filterColumn the column to filter on, null for no filter
+ * @param filterValue the text the filter column must contain, ignoring case
+ * @param offset the number of matching rows to skip
+ * @param limit the maximum number of rows of the page
+ */
+public record PageRequest(String keyColumn, String sortColumn, boolean ascending, String filterColumn,
+                          String filterValue, int offset, int limit) {
+
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+
+    /**
+     * Validates the page request.
+     */
+    public PageRequest {
+        checkColumn(keyColumn);
+        checkColumn(sortColumn);
+        if (filterColumn != null) {
+            checkColumn(filterColumn);
+            if (filterValue == null) {
+                throw new IllegalArgumentException("filterValue is required with a filterColumn");
+            }
+        }
+        if (offset < 0) {
+            throw new IllegalArgumentException("offset must be >= 0");
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be > 0");
+        }
+    }
+
+    private static void checkColumn(String column) {
+        if (column == null || !IDENTIFIER.matcher(column).matches()) {
+            throw new IllegalArgumentException("Invalid column name: " + column);
+        }
+    }
+
+    /**
+     * @return true if the rows are filtered
+     */
+    public boolean hasFilter() {
+        return filterColumn != null;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2025 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.redhat.rhn.common.db.datasource;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The results of a select mode which the list tag can page, sort and filter in the database.
+ *
+ * The list tag only queries the displayed page, through {@link #getPage}, as long as the sort and filter
+ * attributes of the request are mapped to columns of the driving query. Attributes filled by elaborators are not
+ * mapped: sorting or filtering on them, as well as the alpha bar, falls back to the complete results, which are
+ * queried the first time this object is used as a {@link java.util.List}. The rows must not be
+ * {@link com.redhat.rhn.frontend.struts.Expandable}.
+ * @param <T> the type of the objects in the list
+ */
+public class PageableDataSource<T> extends AbstractList<T> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final SelectMode mode;
+    private final HashMap<String, Object> params;
+    private final HashMap<String, Object> elabParams;
+    private final String keyColumn;
+    private final HashMap<String, String> columns;
+    private DataResult<T> all;
+
+    /**
+     * Constructor
+     * @param modeIn the select mode
+     * @param paramsIn the parameters of the driving query
+     * @param elabParamsIn the parameters of the elaborators
+     * @param keyColumnIn a unique column of the driving query
+     * @param columnsIn the columns of the driving query which can be used to sort and filter, by bean attribute
+     */
+    public PageableDataSource(SelectMode modeIn, Map<String, Object> paramsIn, Map<String, Object> elabParamsIn,
+            String keyColumnIn, Map<String, String> columnsIn) {
+        mode = modeIn;
+        params = new HashMap<>(paramsIn);
+        elabParams = new HashMap<>(elabParamsIn);
+        keyColumn = keyColumnIn;
+        columns = new HashMap<>(columnsIn);
+    }
+
+    /**
+     * @param attribute a bean attribute
+     * @return true if the rows can be sorted and filtered on the attribute in the database
+     */
+    public boolean isPushable(String attribute) {
+        return attribute != null && columns.containsKey(attribute);
+    }
+
+    /**
+     * Queries one page of the results.
+     * @param sortAttribute the bean attribute to sort by
+     * @param ascending true to sort in ascending order
+     * @param filterAttribute the bean attribute to filter on, null for no filter
+     * @param filterValue the text the filter attribute must contain, ignoring case
+     * @param offset the number of rows to skip
+     * @param limit the page size
+     * @return the page, see {@link SelectMode#executePage(Map, PageRequest)}
+     */
+    public DataResult<T> getPage(String sortAttribute, boolean ascending, String filterAttribute,
+            String filterValue, int offset, int limit) {
+        PageRequest page = new PageRequest(keyColumn, column(sortAttribute), ascending,
+                filterAttribute == null ? null : column(filterAttribute), filterValue, offset, limit);
+        DataResult<T> dr = mode.executePage(params, page);
+        dr.setElaborationParams(elabParams);
+        return dr;
+    }
+
+    private String column(String attribute) {
+        if (!isPushable(attribute)) {
+            throw new IllegalArgumentException("Attribute " + attribute + " is not mapped to a column");
+        }
+        return columns.get(attribute);
+    }
+
+    /**
+     * Returns the complete results, querying them on first use.
+     * @return the complete results, not elaborated
+     */
+    public DataResult<T> getAll() {
+        if (all == null) {
+            all = mode.execute(params);
+            all.setElaborationParams(elabParams);
+        }
+        return all;
+    }
+
+    /**
+     * @return the elaborator of the rows
+     */
+    public Elaborator getElaborator() {
+        return new ModeElaborator(mode, elabParams);
+    }
+
+    /**
+     * @return the select mode
+     */
+    public SelectMode getMode() {
+        return mode;
+    }
+
+    @Override
+    public T get(int index) {
+        return getAll().get(index);
+    }
+
+    @Override
+    public int size() {
+        return getAll().size();
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2025 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.redhat.rhn.common.db.datasource;
+
+import com.redhat.rhn.common.conf.ConfigDefaults;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects execution statistics of the datasource queries, keyed by query file and mode name.
+ * Statistics are only recorded when Prometheus monitoring is enabled.
+ */
+public final class QueryStatistics {
+
+    private static final boolean ENABLED = ConfigDefaults.get().isPrometheusMonitoringEnabled();
+
+    private static final Map<String, QueryStats> STATS = new ConcurrentHashMap<>();
+    private static final LongAdder CACHE_HITS = new LongAdder();
+    private static final LongAdder CACHE_MISSES = new LongAdder();
+
+    private QueryStatistics() {
+    }
+
+    /**
+     * Statistics of a single query
+     */
+    public static final class QueryStats {
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder executeNanos = new LongAdder();
+
+        /**
+         * @return the number of times the query was executed
+         */
+        public long getExecutions() {
+            return executions.sum();
+        }
+
+        /**
+         * @return the total time spent preparing and executing the statement and reading the results, in
+         * nanoseconds
+         */
+        public long getExecuteNanos() {
+            return executeNanos.sum();
+        }
+    }
+
+    /**
+     * Records one execution of a query
+     * @param key the query key, usually file and mode name
+     * @param executeNanos time spent preparing and executing the statement and reading the results
+     */
+    static void recordExecution(String key, long executeNanos) {
+        if (ENABLED) {
+            QueryStats stats = STATS.computeIfAbsent(key == null ? "unnamed" : key, k -> new QueryStats());
+            stats.executions.increment();
+            stats.executeNanos.add(executeNanos);
+        }
+    }
+
+    /**
+     * Records a lookup which was served by the parsed statement cache
+     */
+    static void recordCacheHit() {
+        if (ENABLED) {
+            CACHE_HITS.increment();
+        }
+    }
+
+    /**
+     * Records a lookup which required parsing the statement
+     */
+    static void recordCacheMiss() {
+        if (ENABLED) {
+            CACHE_MISSES.increment();
+        }
+    }
+
+    /**
+     * @return an unmodifiable view of the statistics of all the executed queries
+     */
+    public static Map<String, QueryStats> getQueryStats() {
+        return Collections.unmodifiableMap(STATS);
+    }
+
+    /**
+     * @return the number of statements found in the parsed SQL cache
+     */
+    public static long getCacheHits() {
+        return CACHE_HITS.sum();
+    }
+
+    /**
+     * @return the number of statements which had to be parsed
+     */
+    public static long getCacheMisses() {
+        return CACHE_MISSES.sum();
+    }
+
+    /**
+     * @return the number of statements currently in the parsed SQL cache
+     */
+    public static int getCacheSize() {
+        return BoundSqlCache.size();
+    }
+}
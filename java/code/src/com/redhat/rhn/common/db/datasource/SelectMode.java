@@ -14,6 +14,8 @@
  */
 package com.redhat.rhn.common.db.datasource;
 
+import com.redhat.rhn.common.conf.ConfigDefaults;
+
 import org.hibernate.Session;
 
 import java.io.Serializable;
@@ -21,6 +23,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * A cached set of query/elaborator strings and the parameterMap hash maps.
@@ -136,6 +139,49 @@ public class SelectMode extends BaseMode implements Serializable {
         return getQuery().execute(parameters, inClause, this);
     }
 
+    /**
+     * Executes the query using the given parameters, returning only one page of the results,
+     * filtered and sorted in the database. As with {@link #execute(Map)}, the results are not
+     * elaborated.
+     * @param parameters Query parameters.
+     * @param page the sort order, filter and window of the page
+     * @param <T> the type of the returned items
+     * @return DataResult containing the rows of the page, with the number of rows matching
+     * the filter as total size and the number of rows of the query as unfiltered size.
+     */
+    public <T> DataResult<T> executePage(Map<String, ?> parameters, PageRequest page) {
+        return getQuery().executePage(parameters, this, page);
+    }
+
+    /**
+     * Executes the query using the given parameters and returns the results lazily, fetching
+     * them from a database cursor in chunks of the configured fetch size. Elaborators are run
+     * on each chunk with the same parameters. The returned stream holds database resources:
+     * it must be closed, e.g. with a try-with-resources block, and fully consumed within the
+     * current transaction.
+     * @param parameters Query parameters.
+     * @param <T> the type of the returned items
+     * @return Stream of the (elaborated) query results.
+     */
+    public <T> Stream<T> stream(Map<String, ?> parameters) {
+        return stream(parameters, ConfigDefaults.get().getDbStreamFetchSize());
+    }
+
+    /**
+     * Executes the query using the given parameters and returns the results lazily.
+     * @param parameters Query parameters.
+     * @param fetchSize number of rows fetched from the database, and elaborated, at once
+     * @param <T> the type of the returned items
+     * @return Stream of the (elaborated) query results.
+     * @see #stream(Map)
+     */
+    public <T> Stream<T> stream(Map<String, ?> parameters, int fetchSize) {
+        if (fetchSize <= 0) {
+            throw new IllegalArgumentException("fetchSize must be > 0");
+        }
+        return getQuery().executeStream(parameters, this, fetchSize);
+    }
+
     /**
      * Elaborates a list by calling the elaboration queries with the given
      * parameters.
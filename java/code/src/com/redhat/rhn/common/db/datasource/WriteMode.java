@@ -44,7 +44,8 @@ public class WriteMode extends BaseMode {
     }
 
     /**
-     * Executes multiple updates with the given query parameters.
+     * Executes multiple updates with the given query parameters. The updates are
+     * sent to the database in JDBC batches of java.db_batch_size statements.
      *
      * @param parameterList a list of parameter maps
      * @return a list of affected rows counts
@@ -73,7 +74,19 @@ public class WriteMode extends BaseMode {
      * @param batch a list of parameter maps
      * @return an array of update counts containing one element for each command in the batch
      */
-    public int [] executeBatchUpdates(DataResult<Map<String, Object>> batch) {
+    public int [] executeBatchUpdates(List<Map<String, Object>> batch) {
         return getQuery().executeBatchUpdates(batch);
     }
+
+    /**
+     * Executes multiple updates with the given query parameters in batch mode,
+     * sending at most batchSize statements to the database with each round trip.
+     *
+     * @param batch a list of parameter maps
+     * @param batchSize the maximum number of statements per round trip
+     * @return an array of update counts containing one element for each command in the batch
+     */
+    public int [] executeBatchUpdates(List<Map<String, Object>> batch, int batchSize) {
+        return getQuery().executeBatchUpdates(batch, batchSize);
+    }
 }
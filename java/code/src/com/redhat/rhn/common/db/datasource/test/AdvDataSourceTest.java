@@ -18,13 +18,17 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import com.redhat.rhn.common.ObjectCreateWrapperException;
+import com.redhat.rhn.common.db.datasource.CachedStatement;
 import com.redhat.rhn.common.db.datasource.CallableMode;
 import com.redhat.rhn.common.db.datasource.DataResult;
 import com.redhat.rhn.common.db.datasource.ModeFactory;
+import com.redhat.rhn.common.db.datasource.PageRequest;
 import com.redhat.rhn.common.db.datasource.Row;
 import com.redhat.rhn.common.db.datasource.SelectMode;
 import com.redhat.rhn.common.db.datasource.WriteMode;
@@ -51,6 +55,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Set;
+import java.util.stream.Stream;
 
 public class AdvDataSourceTest extends RhnBaseTestCase {
 
@@ -256,6 +261,41 @@ public class AdvDataSourceTest extends RhnBaseTestCase {
         assertNotEmpty(result);
     }
 
+    @Test
+    public void testInClauseArray() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 3000; i < 3000 + CachedStatement.BATCH_SIZE + 10; i++) {
+            insert("array" + TestUtils.randomString(), i);
+            ids.add((long) i);
+        }
+        SelectMode m = ModeFactory.getMode(TEST_QUERIES, "find_in_table_by_ids");
+        DataResult<AdvDataSourceDto> dr = m.execute(ids);
+        assertEquals(ids.size(), dr.size());
+        dr.elaborate();
+        for (AdvDataSourceDto row : dr) {
+            assertNotNull(row.getTestColumn());
+            assertNotNull(row.getPin());
+        }
+        assertTrue(m.execute(Collections.emptyList()).isEmpty());
+
+        WriteMode delete = ModeFactory.getWriteMode(TEST_QUERIES, "delete_from_table_by_ids");
+        assertEquals(ids.size(), delete.executeUpdate(Collections.emptyMap(), ids));
+    }
+
+    @Test
+    public void testRepeatedExecution() {
+        insert("repeat" + TestUtils.randomString(), 4000);
+        SelectMode m = ModeFactory.getMode(TEST_QUERIES, "find_in_table_by_ids");
+        assertEquals(TEST_QUERIES + ".find_in_table_by_ids", m.getQuery().getStatisticsKey());
+        assertEquals(1, m.execute(List.of(4000L)).size());
+        // the statement is already bound, executing it again must give the same result
+        assertEquals(1, m.execute(List.of(4000L)).size());
+
+        SelectMode copy = ModeFactory.getMode(HibernateFactory.getSession(), m);
+        assertEquals(m.getQuery().getStatisticsKey(), copy.getQuery().getStatisticsKey());
+        assertEquals(1, copy.execute(List.of(4000L)).size());
+    }
+
     @Test
     public void testStressedElaboration() {
         int startId = 1000;
@@ -295,6 +335,104 @@ public class AdvDataSourceTest extends RhnBaseTestCase {
         }
     }
 
+    @Test
+    public void testBatchUpdates() {
+        WriteMode m = ModeFactory.getWriteMode(TEST_QUERIES, "insert_into_table");
+        List<Map<String, Object>> batch = new ArrayList<>();
+        for (int i = 2000; i < 2023; i++) {
+            Map<String, Object> params = new HashMap<>();
+            params.put("foobar", "batch_test");
+            params.put("id", i);
+            params.put("test_column", "test-" + TestUtils.randomString());
+            params.put("pin", random.nextInt(100));
+            // keys which are not parameters of the query must be ignored
+            params.put("unused", "value");
+            batch.add(params);
+        }
+
+        // use a batch size which does not divide the number of rows
+        int[] counts = m.executeBatchUpdates(batch, 5);
+        assertEquals(batch.size(), counts.length);
+        for (int count : counts) {
+            assertTrue(count == 1 || count == Statement.SUCCESS_NO_INFO);
+        }
+
+        WriteMode update = ModeFactory.getWriteMode(TEST_QUERIES, "update_in_table");
+        List<Integer> updated = update.executeUpdates(List.of(
+                Map.of("foobar", "batch_updated", "id", 2000),
+                Map.of("foobar", "batch_updated", "id", 2001),
+                Map.of("foobar", "batch_updated", "id", 9999)));
+        assertEquals(List.of(1, 1, 0), updated);
+
+        clearSession();
+        lookup("batch_updated", 2000, 1);
+        lookup("batch_updated", 2001, 1);
+    }
+
+    @Test
+    public void testStreamWithElaboration() {
+        int startId = 1000;
+        int endId = startId + 120;
+
+        for (int i = startId; i < endId; i++) {
+            insert("foobar" + TestUtils.randomString(), i);
+        }
+        SelectMode m = ModeFactory.getMode(TEST_QUERIES, "find_all_in_table");
+        List<AdvDataSourceDto> rows;
+        // use a fetch size which does not divide the row count to get a partial last chunk
+        try (Stream<AdvDataSourceDto> stream = m.stream(Collections.emptyMap(), 50)) {
+            rows = stream.toList();
+        }
+        assertEquals(m.execute(Collections.emptyMap()).size(), rows.size());
+        for (AdvDataSourceDto row : rows) {
+            assertNotNull(row.getTestColumn());
+            assertNotNull(row.getPin());
+            assertNotNull(row.getFoobar());
+        }
+    }
+
+    @Test
+    public void testStreamPartiallyConsumed() {
+        for (int i = 1000; i < 1010; i++) {
+            insert("foobar" + TestUtils.randomString(), i);
+        }
+        SelectMode m = ModeFactory.getMode(TEST_QUERIES, "find_all_in_table");
+        try (Stream<AdvDataSourceDto> stream = m.stream(Collections.emptyMap(), 3)) {
+            assertEquals(2, stream.limit(2).count());
+        }
+        // the connection must still be usable after closing the cursor early
+        assertEquals(10, m.execute(Collections.emptyMap()).size());
+    }
+
+    @Test
+    public void testExecutePage() {
+        for (int i = 0; i < 25; i++) {
+            insert(String.format("page-%s-%02d", i % 2 == 0 ? "even" : "odd", i), 1000 + i);
+        }
+        SelectMode m = ModeFactory.getMode(TEST_QUERIES, "find_all_in_table");
+
+        // 13 rows match, sorted from page-even-24 down to page-even-00
+        DataResult<AdvDataSourceDto> dr = m.executePage(Collections.emptyMap(),
+                new PageRequest("id", "foobar", false, "foobar", "EVEN", 5, 5));
+        assertEquals(13, dr.getTotalSize());
+        assertEquals(25, dr.getUnfilteredSize());
+        assertEquals(6, dr.getStart());
+        assertEquals(List.of(1014L, 1012L, 1010L, 1008L, 1006L),
+                dr.stream().map(AdvDataSourceDto::getId).toList());
+        // the page is not elaborated
+        assertNull(dr.get(0).getTestColumn());
+
+        // offsets past the end return the last page
+        dr = m.executePage(Collections.emptyMap(), new PageRequest("id", "foobar", true, null, null, 100, 10));
+        assertEquals(25, dr.getTotalSize());
+        assertEquals(21, dr.getStart());
+        assertEquals(5, dr.size());
+        assertEquals("page-odd-23", dr.get(4).getFoobar());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new PageRequest("id", "foobar desc; --", true, null, null, 0, 10));
+    }
+
     @Test
     public void testSelectInWithParams() {
         SelectMode m = ModeFactory.getMode(TEST_QUERIES, "select_in_withparams");
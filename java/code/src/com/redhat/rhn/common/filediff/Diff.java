@@ -14,6 +14,8 @@
  */
 package com.redhat.rhn.common.filediff;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 
@@ -86,8 +88,37 @@ public class Diff {
      * @see Hunk
      */
     public List<Hunk> diffFiles() {
-        Differ differ = new Differ(firstfile.length, secondfile.length);
-        return differ.diff(firstfile, secondfile);
+        if (Arrays.equals(firstfile, secondfile)) {
+            return matchAll();
+        }
+        Differ differ = new Differ(firstfile, secondfile);
+        return differ.diff();
+    }
+
+    /**
+     * Identical files are one match hunk, the diff is skipped. Callers which
+     * know that both files have the same checksum can pass the same array
+     * twice to avoid comparing the lines.
+     */
+    private List<Hunk> matchAll() {
+        List<Hunk> retval = new ArrayList<>();
+        if (firstfile.length > 0) {
+            Hunk hunk = new MatchHunk();
+            hunk.setOldLines(allLines(firstfile));
+            hunk.setNewLines(allLines(secondfile));
+            retval.add(hunk);
+        }
+        return retval;
+    }
+
+    private FileLines allLines(String[] file) {
+        FileLines retval = new FileLines();
+        retval.setFromLine(1);
+        retval.setToLine(file.length + 1);
+        for (String line : file) {
+            retval.addLine(line);
+        }
+        return retval;
     }
 
     private void writeHunks(List<Hunk> hunks, DiffWriter writer) {
@@ -15,119 +15,310 @@
 package com.redhat.rhn.common.filediff;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Java file diff using Eugene W. Myers's algorithm as described in
- * "An O(ND) Difference Algorithm and Its Variations".
+ * "An O(ND) Difference Algorithm and Its Variations", with the linear space
+ * refinement of section 4b: the middle snake of the edit graph is searched
+ * from both ends and the two halves are diffed recursively.
+ *
+ * Lines are interned to integer ids first, so that the algorithm only
+ * compares ints. Lines that do not occur in the other file can never match:
+ * they are marked as changed upfront and left out of the search, which keeps
+ * files with few common lines close to linear time. The result is a minimal
+ * diff.
  */
 public class Differ {
-    private final Trace head;
-    private Trace beforeCurrent;
-    private int bestSoFar;
-    private static final int NUMBEROFTRACESTOKEEP = 1000;
-    private final List<Integer> matches = new ArrayList<>();
+
+    private final String[] oldFile;
+    private final String[] newFile;
+    private final boolean[] oldChanged;
+    private final boolean[] newChanged;
+
+    // ids of the lines taking part in the search, and their index in the files
+    private int[] oldIds;
+    private int[] newIds;
+    private int[] oldIndexes;
+    private int[] newIndexes;
+
+    // furthest reaching x by diagonal, forward and backward
+    private int[] forward;
+    private int[] backward;
+    private int diagonalOffset;
+
+    private int middleX;
+    private int middleY;
 
     /**
-     * @param oldLength The length of the old file
-     * @param newLength The length of the new file
+     * @param oldFileIn The old(first, from) file
+     * @param newFileIn The new(second, to) file
      */
-    public Differ(int oldLength, int newLength) {
-        //we need a head element in order to do deletions.
-        head = new Trace(0, 0); //the head of the linked list.
-        head.setNext(new Trace(oldLength, newLength));
-        beforeCurrent = head;
-        bestSoFar = 0;
+    public Differ(String[] oldFileIn, String[] newFileIn) {
+        oldFile = oldFileIn;
+        newFile = newFileIn;
+        oldChanged = new boolean[oldFile.length];
+        newChanged = new boolean[newFile.length];
     }
 
     /**
-     * @param oldFile The old(first, from) file
-     * @param newFile The new(second, to) file
      * @return A list of Hunks representing the differences.
      */
-    public List<Hunk> diff(String[] oldFile, String[] newFile) {
-        List<Hunk> retval = null;
-        while (retval == null) {
-            retval = step(oldFile, newFile);
+    public List<Hunk> diff() {
+        internLines();
+        int oldLength = oldIds.length;
+        int newLength = newIds.length;
+        forward = new int[oldLength + newLength + 3];
+        backward = new int[oldLength + newLength + 3];
+        diagonalOffset = newLength + 1;
+        compare(0, oldLength, 0, newLength);
+
+        // the search arrays are not needed anymore
+        oldIds = null;
+        newIds = null;
+        oldIndexes = null;
+        newIndexes = null;
+        forward = null;
+        backward = null;
+        return createHunks();
+    }
+
+    /**
+     * Maps every distinct line to an id and keeps the lines which occur in
+     * both files. The other lines are changed in any diff.
+     */
+    private void internLines() {
+        Map<String, Integer> ids = new HashMap<>();
+        int[] oldLineIds = new int[oldFile.length];
+        int[] newLineIds = new int[newFile.length];
+        for (int i = 0; i < oldFile.length; i++) {
+            oldLineIds[i] = ids.computeIfAbsent(oldFile[i], line -> ids.size());
         }
-        return retval;
+        int oldDistinct = ids.size();
+        boolean[] inNew = new boolean[oldDistinct];
+        for (int i = 0; i < newFile.length; i++) {
+            Integer id = ids.get(newFile[i]);
+            if (id == null) {
+                newLineIds[i] = -1;
+            }
+            else {
+                newLineIds[i] = id;
+                inNew[id] = true;
+            }
+        }
+
+        oldIds = new int[oldFile.length];
+        oldIndexes = new int[oldFile.length];
+        int oldLength = 0;
+        for (int i = 0; i < oldFile.length; i++) {
+            if (inNew[oldLineIds[i]]) {
+                oldIds[oldLength] = oldLineIds[i];
+                oldIndexes[oldLength++] = i;
+            }
+            else {
+                oldChanged[i] = true;
+            }
+        }
+        newIds = new int[newFile.length];
+        newIndexes = new int[newFile.length];
+        int newLength = 0;
+        for (int i = 0; i < newFile.length; i++) {
+            if (newLineIds[i] >= 0) {
+                newIds[newLength] = newLineIds[i];
+                newIndexes[newLength++] = i;
+            }
+            else {
+                newChanged[i] = true;
+            }
+        }
+        oldIds = Arrays.copyOf(oldIds, oldLength);
+        newIds = Arrays.copyOf(newIds, newLength);
     }
 
     /**
-     * The crux of the optimization for this algorithm lies in the fact that we
-     * will step through all of the traces in parallel rather than recursively.
-     * This allows us to delete traces that are unlikely be the most optimal.
-     *
-     * We only consider the best {@value #NUMBEROFTRACESTOKEEP} traces at any
-     * given time. This is to prevent the memory required from growing
-     * exponentially in large files. The resulting trace is always guaranteed to
-     * be *correct*, but maybe not *optimal*.
-     *
-     * This will call the step function on Trace for every current trace we
-     * have. It will delete traces that are unlikely to be optimal.
-     *
-     * @param oldFile
-     *            The old(first, from) file
-     * @param newFile
-     *            The new(second, to) file
-     * @return A list of Hunks representing the differences. null if we need to
-     *         step again
+     * Marks the changed lines between the old lines [oldFrom, oldTo) and the
+     * new lines [newFrom, newTo) of the search.
      */
-    private List<Hunk> step(String[] oldFile, String[] newFile) {
-        beforeCurrent = head;
-        boolean forked;
-        int minimumMatchValue = 0;
-
-        // get a list of all match values for all traces
-        while (beforeCurrent.next() != null) {
-            beforeCurrent = beforeCurrent.next();
-            matches.add(beforeCurrent.getMatches());
+    private void compare(int oldFrom, int oldTo, int newFrom, int newTo) {
+        int xoff = oldFrom;
+        int xlim = oldTo;
+        int yoff = newFrom;
+        int ylim = newTo;
+
+        // common prefix and suffix are matches
+        while (xoff < xlim && yoff < ylim && oldIds[xoff] == newIds[yoff]) {
+            xoff++;
+            yoff++;
+        }
+        while (xoff < xlim && yoff < ylim && oldIds[xlim - 1] == newIds[ylim - 1]) {
+            xlim--;
+            ylim--;
         }
 
-        // if we have too many traces find the match number you need to beat to
-        // remain valid
-        if (matches.size() > NUMBEROFTRACESTOKEEP) {
-            Collections.sort(matches); // sort ascending
-            minimumMatchValue = matches.get(matches.size() -
-                    NUMBEROFTRACESTOKEEP);
+        if (xoff == xlim) {
+            for (int y = yoff; y < ylim; y++) {
+                newChanged[newIndexes[y]] = true;
+            }
+        }
+        else if (yoff == ylim) {
+            for (int x = xoff; x < xlim; x++) {
+                oldChanged[oldIndexes[x]] = true;
+            }
+        }
+        else {
+            findMiddleSnake(xoff, xlim, yoff, ylim);
+            int x = middleX;
+            int y = middleY;
+            compare(xoff, x, yoff, y);
+            compare(x, xlim, y, ylim);
         }
+    }
+
+    /**
+     * Finds the point where the furthest reaching forward and backward paths
+     * of the same number of edits overlap, and stores it in middleX and
+     * middleY. Diagonal k holds the points where x - y = k.
+     */
+    private void findMiddleSnake(int xoff, int xlim, int yoff, int ylim) {
+        int dmin = xoff - ylim;
+        int dmax = xlim - yoff;
+        int fmid = xoff - yoff;
+        int bmid = xlim - ylim;
+        int fmin = fmid;
+        int fmax = fmid;
+        int bmin = bmid;
+        int bmax = bmid;
+        boolean odd = ((fmid - bmid) & 1) != 0;
 
-        // reset things before the "real" iteration
-        matches.clear();
-        beforeCurrent = head;
+        forward[diagonalOffset + fmid] = xoff;
+        backward[diagonalOffset + bmid] = xlim;
 
-        while (beforeCurrent.next() != null) {
-            // delete impossible and unlikely traces.
-            if (beforeCurrent.next().getMatches() < minimumMatchValue ||
-                    bestSoFar > beforeCurrent.next().bestPossible()) {
-                beforeCurrent.setNext(beforeCurrent.next().next());
+        while (true) {
+            // extend the forward paths by one edit
+            if (fmin > dmin) {
+                forward[diagonalOffset + --fmin - 1] = -1;
             }
             else {
-                forked = beforeCurrent.next().step(oldFile, newFile);
-
-                //With the step algorithm, the first one to reach the end of
-                //both files is the winner!
-                if (beforeCurrent.next().isDone()) {
-                    return beforeCurrent.next().createHunks(oldFile, newFile);
+                fmin++;
+            }
+            if (fmax < dmax) {
+                forward[diagonalOffset + ++fmax + 1] = -1;
+            }
+            else {
+                fmax--;
+            }
+            for (int d = fmax; d >= fmin; d -= 2) {
+                int low = forward[diagonalOffset + d - 1];
+                int high = forward[diagonalOffset + d + 1];
+                int x = low >= high ? low + 1 : high;
+                int y = x - d;
+                while (x < xlim && y < ylim && oldIds[x] == newIds[y]) {
+                    x++;
+                    y++;
+                }
+                forward[diagonalOffset + d] = x;
+                if (odd && bmin <= d && d <= bmax && backward[diagonalOffset + d] <= x) {
+                    middleX = x;
+                    middleY = y;
+                    return;
                 }
+            }
 
-                //update bestSoFar
-                if (beforeCurrent.next().getMatches() > bestSoFar) {
-                    bestSoFar = beforeCurrent.next().getMatches();
+            // extend the backward paths by one edit
+            if (bmin > dmin) {
+                backward[diagonalOffset + --bmin - 1] = Integer.MAX_VALUE;
+            }
+            else {
+                bmin++;
+            }
+            if (bmax < dmax) {
+                backward[diagonalOffset + ++bmax + 1] = Integer.MAX_VALUE;
+            }
+            else {
+                bmax--;
+            }
+            for (int d = bmax; d >= bmin; d -= 2) {
+                int low = backward[diagonalOffset + d - 1];
+                int high = backward[diagonalOffset + d + 1];
+                int x = low < high ? low : high - 1;
+                int y = x - d;
+                while (x > xoff && y > yoff && oldIds[x - 1] == newIds[y - 1]) {
+                    x--;
+                    y--;
+                }
+                backward[diagonalOffset + d] = x;
+                if (!odd && fmin <= d && d <= fmax && x <= forward[diagonalOffset + d]) {
+                    middleX = x;
+                    middleY = y;
+                    return;
                 }
+            }
+        }
+    }
 
-                //if it forked, there is a new element in the linked list
-                //that has already been dealt with, so skip it.
-                if (forked) {
-                    beforeCurrent = beforeCurrent.next().next();
+    /**
+     * Walks both files in parallel: unchanged lines are matches, and the
+     * changed lines between two matches make a delete, insert or change hunk.
+     * @return A list of hunks representing the edit to make oldFile into newFile.
+     */
+    private List<Hunk> createHunks() {
+        List<Hunk> retval = new ArrayList<>();
+        int currentLineOld = 0;
+        int currentLineNew = 0;
+        while (currentLineOld < oldFile.length || currentLineNew < newFile.length) {
+            int linesOld = 0;
+            int linesNew = 0;
+            Hunk hunk;
+            if (currentLineOld < oldFile.length && currentLineNew < newFile.length &&
+                    !oldChanged[currentLineOld] && !newChanged[currentLineNew]) {
+                while (currentLineOld + linesOld < oldFile.length &&
+                        currentLineNew + linesOld < newFile.length &&
+                        !oldChanged[currentLineOld + linesOld] &&
+                        !newChanged[currentLineNew + linesOld]) {
+                    linesOld++;
+                }
+                hunk = new MatchHunk();
+                linesNew = linesOld;
+            }
+            else {
+                while (currentLineOld + linesOld < oldFile.length &&
+                        oldChanged[currentLineOld + linesOld]) {
+                    linesOld++;
+                }
+                while (currentLineNew + linesNew < newFile.length &&
+                        newChanged[currentLineNew + linesNew]) {
+                    linesNew++;
+                }
+                if (linesNew == 0) {
+                    hunk = new DeleteHunk();
+                }
+                else if (linesOld == 0) {
+                    hunk = new InsertHunk();
                 }
                 else {
-                    beforeCurrent = beforeCurrent.next();
+                    hunk = new ChangeHunk();
                 }
             }
+
+            hunk.setOldLines(createFileLines(oldFile, currentLineOld, linesOld));
+            hunk.setNewLines(createFileLines(newFile, currentLineNew, linesNew));
+            retval.add(hunk);
+            currentLineOld += linesOld;
+            currentLineNew += linesNew;
         }
-        return null; //null means we need to step again.
+        return retval;
     }
 
+    private FileLines createFileLines(String[] file, int fromLine, int numLines) {
+        FileLines retval = new FileLines();
+        retval.setFromLine(fromLine + 1); //fromLine is an index, so it is one too small
+        retval.setToLine(fromLine + numLines + 1); //fromLine is still an index
+        for (int i = fromLine; i < fromLine + numLines; i++) {
+            retval.addLine(file[i]);
+        }
+        return retval;
+    }
 }
@@ -18,6 +18,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.redhat.rhn.common.filediff.ChangeHunk;
+import com.redhat.rhn.common.filediff.DeleteHunk;
 import com.redhat.rhn.common.filediff.Diff;
 import com.redhat.rhn.common.filediff.Hunk;
 import com.redhat.rhn.common.filediff.InsertHunk;
@@ -26,8 +27,11 @@ import com.redhat.rhn.testing.RhnBaseTestCase;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Random;
 
 public class DiffTest extends RhnBaseTestCase {
 
@@ -59,7 +63,80 @@ public class DiffTest extends RhnBaseTestCase {
         checkDiff(testOld, testNew, testType);
     }
 
-    private void checkDiff(String[] oldFile, String[] newFile, Class<?>[] types) {
+    @Test
+    public void testIdenticalFiles() {
+        String[] file = {"one", "two", "three"};
+        List<Hunk> hunks = new Diff(file, file).diffFiles();
+        assertEquals(1, hunks.size());
+        assertTrue(hunks.get(0) instanceof MatchHunk);
+        assertEquals(Arrays.asList(file), hunks.get(0).getOldLines().getLines());
+        assertEquals(1, hunks.get(0).getNewLines().getFromLine());
+        assertEquals(4, hunks.get(0).getNewLines().getToLine());
+    }
+
+    @Test
+    public void testMinimalDiff() {
+        // the common lines "a b c" are kept even though the files start differently
+        String[] testOld = {"x", "a", "b", "c", "y", "a"};
+        String[] testNew = {"a", "b", "z", "c", "a"};
+        Class<?>[] testTypes = { DeleteHunk.class, MatchHunk.class, InsertHunk.class,
+                MatchHunk.class, DeleteHunk.class, MatchHunk.class};
+        List<Hunk> hunks = checkDiff(testOld, testNew, testTypes);
+        assertEquals(4, countMatches(hunks));
+        checkLines(testOld, testNew, hunks);
+    }
+
+    @Test
+    public void testLargeFile() {
+        Random random = new Random(42);
+        String[] testOld = new String[100000];
+        for (int i = 0; i < testOld.length; i++) {
+            testOld[i] = "key" + (i % 1000) + " = " + (i % 7);
+        }
+        List<String> testNew = new ArrayList<>(Arrays.asList(testOld));
+        for (int i = 0; i < 500; i++) {
+            int line = random.nextInt(testNew.size());
+            if (i % 3 == 0) {
+                testNew.remove(line);
+            }
+            else if (i % 3 == 1) {
+                testNew.add(line, "added " + i);
+            }
+            else {
+                testNew.set(line, "changed " + i);
+            }
+        }
+        String[] newFile = testNew.toArray(new String[0]);
+        List<Hunk> hunks = new Diff(testOld, newFile).diffFiles();
+        checkLines(testOld, newFile, hunks);
+        // every edit costs at most one old line
+        assertTrue(countMatches(hunks) >= testOld.length - 500);
+    }
+
+    private int countMatches(List<Hunk> hunks) {
+        return hunks.stream()
+                .filter(MatchHunk.class::isInstance)
+                .mapToInt(hunk -> hunk.getOldLines().getLines().size())
+                .sum();
+    }
+
+    private void checkLines(String[] oldFile, String[] newFile, List<Hunk> hunks) {
+        List<String> oldLines = new ArrayList<>();
+        List<String> newLines = new ArrayList<>();
+        for (Hunk hunk : hunks) {
+            assertEquals(oldLines.size() + 1, hunk.getOldLines().getFromLine());
+            assertEquals(newLines.size() + 1, hunk.getNewLines().getFromLine());
+            if (hunk instanceof MatchHunk) {
+                assertEquals(hunk.getOldLines().getLines(), hunk.getNewLines().getLines());
+            }
+            oldLines.addAll(hunk.getOldLines().getLines());
+            newLines.addAll(hunk.getNewLines().getLines());
+        }
+        assertEquals(Arrays.asList(oldFile), oldLines);
+        assertEquals(Arrays.asList(newFile), newLines);
+    }
+
+    private List<Hunk> checkDiff(String[] oldFile, String[] newFile, Class<?>[] types) {
         Diff diff = new Diff(oldFile, newFile);
         List<Hunk> hunks = diff.diffFiles();
         assertEquals(types.length, hunks.size());
@@ -69,6 +146,7 @@ public class DiffTest extends RhnBaseTestCase {
             assertTrue(types[a].isInstance(i.next()));
             a++;
         }
+        return hunks;
     }
 
 }
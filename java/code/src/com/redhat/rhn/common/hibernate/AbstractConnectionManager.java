@@ -201,8 +201,9 @@ abstract class AbstractConnectionManager implements ConnectionManager {
             // TODO: Fix auto-discovery (see commit: e92b062)
             getAnnotatedClasses().forEach(config::addAnnotatedClass);
 
-            // add empty varchar interceptor to automatically convert empty to null
-            config.setInterceptor(new EmptyVarcharInterceptor(true));
+            // add interceptor to automatically convert empty varchar to null and to recognize new entities
+            // with assigned identifiers without selecting them
+            config.setInterceptor(new AssignedIdInterceptor(true));
 
             sessionFactory = config.buildSessionFactory();
         }
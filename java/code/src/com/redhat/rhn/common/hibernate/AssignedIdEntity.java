@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2025 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.redhat.rhn.common.hibernate;
+
+/**
+ * An entity with an assigned (e.g. composite) identifier which keeps track of whether it exists in the database.
+ *
+ * Hibernate cannot tell a new instance of such an entity from a detached one by looking at its identifier, so it
+ * selects every cascaded instance from the database before deciding to insert it. This makes saving many of them
+ * slow and prevents their inserts from being batched. {@link AssignedIdInterceptor} uses this flag instead.
+ */
+public interface AssignedIdEntity {
+
+    /**
+     * @return true if the entity was loaded from the database or saved to it
+     */
+    boolean wasPersisted();
+
+    /**
+     * Marks the entity as loaded from the database or saved to it.
+     */
+    void markPersisted();
+}
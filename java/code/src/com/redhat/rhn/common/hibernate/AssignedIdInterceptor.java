@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2025 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.redhat.rhn.common.hibernate;
+
+import org.hibernate.type.Type;
+
+import java.io.Serializable;
+
+/**
+ * Hibernate interceptor which tells new {@link AssignedIdEntity} instances from detached ones, so that Hibernate
+ * does not need to select them from the database before saving them. It also converts empty varchar fields like
+ * {@link EmptyVarcharInterceptor} does.
+ */
+public class AssignedIdInterceptor extends EmptyVarcharInterceptor {
+
+    private static final long serialVersionUID = 2183525546413466521L;
+
+    /**
+     * Constructor
+     *
+     * @param autoConvertIn if true automatically convert all empty varchar fields to null.
+     */
+    public AssignedIdInterceptor(boolean autoConvertIn) {
+        super(autoConvertIn);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean onLoad(Object entity, Serializable id, Object[] state, String[] propertyNames, Type[] types) {
+        if (entity instanceof AssignedIdEntity assigned) {
+            assigned.markPersisted();
+        }
+        return super.onLoad(entity, id, state, propertyNames, types);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean onSave(Object entity, Serializable id, Object[] state, String[] propertyNames, Type[] types) {
+        if (entity instanceof AssignedIdEntity assigned) {
+            assigned.markPersisted();
+        }
+        return super.onSave(entity, id, state, propertyNames, types);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Boolean isTransient(Object entity) {
+        if (entity instanceof AssignedIdEntity assigned) {
+            return !assigned.wasPersisted();
+        }
+        return super.isTransient(entity);
+    }
+}
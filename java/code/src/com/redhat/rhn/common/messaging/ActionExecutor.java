@@ -31,6 +31,7 @@ class ActionExecutor implements Runnable {
 
     private EventMessage msg;
     private List<MessageAction> actionHandlers = new ArrayList<>();
+    private final long created = System.nanoTime();
 
     /**
      * Constructor
@@ -48,6 +49,16 @@ class ActionExecutor implements Runnable {
      */
     @Override
     public void run() {
+        long start = System.nanoTime();
+        try {
+            runActions();
+        }
+        finally {
+            MessageStatistics.recordExecuted(msg.getClass(), start - created, System.nanoTime() - start);
+        }
+    }
+
+    private void runActions() {
         for (MessageAction action : actionHandlers) {
             LOG.debug("run() - got action: {}", action.getClass().getName());
             try {
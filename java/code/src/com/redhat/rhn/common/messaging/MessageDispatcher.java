@@ -14,49 +14,46 @@
  */
 package com.redhat.rhn.common.messaging;
 
-import com.redhat.rhn.common.conf.Config;
-import com.redhat.rhn.common.conf.ConfigDefaults;
 import com.redhat.rhn.common.hibernate.HibernateFactory;
 import com.redhat.rhn.frontend.events.TraceBackAction;
 import com.redhat.rhn.frontend.events.TraceBackEvent;
 
-import com.suse.manager.metrics.PrometheusExporter;
-
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 /**
- * Polls the EventQueue for events and executes them
+ * Polls one of the message queues for events and executes them
  *
  */
 public class MessageDispatcher implements Runnable {
 
     private static Logger log = LogManager.getLogger(MessageDispatcher.class);
+
     private boolean isStopped = false;
 
-    /* Thread pool for concurrent execution of message actions */
-    private ExecutorService threadPool = new MessageQueueThreadPool(
-            Config.get().getInt(ConfigDefaults.MESSAGE_QUEUE_THREAD_POOL_SIZE));
+    private final BlockingQueue<ActionExecutor> queue;
+
+    /* Thread pool for concurrent execution of message actions, shared by all dispatchers */
+    private final ExecutorService threadPool;
+
+    /**
+     * Creates a dispatcher for a queue
+     * @param queueIn the queue to poll
+     * @param threadPoolIn the thread pool for the actions which can run concurrently
+     */
+    MessageDispatcher(BlockingQueue<ActionExecutor> queueIn, ExecutorService threadPoolIn) {
+        queue = queueIn;
+        threadPool = threadPoolIn;
+    }
 
     /**
      * Signals the dispatcher to stop
      */
     public synchronized void stop() {
-        // Gracefully shut down the thread pool
-        threadPool.shutdown();
-        log.info("Awaiting termination of threads (for 1 minute)");
-        try {
-            final boolean done = threadPool.awaitTermination(1, TimeUnit.MINUTES);
-            log.info("Thread pool shut down: {}", done);
-        }
-        catch (InterruptedException e) {
-            log.error("Interrupted while awaiting termination", e);
-        }
-
         isStopped = true;
     }
 
@@ -74,14 +71,9 @@ public class MessageDispatcher implements Runnable {
      */
     @Override
     public void run() {
-
-        // register the executor service for exporting metrics
-        PrometheusExporter.INSTANCE.registerThreadPool((ThreadPoolExecutor) this.threadPool, "message_queue");
-
-
-        while (!isStopped) {
+        while (!isStopped()) {
             try {
-                ActionExecutor actionHandler = MessageQueue.popEventMessage();
+                ActionExecutor actionHandler = queue.poll(500, TimeUnit.MILLISECONDS);
                 if (actionHandler == null) {
                     continue;
                 }
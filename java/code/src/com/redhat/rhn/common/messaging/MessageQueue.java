@@ -15,6 +15,8 @@
 
 package com.redhat.rhn.common.messaging;
 
+import com.redhat.rhn.common.conf.Config;
+import com.redhat.rhn.common.conf.ConfigDefaults;
 import com.redhat.rhn.domain.server.ServerFactory;
 import com.redhat.rhn.domain.server.ServerGroupFactory;
 import com.redhat.rhn.frontend.events.AlignSoftwareTargetAction;
@@ -57,6 +59,7 @@ import com.redhat.rhn.frontend.events.UpdateErrataCacheAction;
 import com.redhat.rhn.frontend.events.UpdateErrataCacheEvent;
 import com.redhat.rhn.manager.system.SystemManager;
 
+import com.suse.manager.metrics.PrometheusExporter;
 import com.suse.manager.reactor.messaging.ChannelsChangedEventMessage;
 import com.suse.manager.reactor.messaging.ChannelsChangedEventMessageAction;
 import com.suse.manager.webui.services.iface.SaltApi;
@@ -65,23 +68,36 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 /**
- * A class that passes messages from the sender to an action class
+ * A class that passes messages from the sender to an action class.
+ *
+ * Messages whose actions cannot run concurrently all go to one queue and run one after the other in the
+ * dispatcher thread of that queue, in publication order. Messages whose actions can run concurrently are
+ * distributed by type over several other queues, whose dispatchers hand them to the shared thread pool.
+ * The queues are unbounded, so publishing never blocks.
  */
 public class MessageQueue {
     private static final Logger LOGGER = LogManager.getLogger(MessageQueue.class);
-    private static final Map<Class<? extends EventMessage>, List<MessageAction>> ACTIONS = new HashMap<>();
-    private static final BlockingQueue<Runnable> MESSAGE_QUEUE = new LinkedBlockingQueue<>();
-    private static MessageDispatcher dispatcher = null;
-    private static int messageCount;
+    private static final Map<Class<? extends EventMessage>, List<MessageAction>> ACTIONS = new ConcurrentHashMap<>();
+    // the first queue is for the messages which cannot run concurrently
+    private static final List<BlockingQueue<ActionExecutor>> MESSAGE_QUEUES = IntStream
+            .range(0, ConfigDefaults.get().getMessageQueueShards() + 1)
+            .<BlockingQueue<ActionExecutor>>mapToObj(i -> new LinkedBlockingQueue<>())
+            .toList();
+    private static volatile List<MessageDispatcher> dispatchers = List.of();
+    private static ExecutorService threadPool = null;
 
     /**
      * Util class so we don't have a usable constructor
@@ -102,23 +118,15 @@ public class MessageQueue {
             startMessaging();
         }
         if (msg != null) {
-            synchronized (ACTIONS) {
-                List<MessageAction> handlers = ACTIONS.get(msg.getClass());
-                if (handlers != null && !handlers.isEmpty()) {
-                    LOGGER.debug("creating ActionExecutor");
-                    ActionExecutor executor = new ActionExecutor(handlers, msg);
-                    try {
-                        MESSAGE_QUEUE.put(executor);
-                        messageCount++;
-                    }
-                    catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                        LOGGER.error(e.getMessage(), e);
-                    }
-                }
-                else {
-                    LOGGER.debug("handlers is null, not processing!");
-                }
+            List<MessageAction> handlers = ACTIONS.get(msg.getClass());
+            if (handlers != null && !handlers.isEmpty()) {
+                LOGGER.debug("creating ActionExecutor");
+                ActionExecutor executor = new ActionExecutor(handlers, msg);
+                MessageStatistics.recordPublished(msg.getClass());
+                queueFor(executor, msg.getClass()).add(executor);
+            }
+            else {
+                LOGGER.debug("handlers is null, not processing!");
             }
         }
 
@@ -127,23 +135,21 @@ public class MessageQueue {
         }
     }
 
+    private static BlockingQueue<ActionExecutor> queueFor(ActionExecutor executor,
+            Class<? extends EventMessage> type) {
+        if (!executor.canRunConcurrently()) {
+            return MESSAGE_QUEUES.get(0);
+        }
+        return MESSAGE_QUEUES.get(1 + Math.floorMod(type.getName().hashCode(), MESSAGE_QUEUES.size() - 1));
+    }
+
     /**
      * Returns {@link MessageAction}s corresponding to an {@link EventMessage}.
      * @param message message
      * @return actions
      */
     public static Stream<MessageAction> getActionsFor(EventMessage message) {
-        return ACTIONS.get(message.getClass()).stream();
-    }
-
-    static ActionExecutor popEventMessage() throws InterruptedException {
-        ActionExecutor retval = (ActionExecutor) MESSAGE_QUEUE.poll(500, TimeUnit.MILLISECONDS);
-        if (retval != null) {
-            synchronized (ACTIONS) {
-                messageCount--;
-            }
-        }
-        return retval;
+        return ACTIONS.getOrDefault(message.getClass(), List.of()).stream();
     }
 
     /**
@@ -156,11 +162,21 @@ public class MessageQueue {
         if (isMessaging()) {
             return;
         }
-        dispatcher = new MessageDispatcher();
-        Thread dispatcherThread = new Thread(dispatcher);
-        dispatcherThread.setName("RHN Message Dispatcher");
-        dispatcherThread.setDaemon(false);
-        dispatcherThread.start();
+        threadPool = new MessageQueueThreadPool(Config.get().getInt(ConfigDefaults.MESSAGE_QUEUE_THREAD_POOL_SIZE));
+
+        // register the executor service for exporting metrics
+        PrometheusExporter.INSTANCE.registerThreadPool((ThreadPoolExecutor) threadPool, "message_queue");
+
+        List<MessageDispatcher> started = new ArrayList<>();
+        for (int i = 0; i < MESSAGE_QUEUES.size(); i++) {
+            MessageDispatcher dispatcher = new MessageDispatcher(MESSAGE_QUEUES.get(i), threadPool);
+            Thread dispatcherThread = new Thread(dispatcher);
+            dispatcherThread.setName("RHN Message Dispatcher " + i);
+            dispatcherThread.setDaemon(false);
+            dispatcherThread.start();
+            started.add(dispatcher);
+        }
+        dispatchers = List.copyOf(started);
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("startMessaging() - end");
         }
@@ -173,7 +189,19 @@ public class MessageQueue {
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("stopMessaging() - start");
         }
-        dispatcher.stop();
+        dispatchers.forEach(MessageDispatcher::stop);
+        // Gracefully shut down the thread pool
+        if (threadPool != null) {
+            threadPool.shutdown();
+            LOGGER.info("Awaiting termination of threads (for 1 minute)");
+            try {
+                final boolean done = threadPool.awaitTermination(1, TimeUnit.MINUTES);
+                LOGGER.info("Thread pool shut down: {}", done);
+            }
+            catch (InterruptedException e) {
+                LOGGER.error("Interrupted while awaiting termination", e);
+            }
+        }
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("stopMessaging() - end");
         }
@@ -184,7 +212,16 @@ public class MessageQueue {
      * @return int number of messages in queue.
      */
     public static int getMessageCount() {
-        return messageCount;
+        return MESSAGE_QUEUES.stream().mapToInt(BlockingQueue::size).sum();
+    }
+
+    /**
+     * Get the number of messages waiting in each of the queues
+     * @return the number of messages per queue, starting with the queue of the messages which cannot run
+     * concurrently
+     */
+    public static List<Integer> getQueueDepths() {
+        return MESSAGE_QUEUES.stream().map(BlockingQueue::size).toList();
     }
 
     /**
@@ -196,10 +233,7 @@ public class MessageQueue {
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("registerAction(MessageAction, Class) - : {} class: {}", act, eventType.getName());
         }
-        synchronized (ACTIONS) {
-            List<MessageAction> handlers = ACTIONS.computeIfAbsent(eventType, k -> new ArrayList<>());
-            handlers.add(act);
-        }
+        ACTIONS.computeIfAbsent(eventType, k -> new CopyOnWriteArrayList<>()).add(act);
     }
 
     /**
@@ -211,8 +245,8 @@ public class MessageQueue {
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("deRegisterAction(MessageAction, Class) - start");
         }
-        synchronized (ACTIONS) {
-            List<MessageAction> handlers = ACTIONS.get(eventType);
+        List<MessageAction> handlers = ACTIONS.get(eventType);
+        if (handlers != null) {
             handlers.remove(act);
         }
         if (LOGGER.isDebugEnabled()) {
@@ -229,22 +263,14 @@ public class MessageQueue {
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("getRegisteredEventNames() - start");
         }
-        String[] retval = null;
-        synchronized (ACTIONS) {
-            if (!ACTIONS.keySet().isEmpty()) {
-                retval = new String[ACTIONS.keySet().size()];
-                int index = 0;
-                for (Class<? extends EventMessage> klazz : ACTIONS.keySet()) {
-                    retval[index] = klazz.getName();
-                    index++;
-                }
-            }
-        }
+        String[] retval = ACTIONS.keySet().stream()
+                .map(Class::getName)
+                .toArray(String[]::new);
 
         if (LOGGER.isDebugEnabled()) {
-            LOGGER.debug("getRegisteredEventNames() - end - null");
+            LOGGER.debug("getRegisteredEventNames() - end");
         }
-        return retval;
+        return retval.length > 0 ? retval : null;
     }
 
     /**
@@ -253,7 +279,8 @@ public class MessageQueue {
      * @return boolean true if MessageQueue is running.
      */
     public static boolean isMessaging() {
-        return (dispatcher != null && !dispatcher.isStopped());
+        List<MessageDispatcher> current = dispatchers;
+        return !current.isEmpty() && current.stream().noneMatch(MessageDispatcher::isStopped);
     }
 
 
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2025 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.redhat.rhn.common.messaging;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects dispatching statistics of the {@link MessageQueue}, keyed by message type.
+ */
+public final class MessageStatistics {
+
+    private static final Map<String, TypeStats> STATS = new ConcurrentHashMap<>();
+
+    private MessageStatistics() {
+    }
+
+    /**
+     * Statistics of a single message type
+     */
+    public static final class TypeStats {
+        private final LongAdder published = new LongAdder();
+        private final LongAdder executed = new LongAdder();
+        private final LongAdder waitNanos = new LongAdder();
+        private final LongAdder executionNanos = new LongAdder();
+
+        /**
+         * @return the number of messages published
+         */
+        public long getPublished() {
+            return published.sum();
+        }
+
+        /**
+         * @return the number of messages whose actions were executed
+         */
+        public long getExecuted() {
+            return executed.sum();
+        }
+
+        /**
+         * @return the total time messages waited in the queue before their actions started, in nanoseconds
+         */
+        public long getWaitNanos() {
+            return waitNanos.sum();
+        }
+
+        /**
+         * @return the total time spent executing the actions of the messages, in nanoseconds
+         */
+        public long getExecutionNanos() {
+            return executionNanos.sum();
+        }
+    }
+
+    private static TypeStats statsFor(Class<? extends EventMessage> type) {
+        return STATS.computeIfAbsent(type.getSimpleName(), k -> new TypeStats());
+    }
+
+    /**
+     * Records the publication of a message
+     * @param type the message type
+     */
+    static void recordPublished(Class<? extends EventMessage> type) {
+        statsFor(type).published.increment();
+    }
+
+    /**
+     * Records the execution of the actions of a message
+     * @param type the message type
+     * @param waitNanos time the message waited in the queue
+     * @param executionNanos time spent executing the actions
+     */
+    static void recordExecuted(Class<? extends EventMessage> type, long waitNanos, long executionNanos) {
+        TypeStats stats = statsFor(type);
+        stats.executed.increment();
+        stats.waitNanos.add(waitNanos);
+        stats.executionNanos.add(executionNanos);
+    }
+
+    /**
+     * @return an unmodifiable view of the statistics of all the published message types
+     */
+    public static Map<String, TypeStats> getTypeStats() {
+        return Collections.unmodifiableMap(STATS);
+    }
+}
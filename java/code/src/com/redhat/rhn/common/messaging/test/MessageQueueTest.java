@@ -15,11 +15,15 @@
 
 package com.redhat.rhn.common.messaging.test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.redhat.rhn.common.conf.Config;
+import com.redhat.rhn.common.messaging.EventMessage;
+import com.redhat.rhn.common.messaging.MessageAction;
 import com.redhat.rhn.common.messaging.MessageQueue;
+import com.redhat.rhn.common.messaging.MessageStatistics;
 import com.redhat.rhn.domain.user.User;
 import com.redhat.rhn.testing.RhnBaseTestCase;
 
@@ -29,6 +33,10 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 public class MessageQueueTest extends RhnBaseTestCase {
 
     private static Logger logger = LogManager.getLogger(MessageQueueTest.class);
@@ -194,6 +202,115 @@ public class MessageQueueTest extends RhnBaseTestCase {
         logger.debug("testThreadKiller - end");
     }
 
+    @Test
+    public void testPublishOrderPerType() throws Exception {
+        List<EventMessage> received = Collections.synchronizedList(new ArrayList<>());
+        MessageAction recorder = new MessageAction() {
+            @Override
+            public void execute(EventMessage msg) {
+                received.add(msg);
+            }
+
+            @Override
+            public boolean needsTransactionHandling() {
+                return false;
+            }
+        };
+        TestAction.deRegisterAction();
+        MessageQueue.registerAction(recorder, TestEventMessage.class);
+        try {
+            List<EventMessage> published = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                TestEventMessage me = new TestEventMessage();
+                published.add(me);
+                MessageQueue.publish(me);
+            }
+            for (int tries = 0; received.size() < published.size() && tries < 50; tries++) {
+                Thread.sleep(100);
+            }
+            // messages of one type are dispatched by a single thread, in publication order
+            assertEquals(published, received);
+            assertTrue(MessageStatistics.getTypeStats().get("TestEventMessage").getExecuted() >= 100);
+        }
+        finally {
+            MessageQueue.deRegisterAction(recorder, TestEventMessage.class);
+        }
+    }
+
+    @Test
+    public void testPublishOrderAcrossTypes() throws Exception {
+        List<EventMessage> received = Collections.synchronizedList(new ArrayList<>());
+        MessageAction recorder = new MessageAction() {
+            @Override
+            public void execute(EventMessage msg) {
+                received.add(msg);
+            }
+
+            @Override
+            public boolean needsTransactionHandling() {
+                return false;
+            }
+        };
+        MessageQueue.registerAction(recorder, FirstOrderedMessage.class);
+        MessageQueue.registerAction(recorder, SecondOrderedMessage.class);
+        try {
+            List<EventMessage> published = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                EventMessage me = i % 3 == 0 ? new FirstOrderedMessage() : new SecondOrderedMessage();
+                published.add(me);
+                MessageQueue.publish(me);
+            }
+            for (int tries = 0; received.size() < published.size() && tries < 50; tries++) {
+                Thread.sleep(100);
+            }
+            // actions which cannot run concurrently are serialized over all message types
+            assertEquals(published, received);
+        }
+        finally {
+            MessageQueue.deRegisterAction(recorder, FirstOrderedMessage.class);
+            MessageQueue.deRegisterAction(recorder, SecondOrderedMessage.class);
+        }
+    }
+
+    @Test
+    public void testActionsForUnregisteredType() {
+        assertEquals(0, MessageQueue.getActionsFor(new EventMessage() {
+            @Override
+            public String toText() {
+                return "unregistered";
+            }
+
+            @Override
+            public Long getUserId() {
+                return null;
+            }
+        }).count());
+    }
+
+    private static class FirstOrderedMessage implements EventMessage {
+        @Override
+        public String toText() {
+            return "first";
+        }
+
+        @Override
+        public Long getUserId() {
+            return null;
+        }
+    }
+
+    private static class SecondOrderedMessage implements EventMessage {
+        @Override
+        public String toText() {
+            return "second";
+        }
+
+        @Override
+        public Long getUserId() {
+            return null;
+        }
+    }
+
     private void verifyMessageEvent(TestEventMessage me, boolean matchingValue)
             throws InterruptedException {
         MessageQueue.publish(me);
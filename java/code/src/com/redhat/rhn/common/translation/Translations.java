@@ -17,6 +17,10 @@ package com.redhat.rhn.common.translation;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * TranslationFactory, simple factory class that uses ManifestFactory to
@@ -29,6 +33,13 @@ public class Translations {
     protected Translations() {
     }
 
+    /**
+     * Translation method chosen for a pair of classes on a translations class. Translations
+     * are looked up by class only, so the choice is cached instead of scanning the declared
+     * methods on every call.
+     */
+    private static final Map<List<Class<?>>, Optional<Method>> MATCHES = new ConcurrentHashMap<>();
+
     // This is a HACK!  Basically, we can't get to the Class object from
     // within a static method.  So, we pass the Class object in from
     // a sub-class.
@@ -39,56 +50,49 @@ public class Translations {
             return have;
         }
 
-        Method[] methods = thisClass.getDeclaredMethods();
-
-        // tries to find an exact match
-        Object rc = findMatch(methods, have, want, false);
+        Method match = MATCHES.computeIfAbsent(List.of(thisClass, have.getClass(), want), key -> {
+            Method[] methods = thisClass.getDeclaredMethods();
 
-        if (rc == null) {
-            // try to find the best match
-            rc = findMatch(methods, have, want, true);
+            // tries to find an exact match, then the best match
+            return findMatch(methods, have.getClass(), want, false)
+                    .or(() -> findMatch(methods, have.getClass(), want, true));
+        }).orElseThrow(() -> new TranslationException("Could not find translator for " +
+                have.getClass() + " to " + want));
 
-            if (rc == null) {
-                throw new TranslationException("Could not find translator for " +
-                        have.getClass() + " to " + want);
-            }
+        Object[] objs = {have};
+        try {
+            return match.invoke(null, objs);
+        }
+        catch (IllegalAccessException e) {
+            throw new TranslationException("Could not execute " +
+                    "translator for " + have.getClass() +
+                    " to " + want, e);
+        }
+        catch (InvocationTargetException e) {
+            throw new TranslationException("Error when executing " +
+                    "translator for " + have.getClass() +
+                    " to " + want, e.getCause());
         }
-
-        return rc;
     }
 
-    private static Object findMatch(Method[] methods, Object have,
-                                    Class<?> want, boolean bestMatch)
-            throws TranslationException {
+    private static Optional<Method> findMatch(Method[] methods, Class<?> have,
+                                              Class<?> want, boolean bestMatch) {
 
         for (Method methodIn : methods) {
             Class<?> returnType = methodIn.getReturnType();
             Class<?>[] params = methodIn.getParameterTypes();
 
             // All conversions have a single parameter, the object to transform
-            if (!bestMatch && have != null && (params.length != 1 || !params[0].equals(have.getClass())) ||
-                bestMatch && have != null && (params.length != 1 || !params[0].isAssignableFrom(have.getClass()))) {
+            if (!bestMatch && (params.length != 1 || !params[0].equals(have)) ||
+                bestMatch && (params.length != 1 || !params[0].isAssignableFrom(have))) {
                 continue;
             }
 
             if (returnType.equals(want)) {
-                Object[] objs = {have};
-                try {
-                    return methodIn.invoke(null, objs);
-                }
-                catch (IllegalAccessException e) {
-                    throw new TranslationException("Could not execute " +
-                            "translator for " + have.getClass() +
-                            " to " + want, e);
-                }
-                catch (InvocationTargetException e) {
-                    throw new TranslationException("Error when executing " +
-                            "translator for " + have.getClass() +
-                            " to " + want, e.getCause());
-                }
+                return Optional.of(methodIn);
             }
         }
 
-        return null;
+        return Optional.empty();
     }
 }
@@ -14,6 +14,7 @@
  */
 package com.redhat.rhn.domain.action.server;
 
+import com.redhat.rhn.common.hibernate.AssignedIdEntity;
 import com.redhat.rhn.domain.action.Action;
 import com.redhat.rhn.domain.action.ActionChild;
 import com.redhat.rhn.domain.action.ActionFactory;
@@ -36,7 +37,7 @@ import java.util.Set;
 /**
  * Class representation of the table rhnServerAction.
  */
-public class ServerAction extends ActionChild implements Serializable {
+public class ServerAction extends ActionChild implements Serializable, AssignedIdEntity {
 
     private static final long serialVersionUID = 1L;
     private static final Logger LOG = LogManager.getLogger(ServerAction.class);
@@ -50,6 +51,7 @@ public class ServerAction extends ActionChild implements Serializable {
 
     private ActionStatus status;
     private Server server;
+    private boolean persisted;
 
     private static MaintenanceManager maintenanceManager = new MaintenanceManager();
 
@@ -160,6 +162,22 @@ public class ServerAction extends ActionChild implements Serializable {
         this.remainingTries = remainingTriesIn;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean wasPersisted() {
+        return persisted;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void markPersisted() {
+        persisted = true;
+    }
+
     /**
      * Gets the Server associated with this ServerAction record
      * @return Returns the server.
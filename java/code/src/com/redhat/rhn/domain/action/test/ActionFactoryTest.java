@@ -63,6 +63,7 @@ import com.redhat.rhn.testing.ConfigTestUtils;
 import com.redhat.rhn.testing.TestUtils;
 
 import org.apache.commons.lang3.RandomStringUtils;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 
 import java.nio.charset.StandardCharsets;
@@ -94,6 +95,36 @@ public class ActionFactoryTest extends BaseTestCaseWithUser {
         assertTrue(a2.getName().startsWith("RHN-JAVA Test Action"));
     }
 
+    /**
+     * Test that new server actions are inserted in batches, without selecting each of them first
+     */
+    @Test
+    public void testAddServersToActionIsBatched() {
+        int count = 20;
+        List<Server> servers = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            servers.add(ServerFactoryTest.createTestServer(user, true));
+        }
+        HibernateFactory.getSession().flush();
+
+        Statistics statistics = HibernateFactory.getSession().getSessionFactory().getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            Action action = createEmptyAction(user, ActionFactory.TYPE_HARDWARE_REFRESH_LIST);
+            servers.forEach(server -> ActionFactory.addServerToAction(server, action));
+            ActionFactory.save(action);
+            HibernateFactory.getSession().flush();
+
+            assertEquals(count, statistics.getEntityStatistics(ServerAction.class.getName()).getInsertCount());
+            assertTrue(statistics.getPrepareStatementCount() < count,
+                    "Unexpected statement count: " + statistics.getPrepareStatementCount());
+        }
+        finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
     /**
      * Test fetching an Action
      * @throws Exception something bad happened
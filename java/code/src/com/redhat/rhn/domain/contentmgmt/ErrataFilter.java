@@ -16,7 +16,6 @@
 package com.redhat.rhn.domain.contentmgmt;
 
 import com.redhat.rhn.domain.errata.Errata;
-import com.redhat.rhn.domain.rhnpackage.Package;
 import com.redhat.rhn.domain.rhnpackage.PackageEvr;
 
 import java.time.ZoneId;
@@ -46,10 +45,43 @@ public class ErrataFilter extends ContentFilter<Errata> {
         String field = getCriteria().getField();
         String value = getCriteria().getValue();
 
+        switch (field) {
+            case "keyword":
+                if (matcher == FilterCriteria.Matcher.CONTAINS) {
+                    return erratum.hasKeyword(value);
+                }
+
+                throw new UnsupportedOperationException("Matcher " + matcher + " not supported");
+            case "package_provides_name":
+                if (matcher == FilterCriteria.Matcher.CONTAINS_PROVIDES_NAME) {
+                    return erratum.getPackages().stream()
+                                  .flatMap(pkg -> pkg.getProvides().stream())
+                                  .map(p -> p.getCapability().getName())
+                                  .anyMatch(n -> n.equals(value));
+                }
+
+                throw new UnsupportedOperationException("Matcher " + matcher + " not supported");
+            default:
+                return test(ErrataProjection.of(erratum, needsPackages()));
+        }
+    }
+
+    /**
+     * Tests an erratum projection. Filters on keywords and on the provided capabilities of the packages cannot be
+     * tested this way, see {@link #canTestProjection()}.
+     *
+     * @param erratum the erratum projection
+     * @return true if the filter matches the erratum
+     */
+    public boolean test(ErrataProjection erratum) {
+        FilterCriteria.Matcher matcher = getCriteria().getMatcher();
+        String field = getCriteria().getField();
+        String value = getCriteria().getValue();
+
         switch (field) {
             case "issue_date":
                 ZonedDateTime valDate = ZonedDateTime.parse(value, DateTimeFormatter.ISO_OFFSET_DATE_TIME);
-                ZonedDateTime issueDate = getField(erratum, field, ZonedDateTime.class);
+                ZonedDateTime issueDate = erratum.issueDate().toInstant().atZone(ZoneId.systemDefault());
                 switch (matcher) {
                     case GREATEREQ:
                         return !issueDate.isBefore(valDate);
@@ -61,26 +93,26 @@ public class ErrataFilter extends ContentFilter<Errata> {
             case "advisory_name":
                 switch (matcher) {
                     case EQUALS:
-                        return getField(erratum, field, String.class).equals(value);
+                        return erratum.advisoryName().equals(value);
                     case MATCHES:
                         if (pattern == null) {
                             pattern = Pattern.compile(value);
                         }
-                        return pattern.matcher(getField(erratum, field, String.class)).matches();
+                        return pattern.matcher(erratum.advisoryName()).matches();
                     default:
                         throw new UnsupportedOperationException("Matcher " + matcher + " not supported");
                 }
             case "package_name":
                 switch (matcher) {
                     case CONTAINS_PKG_NAME:
-                        return erratum.getPackages().stream()
-                                .anyMatch(p -> p.getPackageName().getName().equals(value));
+                        return erratum.packages().stream()
+                                .anyMatch(p -> p.name().equals(value));
                     case MATCHES_PKG_NAME:
                         if (pattern == null) {
                             pattern = Pattern.compile(value);
                         }
-                        return erratum.getPackages().stream()
-                                .anyMatch(p -> pattern.matcher(p.getPackageName().getName()).matches());
+                        return erratum.packages().stream()
+                                .anyMatch(p -> pattern.matcher(p.name()).matches());
                     default:
                         throw new UnsupportedOperationException("Matcher " + matcher + " not supported");
                 }
@@ -91,80 +123,74 @@ public class ErrataFilter extends ContentFilter<Errata> {
                 }
                 String name = split.get(0);
                 String evr = split.get(1);
-                Stream<Package> pstream = erratum.getPackages().stream()
-                        .filter(p -> p.getPackageName().getName().equals(name));
+                Stream<PackageEvr> evrs = erratum.packages().stream()
+                        .filter(p -> p.name().equals(name))
+                        .map(ErrataProjection.PackageNameEvr::evr);
                 switch (matcher) {
                     case CONTAINS_PKG_LT_EVR:
-                        return pstream.anyMatch(p -> p.getPackageEvr().compareTo(
-                                PackageEvr.parsePackageEvr(p.getPackageEvr().getPackageType(), evr)) < 0);
+                        return evrs.anyMatch(e -> compareEvr(e, evr) < 0);
                     case CONTAINS_PKG_LE_EVR:
-                        return pstream.anyMatch(p -> p.getPackageEvr().compareTo(
-                                PackageEvr.parsePackageEvr(p.getPackageEvr().getPackageType(), evr)) <= 0);
+                        return evrs.anyMatch(e -> compareEvr(e, evr) <= 0);
                     case CONTAINS_PKG_EQ_EVR:
-                        return pstream.anyMatch(p -> p.getPackageEvr().compareTo(
-                                PackageEvr.parsePackageEvr(p.getPackageEvr().getPackageType(), evr)) == 0);
+                        return evrs.anyMatch(e -> compareEvr(e, evr) == 0);
                     case CONTAINS_PKG_GE_EVR:
-                        return pstream.anyMatch(p -> p.getPackageEvr().compareTo(
-                                PackageEvr.parsePackageEvr(p.getPackageEvr().getPackageType(), evr)) >= 0);
+                        return evrs.anyMatch(e -> compareEvr(e, evr) >= 0);
                     case CONTAINS_PKG_GT_EVR:
-                        return pstream.anyMatch(p -> p.getPackageEvr().compareTo(
-                                PackageEvr.parsePackageEvr(p.getPackageEvr().getPackageType(), evr)) > 0);
+                        return evrs.anyMatch(e -> compareEvr(e, evr) > 0);
                     default:
                         throw new UnsupportedOperationException("Matcher " + matcher + " not supported");
                 }
             case "advisory_type":
                 if (matcher == FilterCriteria.Matcher.EQUALS) {
-                    return getField(erratum, field, String.class).equals(value);
+                    return erratum.advisoryType().equals(value);
                 }
 
                 throw new UnsupportedOperationException("Matcher " + matcher + " not supported");
             case "synopsis":
                 switch (matcher) {
                     case EQUALS:
-                        return getField(erratum, field, String.class).equals(value);
+                        return erratum.synopsis().equals(value);
                     case CONTAINS:
-                        return getField(erratum, field, String.class).contains(value);
+                        return erratum.synopsis().contains(value);
                     case MATCHES:
                         if (pattern == null) {
                             pattern = Pattern.compile(value);
                         }
-                        return pattern.matcher(getField(erratum, field, String.class)).matches();
+                        return pattern.matcher(erratum.synopsis()).matches();
                     default:
                         throw new UnsupportedOperationException("Matcher " + matcher + " not supported");
                 }
             case "keyword":
-                if (matcher == FilterCriteria.Matcher.CONTAINS) {
-                    return erratum.hasKeyword(value);
-                }
-
-                throw new UnsupportedOperationException("Matcher " + matcher + " not supported");
             case "package_provides_name":
-                if (matcher == FilterCriteria.Matcher.CONTAINS_PROVIDES_NAME) {
-                    return erratum.getPackages().stream()
-                                  .flatMap(pkg -> pkg.getProvides().stream())
-                                  .map(p -> p.getCapability().getName())
-                                  .anyMatch(n -> n.equals(value));
-                }
-
-                throw new UnsupportedOperationException("Matcher " + matcher + " not supported");
+                throw new UnsupportedOperationException("Field " + field + " cannot be tested on a projection");
             default:
                 throw new UnsupportedOperationException("Field " + field + " not supported");
         }
     }
 
-    private static <T> T getField(Errata erratum, String field, Class<T> type) {
-        switch (field) {
-            case "advisory_name":
-                return type.cast(erratum.getAdvisoryName());
-            case "advisory_type":
-                return type.cast(erratum.getAdvisoryType());
-            case "issue_date":
-                return type.cast(erratum.getIssueDate().toInstant().atZone(ZoneId.systemDefault()));
-            case "synopsis":
-                return type.cast(erratum.getSynopsis());
-            default:
-                throw new UnsupportedOperationException("Field " + field + " not supported");
-        }
+    private static int compareEvr(PackageEvr packageEvr, String evr) {
+        return packageEvr.compareTo(PackageEvr.parsePackageEvr(packageEvr.getPackageType(), evr));
+    }
+
+    /**
+     * Tells if the filter can be tested on an {@link ErrataProjection}. Filters on keywords and on the provided
+     * capabilities of the packages need data which is not part of the projection.
+     *
+     * @return true if {@link #test(ErrataProjection)} can be used
+     */
+    public boolean canTestProjection() {
+        String field = getCriteria().getField();
+        return !"keyword".equals(field) && !"package_provides_name".equals(field);
+    }
+
+    /**
+     * Tells if the filter needs the packages of the {@link ErrataProjection}s it tests.
+     *
+     * @return true if the filter tests the packages of the errata
+     */
+    public boolean needsPackages() {
+        String field = getCriteria().getField();
+        return "package_name".equals(field) || "package_nevr".equals(field);
     }
 
     @Override
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2025 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+
+package com.redhat.rhn.domain.contentmgmt;
+
+import com.redhat.rhn.domain.errata.Errata;
+import com.redhat.rhn.domain.rhnpackage.PackageEvr;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Compact, detached view of an erratum, holding the fields needed to evaluate {@link ErrataFilter}s.
+ *
+ * @param id the erratum id
+ * @param advisoryName the advisory name
+ * @param advisoryType the advisory type
+ * @param issueDate the issue date
+ * @param synopsis the synopsis
+ * @param packages the packages of the erratum, only loaded when a filter needs them
+ */
+public record ErrataProjection(Long id, String advisoryName, String advisoryType, Date issueDate, String synopsis,
+                               List<PackageNameEvr> packages) {
+
+    /**
+     * Name and evr of a package of an erratum.
+     *
+     * @param name the package name
+     * @param evr the package evr
+     */
+    public record PackageNameEvr(String name, PackageEvr evr) { }
+
+    /**
+     * Creates the projection of an erratum
+     * @param erratum the erratum
+     * @param withPackages true to include the packages of the erratum
+     * @return the projection
+     */
+    public static ErrataProjection of(Errata erratum, boolean withPackages) {
+        List<PackageNameEvr> packages = !withPackages ? List.of() : erratum.getPackages().stream()
+                .map(p -> new PackageNameEvr(p.getPackageName().getName(), p.getPackageEvr()))
+                .toList();
+        return new ErrataProjection(erratum.getId(), erratum.getAdvisoryName(), erratum.getAdvisoryType(),
+                erratum.getIssueDate(), erratum.getSynopsis(), packages);
+    }
+}
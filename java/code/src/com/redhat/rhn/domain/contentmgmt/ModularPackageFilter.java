@@ -34,6 +34,16 @@ public class ModularPackageFilter extends PackageFilter {
         return pack.getPackageEvr().getRelease().contains(".module");
     }
 
+    @Override
+    public boolean test(PackageProjection pack) {
+        return pack.evr().getRelease().contains(".module");
+    }
+
+    @Override
+    public boolean canTestProjection() {
+        return true;
+    }
+
     @Override
     public void setCriteria(FilterCriteria criteriaIn) {
         throw new UnsupportedOperationException("Criteria cannot be set for the modular package filter.");
@@ -40,19 +40,36 @@ public class PackageFilter extends ContentFilter<Package> {
 
     @Override
     public boolean test(Package pack) {
+        if (!canTestProjection()) {
+            String value = getCriteria().getValue();
+            return pack.getProvides().stream()
+                    .map(p -> p.getCapability().getName())
+                    .anyMatch(n -> n.equals(value));
+        }
+        return test(PackageProjection.of(pack));
+    }
+
+    /**
+     * Tests a package projection. Filters on the provided capabilities cannot be tested this way,
+     * see {@link #canTestProjection()}.
+     *
+     * @param pack the package projection
+     * @return true if the filter matches the package
+     */
+    public boolean test(PackageProjection pack) {
         FilterCriteria.Matcher matcher = getCriteria().getMatcher();
         String field = getCriteria().getField();
         String value = getCriteria().getValue();
 
         switch (matcher) {
             case CONTAINS:
-                return getField(pack, field, String.class).contains(value);
+                return getField(pack, field).contains(value);
             case LOWER:
                 return preCondition(pack, field, value) && compareField(pack, field, value) < 0;
             case LOWEREQ:
                 return preCondition(pack, field, value) && compareField(pack, field, value) <= 0;
             case EQUALS:
-                return getField(pack, field, String.class).equals(value);
+                return getField(pack, field).equals(value);
             case GREATEREQ:
                 return preCondition(pack, field, value) && compareField(pack, field, value) >= 0;
             case GREATER:
@@ -61,62 +78,70 @@ public class PackageFilter extends ContentFilter<Package> {
                 if (pattern == null) {
                     pattern = Pattern.compile(value);
                 }
-                return pattern.matcher(getField(pack, field, String.class)).matches();
+                return pattern.matcher(getField(pack, field)).matches();
             case PROVIDES_NAME:
-                return pack.getProvides().stream()
-                        .map(p -> p.getCapability().getName())
-                        .anyMatch(n -> n.equals(value));
+                throw new UnsupportedOperationException("Matcher " + matcher + " needs the package provides");
             default:
                 throw new UnsupportedOperationException("Matcher " + matcher + " not supported");
         }
     }
 
-    private int compareField(Package pack, String field, String value) {
+    /**
+     * Tells if the filter can be tested on a {@link PackageProjection}. Filters on the provided capabilities
+     * need the package provides, which are not part of the projection.
+     *
+     * @return true if {@link #test(PackageProjection)} can be used
+     */
+    public boolean canTestProjection() {
+        return getCriteria().getMatcher() != FilterCriteria.Matcher.PROVIDES_NAME;
+    }
+
+    private int compareField(PackageProjection pack, String field, String value) {
         return BUILD_DATE.equals(field) ? compareBuildDate(pack, value) : comparePackageEvr(pack, field, value);
     }
 
-    private boolean preCondition(Package pack, String field, String value) {
-        return BUILD_DATE.equals(field) ? pack.getBuildTime() != null : checkNameAndArch(field, value, pack);
+    private boolean preCondition(PackageProjection pack, String field, String value) {
+        return BUILD_DATE.equals(field) ? pack.buildTime() != null : checkNameAndArch(field, value, pack);
     }
 
-    private int comparePackageEvr(Package pack, String field, String value) {
-        return pack.getPackageEvr().compareTo(PackageEvr.parsePackageEvr(pack.getPackageType(), getEvr(field, value)));
+    private int comparePackageEvr(PackageProjection pack, String field, String value) {
+        return pack.evr().compareTo(PackageEvr.parsePackageEvr(pack.evr().getPackageType(), getEvr(field, value)));
     }
 
-    private int compareBuildDate(Package pack, String value) {
+    private int compareBuildDate(PackageProjection pack, String value) {
         Instant valDate = ZonedDateTime.parse(value, DateTimeFormatter.ISO_OFFSET_DATE_TIME).toInstant();
-        Instant issueDate = pack.getBuildTime().toInstant();
+        Instant issueDate = pack.buildTime().toInstant();
         return issueDate.compareTo(valDate);
     }
 
-    private static <T> T getField(Package pack, String field, Class<T> type) {
+    private static String getField(PackageProjection pack, String field) {
         switch (field) {
             case "name":
-                return type.cast(pack.getPackageName().getName());
+                return pack.name();
             case "nevr":
-                return type.cast(pack.getNameEvr());
+                return pack.nameEvr();
             case "nevra":
                 //Case for null epoch: Module metadata reports epoch as '0' even if there's none. We need to match it.
-                // pack.getNameEvra() omits the epoch if null so instead, pack.getNevraWithEpoch() is used here.
-                return type.cast(pack.getNevraWithEpoch());
+                // pack.getNameEvra() omits the epoch if null so instead, pack.nevraWithEpoch() is used here.
+                return pack.nevraWithEpoch();
             default:
                 throw new UnsupportedOperationException("Field " + field + " not supported");
         }
     }
 
-    private static boolean checkNameAndArch(String field, String value, Package pack) {
+    private static boolean checkNameAndArch(String field, String value, PackageProjection pack) {
         if (field.equals("nevr")) {
             int relIdx = value.lastIndexOf('-');
             int verIdx = value.lastIndexOf('-', relIdx - 1);
-            return (verIdx > 0) && value.substring(0, verIdx).equals(pack.getPackageName().getName());
+            return (verIdx > 0) && value.substring(0, verIdx).equals(pack.name());
         }
         else if (field.equals("nevra")) {
             int relIdx = value.lastIndexOf('-');
             int verIdx = value.lastIndexOf('-', relIdx - 1);
             int archIdx = value.lastIndexOf('.');
             return (verIdx > 0) && (archIdx > 0) &&
-                   value.substring(0, verIdx).equals(pack.getPackageName().getName()) &&
-                   value.substring(archIdx + 1).equals(pack.getPackageArch().getLabel());
+                   value.substring(0, verIdx).equals(pack.name()) &&
+                   value.substring(archIdx + 1).equals(pack.arch());
         }
         else {
             throw new UnsupportedOperationException("Field " + field + " not supported for filter Package (NEVRA)");
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2025 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+
+package com.redhat.rhn.domain.contentmgmt;
+
+import com.redhat.rhn.domain.rhnpackage.Package;
+import com.redhat.rhn.domain.rhnpackage.PackageEvr;
+
+import java.util.Date;
+
+/**
+ * Compact, detached view of a package, holding the fields needed to evaluate {@link PackageFilter}s.
+ *
+ * @param id the package id
+ * @param name the package name
+ * @param evr the package evr
+ * @param arch the package arch label
+ * @param buildTime the package build time, may be null
+ */
+public record PackageProjection(Long id, String name, PackageEvr evr, String arch, Date buildTime) {
+
+    /**
+     * Creates the projection of a package
+     * @param pack the package
+     * @return the projection
+     */
+    public static PackageProjection of(Package pack) {
+        return new PackageProjection(pack.getId(), pack.getPackageName().getName(), pack.getPackageEvr(),
+                pack.getPackageArch().getLabel(), pack.getBuildTime());
+    }
+
+    /**
+     * @return the package name and evr, see {@link Package#getNameEvr()}
+     */
+    public String nameEvr() {
+        return name + "-" + evr.toString();
+    }
+
+    /**
+     * @return the package name and evra always including an epoch, see {@link Package#getNevraWithEpoch()}
+     */
+    public String nevraWithEpoch() {
+        PackageEvr withEpoch = new PackageEvr(evr);
+        if (withEpoch.getEpoch() == null || withEpoch.getEpoch().isEmpty()) {
+            withEpoch.setEpoch("0");
+        }
+        return name + "-" + withEpoch.toString() + "." + arch;
+    }
+}
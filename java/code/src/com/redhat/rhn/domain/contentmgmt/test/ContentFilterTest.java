@@ -25,7 +25,11 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.redhat.rhn.domain.contentmgmt.ContentFilter;
+import com.redhat.rhn.domain.contentmgmt.ErrataFilter;
+import com.redhat.rhn.domain.contentmgmt.ErrataProjection;
 import com.redhat.rhn.domain.contentmgmt.FilterCriteria;
+import com.redhat.rhn.domain.contentmgmt.PackageFilter;
+import com.redhat.rhn.domain.contentmgmt.PackageProjection;
 import com.redhat.rhn.domain.contentmgmt.modulemd.Module;
 import com.redhat.rhn.domain.errata.Errata;
 import com.redhat.rhn.domain.errata.ErrataFactory;
@@ -78,6 +82,28 @@ public class ContentFilterTest extends JMockBaseTestCaseWithUser {
         assertTrue(filter.test(pack));
     }
 
+    @Test
+    public void testPackageFilterOnProjection() {
+        Package pack = PackageTest.createTestPackage(user.getOrg());
+        String packageName = pack.getPackageName().getName();
+
+        FilterCriteria criteria = new FilterCriteria(FilterCriteria.Matcher.EQUALS, "nevr", pack.getNameEvr());
+        PackageFilter filter = (PackageFilter) contentManager.createFilter(packageName + "-projection-filter", DENY,
+                PACKAGE, criteria, user);
+        assertTrue(filter.canTestProjection());
+        assertTrue(filter.test(PackageProjection.of(pack)));
+
+        criteria = new FilterCriteria(FilterCriteria.Matcher.EQUALS, "nevr", packageName);
+        filter = (PackageFilter) contentManager.createFilter(packageName + "-projection-filter2", DENY, PACKAGE,
+                criteria, user);
+        assertFalse(filter.test(PackageProjection.of(pack)));
+
+        criteria = new FilterCriteria(FilterCriteria.Matcher.PROVIDES_NAME, "provides_name", packageName);
+        filter = (PackageFilter) contentManager.createFilter(packageName + "-projection-filter3", DENY, PACKAGE,
+                criteria, user);
+        assertFalse(filter.canTestProjection());
+    }
+
     @Test
     public void testPackageMatchFilter() {
         // autogenerated package names look like this "00JavaTest<random>"
@@ -577,6 +603,34 @@ public class ContentFilterTest extends JMockBaseTestCaseWithUser {
         assertFalse(filter.test(erratum1));
     }
 
+    @Test
+    public void testErrataFilterOnProjection() throws Exception {
+        String cveName1 = TestUtils.randomString().substring(0, 13);
+        Errata erratum1 = ErrataTestUtils.createTestErrata(user,
+                Collections.singleton(ErrataTestUtils.createTestCve(cveName1)));
+        String pkgName = erratum1.getPackages().iterator().next().getPackageName().getName();
+
+        FilterCriteria criteria = new FilterCriteria(
+                FilterCriteria.Matcher.CONTAINS_PKG_NAME, "package_name", pkgName);
+        ErrataFilter filter = (ErrataFilter) contentManager.createFilter("projection-name-filter", DENY, ERRATUM,
+                criteria, user);
+        assertTrue(filter.canTestProjection());
+        assertTrue(filter.needsPackages());
+        assertTrue(filter.test(ErrataProjection.of(erratum1, true)));
+        assertFalse(filter.test(ErrataProjection.of(erratum1, false)));
+
+        criteria = new FilterCriteria(FilterCriteria.Matcher.EQUALS, "advisory_name", erratum1.getAdvisoryName());
+        filter = (ErrataFilter) contentManager.createFilter("projection-advisory-filter", DENY, ERRATUM,
+                criteria, user);
+        assertFalse(filter.needsPackages());
+        assertTrue(filter.test(ErrataProjection.of(erratum1, false)));
+
+        criteria = new FilterCriteria(FilterCriteria.Matcher.CONTAINS, "keyword", "reboot_suggested");
+        filter = (ErrataFilter) contentManager.createFilter("projection-keyword-filter", DENY, ERRATUM,
+                criteria, user);
+        assertFalse(filter.canTestProjection());
+    }
+
     @Test
     public void testErrataMatchesPackageName() throws Exception {
         String cveName1 = TestUtils.randomString().substring(0, 13);
@@ -23,6 +23,7 @@ import org.apache.logging.log4j.Logger;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
@@ -72,6 +73,35 @@ public class SaltEventFactory extends HibernateFactory {
                 .map(o -> new SaltEvent((long)o[0], (String)o[1], (String)o[2], (int)o[3]));
     }
 
+    /**
+     * Locks the minion having the oldest event in a queue, skipping minions whose events are being processed
+     * by other transactions. The lock is held until the end of the current transaction.
+     * @param queue the queue to look for events, never 0 as those events are not associated to a minion
+     * @return the locked minion id, empty if there is no event left or all the minions are locked
+     */
+    public static Optional<String> lockNextMinion(int queue) {
+        List<String> minionIds = singleton.listObjectsByNamedQuery("SaltEvent.lockNextMinion",
+                Map.of("queue", queue));
+        return minionIds.stream().findFirst();
+    }
+
+    /**
+     * Returns the oldest Salt events of a minion, up to limit, without removing them from the queue.
+     * The minion should be locked with {@link #lockNextMinion(int)} first.
+     * @param minionId the minion id
+     * @param queue the queue of the minion
+     * @param limit the maximum count of events to return
+     * @return events, ordered by id
+     */
+    public static List<SaltEvent> peekMinionSaltEvents(String minionId, int queue, int limit) {
+        List<Object[]> eventObjects = singleton.listObjectsByNamedQuery("SaltEvent.peekMinionSaltEvents",
+                Map.of("minion_id", minionId, "queue", queue, "limit", limit));
+
+        return eventObjects.stream()
+                .map(o -> new SaltEvent((long)o[0], (String)o[1], (String)o[2], (int)o[3]))
+                .toList();
+    }
+
     /**
      * Deletes SaltEvents
      * @param ids event ids
@@ -30,6 +30,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -218,6 +219,32 @@ public class SaltEventFactoryTest extends RhnBaseTestCase {
         assertEquals(Arrays.asList(0L, 0L, 0L, 0L, 0L), saltEventsCount);
     }
 
+    @Test
+    public void testLockNextMinionAndPeek() {
+        assertTrue(SaltEventFactory.lockNextMinion(1).isEmpty());
+
+        SaltEvent saltEvent1 = new SaltEvent(1L, "minion_2", "data_minion_2_1", 1);
+        insertIntoSuseSaltEvent(saltEvent1);
+        SaltEvent saltEvent2 = new SaltEvent(2L, "minion_1", "data_minion_1_1", 1);
+        insertIntoSuseSaltEvent(saltEvent2);
+        SaltEvent saltEvent3 = new SaltEvent(3L, "minion_2", "data_minion_2_2", 1);
+        insertIntoSuseSaltEvent(saltEvent3);
+        SaltEvent saltEvent4 = new SaltEvent(4L, "minion_2", "data_minion_2_3", 1);
+        insertIntoSuseSaltEvent(saltEvent4);
+
+        // the minion with the oldest event comes first
+        assertEquals(Optional.of("minion_2"), SaltEventFactory.lockNextMinion(1));
+
+        // peeking returns the events of the minion in order, without removing them
+        assertEquals(List.of(saltEvent1, saltEvent3), SaltEventFactory.peekMinionSaltEvents("minion_2", 1, 2));
+        assertEquals(List.of(saltEvent1, saltEvent3, saltEvent4),
+                SaltEventFactory.peekMinionSaltEvents("minion_2", 1, 10));
+        assertEquals(Arrays.asList(0L, 4L, 0L, 0L), SaltEventFactory.countSaltEvents(4));
+
+        SaltEventFactory.deleteSaltEvents(List.of(1L, 3L, 4L));
+        assertEquals(Optional.of("minion_1"), SaltEventFactory.lockNextMinion(1));
+        assertEquals(List.of(saltEvent2), SaltEventFactory.peekMinionSaltEvents("minion_1", 1, 10));
+    }
 
     private void insertIntoSuseSaltEvent(SaltEvent saltEvent) {
         Query query = HibernateFactory.getSession().createNativeQuery(INSERT_INTO_SUSE_SALT_EVENT_QUERY);
@@ -0,0 +1,331 @@
+/*
+ * Copyright (c) 2025 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.redhat.rhn.domain.rhnset;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A hash set of (element, element two, element three) triples stored in primitive arrays.
+ *
+ * Sets hold tens of thousands of ids when a user selects all systems or packages: keeping them in flat arrays
+ * avoids one {@link RhnSetElement} and three boxed {@link Long} per entry. Each of the three values may be null.
+ * {@link Long#MIN_VALUE} is used internally to encode null and cannot be stored as a value.
+ *
+ * The set uses open addressing with linear probing; removed entries leave a marker which is reclaimed on resize.
+ */
+public final class LongTripleSet {
+
+    /**
+     * Creates an object out of the three values of a triple.
+     * @param <T> the type of the object
+     */
+    @FunctionalInterface
+    public interface TripleFunction<T> {
+        /**
+         * @param one the first value
+         * @param two the second value, may be null
+         * @param three the third value, may be null
+         * @return the object
+         */
+        T apply(Long one, Long two, Long three);
+    }
+
+    private static final long NULL = Long.MIN_VALUE;
+    private static final byte FREE = 0;
+    private static final byte FULL = 1;
+    private static final byte REMOVED = 2;
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] values;
+    private byte[] states;
+    private int size;
+    private int used;
+    private int modCount;
+
+    /**
+     * Creates an empty set.
+     */
+    public LongTripleSet() {
+        allocate(MIN_CAPACITY);
+    }
+
+    /**
+     * Creates a copy of the given set.
+     * @param other the set to copy
+     */
+    public LongTripleSet(LongTripleSet other) {
+        values = other.values.clone();
+        states = other.states.clone();
+        size = other.size;
+        used = other.used;
+    }
+
+    private void allocate(int capacity) {
+        values = new long[capacity * 3];
+        states = new byte[capacity];
+        size = 0;
+        used = 0;
+    }
+
+    /**
+     * @return the number of triples in the set
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return true if the set is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all the triples.
+     */
+    public void clear() {
+        allocate(MIN_CAPACITY);
+        modCount++;
+    }
+
+    /**
+     * @param one the first value
+     * @param two the second value, may be null
+     * @param three the third value, may be null
+     * @return true if the set contains the triple
+     */
+    public boolean contains(Long one, Long two, Long three) {
+        return find(encode(one), encode(two), encode(three)) >= 0;
+    }
+
+    /**
+     * Adds a triple.
+     * @param one the first value
+     * @param two the second value, may be null
+     * @param three the third value, may be null
+     * @return true if the set did not already contain the triple
+     */
+    public boolean add(Long one, Long two, Long three) {
+        return add(encode(one), encode(two), encode(three));
+    }
+
+    /**
+     * Removes a triple.
+     * @param one the first value
+     * @param two the second value, may be null
+     * @param three the third value, may be null
+     * @return true if the set contained the triple
+     */
+    public boolean remove(Long one, Long two, Long three) {
+        int slot = find(encode(one), encode(two), encode(three));
+        if (slot < 0) {
+            return false;
+        }
+        removeSlot(slot);
+        return true;
+    }
+
+    /**
+     * Returns the triples of this set which are not in the other set.
+     * @param other the other set
+     * @return a new set
+     */
+    public LongTripleSet difference(LongTripleSet other) {
+        LongTripleSet result = new LongTripleSet();
+        for (int slot = 0; slot < states.length; slot++) {
+            if (states[slot] == FULL) {
+                int i = slot * 3;
+                if (other.find(values[i], values[i + 1], values[i + 2]) < 0) {
+                    result.add(values[i], values[i + 1], values[i + 2]);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns one of the values of all the triples, in iteration order. The columns of a set are aligned: the
+     * n-th values of the three columns belong to the same triple.
+     * @param index 0 for the first value, 1 for the second and 2 for the third
+     * @return the values, with nulls
+     */
+    public List<Long> column(int index) {
+        if (index < 0 || index > 2) {
+            throw new IllegalArgumentException("index must be 0, 1 or 2");
+        }
+        List<Long> result = new ArrayList<>(size);
+        for (int slot = 0; slot < states.length; slot++) {
+            if (states[slot] == FULL) {
+                result.add(decode(values[slot * 3 + index]));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Iterates over the triples, creating an object for each of them. The iterator supports removal.
+     * @param mapper creates the returned objects
+     * @param <T> the type of the returned objects
+     * @return the iterator
+     */
+    public <T> Iterator<T> iterator(TripleFunction<T> mapper) {
+        return new Iterator<>() {
+            private int next = nextFull(0);
+            private int current = -1;
+            private int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return next < states.length;
+            }
+
+            @Override
+            public T next() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                current = next;
+                next = nextFull(next + 1);
+                int i = current * 3;
+                return mapper.apply(decode(values[i]), decode(values[i + 1]), decode(values[i + 2]));
+            }
+
+            @Override
+            public void remove() {
+                if (current < 0) {
+                    throw new IllegalStateException();
+                }
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                // only marks the slot, so that the following slots are not moved
+                removeSlot(current);
+                expectedModCount = modCount;
+                current = -1;
+            }
+        };
+    }
+
+    private int nextFull(int from) {
+        int slot = from;
+        while (slot < states.length && states[slot] != FULL) {
+            slot++;
+        }
+        return slot;
+    }
+
+    private boolean add(long one, long two, long three) {
+        int mask = states.length - 1;
+        int slot = hash(one, two, three) & mask;
+        int firstRemoved = -1;
+        while (states[slot] != FREE) {
+            if (states[slot] == FULL) {
+                if (matches(slot, one, two, three)) {
+                    return false;
+                }
+            }
+            else if (firstRemoved < 0) {
+                firstRemoved = slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (firstRemoved >= 0) {
+            slot = firstRemoved;
+        }
+        else {
+            used++;
+        }
+        int i = slot * 3;
+        values[i] = one;
+        values[i + 1] = two;
+        values[i + 2] = three;
+        states[slot] = FULL;
+        size++;
+        modCount++;
+        // keep the table at most half full, counting removal markers
+        if (used * 2 > states.length) {
+            rehash(size * 4 > states.length ? states.length * 2 : states.length);
+        }
+        return true;
+    }
+
+    private void removeSlot(int slot) {
+        states[slot] = REMOVED;
+        size--;
+        modCount++;
+    }
+
+    private int find(long one, long two, long three) {
+        int mask = states.length - 1;
+        int slot = hash(one, two, three) & mask;
+        while (states[slot] != FREE) {
+            if (states[slot] == FULL && matches(slot, one, two, three)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private boolean matches(int slot, long one, long two, long three) {
+        int i = slot * 3;
+        return values[i] == one && values[i + 1] == two && values[i + 2] == three;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldValues = values;
+        byte[] oldStates = states;
+        allocate(capacity);
+        for (int slot = 0; slot < oldStates.length; slot++) {
+            if (oldStates[slot] == FULL) {
+                int i = slot * 3;
+                add(oldValues[i], oldValues[i + 1], oldValues[i + 2]);
+            }
+        }
+    }
+
+    private static int hash(long one, long two, long three) {
+        long h = one * 0x9E3779B97F4A7C15L;
+        h = (h ^ two) * 0xC2B2AE3D27D4EB4FL;
+        h = (h ^ three) * 0x165667B19E3779F9L;
+        // final mix of the murmur3 hash, so that the low bits depend on all the values
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    private static long encode(Long value) {
+        if (value == null) {
+            return NULL;
+        }
+        if (value == NULL) {
+            throw new IllegalArgumentException("Long.MIN_VALUE cannot be stored");
+        }
+        return value;
+    }
+
+    private static Long decode(long value) {
+        return value == NULL ? null : value;
+    }
+}
@@ -14,8 +14,6 @@
  */
 package com.redhat.rhn.domain.rhnset;
 
-import com.redhat.rhn.common.db.ConstraintViolationException;
-import com.redhat.rhn.common.db.WrappedSQLException;
 import com.redhat.rhn.common.db.datasource.DataResult;
 import com.redhat.rhn.common.db.datasource.ModeFactory;
 import com.redhat.rhn.common.db.datasource.SelectMode;
@@ -28,7 +26,6 @@ import org.apache.logging.log4j.Logger;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 /**
  * RhnSetFactory
@@ -113,41 +110,17 @@ public class RhnSetFactory extends HibernateFactory {
      */
     public static void save(RhnSet set) {
         RhnSetImpl simpl = (RhnSetImpl) set;
-        // The updates really need to be batched
-        if (simpl.isSynced() && !simpl.getElements().isEmpty()) {
-            WriteMode deleteEl3 = writeMode("delete_from_set_el3");
-            WriteMode deleteEl2 = writeMode("delete_from_set_el2");
-            WriteMode deleteEl1 = writeMode("delete_from_set_el1");
-            for (RhnSetElement current : simpl.getRemoved()) {
-                executeMode(current, deleteEl3, deleteEl2, deleteEl1);
-            }
+        if (simpl.isSynced() && !simpl.isEmpty()) {
+            executeBulk("delete_from_set", simpl, simpl.removed());
         }
         else {
             removeByLabel(simpl.getUserId(), simpl.getLabel());
         }
 
-        Set<RhnSetElement> added;
-        if (!simpl.isSynced()) {
-            added = simpl.getElements();
-        }
-        else {
-            added = simpl.getAdded();
-        }
-        WriteMode insertEl3 = ModeFactory.getWriteMode(CATALOG, "add_to_set_el3");
-        WriteMode insertEl2 = ModeFactory.getWriteMode(CATALOG, "add_to_set_el2");
-        WriteMode insertEl1 = ModeFactory.getWriteMode(CATALOG, "add_to_set_el1");
-
-        for (RhnSetElement current : added) {
-            try {
-                executeMode(current, insertEl3, insertEl2, insertEl1);
-            }
-            catch (ConstraintViolationException | WrappedSQLException e) {
-                // a concurrent transaction has already inserted this row
-                // and COMMITted. This is tolerable and can happen because
-                // the default transaction isolation level is READ
-                // COMMITTED, thus this exception can be safely ignored
-            }
-        }
+        LongTripleSet added = simpl.isSynced() ? simpl.added() : simpl.elements();
+        // rows inserted and committed by a concurrent transaction are skipped by ON CONFLICT,
+        // as the default transaction isolation level is READ COMMITTED
+        executeBulk("add_to_set", simpl, added);
         if (!added.isEmpty()) {
             simpl.getCleanup().cleanup(simpl);
         }
@@ -164,29 +137,20 @@ public class RhnSetFactory extends HibernateFactory {
         simpl.getCleanup().cleanup(simpl); // Even palindrom can save the day.
     }
 
-    private static WriteMode writeMode(String modeName) {
-        return ModeFactory.getWriteMode(CATALOG, modeName);
-    }
-
-    private static void executeMode(RhnSetElement elem,
-            WriteMode el3, WriteMode el2, WriteMode el1) {
-        Map<String, Object> params = new HashMap<>();
-        params.put("user_id", elem.getUserId());
-        params.put("label", elem.getLabel());
-        params.put("el_one", elem.getElement());
-
-        if (elem.getElementThree() == null && elem.getElementTwo() == null) {
-            el1.executeUpdate(params);
-        }
-        else if (elem.getElementThree() == null) {
-            params.put("el_two", elem.getElementTwo());
-            el2.executeUpdate(params);
-        }
-        else {
-            params.put("el_three", elem.getElementThree());
-            params.put("el_two", elem.getElementTwo());
-            el3.executeUpdate(params);
+    /**
+     * Inserts or deletes all the elements with a single statement, binding each element column as an array.
+     */
+    private static void executeBulk(String modeName, RhnSetImpl set, LongTripleSet elements) {
+        if (elements.isEmpty()) {
+            return;
         }
+        Map<String, Object> params = new HashMap<>();
+        params.put("user_id", set.getUserId());
+        params.put("label", set.getLabel());
+        params.put("el_one", elements.column(0));
+        params.put("el_two", elements.column(1));
+        params.put("el_three", elements.column(2));
+        ModeFactory.getWriteMode(CATALOG, modeName).executeUpdate(params);
     }
 
     /**
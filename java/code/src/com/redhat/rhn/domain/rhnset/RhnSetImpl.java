@@ -14,20 +14,26 @@
  */
 package com.redhat.rhn.domain.rhnset;
 
+import java.util.AbstractSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Objects;
 import java.util.Set;
 
 /**
  * RhnSetImpl
+ *
+ * The elements are stored as a {@link LongTripleSet} and belong to the user and label of the set:
+ * {@link RhnSetElement} objects are only created when iterating.
  */
 public class RhnSetImpl implements RhnSet {
     private Long uid;
     private String label;
-    private Set<RhnSetElement> elements;
-    private Set<RhnSetElement> synced;
+    private LongTripleSet elements;
+    private LongTripleSet synced;
+    private final Set<RhnSetElement> elementView = new ElementView();
     private SetCleanup cleanup;
 
     /**
@@ -47,7 +53,7 @@ public class RhnSetImpl implements RhnSet {
         super();
         uid = id;
         label = lbl;
-        elements = new HashSet<>();
+        elements = new LongTripleSet();
         cleanup = cleanup0;
     }
 
@@ -89,7 +95,7 @@ public class RhnSetImpl implements RhnSet {
      */
     @Override
     public void addElement(RhnSetElement element) {
-        elements.add(element);
+        elements.add(element.getElement(), element.getElementTwo(), element.getElementThree());
     }
 
     /**
@@ -168,7 +174,9 @@ public class RhnSetImpl implements RhnSet {
      */
     @Override
     public void removeElement(RhnSetElement element) {
-        elements.remove(element);
+        if (belongs(element)) {
+            elements.remove(element.getElement(), element.getElementTwo(), element.getElementThree());
+        }
     }
 
     /**
@@ -192,15 +200,16 @@ public class RhnSetImpl implements RhnSet {
      */
     @Override
     public void clear() {
-        elements = new HashSet<>();
+        elements.clear();
     }
 
     /**
+     * Returns a view of the elements, backed by the set.
      * {@inheritDoc}
      */
     @Override
     public Set<RhnSetElement> getElements() {
-        return elements;
+        return elementView;
     }
 
     /**
@@ -208,11 +217,7 @@ public class RhnSetImpl implements RhnSet {
      */
     @Override
     public Set<Long> getElementValues() {
-        Set<Long> values = new HashSet<>();
-        for (RhnSetElement element : elements) {
-            values.add(element.getElement());
-        }
-        return values;
+        return new HashSet<>(elements.column(0));
     }
 
     /**
@@ -220,7 +225,7 @@ public class RhnSetImpl implements RhnSet {
      */
     @Override
     public boolean contains(RhnSetElement e) {
-        return elements.contains(e);
+        return belongs(e) && elements.contains(e.getElement(), e.getElementTwo(), e.getElementThree());
     }
 
     /**
@@ -228,8 +233,7 @@ public class RhnSetImpl implements RhnSet {
      */
     @Override
     public boolean contains(Long elem, Long elemTwo) {
-        return elements.contains(new RhnSetElement(getUserId(), getLabel(),
-                elem, elemTwo));
+        return elements.contains(elem, elemTwo, null);
     }
 
     /**
@@ -237,7 +241,15 @@ public class RhnSetImpl implements RhnSet {
      */
     @Override
     public boolean contains(Long elem) {
-        return elements.contains(new RhnSetElement(getUserId(), getLabel(), elem, null));
+        return elements.contains(elem, null, null);
+    }
+
+    private boolean belongs(RhnSetElement e) {
+        return Objects.equals(uid, e.getUserId()) && Objects.equals(label, e.getLabel());
+    }
+
+    private RhnSetElement toElement(Long elem, Long elemTwo, Long elemThree) {
+        return new RhnSetElement(uid, label, elem, elemTwo, elemThree);
     }
 
     /**
@@ -262,7 +274,7 @@ public class RhnSetImpl implements RhnSet {
      * of the set at the last call to this method
      */
     public void sync() {
-        synced = new HashSet<>(elements);
+        synced = new LongTripleSet(elements);
     }
 
     /**
@@ -279,12 +291,7 @@ public class RhnSetImpl implements RhnSet {
      * @return the elements that were added since the last call to {@link #sync()}
      */
     public Set<RhnSetElement> getAdded() {
-        if (synced == null) {
-            throw new IllegalStateException("The set must be marked first");
-        }
-        HashSet<RhnSetElement> result = new HashSet<>(elements);
-        result.removeAll(synced);
-        return Collections.unmodifiableSet(result);
+        return toElements(added());
     }
 
     /**
@@ -293,12 +300,40 @@ public class RhnSetImpl implements RhnSet {
      * @return the elements that were removed since the last call to {@link #sync()}
      */
     public Set<RhnSetElement> getRemoved() {
+        return toElements(removed());
+    }
+
+    private Set<RhnSetElement> toElements(LongTripleSet triples) {
+        HashSet<RhnSetElement> result = new HashSet<>();
+        triples.iterator(this::toElement).forEachRemaining(result::add);
+        return Collections.unmodifiableSet(result);
+    }
+
+    /**
+     * @return the elements added since the last call to {@link #sync()}
+     */
+    LongTripleSet added() {
         if (synced == null) {
             throw new IllegalStateException("The set must be marked first");
         }
-        HashSet<RhnSetElement> result = new HashSet<>(synced);
-        result.removeAll(elements);
-        return Collections.unmodifiableSet(result);
+        return elements.difference(synced);
+    }
+
+    /**
+     * @return the elements removed since the last call to {@link #sync()}
+     */
+    LongTripleSet removed() {
+        if (synced == null) {
+            throw new IllegalStateException("The set must be marked first");
+        }
+        return synced.difference(elements);
+    }
+
+    /**
+     * @return the elements of the set
+     */
+    LongTripleSet elements() {
+        return elements;
     }
 
 
@@ -348,14 +383,13 @@ public class RhnSetImpl implements RhnSet {
     @Override
     public boolean contains(Object o) {
         if (o instanceof String str) {
-            return elements.contains(new RhnSetElement(this.getUserId(),
+            return contains(new RhnSetElement(this.getUserId(),
                     this.getLabel(), str));
         }
         else if (o instanceof Long lng) {
-            return elements.contains(new RhnSetElement(this.getUserId(),
-                    this.getLabel(), lng, null, null));
+            return contains(lng);
         }
-        return elements.contains(o);
+        return elementView.contains(o);
     }
 
     /**
@@ -363,7 +397,7 @@ public class RhnSetImpl implements RhnSet {
      */
     @Override
     public boolean containsAll(Collection c) {
-        return elements.containsAll(c);
+        return elementView.containsAll(c);
     }
 
     /**
@@ -371,7 +405,7 @@ public class RhnSetImpl implements RhnSet {
      */
     @Override
     public Iterator<RhnSetElement> iterator() {
-        return elements.iterator();
+        return elementView.iterator();
     }
 
     /**
@@ -379,7 +413,7 @@ public class RhnSetImpl implements RhnSet {
      */
     @Override
     public boolean remove(Object o) {
-        return elements.remove(o);
+        return elementView.remove(o);
     }
 
     /**
@@ -417,7 +451,7 @@ public class RhnSetImpl implements RhnSet {
      */
     @Override
     public boolean removeAll(Collection c) {
-        return elements.removeAll(c);
+        return elementView.removeAll(c);
     }
 
     /**
@@ -426,7 +460,7 @@ public class RhnSetImpl implements RhnSet {
      */
     @Override
     public boolean retainAll(Collection c) {
-        return elements.retainAll(c);
+        return elementView.retainAll(c);
     }
 
     /**
@@ -434,7 +468,7 @@ public class RhnSetImpl implements RhnSet {
      */
     @Override
     public Object[] toArray() {
-        return elements.toArray();
+        return elementView.toArray();
     }
 
     /**
@@ -442,6 +476,43 @@ public class RhnSetImpl implements RhnSet {
      */
     @Override
     public Object[] toArray(Object[] a) {
-        return elements.toArray(a);
+        return elementView.toArray(a);
+    }
+
+    /**
+     * The elements of the set as {@link RhnSetElement} objects.
+     */
+    private class ElementView extends AbstractSet<RhnSetElement> {
+
+        @Override
+        public Iterator<RhnSetElement> iterator() {
+            return elements.iterator(RhnSetImpl.this::toElement);
+        }
+
+        @Override
+        public int size() {
+            return elements.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof RhnSetElement e && RhnSetImpl.this.contains(e);
+        }
+
+        @Override
+        public boolean add(RhnSetElement e) {
+            return elements.add(e.getElement(), e.getElementTwo(), e.getElementThree());
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            return o instanceof RhnSetElement e && belongs(e) &&
+                    elements.remove(e.getElement(), e.getElementTwo(), e.getElementThree());
+        }
+
+        @Override
+        public void clear() {
+            elements.clear();
+        }
     }
 }
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2025 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.redhat.rhn.domain.rhnset.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.redhat.rhn.domain.rhnset.LongTripleSet;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * LongTripleSetTest
+ */
+public class LongTripleSetTest {
+
+    @Test
+    public void testAddContainsRemove() {
+        LongTripleSet set = new LongTripleSet();
+        assertTrue(set.isEmpty());
+
+        assertTrue(set.add(1L, null, null));
+        assertTrue(set.add(1L, 2L, null));
+        assertTrue(set.add(1L, null, 3L));
+        assertTrue(set.add(1L, 2L, 3L));
+        assertFalse(set.add(1L, 2L, null));
+        assertEquals(4, set.size());
+
+        assertTrue(set.contains(1L, null, null));
+        assertTrue(set.contains(1L, null, 3L));
+        assertFalse(set.contains(2L, null, null));
+        assertFalse(set.contains(1L, 3L, null));
+
+        assertTrue(set.remove(1L, 2L, null));
+        assertFalse(set.remove(1L, 2L, null));
+        assertFalse(set.contains(1L, 2L, null));
+        assertTrue(set.contains(1L, 2L, 3L));
+        assertEquals(3, set.size());
+
+        // removed slots are reused
+        assertTrue(set.add(1L, 2L, null));
+        assertEquals(4, set.size());
+
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(1L, null, null));
+    }
+
+    @Test
+    public void testGrowAndShrink() {
+        LongTripleSet set = new LongTripleSet();
+        Set<List<Long>> expected = new HashSet<>();
+        for (long i = 0; i < 10000; i++) {
+            set.add(i, i % 7 == 0 ? null : i * 2, i % 3 == 0 ? null : -i);
+            expected.add(Arrays.asList(i, i % 7 == 0 ? null : i * 2, i % 3 == 0 ? null : -i));
+        }
+        for (long i = 0; i < 10000; i += 2) {
+            set.remove(i, i % 7 == 0 ? null : i * 2, i % 3 == 0 ? null : -i);
+            expected.remove(Arrays.asList(i, i % 7 == 0 ? null : i * 2, i % 3 == 0 ? null : -i));
+        }
+        assertEquals(5000, set.size());
+        assertEquals(expected, toLists(set));
+    }
+
+    @Test
+    public void testDifference() {
+        LongTripleSet before = new LongTripleSet();
+        before.add(1L, null, null);
+        before.add(2L, 20L, null);
+        before.add(3L, 30L, 300L);
+
+        LongTripleSet after = new LongTripleSet(before);
+        after.remove(2L, 20L, null);
+        after.add(4L, null, null);
+        after.add(3L, 30L, null);
+        assertEquals(3, before.size());
+
+        assertEquals(Set.of(Arrays.asList(4L, null, null), Arrays.asList(3L, 30L, null)),
+                toLists(after.difference(before)));
+        assertEquals(Set.of(Arrays.asList(2L, 20L, null)), toLists(before.difference(after)));
+        assertTrue(before.difference(before).isEmpty());
+    }
+
+    @Test
+    public void testColumns() {
+        LongTripleSet set = new LongTripleSet();
+        set.add(1L, null, null);
+        set.add(2L, 20L, null);
+        set.add(3L, 30L, 300L);
+
+        List<Long> one = set.column(0);
+        List<Long> two = set.column(1);
+        List<Long> three = set.column(2);
+        assertEquals(3, one.size());
+        Set<List<Long>> rows = new HashSet<>();
+        for (int i = 0; i < one.size(); i++) {
+            rows.add(Arrays.asList(one.get(i), two.get(i), three.get(i)));
+        }
+        assertEquals(toLists(set), rows);
+        assertThrows(IllegalArgumentException.class, () -> set.column(3));
+    }
+
+    @Test
+    public void testIteratorRemove() {
+        LongTripleSet set = new LongTripleSet();
+        for (long i = 0; i < 100; i++) {
+            set.add(i, null, null);
+        }
+        Iterator<Long> it = set.iterator((one, two, three) -> one);
+        while (it.hasNext()) {
+            if (it.next() % 2 == 0) {
+                it.remove();
+            }
+        }
+        assertEquals(50, set.size());
+        assertFalse(set.contains(42L, null, null));
+        assertTrue(set.contains(43L, null, null));
+
+        Iterator<Long> failing = set.iterator((one, two, three) -> one);
+        failing.next();
+        set.add(1000L, null, null);
+        assertThrows(ConcurrentModificationException.class, failing::next);
+    }
+
+    @Test
+    public void testMinValue() {
+        LongTripleSet set = new LongTripleSet();
+        assertThrows(IllegalArgumentException.class, () -> set.add(Long.MIN_VALUE, null, null));
+    }
+
+    private static Set<List<Long>> toLists(LongTripleSet set) {
+        Set<List<Long>> result = new HashSet<>();
+        set.iterator((one, two, three) -> new ArrayList<>(Arrays.asList(one, two, three)))
+                .forEachRemaining(result::add);
+        return result;
+    }
+}
@@ -14,6 +14,7 @@
  */
 package com.redhat.rhn.domain.server;
 
+import com.redhat.rhn.common.hibernate.AssignedIdEntity;
 import com.redhat.rhn.domain.rhnpackage.Package;
 import com.redhat.rhn.domain.rhnpackage.PackageArch;
 import com.redhat.rhn.domain.rhnpackage.PackageEvr;
@@ -37,7 +38,7 @@ import java.util.Optional;
  *    satellite does not have.
  *    This object is an instance of a package that is installed on a server
  */
-public class InstalledPackage implements Serializable, Comparable<InstalledPackage> {
+public class InstalledPackage implements Serializable, Comparable<InstalledPackage>, AssignedIdEntity {
 
     /**
      *
@@ -48,6 +49,7 @@ public class InstalledPackage implements Serializable, Comparable<InstalledPacka
     private PackageArch arch;
     private Server server;
     private Date installTime;
+    private boolean persisted;
 
     /**
      * @return Returns the server.
@@ -193,6 +195,22 @@ public class InstalledPackage implements Serializable, Comparable<InstalledPacka
         return 0;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean wasPersisted() {
+        return persisted;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void markPersisted() {
+        persisted = true;
+    }
+
     @Override
     public String toString() {
         return new ToStringBuilder(this)
@@ -47,6 +47,10 @@ public class MinionServer extends Server implements SaltConfigurable {
     private Date rebootRequiredAfter;
     private String containerRuntime;
     private String uname;
+    private String packageProfileHash;
+    private String hwProfileHash;
+    private String hwDevicesHash;
+    private String hwNetworkHash;
 
     /**
      * Constructs a MinionServer instance.
@@ -382,4 +386,60 @@ public class MinionServer extends Server implements SaltConfigurable {
     public void setUname(String unameIn) {
         uname = unameIn;
     }
+
+    /**
+     * @return the hash of the last package profile written for this minion
+     */
+    public String getPackageProfileHash() {
+        return packageProfileHash;
+    }
+
+    /**
+     * @param packageProfileHashIn the hash of the package profile
+     */
+    public void setPackageProfileHash(String packageProfileHashIn) {
+        packageProfileHash = packageProfileHashIn;
+    }
+
+    /**
+     * @return the hash of the last CPU, memory and DMI data written for this minion
+     */
+    public String getHwProfileHash() {
+        return hwProfileHash;
+    }
+
+    /**
+     * @param hwProfileHashIn the hash of the CPU, memory and DMI data
+     */
+    public void setHwProfileHash(String hwProfileHashIn) {
+        hwProfileHash = hwProfileHashIn;
+    }
+
+    /**
+     * @return the hash of the last udev database written for this minion
+     */
+    public String getHwDevicesHash() {
+        return hwDevicesHash;
+    }
+
+    /**
+     * @param hwDevicesHashIn the hash of the udev database
+     */
+    public void setHwDevicesHash(String hwDevicesHashIn) {
+        hwDevicesHash = hwDevicesHashIn;
+    }
+
+    /**
+     * @return the hash of the last network data written for this minion
+     */
+    public String getHwNetworkHash() {
+        return hwNetworkHash;
+    }
+
+    /**
+     * @param hwNetworkHashIn the hash of the network data
+     */
+    public void setHwNetworkHash(String hwNetworkHashIn) {
+        hwNetworkHash = hwNetworkHashIn;
+    }
 }
@@ -14,8 +14,11 @@
  */
 package com.redhat.rhn.frontend.action.configuration;
 
+import com.redhat.rhn.common.filediff.Diff;
 import com.redhat.rhn.common.localization.LocalizationService;
+import com.redhat.rhn.domain.common.Checksum;
 import com.redhat.rhn.domain.config.ConfigChannel;
+import com.redhat.rhn.domain.config.ConfigContent;
 import com.redhat.rhn.domain.config.ConfigFile;
 import com.redhat.rhn.domain.config.ConfigFileCount;
 import com.redhat.rhn.domain.config.ConfigRevision;
@@ -224,6 +227,29 @@ public abstract class ConfigActionHelper {
         return cr;
     }
 
+    /**
+     * Creates the diff of the contents of two revisions. Contents with the same
+     * checksum are not compared line by line.
+     * @param revision The old(from) revision
+     * @param other The new(to) revision
+     * @return the diff
+     */
+    public static Diff createDiff(ConfigRevision revision, ConfigRevision other) {
+        ConfigContent content = revision.getConfigContent();
+        ConfigContent otherContent = other.getConfigContent();
+        String[] lines = content.getContentsString().split("\n");
+        if (sameChecksum(content.getChecksum(), otherContent.getChecksum())) {
+            return new Diff(lines, lines);
+        }
+        return new Diff(lines, otherContent.getContentsString().split("\n"));
+    }
+
+    private static boolean sameChecksum(Checksum checksum, Checksum other) {
+        return checksum != null && other != null && checksum.getChecksum() != null &&
+                checksum.getChecksum().equals(other.getChecksum()) &&
+                checksum.getChecksumType().getLabel().equals(other.getChecksumType().getLabel());
+    }
+
     /**
      * Clears all of the configuration management sets.
      * @param user The user for which to clear the sets.
@@ -14,7 +14,6 @@
  */
 package com.redhat.rhn.frontend.action.errata;
 
-import com.redhat.rhn.common.db.datasource.DataResult;
 import com.redhat.rhn.domain.user.User;
 import com.redhat.rhn.frontend.dto.ErrataOverview;
 import com.redhat.rhn.frontend.struts.RequestContext;
@@ -65,15 +64,15 @@ public abstract class ErrataListBaseAction extends RhnAction implements Listable
     public List<ErrataOverview> getResult(RequestContext context) {
 
         User user = context.getCurrentUser();
-        DataResult<ErrataOverview> result;
+        List<ErrataOverview> result;
 
         switch (getErrataFilter()) {
             case ALL:
-                result = ErrataManager.allErrata(user);
+                result = ErrataManager.allErrataPageable(user);
                 break;
 
             case RELEVANT:
-                result = ErrataManager.relevantErrata(user);
+                result = ErrataManager.relevantErrataPageable(user);
                 break;
 
             default:
@@ -26,6 +26,8 @@ public class PackageCapabilityDto extends BaseDto {
     private String name;
     private String version;
     private Long sense;
+    private Long packageId;
+    private String dependency;
 
 
     /**
@@ -84,4 +86,32 @@ public class PackageCapabilityDto extends BaseDto {
     public void setSense(Long senseIn) {
         this.sense = senseIn;
     }
+
+    /**
+     * @return the id of the package having this capability
+     */
+    public Long getPackageId() {
+        return packageId;
+    }
+
+    /**
+     * @param packageIdIn the package id to set
+     */
+    public void setPackageId(Long packageIdIn) {
+        this.packageId = packageIdIn;
+    }
+
+    /**
+     * @return the dependency type of this capability, like provides or requires
+     */
+    public String getDependency() {
+        return dependency;
+    }
+
+    /**
+     * @param dependencyIn the dependency type to set
+     */
+    public void setDependency(String dependencyIn) {
+        this.dependency = dependencyIn;
+    }
 }
@@ -28,6 +28,7 @@ public class PackageChangelogDto extends BaseDto {
     private String author;
     private String text;
     private Timestamp time;
+    private Long packageId;
 
 
     /**
@@ -86,4 +87,18 @@ public class PackageChangelogDto extends BaseDto {
     public void setTime(Timestamp timeIn) {
         this.time = timeIn;
     }
+
+    /**
+     * @return the id of the package of this changelog entry
+     */
+    public Long getPackageId() {
+        return packageId;
+    }
+
+    /**
+     * @param packageIdIn the package id to set
+     */
+    public void setPackageId(Long packageIdIn) {
+        this.packageId = packageIdIn;
+    }
 }
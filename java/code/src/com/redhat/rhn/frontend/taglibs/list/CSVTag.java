@@ -15,6 +15,7 @@
 package com.redhat.rhn.frontend.taglibs.list;
 
 import com.redhat.rhn.common.db.datasource.DataResult;
+import com.redhat.rhn.common.db.datasource.PageableDataSource;
 import com.redhat.rhn.common.localization.LocalizationService;
 import com.redhat.rhn.frontend.action.CSVDownloadAction;
 import com.redhat.rhn.frontend.dto.BaseDto;
@@ -229,6 +230,13 @@ public class CSVTag extends BodyTagSupport {
     }
 
     private String exportDataToSession(HttpSession session) {
+        if (pageData instanceof PageableDataSource<?> pageable && pageable.getMode().getQuery() != null) {
+            // only a page was queried: the query is restarted without paging
+            String paramQuery = "query_" + getUniqueName();
+            session.setAttribute(paramQuery, pageable.getMode().getQuery());
+            session.setAttribute("list_" + getUniqueName() + TagHelper.ELAB_TAG, pageable.getElaborator());
+            return CSVDownloadAction.QUERY_DATA + "=" + paramQuery;
+        }
         if (pageData instanceof DataResult &&
                 ((DataResult<BaseDto>)pageData).getMode() != null &&
                 ((DataResult<BaseDto>)pageData).getMode().getQuery() != null) {
@@ -39,6 +39,13 @@ public class ColumnFilter extends BaseListFilter {
         attr = filterAttr;
     }
 
+    /**
+     * @return the attribute to search on
+     */
+    public String getAttribute() {
+        return attr;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -15,6 +15,8 @@
 
 package com.redhat.rhn.frontend.taglibs.list;
 
+import com.redhat.rhn.common.db.datasource.DataResult;
+import com.redhat.rhn.common.db.datasource.PageableDataSource;
 import com.redhat.rhn.common.localization.LocalizationService;
 import com.redhat.rhn.common.util.DynamicComparator;
 import com.redhat.rhn.common.util.MethodUtil;
@@ -60,9 +62,12 @@ public class DataSetManipulator {
     private String alphaCol;
     private int alphaPosition = -1;
     private boolean ascending = true;
-    private final int unfilteredDataSize;
+    private int unfilteredDataSize;
     private final boolean parentIsAnElement;
     private String defaultSortAttribute;
+    private ListFilter activeFilter;
+    private PageableDataSource<?> pageable;
+    private DataResult<?> page;
 
     public static final String ICON_FIRST = "fa fa-angle-double-left";
     public static final String ICON_PREV = "fa fa-angle-left";
@@ -84,9 +89,76 @@ public class DataSetManipulator {
         dataset = datasetIn;
         request = requestIn;
         uniqueName = listNameIn;
-        totalDataSetSize = dataset.size();
-        unfilteredDataSize = dataset.size();
         parentIsAnElement = parentIsElement;
+        if (datasetIn instanceof PageableDataSource<?> pageableIn) {
+            // sizes are known once the page is queried
+            pageable = pageableIn;
+        }
+        else {
+            totalDataSetSize = dataset.size();
+            unfilteredDataSize = dataset.size();
+        }
+    }
+
+    /**
+     * Queries the current page of a pageable data source, sorted and filtered in the database. Falls back to
+     * sorting, filtering and paging the complete dataset when this cannot be translated to SQL: attributes which
+     * are not mapped to columns, filters other than {@link ColumnFilter}, the alpha bar and lists without pages.
+     */
+    private void loadPage() {
+        if (pageable == null || page != null) {
+            return;
+        }
+        String sortAttr = getActiveSortAttribute();
+        String filterAttr = null;
+        if (activeFilter != null) {
+            filterAttr = activeFilter instanceof ColumnFilter columnFilter ? columnFilter.getAttribute() : null;
+        }
+        if (pageSize <= 0 || !StringUtils.isBlank(alphaCol) || !pageable.isPushable(sortAttr) ||
+                (activeFilter != null && !pageable.isPushable(filterAttr))) {
+            fallBack();
+            return;
+        }
+
+        page = pageable.getPage(sortAttr, RequestContext.SORT_ASC.equals(getActiveSortDirection()),
+                filterAttr, filterValue, getRequestedOffset(), pageSize);
+        totalDataSetSize = page.getTotalSize();
+        unfilteredDataSize = page.getUnfilteredSize();
+        pageNumber = (page.getStart() - 1) / pageSize;
+    }
+
+    /**
+     * Switches from the pageable data source to the complete dataset, applying the filter in memory.
+     */
+    private void fallBack() {
+        dataset = pageable.getAll();
+        pageable = null;
+        page = null;
+        pageNumber = -1;
+        unfilteredDataSize = dataset.size();
+        if (activeFilter != null) {
+            dataset = ListFilterHelper.filter(dataset, activeFilter, filterBy, filterValue);
+        }
+        totalDataSetSize = dataset.size();
+    }
+
+    /**
+     * Determines the offset of the requested page, without knowing the dataset size
+     * @return the offset, Integer.MAX_VALUE for the last page
+     */
+    private int getRequestedOffset() {
+        String param = getPaginationParam(request, uniqueName);
+        String value = param == null ? null : request.getParameter(param);
+        if ("last".equalsIgnoreCase(value)) {
+            // the page query returns the last page for offsets past the end
+            return Integer.MAX_VALUE;
+        }
+        try {
+            return (int) Math.min((long) Math.max(Integer.parseInt(value), 0) * pageSize, Integer.MAX_VALUE);
+        }
+        catch (NumberFormatException e) {
+            return 0;
+        }
     }
 
     /**
@@ -111,6 +183,11 @@ public class DataSetManipulator {
         filterClass.setAttribute("value", f.getClass().getCanonicalName());
         ListTagUtil.write(context, filterClass.render());
 
+        activeFilter = f;
+        if (pageable != null) {
+            // applied by the page query, or in memory when falling back
+            return;
+        }
         dataset = ListFilterHelper.filter(dataset, f, filterBy, filterValue);
         totalDataSetSize = dataset.size();
     }
@@ -119,6 +196,10 @@ public class DataSetManipulator {
      * Sorts the dataset in place
      */
     public void sort() {
+        loadPage();
+        if (page != null) {
+            return;
+        }
         String sortAttr = getActiveSortAttribute();
         if (StringUtils.isEmpty(sortAttr)) {
             return;
@@ -139,6 +220,7 @@ public class DataSetManipulator {
      * @return total size
      */
     public int getTotalDataSetSize() {
+        loadPage();
         return totalDataSetSize;
     }
 
@@ -147,6 +229,10 @@ public class DataSetManipulator {
      * @return list representing one page of data
      */
     public List getPage() {
+        loadPage();
+        if (page != null) {
+            return expand(page);
+        }
         List retval = new LinkedList<>();
         if (pageSize > 0) {
             int startOffset = getCurrentPageNumber() * pageSize;
@@ -173,6 +259,9 @@ public class DataSetManipulator {
      * @return List representing all data available
      */
     public List getAllData() {
+        if (pageable != null) {
+            fallBack();
+        }
         List retval = new LinkedList<>();
         retval.addAll(dataset);
         return expand(retval);
@@ -206,12 +295,12 @@ public class DataSetManipulator {
     public int getNextPageNumber() {
         int retval = -1;
         if (getCurrentPageNumber() == 0) {
-            if (totalDataSetSize > pageSize) {
+            if (getTotalDataSetSize() > pageSize) {
                 retval = getCurrentPageNumber() + 1;
             }
         }
         else {
-            if ((getCurrentPageNumber() * pageSize) + pageSize < (totalDataSetSize)) {
+            if ((getCurrentPageNumber() * pageSize) + pageSize < getTotalDataSetSize()) {
                 retval = getCurrentPageNumber() + 1;
             }
         }
@@ -245,10 +334,10 @@ public class DataSetManipulator {
      * @return answer to that burning question
      */
     public boolean isLastPage() {
-        int maxPage = (dataset.size() / pageSize) - 1;
+        int maxPage = (getTotalDataSetSize() / pageSize) - 1;
         // Add a page for overflow, since the dataset is not
         // evenly divisible by the pagesize
-        if (dataset.size() % pageSize > 0) {
+        if (getTotalDataSetSize() % pageSize > 0) {
             maxPage++;
         }
         return getCurrentPageNumber() == maxPage;
@@ -297,7 +386,7 @@ public class DataSetManipulator {
      */
     public Map<String, String[]> getPaginationLinks() {
         Map<String, String[]> links = new HashMap<>();
-        if (pageSize > 0 && !dataset.isEmpty() && getTotalDataSetSize() > pageSize) {
+        if (pageSize > 0 && !isListEmpty() && getTotalDataSetSize() > pageSize) {
             String pageLinkName = "list_" + uniqueName + "_page";
             String[] data = new String[4];
             if (!isFirstPage()) {
@@ -362,6 +451,10 @@ public class DataSetManipulator {
      * @return boolean
      */
     public boolean isListEmpty() {
+        loadPage();
+        if (page != null) {
+            return totalDataSetSize == 0;
+        }
         return dataset == null || dataset.isEmpty();
     }
 
@@ -370,6 +463,7 @@ public class DataSetManipulator {
      * @return the set of characters that are active
      */
     public Set<Character> getAlphaBarIndex() {
+        loadPage();
         Set<Character> chars = new HashSet<>();
         int i = 0;
         for (Object inputRow : dataset) {
@@ -408,6 +502,7 @@ public class DataSetManipulator {
             if (alphaPosition > -1) {
                 return alphaPosition;
             }
+            loadPage();
             char alpha = Character
                     .toUpperCase(helper.getAlphaValue(uniqueName, request).charAt(0));
             int i = 0;
@@ -469,6 +564,7 @@ public class DataSetManipulator {
      * @return Returns the unfilteredDataSize.
      */
     public int getUnfilteredDataSize() {
+        loadPage();
         return unfilteredDataSize;
     }
 
@@ -527,6 +623,9 @@ public class DataSetManipulator {
             return 0;
         }
 
+        if (page != null) {
+            return page.getStart();
+        }
         int startOffset = getCurrentPageNumber() * pageSize;
 
         if (startOffset < 0) {
@@ -547,6 +646,10 @@ public class DataSetManipulator {
      * @return int
      */
     private int getPageEndIndex() {
+        loadPage();
+        if (page != null) {
+            return page.getStart() - 1 + page.size();
+        }
         int startOffset = getCurrentPageNumber() * pageSize;
         if (startOffset < 0) {
             startOffset = 0;
@@ -567,6 +670,10 @@ public class DataSetManipulator {
     }
 
     private int getExpandedDataSize() {
+        loadPage();
+        if (page != null) {
+            return totalDataSetSize;
+        }
         if (!parentIsAnElement) {
             return expand(dataset).size() - dataset.size();
         }
@@ -578,7 +685,7 @@ public class DataSetManipulator {
      * @return current page number
      */
     private int getCurrentPageNumber() {
-
+        loadPage();
         if (AlphaBarHelper.getInstance().isSelected(uniqueName, request)) {
             int pos = findAlphaPosition();
             pageNumber = pos / pageSize;
@@ -876,7 +876,7 @@ public class ListTag extends BodyTagSupport {
             ListTagUtil.write(pageContext, "<div class=\"site-info\">");
 
             if (manip.getTotalDataSetSize() != manip.getUnfilteredDataSize()) {
-                if (manip.getAllData().isEmpty()) {
+                if (manip.getTotalDataSetSize() == 0) {
                     ListTagUtil.write(pageContext, ls.getMessage(
                             "listtag.filteredmessageempty",
                             manip.getTotalDataSetSize()));
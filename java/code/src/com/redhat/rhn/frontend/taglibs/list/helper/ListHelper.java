@@ -17,6 +17,7 @@ package com.redhat.rhn.frontend.taglibs.list.helper;
 
 import com.redhat.rhn.common.db.datasource.DataResult;
 import com.redhat.rhn.common.db.datasource.Elaborator;
+import com.redhat.rhn.common.db.datasource.PageableDataSource;
 import com.redhat.rhn.frontend.struts.RequestContext;
 import com.redhat.rhn.frontend.taglibs.list.ListTagHelper;
 import com.redhat.rhn.frontend.taglibs.list.TagHelper;
@@ -106,8 +107,14 @@ public class ListHelper {
         HttpServletRequest request = context.getRequest();
         request.setAttribute(ListTagHelper.PARENT_URL, getParentUrl());
         request.setAttribute(getDataSetName(), dataSet);
-        if (!StringUtils.isBlank(getListName()) && dataSet instanceof DataResult data) {
-            Elaborator elab = data.getElaborator();
+        if (!StringUtils.isBlank(getListName())) {
+            Elaborator elab = null;
+            if (dataSet instanceof DataResult data) {
+                elab = data.getElaborator();
+            }
+            else if (dataSet instanceof PageableDataSource<?> pageable) {
+                elab = pageable.getElaborator();
+            }
             if (elab != null) {
                 TagHelper.bindElaboratorTo(getListName(), elab, request);
             }
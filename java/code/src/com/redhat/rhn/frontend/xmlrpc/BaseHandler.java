@@ -22,7 +22,6 @@ import com.redhat.rhn.common.client.InvalidCertificateException;
 import com.redhat.rhn.common.hibernate.HibernateFactory;
 import com.redhat.rhn.common.hibernate.LookupException;
 import com.redhat.rhn.common.translation.TranslationException;
-import com.redhat.rhn.common.translation.Translator;
 import com.redhat.rhn.common.util.MethodUtil;
 import com.redhat.rhn.common.util.StringUtil;
 import com.redhat.rhn.domain.entitlement.Entitlement;
@@ -32,14 +31,11 @@ import com.redhat.rhn.domain.product.Tuple2;
 import com.redhat.rhn.domain.role.Role;
 import com.redhat.rhn.domain.role.RoleFactory;
 import com.redhat.rhn.domain.server.Server;
-import com.redhat.rhn.domain.session.WebSession;
 import com.redhat.rhn.domain.user.User;
 import com.redhat.rhn.manager.session.SessionManager;
 import com.redhat.rhn.manager.system.SystemManager;
 
-import com.suse.manager.api.ApiIgnore;
 import com.suse.manager.api.ApiType;
-import com.suse.manager.api.ReadOnly;
 import com.suse.salt.netapi.utils.Xor;
 
 import com.google.gson.Gson;
@@ -53,10 +49,6 @@ import org.xml.sax.SAXException;
 import java.io.IOException;
 import java.io.StringReader;
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
@@ -97,51 +89,45 @@ public class BaseHandler implements XmlRpcInvocationHandler {
     @Override
     public Object invoke(String methodCalled, List params) throws XmlRpcFault {
         Class<? extends BaseHandler> myClass = this.getClass();
-        Method[] methods = Arrays.stream(myClass.getDeclaredMethods())
-                .filter(m -> Modifier.isPublic(m.getModifiers()))
-                .filter(BaseHandler::isMethodAvailable)
-                .toArray(Method[]::new);
 
         String[] byNamespace = methodCalled.split("\\.");
-        String beanifiedMethod = StringUtil.beanify(byNamespace[byNamespace.length - 1]);
-        WebSession session = null;
+        String calledName = byNamespace[byNamespace.length - 1];
+        String sessionKey = null;
         User user = null;
 
         if (!params.isEmpty() && params.get(0) instanceof String p0 && isSessionKey(p0) &&
                 !myClass.getName().endsWith("AuthHandler") && !myClass.getName().endsWith("SearchHandler")) {
 
-                session = SessionManager.loadSession((String)params.get(0));
-                user = getLoggedInUser((String) params.get(0));
+                sessionKey = p0;
+                user = getLoggedInUser(sessionKey);
                 params.set(0, user);
             }
 
 
         //we've found all the methods that have the same number of parameters
-        List<Method> matchedMethods = findMethods(methods, params, beanifiedMethod);
+        List<HandlerMethod> matchedMethods = findMethods(params, calledName);
 
         //Attempt to find a perfect match
-        Method foundMethod = findPerfectMethod(params, matchedMethods);
+        HandlerMethod foundMethod = findPerfectMethod(params, matchedMethods);
         Object[] converted = params.toArray();
 
         if (foundMethod == null) {
-            Tuple2<Method, Object[]> fallbackMethod = findFallbackMethod(params, matchedMethods);
+            Tuple2<HandlerMethod, Object[]> fallbackMethod = findFallbackMethod(params, matchedMethods);
             foundMethod = fallbackMethod.getA();
             converted = fallbackMethod.getB();
         }
-        XmlRpcLoggingInvocationProcessor.setCalledMethod(foundMethod);
+        XmlRpcLoggingInvocationProcessor.setCalledMethod(foundMethod.getMethod());
 
         if (user != null && user.isReadOnly()) {
-            if (!foundMethod.isAnnotationPresent(ReadOnly.class)) {
-                throw new SecurityException("The " + beanifiedMethod + " API is not available to read-only API users");
+            if (!foundMethod.isReadOnly()) {
+                throw new SecurityException("The " + foundMethod.getName() +
+                        " API is not available to read-only API users");
             }
         }
 
         try {
             return foundMethod.invoke(this, converted);
         }
-        catch (IllegalAccessException e) {
-            throw new XmlRpcFault(-1, "unhandled internal exception");
-        }
         catch (InvocationTargetException e) {
             Throwable cause = e.getCause();
 
@@ -174,38 +160,28 @@ public class BaseHandler implements XmlRpcInvocationHandler {
             throw ExceptionTranslator.translateException(cause);
         }
         finally {
-            if (session != null) {
-                SessionManager.extendSessionLifetime(session);
+            if (sessionKey != null) {
+                SessionManager.extendSessionLifetime(sessionKey);
             }
         }
     }
 
-    private Tuple2<Method, Object[]> findFallbackMethod(
-            List<Object> params, List<Method> matchedMethods) {
+    private Tuple2<HandlerMethod, Object[]> findFallbackMethod(
+            List<Object> params, List<HandlerMethod> matchedMethods) {
 
-        Map<Boolean, List<Xor<TranslationException, Tuple2<Method, Object[]>>>> collect = matchedMethods
+        Map<Boolean, List<Xor<TranslationException, Tuple2<HandlerMethod, Object[]>>>> collect = matchedMethods
                 .stream()
                 .map(method -> {
-                    Class<?>[] types = method.getParameterTypes();
-                    Object[] converted = params.toArray();
-
-                    Iterator<Object> iter = params.iterator();
-                    for (int i = 0; i < types.length; i++) {
-                        Object curr = iter.next();
-                        if (!types[i].equals(curr.getClass())) {
-                            try {
-                                converted[i] = Translator.convert(curr, types[i]);
-                            }
-                            catch (TranslationException e) {
-                                return Xor.<TranslationException, Tuple2<Method, Object[]>>left(e);
-                            }
-                        }
+                    try {
+                        return Xor.<TranslationException, Tuple2<HandlerMethod, Object[]>>right(
+                                new Tuple2<>(method, method.convertArguments(params)));
+                    }
+                    catch (TranslationException e) {
+                        return Xor.<TranslationException, Tuple2<HandlerMethod, Object[]>>left(e);
                     }
-                    return Xor.<TranslationException, Tuple2<Method, Object[]>>right(new Tuple2<>(method, converted));
-
                 }).collect(Collectors.partitioningBy(x -> x.isRight()));
 
-        List<Tuple2<Method, Object[]>> candidates = collect.get(true).stream()
+        List<Tuple2<HandlerMethod, Object[]>> candidates = collect.get(true).stream()
                 .flatMap(x -> x.right().stream()).toList();
 
         List<TranslationException> exceptions = collect.get(false).stream()
@@ -228,28 +204,16 @@ public class BaseHandler implements XmlRpcInvocationHandler {
      * @param matchedMethods the list of methods to check for a perfect match
      * @return null if no perfect match was found, otherwise the matched method.
      */
-    private Method findPerfectMethod(List params, List<Method> matchedMethods) {
+    private HandlerMethod findPerfectMethod(List params, List<HandlerMethod> matchedMethods) {
         //now lets try to find one that matches parameters exactly
-        for (Method currMethod : matchedMethods) {
+        for (HandlerMethod currMethod : matchedMethods) {
             if (log.isDebugEnabled()) {
-                log.debug("findPerfectMethod test:{}", currMethod.toGenericString());
+                log.debug("findPerfectMethod test:{}", currMethod);
             }
-            Class[] types = currMethod.getParameterTypes();
-            for (int i = 0; i < types.length; i++) {
-                if (log.isDebugEnabled()) {
-                    log.debug("  findPerfectMethod: compare: {} isAssignableFrom {}", types[i].getCanonicalName(),
-                            params.get(i).getClass().getCanonicalName());
-                }
-                //if we find a param that doesn't match, go to the next method
-                if (!types[i].isAssignableFrom(params.get(i).getClass())) {
-                    break;
-                }
-                //if we have gone through all of the params, and are here it is a
-                //      perfect match.
-                if (i == types.length - 1) {
-                    log.debug("  all parameter match");
-                    return currMethod;
-                }
+            //methods without parameters are handled by the fallback
+            if (currMethod.getParameterCount() > 0 && currMethod.acceptsWithoutConversion(params)) {
+                log.debug("  all parameter match");
+                return currMethod;
             }
         }
         return null;
@@ -258,37 +222,18 @@ public class BaseHandler implements XmlRpcInvocationHandler {
     /**
      * Private method to find the method in the java class that is being called
      * via xml-rpc
-     * @param methods The methods contained in the class
      * @param params The parameters sent to us via xml-rpc
-     * @param beanifiedMethod The method name we are looking for
+     * @param calledName The method name we are looking for
      * @return The matching method we're looking for
      * @throws XmlRpcFault Thrown if we can't find the method asked for
      */
-    /*
-     * TODO: Make this method even smarterer.
-     *      Currently this finds methods that match the number of parameters and returns
-     *          those.
-     */
-    private List<Method> findMethods(Method[] methods, Collection params,
-            String beanifiedMethod) throws XmlRpcFault {
-
-        List<Method> toReturn = new ArrayList<>();
-
-        //Loop through the methods array and find the one we are trying to call.
-        for (Method methodIn : methods) {
-            if (methodIn.getName().equals(beanifiedMethod)) {
-                // We found a method with the right name, but does the parameter count
-                // match?
-                int numberOfParams = methodIn.getParameterTypes().length;
-                if (numberOfParams == params.size()) {
-                    //Method name and number of parameters match.
-                    toReturn.add(methodIn);
-                }
-            }
-        }
+    private List<HandlerMethod> findMethods(Collection params, String calledName) throws XmlRpcFault {
+        List<HandlerMethod> toReturn = HandlerMethods.of(getClass())
+                .find(ApiType.XMLRPC, calledName, params.size());
+
         if (toReturn.isEmpty()) {
             //The caller didn't get the method name or number of parameters right
-            String message = "Could not find method: " + beanifiedMethod +
+            String message = "Could not find method: " + StringUtil.beanify(calledName) +
             " in class: " + this.getClass().getName() + " with params: [";
             for (Iterator iter = params.iterator(); iter.hasNext();) {
                 Object param = iter.next();
@@ -312,9 +257,8 @@ public class BaseHandler implements XmlRpcInvocationHandler {
      * sessionkey.
      */
     public static User getLoggedInUser(String sessionKey) {
-        //Load the session
-        WebSession session = SessionManager.loadSession(sessionKey);
-        User user = session.getUser();
+        //Load the user of the session
+        User user = SessionManager.lookupUserByKey(sessionKey);
 
         //Make sure there was a valid user in the session. If not, the session is invalid.
         if (user == null) {
@@ -550,14 +494,4 @@ public class BaseHandler implements XmlRpcInvocationHandler {
     private boolean isSessionKey(String string) {
         return string.matches(KEY_REGEX);
     }
-
-    /**
-     * Returns true if the method is available to be exposed in the XMLRPC interface
-     * @param method the method
-     * @return true if the method is available
-     */
-    private static boolean isMethodAvailable(Method method) {
-        return !(method.isAnnotationPresent(ApiIgnore.class) &&
-                Arrays.asList(method.getAnnotation(ApiIgnore.class).value()).contains(ApiType.XMLRPC));
-    }
 }
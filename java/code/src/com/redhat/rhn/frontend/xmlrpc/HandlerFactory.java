@@ -118,12 +118,14 @@ public class HandlerFactory {
     }
 
     /**
-     * Add a handler to this HandlerFactory.
+     * Add a handler to this HandlerFactory. The dispatch table of the handler class is built
+     * right away, so that the first API calls do not pay for it.
      * @param namespace the xmlrpc namespace of this handler.
      * @param handler xml rpc handler.
      */
     public void addHandler(String namespace, BaseHandler handler) {
        handlers.put(namespace, handler);
+       HandlerMethods.of(handler.getClass());
     }
 
     /**
@@ -248,4 +250,13 @@ public class HandlerFactory {
     public Set<String> getKeys() {
         return handlers.keySet();
     }
+
+    /**
+     * Get the dispatch table of the handler registered for a namespace.
+     * @param handlerName the namespace of the handler
+     * @return the dispatch table, empty if there is no handler for the namespace
+     */
+    public Optional<HandlerMethods> getHandlerMethods(String handlerName) {
+        return getHandler(handlerName).map(handler -> HandlerMethods.of(handler.getClass()));
+    }
 }
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2025 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.redhat.rhn.frontend.xmlrpc;
+
+import com.redhat.rhn.common.translation.Translator;
+
+import com.suse.manager.api.ApiIgnore;
+import com.suse.manager.api.ApiType;
+import com.suse.manager.api.ReadOnly;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A public method of an API handler, with everything needed to dispatch a call resolved
+ * up front: the parameter types, the API annotations and a {@link MethodHandle} taking the
+ * handler and the arguments as array.
+ */
+public class HandlerMethod {
+
+    private static final MethodType INVOKER_TYPE =
+            MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    private final Method method;
+    private final MethodHandle invoker;
+    private final Class<?>[] parameterTypes;
+    private final boolean readOnly;
+    private final Set<ApiType> ignoredIn;
+
+    /**
+     * Constructor
+     * @param methodIn the handler method
+     */
+    public HandlerMethod(Method methodIn) {
+        method = methodIn;
+        parameterTypes = methodIn.getParameterTypes();
+        readOnly = methodIn.isAnnotationPresent(ReadOnly.class);
+        ignoredIn = methodIn.isAnnotationPresent(ApiIgnore.class) ?
+                Collections.unmodifiableSet(EnumSet.copyOf(Arrays.asList(methodIn.getAnnotation(ApiIgnore.class)
+                        .value()))) :
+                Collections.emptySet();
+        invoker = toInvoker(methodIn);
+    }
+
+    private static MethodHandle toInvoker(Method methodIn) {
+        methodIn.trySetAccessible();
+        try {
+            MethodHandle handle = MethodHandles.lookup().unreflect(methodIn);
+            if (Modifier.isStatic(methodIn.getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            return handle.asSpreader(Object[].class, methodIn.getParameterCount()).asType(INVOKER_TYPE);
+        }
+        catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot access API method " + methodIn, e);
+        }
+    }
+
+    /**
+     * @return the underlying method
+     */
+    public Method getMethod() {
+        return method;
+    }
+
+    /**
+     * @return the method name
+     */
+    public String getName() {
+        return method.getName();
+    }
+
+    /**
+     * @return the number of parameters
+     */
+    public int getParameterCount() {
+        return parameterTypes.length;
+    }
+
+    /**
+     * @return true if the method is available to read-only users
+     */
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    /**
+     * @param api the API type
+     * @return true if the method is exposed in the given API
+     */
+    public boolean isAvailableIn(ApiType api) {
+        return !ignoredIn.contains(api);
+    }
+
+    /**
+     * Checks whether the arguments can be passed to this method without conversion.
+     * @param args the arguments, with as many elements as the method has parameters
+     * @return true if every argument is an instance of the corresponding parameter type
+     */
+    public boolean acceptsWithoutConversion(List<?> args) {
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (!parameterTypes[i].isAssignableFrom(args.get(i).getClass())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Converts the arguments to the parameter types of this method with {@link Translator}.
+     * @param args the arguments, with as many elements as the method has parameters
+     * @return the converted arguments
+     * @throws com.redhat.rhn.common.translation.TranslationException if an argument cannot be converted
+     */
+    public Object[] convertArguments(List<?> args) {
+        Object[] converted = args.toArray();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (!parameterTypes[i].equals(converted[i].getClass())) {
+                converted[i] = Translator.convert(converted[i], parameterTypes[i]);
+            }
+        }
+        return converted;
+    }
+
+    /**
+     * Invokes the method.
+     * @param handler the handler to invoke the method on, ignored for static methods
+     * @param args the arguments
+     * @return the returned value, null for void methods
+     * @throws InvocationTargetException wrapping anything thrown by the method
+     */
+    public Object invoke(Object handler, Object[] args) throws InvocationTargetException {
+        try {
+            return (Object) invoker.invokeExact(handler, args);
+        }
+        catch (Throwable t) {
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return method.toGenericString();
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2025 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.redhat.rhn.frontend.xmlrpc;
+
+import com.redhat.rhn.common.util.StringUtil;
+
+import com.suse.manager.api.ApiType;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Dispatch table of an API handler class: its public methods, grouped by API type, name and
+ * number of parameters.
+ *
+ * Tables are built once per handler class, usually when the handler is added to the
+ * {@link HandlerFactory}, and shared by the XMLRPC and the HTTP API.
+ */
+public final class HandlerMethods {
+
+    private static final ClassValue<HandlerMethods> TABLES = new ClassValue<>() {
+        @Override
+        protected HandlerMethods computeValue(Class<?> type) {
+            return new HandlerMethods(type);
+        }
+    };
+
+    private final Class<?> handlerClass;
+    private final List<HandlerMethod> methods;
+    private final Map<Method, HandlerMethod> byMethod;
+    private final Map<ApiType, Map<String, Map<Integer, List<HandlerMethod>>>> byApi = new EnumMap<>(ApiType.class);
+    private final Map<String, String> beanifiedNames = new ConcurrentHashMap<>();
+
+    private HandlerMethods(Class<?> handlerClassIn) {
+        handlerClass = handlerClassIn;
+        methods = Arrays.stream(handlerClassIn.getDeclaredMethods())
+                .filter(m -> Modifier.isPublic(m.getModifiers()))
+                .map(HandlerMethod::new)
+                .toList();
+        byMethod = methods.stream().collect(Collectors.toUnmodifiableMap(HandlerMethod::getMethod,
+                Function.identity()));
+        for (ApiType api : ApiType.values()) {
+            byApi.put(api, methods.stream()
+                    .filter(m -> m.isAvailableIn(api))
+                    .collect(Collectors.groupingBy(HandlerMethod::getName,
+                            Collectors.groupingBy(HandlerMethod::getParameterCount))));
+        }
+    }
+
+    /**
+     * Returns the dispatch table of a handler class, building it on first use.
+     * @param handlerClass the handler class
+     * @return the dispatch table
+     */
+    public static HandlerMethods of(Class<?> handlerClass) {
+        return TABLES.get(handlerClass);
+    }
+
+    /**
+     * Returns the {@link HandlerMethod} of a method, using the dispatch table of its declaring class.
+     * @param method a method
+     * @return the handler method
+     */
+    public static HandlerMethod forMethod(Method method) {
+        return Optional.ofNullable(of(method.getDeclaringClass()).byMethod.get(method))
+                .orElseGet(() -> new HandlerMethod(method));
+    }
+
+    /**
+     * @return the handler class
+     */
+    public Class<?> getHandlerClass() {
+        return handlerClass;
+    }
+
+    /**
+     * @param api the API type
+     * @return all the methods exposed in the given API
+     */
+    public List<HandlerMethod> getMethods(ApiType api) {
+        return methods.stream().filter(m -> m.isAvailableIn(api)).toList();
+    }
+
+    /**
+     * Finds the overloads of a method exposed in an API.
+     * @param api the API type
+     * @param methodName the method name as called, e.g. 'list_systems' or 'listSystems'
+     * @param parameterCount the number of parameters
+     * @return the matching methods, possibly empty
+     */
+    public List<HandlerMethod> find(ApiType api, String methodName, int parameterCount) {
+        Map<String, Map<Integer, List<HandlerMethod>>> byName = byApi.get(api);
+        String name = beanifiedNames.get(methodName);
+        if (name == null) {
+            name = StringUtil.beanify(methodName);
+            // only remember names of existing methods, the called names come from clients
+            if (byName.containsKey(name)) {
+                beanifiedNames.put(methodName, name);
+            }
+        }
+        return byName.getOrDefault(name, Collections.emptyMap())
+                .getOrDefault(parameterCount, Collections.emptyList());
+    }
+}
@@ -20,6 +20,8 @@ import com.suse.manager.api.ApiResponseSerializer;
 import com.suse.manager.api.SerializationBuilder;
 import com.suse.manager.api.SerializedApiResponse;
 
+import java.util.function.BiConsumer;
+
 /**
  *
  * ErrataOverviewSerializer
@@ -49,17 +51,22 @@ public class ErrataOverviewSerializer extends ApiResponseSerializer<ErrataOvervi
 
     @Override
     public SerializedApiResponse serialize(ErrataOverview src) {
-        return new SerializationBuilder()
-                .add("id", src.getId())
-                .add("issue_date", src.getIssueDateIsoFormat())
-                .add("date", src.getUpdateDateIsoFormat())
-                .add("update_date", src.getUpdateDateIsoFormat())
-                .add("advisory_synopsis", src.getAdvisorySynopsis())
-                .add("advisory_type", src.getAdvisoryType())
-                .add("advisory_status", src.getAdvisoryStatus().getMetadataValue())
-                .add("advisory_name", src.getAdvisoryName())
-                .add("reboot_suggested", src.isRebootSuggested())
-                .add("restart_suggested", src.isRestartSuggested())
-                .build();
+        SerializationBuilder builder = new SerializationBuilder();
+        serialize(src, builder::add);
+        return builder.build();
+    }
+
+    @Override
+    protected void serialize(ErrataOverview src, BiConsumer<String, Object> properties) {
+        properties.accept("id", src.getId());
+        properties.accept("issue_date", src.getIssueDateIsoFormat());
+        properties.accept("date", src.getUpdateDateIsoFormat());
+        properties.accept("update_date", src.getUpdateDateIsoFormat());
+        properties.accept("advisory_synopsis", src.getAdvisorySynopsis());
+        properties.accept("advisory_type", src.getAdvisoryType());
+        properties.accept("advisory_status", src.getAdvisoryStatus().getMetadataValue());
+        properties.accept("advisory_name", src.getAdvisoryName());
+        properties.accept("reboot_suggested", src.isRebootSuggested());
+        properties.accept("restart_suggested", src.isRestartSuggested());
     }
 }
@@ -25,6 +25,8 @@ import com.suse.manager.api.SerializedApiResponse;
 
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.function.BiConsumer;
+
 /**
  *
  * PackageSerializer
@@ -54,6 +56,13 @@ public class PackageSerializer extends ApiResponseSerializer<Package> {
 
     @Override
     public SerializedApiResponse serialize(Package src) {
+        SerializationBuilder builder = new SerializationBuilder();
+        serialize(src, builder::add);
+        return builder.build();
+    }
+
+    @Override
+    protected void serialize(Package src, BiConsumer<String, Object> properties) {
         String provider = LocalizationService.getInstance().getMessage("channel.jsp.gpgunknown");
         if (src.getPackageKeys() != null) {
             for (PackageKey key : src.getPackageKeys()) {
@@ -63,17 +72,15 @@ public class PackageSerializer extends ApiResponseSerializer<Package> {
             }
         }
 
-        return new SerializationBuilder()
-                .add("name", src.getPackageName().getName())
-                .add("version", src.getPackageEvr().getVersion())
-                .add("release", src.getPackageEvr().getRelease())
-                .add("epoch", StringUtils.defaultString(src.getPackageEvr().getEpoch()))
-                .add("id", src.getId())
-                .add("arch_label", src.getPackageArch().getLabel())
-                .add("last_modified", src.getLastModified())
-                .add("path", src.getPath())
-                .add("part_of_retracted_patch", src.isPartOfRetractedPatch())
-                .add("provider", provider)
-                .build();
+        properties.accept("name", src.getPackageName().getName());
+        properties.accept("version", src.getPackageEvr().getVersion());
+        properties.accept("release", src.getPackageEvr().getRelease());
+        properties.accept("epoch", StringUtils.defaultString(src.getPackageEvr().getEpoch()));
+        properties.accept("id", src.getId());
+        properties.accept("arch_label", src.getPackageArch().getLabel());
+        properties.accept("last_modified", src.getLastModified());
+        properties.accept("path", src.getPath());
+        properties.accept("part_of_retracted_patch", src.isPartOfRetractedPatch());
+        properties.accept("provider", provider);
     }
 }
@@ -22,6 +22,7 @@ import com.suse.manager.api.SerializationBuilder;
 import com.suse.manager.api.SerializedApiResponse;
 
 import java.util.Date;
+import java.util.function.BiConsumer;
 
 /**
  *
@@ -50,22 +51,27 @@ public class SystemOverviewSerializer extends ApiResponseSerializer<SystemOvervi
 
     @Override
     public SerializedApiResponse serialize(SystemOverview src) {
-        SerializationBuilder builder = new SerializationBuilder()
-                .add("id", src.getId())
-                .add("name", src.getName())
-                .add("last_checkin", src.getLastCheckinDate());
+        SerializationBuilder builder = new SerializationBuilder();
+        serialize(src, builder::add);
+        return builder.build();
+    }
+
+    @Override
+    protected void serialize(SystemOverview src, BiConsumer<String, Object> properties) {
+        properties.accept("id", src.getId());
+        properties.accept("name", src.getName());
+        properties.accept("last_checkin", src.getLastCheckinDate());
 
         Date regDate = src.getCreated();
         if (regDate != null) {
-            builder.add("created", regDate);
+            properties.accept("created", regDate);
         }
 
         Date lastBoot = src.getLastBootAsDate();
         if (lastBoot != null) {
-            builder.add("last_boot", lastBoot);
+            properties.accept("last_boot", lastBoot);
         }
-        builder.add("extra_pkg_count", src.getExtraPkgCount());
-        builder.add("outdated_pkg_count", src.getOutdatedPackages());
-        return builder.build();
+        properties.accept("extra_pkg_count", src.getExtraPkgCount());
+        properties.accept("outdated_pkg_count", src.getOutdatedPackages());
     }
 }
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2025 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.redhat.rhn.frontend.xmlrpc.serializer.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.redhat.rhn.frontend.dto.SystemOverview;
+import com.redhat.rhn.frontend.xmlrpc.serializer.SystemOverviewSerializer;
+
+import com.suse.manager.api.DateSerializer;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.util.Date;
+import java.util.List;
+
+import redstone.xmlrpc.XmlRpcSerializer;
+
+public class SystemOverviewSerializerTest {
+
+    private static SystemOverview systemOverview(long id) {
+        SystemOverview system = new SystemOverview();
+        system.setId(id);
+        system.setName("system-" + id);
+        system.setCreated(new Date(1700000000000L));
+        system.setExtraPkgCount(3L);
+        system.setOutdatedPackages(5L);
+        return system;
+    }
+
+    @Test
+    public void testSerializeXmlRpc() {
+        StringWriter output = new StringWriter();
+        new SystemOverviewSerializer().serialize(systemOverview(42L), output, new XmlRpcSerializer());
+        String actual = output.toString();
+
+        assertTrue(actual.startsWith("<struct>"));
+        assertTrue(actual.contains("<member><name>id</name><value><i4>42</i4></value></member>"));
+        assertTrue(actual.contains("<member><name>name</name><value><string>system-42</string></value></member>"));
+        assertTrue(actual.contains("<name>created</name>"));
+        assertTrue(actual.contains("<member><name>outdated_pkg_count</name><value><i4>5</i4></value></member>"));
+        // null properties are skipped
+        assertFalse(actual.contains("last_boot"));
+        assertTrue(actual.endsWith("</struct>\n"));
+    }
+
+    @Test
+    public void testStreamingJsonMatchesTree() {
+        SystemOverviewSerializer serializer = new SystemOverviewSerializer();
+        Gson streaming = new GsonBuilder()
+                .registerTypeAdapter(Date.class, new DateSerializer())
+                .registerTypeAdapterFactory(serializer.getTypeAdapterFactory())
+                .create();
+        Gson tree = new GsonBuilder()
+                .registerTypeAdapter(Date.class, new DateSerializer())
+                .registerTypeHierarchyAdapter(SystemOverview.class, serializer)
+                .create();
+
+        List<SystemOverview> systems = List.of(systemOverview(1L), systemOverview(2L));
+        assertEquals(JsonParser.parseString(tree.toJson(systems)), JsonParser.parseString(streaming.toJson(systems)));
+
+        JsonObject json = JsonParser.parseString(streaming.toJson(systems.get(0))).getAsJsonObject();
+        assertEquals(1L, json.get("id").getAsLong());
+        assertEquals("system-1", json.get("name").getAsString());
+        assertFalse(json.has("last_checkin"));
+    }
+}
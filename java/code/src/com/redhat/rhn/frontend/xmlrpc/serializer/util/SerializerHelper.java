@@ -77,16 +77,31 @@ public class SerializerHelper {
     private void genMember(String name, Object value)
         throws XmlRpcException {
 
+        writeMember(output, name, value, serializer);
+    }
+
+    /**
+     * Writes an XMLRPC &lt;member&gt; straight to a writer, without buffering. Null values are skipped.
+     * @param out the writer
+     * @param name Member name.
+     * @param value Value to be serialized.
+     * @param serializer serializer to convert basic objects to XMLRPC format
+     * @throws XmlRpcException thrown if a problem occurs with serializing
+     * the value.
+     */
+    public static void writeMember(Writer out, String name, Object value, XmlRpcSerializer serializer)
+        throws XmlRpcException {
+
         if (value == null) {
             return;
         }
 
         try {
-            output.write("<member><name>");
-            output.write(name);
-            output.write("</name>");
-            serializer.serialize(value, output);
-            output.write("</member>\n");
+            out.write("<member><name>");
+            out.write(name);
+            out.write("</name>");
+            serializer.serialize(value, out);
+            out.write("</member>\n");
         }
         catch (IOException e) {
             throw new XmlRpcException(e.getMessage(), e);
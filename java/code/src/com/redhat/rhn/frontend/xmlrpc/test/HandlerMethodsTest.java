@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2025 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.redhat.rhn.frontend.xmlrpc.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.redhat.rhn.frontend.xmlrpc.HandlerMethod;
+import com.redhat.rhn.frontend.xmlrpc.HandlerMethods;
+
+import com.suse.manager.api.ApiType;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.List;
+import java.util.Map;
+
+public class HandlerMethodsTest {
+
+    private final UnitTestHandler handler = new UnitTestHandler();
+    private final HandlerMethods methods = HandlerMethods.of(UnitTestHandler.class);
+
+    @Test
+    public void testTableIsShared() {
+        assertSame(methods, HandlerMethods.of(UnitTestHandler.class));
+
+        HandlerMethod add = methods.find(ApiType.XMLRPC, "add", 2).get(0);
+        assertSame(add, HandlerMethods.forMethod(add.getMethod()));
+    }
+
+    @Test
+    public void testFind() {
+        assertEquals(1, methods.find(ApiType.XMLRPC, "add", 2).size());
+        assertTrue(methods.find(ApiType.XMLRPC, "add", 3).isEmpty());
+        assertTrue(methods.find(ApiType.XMLRPC, "doesNotExist", 0).isEmpty());
+
+        // called names are beanified
+        List<HandlerMethod> found = methods.find(ApiType.HTTP, "get_user_login", 1);
+        assertEquals(1, found.size());
+        assertEquals("getUserLogin", found.get(0).getName());
+        assertTrue(found.get(0).isReadOnly());
+        assertFalse(methods.find(ApiType.XMLRPC, "add", 2).get(0).isReadOnly());
+    }
+
+    @Test
+    public void testInvoke() throws Exception {
+        HandlerMethod add = methods.find(ApiType.XMLRPC, "add", 2).get(0);
+        assertTrue(add.acceptsWithoutConversion(List.of(1, 2)));
+        assertEquals(3, add.invoke(handler, new Object[] {1, 2}));
+
+        // Longs are converted with the Translator
+        assertFalse(add.acceptsWithoutConversion(List.of(1L, 2L)));
+        assertEquals(5, add.invoke(handler, add.convertArguments(List.of(2L, 3L))));
+
+        HandlerMethod throwFault = methods.find(ApiType.XMLRPC, "throwFault", 0).get(0);
+        InvocationTargetException e = assertThrows(InvocationTargetException.class,
+                () -> throwFault.invoke(handler, new Object[0]));
+        assertInstanceOf(InvalidUserNameException.class, e.getCause());
+    }
+
+    @Test
+    public void testInvokeWithoutParameters() throws Exception {
+        HandlerMethod login = methods.find(ApiType.XMLRPC, "login", 0).get(0);
+        Map<?, ?> result = (Map<?, ?>) login.invoke(handler, new Object[0]);
+        assertEquals("foo", result.get("X-RHN-Auth"));
+
+        HandlerMethod throwFault = methods.find(ApiType.XMLRPC, "throw_fault", 0).get(0);
+        assertNull(throwFault.invoke(new UnitTestHandler() {
+            @Override
+            public void throwFault() {
+                // nothing to throw
+            }
+        }, new Object[0]));
+    }
+}
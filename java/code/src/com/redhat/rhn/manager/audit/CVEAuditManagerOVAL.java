@@ -26,14 +26,11 @@ import com.redhat.rhn.domain.user.User;
 import com.redhat.rhn.manager.rhnpackage.PackageManager;
 
 import com.suse.oval.OVALCachingFactory;
-import com.suse.oval.OVALCleaner;
 import com.suse.oval.OsFamily;
-import com.suse.oval.OvalParser;
 import com.suse.oval.ShallowSystemPackage;
 import com.suse.oval.config.OVALConfigLoader;
 import com.suse.oval.ovaldownloader.OVALDownloadResult;
 import com.suse.oval.ovaldownloader.OVALDownloader;
-import com.suse.oval.ovaltypes.OvalRootType;
 import com.suse.oval.vulnerablepkgextractor.VulnerablePackage;
 
 import org.apache.logging.log4j.LogManager;
@@ -408,11 +405,10 @@ public class CVEAuditManagerOVAL {
 
     /**
      * Extracts OVAL metadata from the given {@code ovalFile}, clean it and save it to the database.
+     * The file is streamed, so memory usage doesn't grow with the size of the OVAL file.
      * */
     private static void extractAndSaveOVALData(OVALProduct product, File ovalFile) {
-        OvalRootType ovalRoot = new OvalParser().parse(ovalFile);
-        OVALCleaner.cleanup(ovalRoot, product.getOsFamily(), product.getOsVersion());
-        OVALCachingFactory.savePlatformsVulnerablePackages(ovalRoot);
+        OVALCachingFactory.savePlatformsVulnerablePackages(ovalFile, product.getOsFamily(), product.getOsVersion());
     }
 
     /**
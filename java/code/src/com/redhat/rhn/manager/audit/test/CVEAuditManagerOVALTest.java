@@ -26,6 +26,7 @@ import static com.redhat.rhn.testing.ErrataTestUtils.createTestServer;
 import static com.redhat.rhn.testing.ErrataTestUtils.createTestUser;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import com.redhat.rhn.common.hibernate.HibernateFactory;
@@ -53,6 +54,7 @@ import com.suse.oval.ovaltypes.OvalRootType;
 
 import org.junit.jupiter.api.Test;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.EnumSet;
 import java.util.HashMap;
@@ -570,6 +572,27 @@ public class CVEAuditManagerOVALTest extends RhnBaseTestCase {
         assertEquals(PatchStatus.AFFECTED_PATCH_INAPPLICABLE, auditServer.getPatchStatus());
     }
 
+    @Test
+    void testStreamedExtractionMatchesFullParsing() throws Exception {
+        File ovalFile = new File(TestUtils
+                .findTestData("/com/redhat/rhn/manager/audit/test/oval/oval-def-1.xml").toURI());
+        Cve cve = createTestCve("CVE-2022-2991");
+
+        extractAndSaveVulnerablePackages(ovalParser.parse(ovalFile));
+        List<String> expected = OVALCachingFactory
+                .getVulnerablePackagesByProductAndCve(CPE_OPENSUSE_LEAP_15_4, cve.getName()).stream()
+                .map(pkg -> pkg.getName() + "-" + pkg.getFixVersion().orElse("")).sorted().toList();
+        assertFalse(expected.isEmpty());
+
+        OVALCachingFactory.savePlatformsVulnerablePackages(ovalFile, OsFamily.LEAP, "15.4");
+        HibernateFactory.getSession().flush();
+        List<String> streamed = OVALCachingFactory
+                .getVulnerablePackagesByProductAndCve(CPE_OPENSUSE_LEAP_15_4, cve.getName()).stream()
+                .map(pkg -> pkg.getName() + "-" + pkg.getFixVersion().orElse("")).sorted().toList();
+
+        assertEquals(expected, streamed);
+    }
+
     private static void extractAndSaveVulnerablePackages(OvalRootType rootType) {
         OVALCleaner.cleanup(rootType, OsFamily.LEAP, "15.4");
         OVALCachingFactory.savePlatformsVulnerablePackages(rootType);
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2025 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+
+package com.redhat.rhn.manager.contentmgmt;
+
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.groupingBy;
+
+import com.redhat.rhn.common.db.datasource.ModeFactory;
+import com.redhat.rhn.common.db.datasource.SelectMode;
+import com.redhat.rhn.domain.channel.Channel;
+import com.redhat.rhn.domain.contentmgmt.ContentFilter;
+import com.redhat.rhn.domain.contentmgmt.ErrataFilter;
+import com.redhat.rhn.domain.contentmgmt.ErrataProjection;
+import com.redhat.rhn.domain.contentmgmt.PackageFilter;
+import com.redhat.rhn.domain.contentmgmt.PackageProjection;
+import com.redhat.rhn.domain.rhnpackage.PackageEvr;
+
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Evaluates the package and errata filters of a content project on compact projections of the source channel
+ * content, instead of on Hibernate entities.
+ *
+ * Projections are loaded with a single query per channel and tested in parallel, as they are detached from the
+ * Hibernate session. Filters which need more data than the projections hold (provided capabilities, errata keywords)
+ * are evaluated in the database.
+ */
+public class ContentFilterEngine {
+
+    private static final String CHANNEL_QUERIES = "Channel_queries";
+
+    private ContentFilterEngine() { }
+
+    /**
+     * Filters the packages of a channel.
+     *
+     * @param channel the channel
+     * @param filters the package filters
+     * @return Pair containing (left side) the ids of the packages not filtered-out
+     * and (right side) the ids of the packages filtered out
+     */
+    public static Pair<Set<Long>, Set<Long>> filterPackages(Channel channel, Collection<PackageFilter> filters) {
+        List<PackageProjection> packages = loadPackages(channel);
+        return partition(packages, PackageProjection::id, filters, f -> {
+            if (f.canTestProjection()) {
+                return f::test;
+            }
+            Set<Long> matching = selectIds("content_filter_packages_providing",
+                    Map.of("cid", channel.getId(), "name", f.getCriteria().getValue()));
+            return p -> matching.contains(p.id());
+        });
+    }
+
+    /**
+     * Filters the errata of a channel.
+     *
+     * @param channel the channel
+     * @param filters the errata filters
+     * @return Pair containing (left side) the ids of the errata not filtered-out
+     * and (right side) the ids of the errata filtered out
+     */
+    public static Pair<Set<Long>, Set<Long>> filterErrata(Channel channel, Collection<ErrataFilter> filters) {
+        boolean withPackages = filters.stream().anyMatch(ErrataFilter::needsPackages);
+        List<ErrataProjection> errata = loadErrata(channel, withPackages);
+        return partition(errata, ErrataProjection::id, filters, f -> {
+            if (f.canTestProjection()) {
+                return f::test;
+            }
+            Set<Long> matching = "keyword".equals(f.getCriteria().getField()) ?
+                    selectIds("content_filter_errata_with_keyword",
+                            Map.of("cid", channel.getId(), "keyword", f.getCriteria().getValue())) :
+                    selectIds("content_filter_errata_providing",
+                            Map.of("cid", channel.getId(), "name", f.getCriteria().getValue()));
+            return e -> matching.contains(e.id());
+        });
+    }
+
+    /**
+     * Partitions entities based on given filters.
+     *
+     * Entities are processed by filters as follows:
+     * - when any DENY filter is satisfied for an entity -> this entity gets filtered out
+     * - when an ALLOW is satisfied for an entity -> this entity gets NOT filtered out (even if it had been filtered out
+     *   by a DENY filter = ALLOW filters have higher priority)
+     *
+     * @param entities the entity projections
+     * @param idOf the function returning the id of an entity
+     * @param filters the filters
+     * @param toPredicate the function returning the predicate evaluating a filter
+     * @param <T> the type of the entity projection
+     * @param <F> the type of the filter
+     * @return Pair containing (left side) the ids of the entities not filtered-out
+     * and (right side) the ids of the entities filtered out
+     */
+    private static <T, F extends ContentFilter<?>> Pair<Set<Long>, Set<Long>> partition(Collection<T> entities,
+            Function<T, Long> idOf, Collection<F> filters, Function<F, Predicate<T>> toPredicate) {
+        Map<ContentFilter.Rule, List<F>> filtersByRule = filters.stream().collect(groupingBy(ContentFilter::getRule));
+        List<Predicate<T>> denyFilters = filtersByRule.getOrDefault(ContentFilter.Rule.DENY, emptyList()).stream()
+                .map(toPredicate)
+                .toList();
+        List<Predicate<T>> allowFilters = filtersByRule.getOrDefault(ContentFilter.Rule.ALLOW, emptyList()).stream()
+                .map(toPredicate)
+                .toList();
+
+        Map<Boolean, Set<Long>> partitioned = entities.parallelStream().collect(Collectors.partitioningBy(
+                e -> denyFilters.stream().anyMatch(f -> f.test(e)) && allowFilters.stream().noneMatch(f -> f.test(e)),
+                Collectors.mapping(idOf, Collectors.toSet())));
+        return Pair.of(partitioned.get(false), partitioned.get(true));
+    }
+
+    private static List<PackageProjection> loadPackages(Channel channel) {
+        SelectMode m = ModeFactory.getMode(CHANNEL_QUERIES, "content_filter_packages");
+        try (Stream<Map<String, Object>> rows = m.stream(Map.of("cid", channel.getId()))) {
+            return rows.map(row -> new PackageProjection((Long) row.get("id"), (String) row.get("name"), evr(row),
+                    (String) row.get("arch"), (Date) row.get("build_time"))).toList();
+        }
+    }
+
+    private static List<ErrataProjection> loadErrata(Channel channel, boolean withPackages) {
+        Map<Long, List<ErrataProjection.PackageNameEvr>> packagesByErratum = new HashMap<>();
+        if (withPackages) {
+            SelectMode m = ModeFactory.getMode(CHANNEL_QUERIES, "content_filter_errata_packages");
+            try (Stream<Map<String, Object>> rows = m.stream(Map.of("cid", channel.getId()))) {
+                packagesByErratum = rows.collect(groupingBy(row -> (Long) row.get("errata_id"),
+                        Collectors.mapping(row -> new ErrataProjection.PackageNameEvr((String) row.get("name"),
+                                evr(row)), Collectors.toList())));
+            }
+        }
+
+        Map<Long, List<ErrataProjection.PackageNameEvr>> packages = packagesByErratum;
+        SelectMode m = ModeFactory.getMode(CHANNEL_QUERIES, "content_filter_errata");
+        try (Stream<Map<String, Object>> rows = m.stream(Map.of("cid", channel.getId()))) {
+            return rows.map(row -> new ErrataProjection((Long) row.get("id"), (String) row.get("advisory_name"),
+                    (String) row.get("advisory_type"), (Date) row.get("issue_date"), (String) row.get("synopsis"),
+                    packages.getOrDefault((Long) row.get("id"), emptyList()))).toList();
+        }
+    }
+
+    private static PackageEvr evr(Map<String, Object> row) {
+        return new PackageEvr((String) row.get("epoch"), (String) row.get("version"), (String) row.get("release"),
+                (String) row.get("type"));
+    }
+
+    private static Set<Long> selectIds(String modeName, Map<String, Object> params) {
+        SelectMode m = ModeFactory.getMode(CHANNEL_QUERIES, modeName);
+        List<Map<String, Object>> rows = m.execute(params);
+        return rows.stream().map(row -> (Long) row.get("id")).collect(Collectors.toSet());
+    }
+}
@@ -32,6 +32,7 @@ import static java.util.stream.Collectors.partitioningBy;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toSet;
 
+import com.redhat.rhn.common.db.datasource.ModeFactory;
 import com.redhat.rhn.common.hibernate.HibernateFactory;
 import com.redhat.rhn.common.hibernate.LookupException;
 import com.redhat.rhn.common.messaging.MessageQueue;
@@ -87,7 +88,6 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -97,6 +97,7 @@ public class ContentManager {
 
     private static final Logger LOG = LogManager.getLogger(ContentManager.class);
     private static final String DELIMITER = "-";
+    private static final String CHANNEL_QUERIES = "Channel_queries";
     private ModulemdApi modulemdApi;
 
     /**
@@ -981,7 +982,7 @@ public class ContentManager {
         List<PackageFilter> packageFilters = extractFiltersOfType(filters, PackageFilter.class);
         List<ErrataFilter> errataFilters = extractFiltersOfType(filters, ErrataFilter.class);
 
-        Set<Package> oldTgtPackages = new HashSet<>(tgt.getPackages());
+        Set<Long> oldTgtPackageIds = new HashSet<>(ChannelFactory.getPackageIds(tgt.getId()));
 
         // align packages
         alignPackages(src, tgt, packageFilters);
@@ -992,7 +993,7 @@ public class ContentManager {
         // align the package cache
         // this must be done after aligning errata since some packages may belong to a retracted erratum and we don't
         // want them in the cache. For this we need the errata to be up-to-date in target
-        alignPackageCache(tgt, oldTgtPackages);
+        alignPackageCache(tgt, oldTgtPackageIds);
 
         // a lot was inserted into tables at this point. Make sure stats are up-to-date before continuing
         analyzeAlignTables();
@@ -1026,16 +1027,20 @@ public class ContentManager {
         ChannelFactory.analyzeServerNeededCache();
     }
 
-    private void alignPackageCache(Channel channel, Set<Package> oldChannelPackages) {
+    private void alignPackageCache(Channel channel, Set<Long> oldChannelPackageIds) {
+        Set<Long> channelPackageIds = new HashSet<>(ChannelFactory.getPackageIds(channel.getId()));
+
         // remove entries for deleted packages
-        Set<Package> removedPackages = new HashSet<>(oldChannelPackages);
-        removedPackages.removeAll(channel.getPackages());
-        ErrataCacheManager.deleteCacheEntriesForChannelPackages(channel.getId(), extractPackageIds(removedPackages));
+        List<Long> removedPackageIds = oldChannelPackageIds.stream()
+                .filter(id -> !channelPackageIds.contains(id))
+                .collect(toList());
+        ErrataCacheManager.deleteCacheEntriesForChannelPackages(channel.getId(), removedPackageIds);
 
         // add cache entries for new ones
-        Set<Package> newTgtPackages = new HashSet<>(channel.getPackages());
-        newTgtPackages.removeAll(oldChannelPackages);
-        ErrataCacheManager.insertCacheForChannelPackages(channel.getId(), null, extractPackageIds(newTgtPackages));
+        List<Long> newPackageIds = channelPackageIds.stream()
+                .filter(id -> !oldChannelPackageIds.contains(id))
+                .collect(toList());
+        ErrataCacheManager.insertCacheForChannelPackages(channel.getId(), null, newPackageIds);
     }
 
     // helper for extracting certain filter types
@@ -1047,12 +1052,40 @@ public class ContentManager {
                 .collect(toList());
     }
 
+    /**
+     * Align {@link Package}s of a target {@link Channel} to the source {@link Channel}
+     *
+     * The filters are evaluated on package projections and only the difference to the current target packages is
+     * written, so the cost depends on the number of changed packages rather than on the channel size.
+     *
+     * @param srcChannel the source {@link Channel}
+     * @param tgtChannel the target {@link Channel}
+     * @param filters the {@link PackageFilter}s
+     */
     private void alignPackages(Channel srcChannel, Channel tgtChannel, Collection<PackageFilter> filters) {
-        tgtChannel.getPackages().clear();
-        LOG.debug("Filtering {} entities through {} filter(s)", srcChannel.getPackages().size(), filters.size());
-        Set<Package> newPackages = filterEntities(srcChannel.getPackages(), filters).getLeft();
-        tgtChannel.getPackages().addAll(newPackages);
-        ChannelFactory.save(tgtChannel);
+        LOG.debug("Filtering packages of channel {} through {} filter(s)", srcChannel.getLabel(), filters.size());
+        Set<Long> newPackageIds = ContentFilterEngine.filterPackages(srcChannel, filters).getLeft();
+        Set<Long> oldPackageIds = new HashSet<>(ChannelFactory.getPackageIds(tgtChannel.getId()));
+
+        List<Long> removedPackageIds = oldPackageIds.stream()
+                .filter(id -> !newPackageIds.contains(id))
+                .collect(toList());
+        List<Long> addedPackageIds = newPackageIds.stream()
+                .filter(id -> !oldPackageIds.contains(id))
+                .collect(toList());
+        LOG.debug("Removing {} and adding {} package(s) in channel {}", removedPackageIds.size(),
+                addedPackageIds.size(), tgtChannel.getLabel());
+
+        // pending changes would be lost by the refresh below
+        HibernateFactory.getSession().flush();
+        Map<String, Long> params = Map.of("cid", tgtChannel.getId());
+        if (!removedPackageIds.isEmpty()) {
+            ModeFactory.getWriteMode(CHANNEL_QUERIES, "remove_packages").executeUpdate(params, removedPackageIds);
+        }
+        if (!addedPackageIds.isEmpty()) {
+            ModeFactory.getWriteMode(CHANNEL_QUERIES, "add_channel_packages").executeUpdate(params, addedPackageIds);
+        }
+        HibernateFactory.getSession().refresh(tgtChannel);
     }
 
     /**
@@ -1071,59 +1104,22 @@ public class ContentManager {
      * @param user the {@link User}
      */
     private void alignErrata(Channel src, Channel tgt, Collection<ErrataFilter> errataFilters, User user) {
-        LOG.debug("Filtering {} entities through {} filter(s)", src.getErratas().size(), errataFilters.size());
-        Pair<Set<Errata>, Set<Errata>> partitionedErrata = filterEntities(src.getErratas(), errataFilters);
-        Set<Errata> includedErrata = partitionedErrata.getLeft();
-        Set<Errata> excludedErrata = partitionedErrata.getRight();
+        LOG.debug("Filtering errata of channel {} through {} filter(s)", src.getLabel(), errataFilters.size());
+        Pair<Set<Long>, Set<Long>> partitionedErrata = ContentFilterEngine.filterErrata(src, errataFilters);
+        Set<Long> includedErrataIds = partitionedErrata.getLeft();
+        Set<Long> excludedErrataIds = partitionedErrata.getRight();
+        Set<Errata> includedErrata = src.getErratas().stream()
+                .filter(e -> includedErrataIds.contains(e.getId()))
+                .collect(toSet());
 
         // Truncate extra errata in target channel
         ErrataManager.truncateErrata(includedErrata, tgt, user);
         // Remove packages from excluded errata
-        ErrataManager.removeErratumAndPackagesFromChannel(excludedErrata, includedErrata, tgt, user);
+        ErrataManager.removeErrataAndPackagesFromChannel(excludedErrataIds, includedErrataIds, tgt, user);
         // Merge the included errata
         ErrataManager.mergeErrataToChannel(user, includedErrata, tgt, src, false, false);
     }
 
-    /**
-     * Filters given entities based on given filters.
-     *
-     * Returns a Pair containing:
-     * - Left side: set of entities that are kept (not filtered out)
-     * - Right side: set of entities that are filtered out
-     *
-     * Entities are processed one-by-one by filters as follows:
-     * - when any DENY filter is satisfied for an entity -> this entity gets filtered out
-     * - when an ALLOW is satisfied for an entity -> this entity gets NOT filtered out (even if it had been filtered out
-     *   by a DENY filter = ALLOW filters have higher priority)
-     *
-     * @param entities entities, e.g. packages
-     * @param filters filters, e.g. package filters
-     * @param <T> the type of the entity (e.g. Package)
-     * @return Pair containing (left side) a set of entities not filtered-out
-     * and (right side) a set of entities filtered out
-     */
-    private <T> Pair<Set<T>, Set<T>> filterEntities(Set<T> entities, Collection<? extends ContentFilter<T>> filters) {
-        Map<ContentFilter.Rule, List<ContentFilter<T>>> filtersByRule = filters.stream()
-                .collect(groupingBy(ContentFilter::getRule));
-        List<ContentFilter<T>> denyFilters = filtersByRule.getOrDefault(ContentFilter.Rule.DENY, emptyList());
-        List<ContentFilter<T>> allowFilters = filtersByRule.getOrDefault(ContentFilter.Rule.ALLOW, emptyList());
-
-        // First add the denied packages by testing all DENY filters against a package, and then filter out any package
-        // that is explicitly allowed by testing all ALLOW filters against the same package and negating the result.
-        Set<T> denied = entities.stream().filter(
-                e -> denyFilters.stream().anyMatch(f -> f.test(e)) &&
-                allowFilters.stream().noneMatch(f -> f.test(e))
-        ).collect(Collectors.toUnmodifiableSet());
-
-        Set<T> allowed = new HashSet<>(entities);
-        allowed.removeAll(denied);
-        return Pair.of(allowed, denied);
-    }
-
-    private static List<Long> extractPackageIds(Collection<Package> packages) {
-        return packages.stream().map(Package::getId).collect(toList());
-    }
-
     /**
      * Ensures that given user has the Org admin role
      *
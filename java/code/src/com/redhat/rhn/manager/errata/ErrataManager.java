@@ -27,6 +27,7 @@ import com.redhat.rhn.common.conf.Config;
 import com.redhat.rhn.common.conf.ConfigDefaults;
 import com.redhat.rhn.common.db.datasource.DataResult;
 import com.redhat.rhn.common.db.datasource.ModeFactory;
+import com.redhat.rhn.common.db.datasource.PageableDataSource;
 import com.redhat.rhn.common.db.datasource.Row;
 import com.redhat.rhn.common.db.datasource.SelectMode;
 import com.redhat.rhn.common.db.datasource.WriteMode;
@@ -52,7 +53,6 @@ import com.redhat.rhn.domain.image.ImageInfo;
 import com.redhat.rhn.domain.org.Org;
 import com.redhat.rhn.domain.org.OrgFactory;
 import com.redhat.rhn.domain.product.Tuple2;
-import com.redhat.rhn.domain.rhnpackage.Package;
 import com.redhat.rhn.domain.rhnset.RhnSet;
 import com.redhat.rhn.domain.role.RoleFactory;
 import com.redhat.rhn.domain.server.ManagedServerGroup;
@@ -124,6 +124,12 @@ public class ErrataManager extends BaseManager {
     private static final String ORG_ID = "org_id";
     private static final String USER_ID = "user_id";
 
+    // errata list columns which can be sorted and filtered in the database, by ErrataOverview attribute
+    private static final Map<String, String> ERRATA_LIST_COLUMNS = Map.of(
+            "advisoryName", "advisory_name",
+            "advisorySynopsis", "advisory_synopsis",
+            "updateDateObj", "update_date");
+
     private static Logger log = LogManager.getLogger(ErrataManager.class);
     private static TaskomaticApi taskomaticApi = new TaskomaticApi();
     public static final String DATE_FORMAT_PARSE_STRING = "yyyy-MM-dd";
@@ -307,7 +313,10 @@ public class ErrataManager extends BaseManager {
         Set<Errata> filteredErrata = tgtErrata.stream().filter(e -> !(srcErrata.contains(e) || asCloned(e)
                 .map(er -> srcErrata.contains(er.getOriginal())).orElse(false)))
                 .collect(Collectors.toUnmodifiableSet());
-        removeErratumAndPackagesFromChannel(filteredErrata, srcErrata, tgtChannel, user);
+        removeErrataAndPackagesFromChannel(filteredErrata.stream().map(Errata::getId).toList(),
+                srcErrata.stream().map(Errata::getId).toList(), tgtChannel, user);
+        // the channels of the errata were changed in the database
+        filteredErrata.forEach(HibernateFactory.getSession()::refresh);
         List<OwnedErrata> emptyChannelErrata = filteredErrata.stream()
             .filter(t -> t.getChannels().isEmpty())
             .map(OwnedErrata::new)
@@ -336,6 +345,17 @@ public class ErrataManager extends BaseManager {
         return makeDataResult(params, elabParams, null, m);
     }
 
+    /**
+     * Returns all of the errata, paged, sorted and filtered in the database by the list tag.
+     * @param user Currently logged in user.
+     * @return all of the errata.
+     */
+    public static PageableDataSource<ErrataOverview> allErrataPageable(User user) {
+        SelectMode m = ModeFactory.getMode(ERRATA_QUERIES, "all_errata");
+        return new PageableDataSource<>(m, Map.of(ORG_ID, user.getOrg().getId()), Map.of(USER_ID, user.getId()),
+                "id", ERRATA_LIST_COLUMNS);
+    }
+
     /**
      * Returns all of the errata of specified advisory type.
      * @param user Currently logged in user.
@@ -459,6 +479,17 @@ public class ErrataManager extends BaseManager {
         return makeDataResult(params, elabParams, null, m);
     }
 
+    /**
+     * Returns the relevant errata, paged, sorted and filtered in the database by the list tag.
+     * @param user Currently logged in user.
+     * @return relevant errata.
+     */
+    public static PageableDataSource<ErrataOverview> relevantErrataPageable(User user) {
+        SelectMode m = ModeFactory.getMode(ERRATA_QUERIES, "relevant_errata");
+        return new PageableDataSource<>(m, Map.of(USER_ID, user.getId()), Map.of(USER_ID, user.getId()),
+                "id", ERRATA_LIST_COLUMNS);
+    }
+
     /**
      * Returns the relevant errata.
      * @param user Currently logged in user.
@@ -1268,42 +1299,48 @@ public class ErrataManager extends BaseManager {
     }
 
     /**
-     * Remove an erratum and its packages from a channel and updates the errata cache accordingly.
-     * The errata is not removed from child channels if they exist!
+     * Remove errata and their packages from a channel and updates the errata cache accordingly. Packages which are
+     * also part of an included erratum are kept. The errata are not removed from child channels if they exist!
+     * Works on ids only, so that neither the errata nor their packages need to be loaded.
      *
-     * @param excludedErrata the erratas to remove
-     * @param includedErrata the erratas to keep
-     * @param chan the channel to remove the erratum from
-     * @param user the user doing the removing
+     * @param excludedErrataIds the ids of the errata to remove
+     * @param includedErrataIds the ids of the errata whose packages must be kept
+     * @param chan the channel
+     * @param user the user performing the operation
      */
-    public static void removeErratumAndPackagesFromChannel(Set<Errata> excludedErrata, Set<Errata> includedErrata,
-                                                           Channel chan, User user) {
+    public static void removeErrataAndPackagesFromChannel(Collection<Long> excludedErrataIds,
+                                                          Collection<Long> includedErrataIds, Channel chan, User user) {
         if (!user.hasRole(RoleFactory.CHANNEL_ADMIN)) {
             throw new PermissionException(RoleFactory.CHANNEL_ADMIN);
         }
+        if (excludedErrataIds.isEmpty()) {
+            return;
+        }
 
+        // pending changes of the channel would be lost by the refresh below
+        HibernateFactory.getSession().flush();
 
-        //Remove the errata from the channel
-        chan.getErratas().removeAll(excludedErrata);
-        List<Long> eList = excludedErrata.stream().map(Errata::getId).collect(toList());
-        //First delete the cache entries
+        Map<String, Long> params = new HashMap<>();
+        params.put("cid", chan.getId());
+
+        //Remove the errata from the channel, first deleting the cache entries
+        List<Long> eList = new ArrayList<>(excludedErrataIds);
         ErrataCacheManager.deleteCacheEntriesForChannelErrata(chan.getId(), eList);
+        ModeFactory.getWriteMode("Channel_queries", "remove_errata").executeUpdate(params, eList);
 
         //Packages to remove should be all of excluded errata except if it is also present in any included errata.
-        Set<Package> packagesToRemove = excludedErrata.stream().flatMap(
-            e -> e.getPackages().stream().filter(
-                p -> includedErrata.stream().noneMatch(included -> included.getPackages().contains(p))
-            )
-        ).collect(Collectors.toUnmodifiableSet());
-        List<Long> pids = packagesToRemove.stream().map(Package::getId).toList();
-        ErrataCacheManager.deleteCacheEntriesForChannelPackages(chan.getId(), pids);
-
-        // remove packages
-        Map<String, Long> params = new HashMap<>();
-        params.put("cid", chan.getId());
+        SelectMode sm = ModeFactory.getMode("Channel_queries", "excluded_errata_packages");
+        Map<String, Object> packageParams = new HashMap<>();
+        packageParams.put("excluded_ids", excludedErrataIds);
+        packageParams.put("included_ids", includedErrataIds);
+        DataResult<Map<String, Object>> rows = sm.execute(packageParams);
+        List<Long> pids = rows.stream().map(row -> (Long) row.get("id")).toList();
+        if (!pids.isEmpty()) {
+            ErrataCacheManager.deleteCacheEntriesForChannelPackages(chan.getId(), pids);
+            ModeFactory.getWriteMode("Channel_queries", "remove_packages").executeUpdate(params, pids);
+        }
 
-        WriteMode m = ModeFactory.getWriteMode("Channel_queries", "remove_packages");
-        m.executeUpdate(params, pids);
+        HibernateFactory.getSession().refresh(chan);
     }
 
     /**
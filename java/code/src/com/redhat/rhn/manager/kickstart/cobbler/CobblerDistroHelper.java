@@ -111,6 +111,7 @@ public class CobblerDistroHelper {
         Map<String, Object> ksmeta = createKsMetadataFromTree(tree);
 
         distro.setName(CobblerCommand.makeCobblerName(tree));
+        distro.startBatch();
         distro.setInitrd(tree.getInitrdPath());
         distro.setKernel(tree.getKernelPath());
         distro.setBreed(tree.getInstallType().getCobblerBreed());
@@ -131,6 +132,7 @@ public class CobblerDistroHelper {
     public void updateXenDistroFromTree(Distro distro, KickstartableTree tree) {
         Map<String, Object> ksmeta = createKsMetadataFromTree(tree);
 
+        distro.startBatch();
         distro.setKernel(tree.getKernelXenPath());
         distro.setInitrd(tree.getInitrdXenPath());
         distro.setBreed(tree.getInstallType().getCobblerBreed());
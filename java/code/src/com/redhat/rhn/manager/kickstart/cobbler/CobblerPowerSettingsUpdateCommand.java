@@ -135,6 +135,7 @@ public class CobblerPowerSettingsUpdateCommand extends CobblerCommand {
 
         try {
             log.debug("Setting Cobbler parameters for system {}", getIdent());
+            systemRecord.startBatch();
             if (powerType != null && !powerType.equals("") &&
                     !powerType.equals(systemRecord.getPowerType())) {
                 systemRecord.setPowerType(powerType);
@@ -71,6 +71,7 @@ public abstract class CobblerProfileCommand extends CobblerCommand {
     }
 
     protected void updateCobblerFields(Profile profile) {
+        profile.startBatch();
         if (getDistroForKickstart() != null) {
             profile.setDistro(getDistroForKickstart());
         }
@@ -273,6 +273,8 @@ public class CobblerSystemCreateCommand extends CobblerCommand {
     public ValidatorError store(boolean saveCobblerId) {
         Profile profile = Profile.lookupByName(getCobblerConnection(), profileName);
         SystemRecord rec = getCobblerSystem(profile);
+        // send all the modifications with rec.save()
+        rec.startBatch();
 
         if (server != null) {
             try {
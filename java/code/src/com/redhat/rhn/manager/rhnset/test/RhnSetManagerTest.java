@@ -15,8 +15,10 @@
 package com.redhat.rhn.manager.rhnset.test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.redhat.rhn.domain.rhnset.RhnSet;
 import com.redhat.rhn.domain.rhnset.RhnSetElement;
@@ -224,6 +226,49 @@ public class RhnSetManagerTest extends RhnBaseTestCase {
         assertEquals(Long.valueOf(33), element.getElementThree());
     }
 
+    @Test
+    public void testStoreChanges() {
+        String label = "test_rhn_set_store_changes";
+
+        RhnSet set = RhnSetManager.createSet(userId, label, cleanup);
+        for (long i = 1; i <= 1000; i++) {
+            set.addElement(i);
+            set.addElement(i, i + 1);
+            set.addElement(i, i + 1, i + 2);
+        }
+        RhnSetManager.store(set);
+        assertEquals(1, cleanup.callbacks);
+
+        set = RhnSetManager.findByLabel(userId, label, cleanup);
+        assertEquals(3000, set.size());
+
+        // only the removed and added elements are written
+        set.removeElement(1L);
+        set.removeElement(2L, 3L);
+        set.removeElement(new RhnSetElement(userId, label, 3L, 4L, 5L));
+        set.addElement(2000L);
+        set.addElement(2000L, 1L, 1L);
+        RhnSetManager.store(set);
+        assertEquals(2, cleanup.callbacks);
+
+        set = RhnSetManager.findByLabel(userId, label, cleanup);
+        assertEquals(2999, set.size());
+        assertFalse(set.contains(1L));
+        assertTrue(set.contains(1L, 2L));
+        assertFalse(set.contains(2L, 3L));
+        assertTrue(set.contains(2L));
+        assertFalse(set.contains(new RhnSetElement(userId, label, 3L, 4L, 5L)));
+        assertTrue(set.contains(3L, 4L));
+        assertTrue(set.contains(2000L));
+        assertTrue(set.contains(new RhnSetElement(userId, label, 2000L, 1L, 1L)));
+
+        // removing elements only does not run the cleanup
+        set.removeElement(2000L);
+        RhnSetManager.store(set);
+        assertEquals(2, cleanup.callbacks);
+        assertEquals(2998, RhnSetManager.findByLabel(userId, label, cleanup).size());
+    }
+
     public static final class TestSetCleanup extends SetCleanup {
         private int callbacks = 0;
 
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2025 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.redhat.rhn.manager.session;
+
+import com.redhat.rhn.common.db.DatabaseNotificationListener;
+import com.redhat.rhn.common.util.TimeUtils;
+import com.redhat.rhn.domain.session.WebSession;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Bounded in-process cache of the API session keys which were already validated against the database.
+ *
+ * Entries are kept until the session expires, at most for the session lifetime. Sessions deleted or moved
+ * to another user in any JVM are removed from the cache through the PostgreSQL notifications sent by the
+ * PXTSessions triggers. The cache is bypassed while the notification connection is down, as notifications
+ * may have been missed in the meantime.
+ */
+public class SessionCache extends DatabaseNotificationListener {
+
+    /** Channel of the notifications sent by the database when a session is deleted or changes user */
+    public static final String CHANNEL = "pxtsessions_invalidated";
+
+    private static final Logger LOG = LogManager.getLogger(SessionCache.class);
+
+    /**
+     * A validated session.
+     * @param key the session key
+     * @param userId the id of the user of the session, null for anonymous sessions
+     * @param expires the expiration time of the session as read from the database, in seconds
+     * @param validUntil the time until the entry may be used, in seconds
+     */
+    public record Entry(String key, Long userId, long expires, long validUntil) { }
+
+    private final Map<Long, Entry> entries;
+    private final boolean enabled;
+
+    /**
+     * Constructor
+     * @param maxSize maximum number of cached sessions, 0 to disable the cache
+     */
+    public SessionCache(int maxSize) {
+        super(CHANNEL);
+        enabled = maxSize > 0;
+        entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    /**
+     * Returns the cached session of a key, if it is still valid.
+     * @param sessionId the session id
+     * @param key the full session key
+     * @return the entry, empty if the session is not cached or the cache cannot be used right now
+     */
+    public Optional<Entry> get(Long sessionId, String key) {
+        if (!enabled || !isListening()) {
+            return Optional.empty();
+        }
+        Entry entry = entries.get(sessionId);
+        if (entry == null || !MessageDigest.isEqual(entry.key().getBytes(StandardCharsets.UTF_8),
+                key.getBytes(StandardCharsets.UTF_8))) {
+            return Optional.empty();
+        }
+        if (entry.validUntil() <= TimeUtils.currentTimeSeconds()) {
+            entries.remove(sessionId, entry);
+            return Optional.empty();
+        }
+        return Optional.of(entry);
+    }
+
+    /**
+     * Caches a session loaded from the database. Sessions which already expired are not cached, nor sessions
+     * loaded before a session was invalidated.
+     * @param key the validated session key
+     * @param session the session
+     * @param generation the generation taken with {@link #getGeneration()} before loading the session
+     */
+    public void put(String key, WebSession session, long generation) {
+        if (!enabled) {
+            return;
+        }
+        long now = TimeUtils.currentTimeSeconds();
+        long validUntil = Math.min(session.getExpires(), now + SessionManager.lifetimeValue());
+        if (validUntil > now) {
+            // invalidations start a new generation before removing entries, which waits for this block
+            synchronized (entries) {
+                if (isCurrent(generation)) {
+                    entries.put(session.getId(),
+                            new Entry(key, session.getWebUserId(), session.getExpires(), validUntil));
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes a session from the cache.
+     * @param sessionId the session id
+     */
+    public void invalidate(Long sessionId) {
+        newGeneration();
+        entries.remove(sessionId);
+    }
+
+    /**
+     * Removes all the sessions of a user from the cache.
+     * @param userId the user id
+     */
+    public void invalidateUser(Long userId) {
+        newGeneration();
+        synchronized (entries) {
+            entries.values().removeIf(e -> Objects.equals(e.userId(), userId));
+        }
+    }
+
+    /**
+     * Removes all the sessions from the cache.
+     */
+    public void clear() {
+        newGeneration();
+        entries.clear();
+    }
+
+    @Override
+    protected void onMissedNotifications() {
+        clear();
+    }
+
+    @Override
+    public void notification(int processId, String channelName, String payload) {
+        try {
+            invalidate(Long.valueOf(payload));
+        }
+        catch (NumberFormatException e) {
+            LOG.warn("Unexpected session invalidation payload '{}', clearing the session cache", payload);
+            clear();
+        }
+    }
+}
@@ -24,15 +24,18 @@ import com.redhat.rhn.domain.session.InvalidSessionIdException;
 import com.redhat.rhn.domain.session.WebSession;
 import com.redhat.rhn.domain.session.WebSessionFactory;
 import com.redhat.rhn.domain.user.User;
+import com.redhat.rhn.domain.user.UserFactory;
 import com.redhat.rhn.manager.BaseManager;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Calendar;
+import java.util.Optional;
 
 /**
  * SessionManager is the helper class used to fetch configuration
@@ -49,6 +52,10 @@ public class SessionManager extends BaseManager {
     public static final String SEC_PARM_TOKENIZER_CHAR = ":";
     // Timeout value 900,000 = 15 min
     public static final long TIMEOUT_VAL = 900000;
+    // Session lifetimes are extended at most once per interval, in seconds
+    private static final long LIFETIME_EXTENSION_INTERVAL = 60;
+
+    private static final SessionCache CACHE = new SessionCache(ConfigDefaults.get().getApiSessionCacheSize());
 
     protected SessionManager() {
     }
@@ -96,6 +103,7 @@ public class SessionManager extends BaseManager {
      * @return number of sessions removed (typically 1 or 0).
      */
     public static int removeSession(WebSession s) {
+        CACHE.invalidate(s.getId());
         return WebSessionFactory.remove(s);
     }
 
@@ -340,7 +348,8 @@ public class SessionManager extends BaseManager {
 
         if (data != null && data.length == 2) {
             String recomputedkey = generateSessionKey(data[0]);
-            return recomputedkey.equals(data[1]);
+            return MessageDigest.isEqual(recomputedkey.getBytes(StandardCharsets.UTF_8),
+                    data[1].getBytes(StandardCharsets.UTF_8));
         }
 
         return false;
@@ -385,6 +394,40 @@ public class SessionManager extends BaseManager {
         return session;
     }
 
+    /**
+     * Returns the id of the user of a session, using the session cache to avoid loading the session from
+     * the database on every API call.
+     * @param key The key containing the session id and hash
+     * @return the user id, empty if the session has no user
+     */
+    public static Optional<Long> lookupUserIdByKey(String key) {
+        Optional<SessionCache.Entry> cached = cachedSession(key);
+        if (cached.isPresent()) {
+            return Optional.ofNullable(cached.get().userId());
+        }
+        long generation = CACHE.getGeneration();
+        WebSession session = lookupByKey(key);
+        CACHE.put(key, session, generation);
+        return Optional.ofNullable(session.getWebUserId());
+    }
+
+    /**
+     * Returns the user of a session, see {@link #lookupUserIdByKey(String)}.
+     * @param key The key containing the session id and hash
+     * @return the user, null if the session has no user
+     */
+    public static User lookupUserByKey(String key) {
+        return lookupUserIdByKey(key).map(UserFactory::lookupById).orElse(null);
+    }
+
+    private static Optional<SessionCache.Entry> cachedSession(String key) {
+        String[] keyParts = StringUtils.split(key, 'x');
+        if (keyParts == null || keyParts.length != 2 || !StringUtils.isNumeric(keyParts[0])) {
+            return Optional.empty();
+        }
+        return CACHE.get(Long.valueOf(keyParts[0]), key);
+    }
+
     /**
      * Removes all the sessions of a user. This action is useful
      * especially when we disable/deactivate a user. We donot want
@@ -392,6 +435,7 @@ public class SessionManager extends BaseManager {
      * @param user the user whose sessions are to be purged.
      */
     public static void purgeUserSessions(User user) {
+        CACHE.invalidateUser(user.getId());
         WebSessionFactory.purgeUserSessions(user);
     }
 
@@ -402,6 +446,21 @@ public class SessionManager extends BaseManager {
         session.setExpires(TimeUtils.currentTimeSeconds() +
                 SessionManager.lifetimeValue());
         WebSessionFactory.save(session);
+        CACHE.invalidate(session.getId());
+    }
+
+    /**
+     * Extends the lifetime of a session, unless it was already extended less than a minute ago
+     * according to the session cache.
+     * @param sessionKey key of the session which lifetime should be extended
+     */
+    public static void extendSessionLifetime(String sessionKey) {
+        long threshold = TimeUtils.currentTimeSeconds() + lifetimeValue() - LIFETIME_EXTENSION_INTERVAL;
+        if (cachedSession(sessionKey).filter(e -> e.expires() > threshold).isPresent()) {
+            return;
+        }
+        // the entry is invalidated, the next call reads the extended lifetime from the database
+        extendSessionLifetime(lookupByKey(sessionKey));
     }
 }
 
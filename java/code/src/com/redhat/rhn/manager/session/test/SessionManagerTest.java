@@ -31,6 +31,7 @@ import com.redhat.rhn.domain.session.InvalidSessionIdException;
 import com.redhat.rhn.domain.session.WebSession;
 import com.redhat.rhn.domain.session.WebSessionFactory;
 import com.redhat.rhn.domain.user.User;
+import com.redhat.rhn.manager.session.SessionCache;
 import com.redhat.rhn.manager.session.SessionManager;
 import com.redhat.rhn.testing.RhnBaseTestCase;
 import com.redhat.rhn.testing.UserTestUtils;
@@ -242,4 +243,71 @@ public class SessionManagerTest extends RhnBaseTestCase {
         }
 
     }
+
+    @Test
+    public void testLookupUserByKey() {
+        User u = UserTestUtils.findNewUser("testUser",
+                "testOrg" + this.getClass().getSimpleName());
+        WebSession s = SessionManager.makeSession(u.getId(), SessionManager.lifetimeValue());
+        String key = s.getKey();
+
+        assertEquals(u, SessionManager.lookupUserByKey(key));
+        // second lookup can be served by the cache
+        assertEquals(u.getId(), SessionManager.lookupUserIdByKey(key).orElseThrow());
+        SessionManager.extendSessionLifetime(key);
+
+        try {
+            SessionManager.lookupUserIdByKey(s.getId() + "xfoobaredkeyhash");
+            fail("Invalid key accepted");
+        }
+        catch (InvalidSessionIdException e) {
+            // expected
+        }
+
+        SessionManager.killSession(key);
+        try {
+            SessionManager.lookupUserIdByKey(key);
+            fail("Lookup exception not thrown for a killed session");
+        }
+        catch (LookupException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testLookupUserByKeyAfterPurge() {
+        User u = UserTestUtils.findNewUser("testUser",
+                "testOrg" + this.getClass().getSimpleName());
+        WebSession s = SessionManager.makeSession(u.getId(), SessionManager.lifetimeValue());
+        assertEquals(u.getId(), SessionManager.lookupUserIdByKey(s.getKey()).orElseThrow());
+
+        flushAndEvict(s);
+        SessionManager.purgeUserSessions(u);
+        try {
+            SessionManager.lookupUserIdByKey(s.getKey());
+            fail("Lookup exception not thrown for a purged session");
+        }
+        catch (LookupException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testSessionInvalidatedDuringLookupIsNotCached() {
+        User u = UserTestUtils.findNewUser("testUser",
+                "testOrg" + this.getClass().getSimpleName());
+        WebSession s = SessionManager.makeSession(u.getId(), SessionManager.lifetimeValue());
+        SessionCache cache = new SessionCache(10);
+        // connects the listener, which starts a new generation
+        assertTrue(cache.get(s.getId(), s.getKey()).isEmpty());
+
+        long generation = cache.getGeneration();
+        cache.invalidate(s.getId());
+        cache.put(s.getKey(), s, generation);
+        assertTrue(cache.get(s.getId(), s.getKey()).isEmpty());
+
+        cache.put(s.getKey(), s, cache.getGeneration());
+        assertEquals(u.getId(), cache.get(s.getId(), s.getKey()).orElseThrow().userId());
+        assertTrue(cache.get(s.getId(), s.getKey() + "x").isEmpty());
+    }
 }
@@ -71,6 +71,66 @@ public class TaskManager {
         return m.execute(params);
     }
 
+    /**
+     * Get the channel package list for a channel, one page at a time. Pages are selected by the last
+     * package id of the previous page, so that fetching later pages does not get slower.
+     * @param channel channel info
+     * @param lastId id of the last package of the previous page, 0 for the first page
+     * @param pageSize how many elements to fetch
+     * @return the packages with an id greater than lastId, ordered by id
+     */
+    public static DataResult<PackageDto> getChannelPackageDtosAfter(Channel channel, long lastId, int pageSize) {
+        SelectMode m = ModeFactory.getMode(TaskConstants.MODE_NAME,
+                TaskConstants.TASK_QUERY_REPOMD_GENERATOR_CHANNEL_PACKAGES_KEYSET);
+        Map<String, Object> params = new HashMap<>();
+        params.put("channel_id", channel.getId());
+        params.put("last_id", lastId);
+        params.put("limit", pageSize);
+        return m.execute(params);
+    }
+
+    /**
+     * Get the files of several packages
+     * @param packageIds the package ids
+     * @return a map of package id to the files of the package
+     */
+    public static Map<Long, List<PackageCapabilityDto>> getPackageFileDtos(List<Long> packageIds) {
+        SelectMode m = ModeFactory.getMode(TaskConstants.MODE_NAME,
+                TaskConstants.TASK_QUERY_REPOMD_GENERATOR_CAPABILITY_FILES_BY_PACKAGES);
+        DataResult<PackageCapabilityDto> files = m.execute(packageIds);
+        return files.stream().collect(Collectors.groupingBy(PackageCapabilityDto::getPackageId));
+    }
+
+    /**
+     * Get the provides, requires, conflicts, obsoletes, recommends, suggests, supplements and enhances
+     * capabilities of several packages
+     * @param packageIds the package ids
+     * @return a map of package id to the capabilities of the package, the dependency type of each
+     * capability is available through {@link PackageCapabilityDto#getDependency()}
+     */
+    public static Map<Long, List<PackageCapabilityDto>> getPackageDependencyDtos(List<Long> packageIds) {
+        SelectMode m = ModeFactory.getMode(TaskConstants.MODE_NAME,
+                TaskConstants.TASK_QUERY_REPOMD_GENERATOR_CAPABILITY_DEPENDENCIES_BY_PACKAGES);
+        DataResult<PackageCapabilityDto> capabilities = m.execute(packageIds);
+        return capabilities.stream().collect(Collectors.groupingBy(PackageCapabilityDto::getPackageId));
+    }
+
+    /**
+     * Get changelog entries of several packages
+     * @param packageIds the package ids
+     * @param entryLimit the maximum number of entries per package, 0 for all entries
+     * @return a map of package id to the changelog entries of the package
+     */
+    public static Map<Long, List<PackageChangelogDto>> getPackageChangelogDtos(List<Long> packageIds,
+            int entryLimit) {
+        SelectMode m = ModeFactory.getMode(TaskConstants.MODE_NAME,
+                TaskConstants.TASK_QUERY_REPOMD_GENERATOR_PACKAGE_CHANGELOG_BY_PACKAGES);
+        Map<String, Object> params = new HashMap<>();
+        params.put("entry_limit", Math.max(0, entryLimit));
+        DataResult<PackageChangelogDto> entries = m.execute(params, packageIds);
+        return entries.stream().collect(Collectors.groupingBy(PackageChangelogDto::getPackageId));
+    }
+
     /**
      * Get capabilities of a certain type for a package
      * @param packageId the package's id
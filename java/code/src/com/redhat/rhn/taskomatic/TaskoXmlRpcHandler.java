@@ -279,6 +279,68 @@ public class TaskoXmlRpcHandler {
         return scheduleSingleBunchRun(null, bunchName, jobLabel, params, start);
     }
 
+    /**
+     * schedule many one time satellite bunch runs, committing all the schedules at once.
+     * Runs which cannot be scheduled are skipped.
+     * @param bunchName bunch name
+     * @param runs list of runs, each one with the 'job_label', 'params' and 'start' keys
+     * @return List of scheduled dates
+     * @throws NoSuchBunchTaskException thrown if bunch name not known
+     */
+    public List<Date> scheduleSingleSatBunchRuns(String bunchName, List<Map<String, Object>> runs)
+            throws NoSuchBunchTaskException {
+
+        TaskoBunch bunch = TaskoFactory.checkBunchName(null, bunchName);
+        List<TaskoSchedule> schedules = new ArrayList<>();
+        for (Map<String, Object> run : runs) {
+            String jobLabel = (String) run.get("job_label");
+            Map<?, ?> params = (Map<?, ?>) run.get("params");
+            Date start = (Date) run.get("start");
+            try {
+                isAlreadyScheduled(null, jobLabel);
+            }
+            catch (SchedulerException | InvalidParamException e) {
+                log.warn("Already scheduled {}: {}", jobLabel, e.getMessage(), e);
+                continue;
+            }
+
+            List<TaskoSchedule> taskoSchedules = TaskoFactory.listScheduleByLabel(jobLabel);
+            TaskoSchedule schedule;
+            if (taskoSchedules.isEmpty()) {
+                schedule = new TaskoSchedule(null, bunch, jobLabel, params, start, null, null);
+            }
+            else {
+                schedule = taskoSchedules.get(0);
+                schedule.setBunch(bunch);
+                schedule.setDataMap(params);
+                schedule.setActiveFrom(start);
+                schedule.setActiveTill(start);
+            }
+            TaskoFactory.save(schedule);
+            schedules.add(schedule);
+        }
+        HibernateFactory.commitTransaction();
+        log.info("{} schedules created for {}. Creating quartz Jobs...", schedules.size(), bunchName);
+
+        List<Date> scheduleDates = new ArrayList<>();
+        boolean removed = false;
+        for (TaskoSchedule schedule : schedules) {
+            try {
+                scheduleDates.add(TaskoQuartzHelper.createJob(schedule));
+            }
+            catch (SchedulerException | InvalidParamException e) {
+                log.error("Unable to create job {}", schedule.getJobLabel(), e);
+                TaskoFactory.delete(schedule);
+                removed = true;
+            }
+        }
+        if (removed) {
+            HibernateFactory.commitTransaction();
+            log.debug("Failed schedules removed.");
+        }
+        return scheduleDates;
+    }
+
     /**
      * schedule a list of jobs with the same bunch name
      * @param bunchName bunch name
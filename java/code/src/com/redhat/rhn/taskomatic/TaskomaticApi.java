@@ -33,11 +33,13 @@ import com.redhat.rhn.domain.org.OrgFactory;
 import com.redhat.rhn.domain.recurringactions.RecurringAction;
 import com.redhat.rhn.domain.role.RoleFactory;
 import com.redhat.rhn.domain.server.MinionServer;
+import com.redhat.rhn.domain.server.MinionSummary;
 import com.redhat.rhn.domain.server.Server;
 import com.redhat.rhn.domain.user.User;
 import com.redhat.rhn.taskomatic.domain.TaskoSchedule;
 import com.redhat.rhn.taskomatic.task.RepoSyncTask;
 
+import com.suse.manager.metrics.TaskomaticApiMetrics;
 import com.suse.manager.utils.MinionServerUtils;
 
 import org.apache.commons.lang3.StringUtils;
@@ -48,12 +50,14 @@ import java.net.MalformedURLException;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.stream.Collectors;
 
 import redstone.xmlrpc.XmlRpcClient;
@@ -74,21 +78,49 @@ public class TaskomaticApi {
     private static final Logger LOG = LogManager.getLogger(TaskomaticApi.class);
 
 
-    private XmlRpcClient getClient() throws TaskomaticApiException {
+    // Maximum number of idle clients kept for reuse
+    private static final int MAX_IDLE_CLIENTS = 16;
+    private static final Deque<PooledClient> IDLE_CLIENTS = new ConcurrentLinkedDeque<>();
+
+    /**
+     * A client with the URL it was created for. Clients are not thread safe, each one is used by one
+     * call at a time. The HTTP connections are kept alive and reused by the JDK.
+     */
+    private record PooledClient(String url, XmlRpcClient client) { }
+
+    private PooledClient borrowClient() throws TaskomaticApiException {
+        String url = ConfigDefaults.get().getTaskoServerUrl();
+        for (PooledClient pooled = IDLE_CLIENTS.pollFirst(); pooled != null; pooled = IDLE_CLIENTS.pollFirst()) {
+            if (pooled.url().equals(url)) {
+                return pooled;
+            }
+        }
         try {
-           return  new XmlRpcClient(
-                    ConfigDefaults.get().getTaskoServerUrl(), false);
+            return new PooledClient(url, new XmlRpcClient(url, false));
         }
         catch (MalformedURLException e) {
             throw new TaskomaticApiException(e);
         }
     }
 
+    private static void returnClient(PooledClient pooled) {
+        if (IDLE_CLIENTS.size() < MAX_IDLE_CLIENTS) {
+            IDLE_CLIENTS.offerFirst(pooled);
+        }
+    }
+
     protected Object invoke(String name, Object...args) throws TaskomaticApiException {
+        PooledClient pooled = borrowClient();
+        long start = System.nanoTime();
         try {
-            return getClient().invoke(name, args);
+            Object result = pooled.client().invoke(name, args);
+            TaskomaticApiMetrics.observe(name, TaskomaticApiMetrics.SUCCESS, System.nanoTime() - start);
+            returnClient(pooled);
+            return result;
         }
         catch (XmlRpcException | XmlRpcFault e) {
+            // the client is dropped, it might be left in an inconsistent state
+            TaskomaticApiMetrics.observe(name, TaskomaticApiMetrics.ERROR, System.nanoTime() - start);
             throw new TaskomaticApiException(e);
         }
     }
@@ -140,6 +172,33 @@ public class TaskomaticApi {
     }
 
 
+    /**
+     * Schedule the execution of an action on many ssh minions with a single call to taskomatic.
+     * @param actionIn the action
+     * @param sshMinions the Salt ssh minions
+     * @param forcePackageListRefresh force package list refresh when set to true
+     * @throws TaskomaticApiException if there was an error
+     */
+    public void scheduleSSHActionExecutions(Action actionIn, List<MinionSummary> sshMinions,
+            boolean forcePackageListRefresh) throws TaskomaticApiException {
+        Date now = new Date();
+        List<Map<String, Object>> runs = new ArrayList<>();
+        for (MinionSummary sshMinion : sshMinions) {
+            Map<String, String> scheduleParams = new HashMap<>();
+            scheduleParams.put("action_id", Long.toString(actionIn.getId()));
+            scheduleParams.put("force_pkg_list_refresh", Boolean.toString(forcePackageListRefresh));
+            scheduleParams.put("ssh_minion_id", sshMinion.getMinionId());
+
+            Map<String, Object> run = new HashMap<>();
+            run.put("job_label", StringUtils.substring(
+                    "ssh-minion-action-executor-" + actionIn.getId() + "-" + sshMinion.getServerId(), 0, 50));
+            run.put("params", scheduleParams);
+            run.put("start", now);
+            runs.add(run);
+        }
+        invoke("tasko.scheduleSingleSatBunchRuns", "ssh-minion-action-executor-bunch", runs);
+    }
+
     /**
      * Schedule a single reposync
      * @param chan the channel
@@ -107,6 +107,10 @@ public class SchedulerKernel {
 
             PrometheusExporter.INSTANCE.startHttpServer();
             PrometheusExporter.INSTANCE.registerScheduler(SchedulerKernel.scheduler, "taskomatic");
+            PrometheusExporter.INSTANCE.registerQueryStatistics();
+            PrometheusExporter.INSTANCE.registerMessageQueue();
+            PrometheusExporter.INSTANCE.registerTaskomaticApiMetrics();
+            PrometheusExporter.INSTANCE.registerReportDbMetrics();
         }
         catch (SchedulerException e) {
             throw new InstantiationException("this.scheduler failed");
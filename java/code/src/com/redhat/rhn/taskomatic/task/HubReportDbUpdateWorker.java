@@ -14,13 +14,9 @@
  */
 package com.redhat.rhn.taskomatic.task;
 
-import static com.redhat.rhn.common.conf.ConfigDefaults.REPORT_DB_BATCH_SIZE;
-
-import com.redhat.rhn.common.conf.Config;
 import com.redhat.rhn.common.conf.ConfigDefaults;
 import com.redhat.rhn.common.db.datasource.DataResult;
 import com.redhat.rhn.common.db.datasource.SelectMode;
-import com.redhat.rhn.common.db.datasource.WriteMode;
 import com.redhat.rhn.common.hibernate.ConnectionManager;
 import com.redhat.rhn.common.hibernate.ConnectionManagerFactory;
 import com.redhat.rhn.common.hibernate.HibernateFactory;
@@ -33,6 +29,8 @@ import com.redhat.rhn.domain.server.ServerFactory;
 import com.redhat.rhn.taskomatic.task.threaded.QueueWorker;
 import com.redhat.rhn.taskomatic.task.threaded.TaskQueue;
 
+import com.suse.manager.metrics.ReportDbMetrics;
+
 import org.apache.logging.log4j.Logger;
 import org.hibernate.Session;
 
@@ -40,11 +38,11 @@ import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 
 public class HubReportDbUpdateWorker implements QueueWorker {
 
-    private final int batchSize;
     private final ReportDBHelper dbHelper;
     private TaskQueue parentQueue;
     private final MgrServerInfo mgrServerInfo;
@@ -65,7 +63,7 @@ public class HubReportDbUpdateWorker implements QueueWorker {
      * @param mgrServerInfoIn mgr server to query data from
      */
     public HubReportDbUpdateWorker(Logger loggerIn, MgrServerInfo mgrServerInfoIn) {
-        this(loggerIn, mgrServerInfoIn, ReportDBHelper.INSTANCE, Config.get().getInt(REPORT_DB_BATCH_SIZE, 2000));
+        this(loggerIn, mgrServerInfoIn, ReportDBHelper.INSTANCE);
     }
 
     /**
@@ -73,14 +71,11 @@ public class HubReportDbUpdateWorker implements QueueWorker {
      * @param loggerIn logger
      * @param mgrServerInfoIn mgr server to query data from
      * @param dbHelperIn the {@link ReportDBHelper}
-     * @param batchSizeIn the batch size
      */
-    public HubReportDbUpdateWorker(Logger loggerIn, MgrServerInfo mgrServerInfoIn, ReportDBHelper dbHelperIn,
-                                      int batchSizeIn) {
+    public HubReportDbUpdateWorker(Logger loggerIn, MgrServerInfo mgrServerInfoIn, ReportDBHelper dbHelperIn) {
         this.mgrServerInfo = mgrServerInfoIn;
         this.log = loggerIn;
         this.dbHelper = dbHelperIn;
-        this.batchSize = batchSizeIn;
     }
 
     @Override
@@ -104,38 +99,17 @@ public class HubReportDbUpdateWorker implements QueueWorker {
         return tableEntry.stream().map(t -> String.valueOf(t.getValue())).toList();
     }
 
-    private void updateRemoteData(Session remoteSession, Session localSession, String tableName, long mgmId) {
-        TimeUtils.logTime(log, "Refreshing table " + tableName, () -> {
-            SelectMode query = dbHelper.generateQuery(remoteSession, tableName, log);
-
-            // Remove all the existing data
-            log.debug("Deleting existing data in table {}", tableName);
-            WriteMode delete = dbHelper.generateDelete(localSession, tableName);
-            delete.executeUpdate(Map.of("mgm_id", mgmId));
-
-            // Extract the first batch
-            DataResult<Map<String, Object>> firstBatch = query.execute(Map.of("offset", 0, "limit", batchSize));
-            firstBatch.forEach(e -> e.remove("mgm_id"));
-
-            if (!firstBatch.isEmpty()) {
-                // Generate the insert using the column name retrieved from the select
-                WriteMode insert = dbHelper.generateInsert(localSession, tableName, mgmId, firstBatch.get(0).keySet());
-                insert.executeBatchUpdates(firstBatch);
-                log.debug("Extracted {} rows for table {}", firstBatch.size(), tableName);
-
-                // Iterate further if we can have additional rows
-                if (firstBatch.size() == batchSize) {
-                    dbHelper.<Map<String, Object>>batchStream(query, batchSize, batchSize)
-                            .forEach(batch -> {
-                                batch.forEach(e -> e.remove("mgm_id"));
-                                insert.executeBatchUpdates(batch);
-                                log.debug("Extracted {} rows more for table {}", firstBatch.size(), tableName);
-                            });
-                }
-            }
-            else {
-                log.debug("No data extracted for table {}", tableName);
-            }
+    private ReportDBHelper.CopyStats updateRemoteData(Session remoteSession, Session localSession,
+                                                       String tableName, long mgmId) {
+        return TimeUtils.logTime(log, "Refreshing table " + tableName, () -> {
+            long start = System.nanoTime();
+
+            List<String> columns = dbHelper.listCommonColumns(remoteSession, localSession, tableName);
+            ReportDBHelper.CopyStats stats = dbHelper.copyTable(remoteSession, localSession, tableName, mgmId,
+                    columns);
+            log.debug("Copied {} rows for table {}", stats.rows(), tableName);
+            ReportDbMetrics.observe(tableName, ReportDbMetrics.HUB, System.nanoTime() - start);
+            return stats;
         });
     }
 
@@ -156,10 +130,20 @@ public class HubReportDbUpdateWorker implements QueueWorker {
                     );
             ReportDbHibernateFactory remoteDB = new ReportDbHibernateFactory(remoteDBCM);
             try {
+                long start = System.nanoTime();
+                long rows = 0;
+                long bytes = 0;
                 List<String> existingTables = filterExistingTables(remoteDB.getSession(), mgrServerInfo.getId());
-                existingTables.forEach(table -> {
-                    updateRemoteData(remoteDB.getSession(), localRh.getSession(), table, mgrServerInfo.getId());
-                });
+                for (String table : existingTables) {
+                    ReportDBHelper.CopyStats stats = updateRemoteData(remoteDB.getSession(), localRh.getSession(),
+                            table, mgrServerInfo.getId());
+                    rows += stats.rows();
+                    bytes += stats.bytes();
+                }
+                long nanos = System.nanoTime() - start;
+                ReportDbMetrics.observeHubCopy(mgrServerInfo.getId(), rows, bytes, nanos);
+                log.info("Copied {} rows ({} KiB) from server {} in {} s", rows, bytes / 1024,
+                        mgrServerInfo.getServer().getId(), TimeUnit.NANOSECONDS.toSeconds(nanos));
                 dbHelper.analyzeReportDb(localRh.getSession());
                 Server mgrServer = ServerFactory.lookupById(mgrServerInfo.getId());
                 mgrServer.getMgrServerInfo().setReportDbLastSynced(new Date());
@@ -21,8 +21,10 @@ import com.redhat.rhn.common.db.datasource.ModeFactory;
 import com.redhat.rhn.common.db.datasource.SelectMode;
 import com.redhat.rhn.common.db.datasource.WriteMode;
 
-import org.apache.logging.log4j.Logger;
 import org.hibernate.Session;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyOut;
 
 import java.util.Collections;
 import java.util.HashMap;
@@ -30,7 +32,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 public class ReportDBHelper {
 
@@ -39,6 +40,13 @@ public class ReportDBHelper {
 
     public static final ReportDBHelper INSTANCE = new ReportDBHelper();
 
+    /**
+     * The amount of data copied by {@link #copyTable}.
+     * @param rows the number of rows
+     * @param bytes the number of bytes, in the PostgreSQL COPY text format
+     */
+    public record CopyStats(long rows, long bytes) { }
+
     /**
      * Default constructor to allow unit test sub-classes
      */
@@ -61,48 +69,6 @@ public class ReportDBHelper {
         }
     }
 
-    /**
-     * Returns the result of a query in a stream of batches.
-     * @param query select query
-     * @param batchSize max size of a batch
-     * @param initialOffset initial offset
-     * @param <T> type of the query result
-     * @return stream of batched results
-     */
-    @SuppressWarnings("unchecked")
-    public <T> Stream<DataResult<T>> batchStream(SelectMode query, int batchSize, int initialOffset) {
-        return Stream.iterate(initialOffset, i -> i + batchSize)
-                .map(offset -> (DataResult<T>) query.execute(Map.of("offset", offset, "limit", batchSize)))
-                .takeWhile(batch -> !batch.isEmpty());
-    }
-
-    private String getOrderColumns(Session session, String table, Logger log) {
-        String orderSQL =
-                "SELECT string_agg(a.attname, ', ') AS order " +
-                "  FROM pg_constraint AS c " +
-                "    CROSS JOIN LATERAL UNNEST(c.conkey) AS cols(colnum) " +
-                "    INNER JOIN pg_attribute AS a ON a.attrelid = c.conrelid AND cols.colnum = a.attnum " +
-                " WHERE c.contype = 'p' " +
-                "   AND c.conrelid = '" + table + "'::REGCLASS " +
-                "UNION " +
-                "SELECT string_agg(a.attname, ', ') AS order " +
-                "  FROM pg_index ix " +
-                "  JOIN pg_class t on t.oid = ix.indrelid " +
-                "  JOIN pg_class i on i.oid = ix.indexrelid " +
-                "  JOIN pg_attribute a on a.attrelid = t.oid and a.attnum = ANY(ix.indkey) " +
-                " WHERE t.relkind = 'r' " +
-                "   AND t.relname = '" + table.toLowerCase() + "' " +
-                "   AND i.relname = '" + table.toLowerCase() + "_order_idx'";
-
-        GeneratedSelectMode orderQuery = new GeneratedSelectMode("orderquery." + table, session, orderSQL , List.of());
-
-        DataResult<Map<String, String>> order = orderQuery.execute();
-        String orderColumns = order.stream().findFirst().map(o -> o.getOrDefault("order", "ctid")).orElse("ctid");
-
-        log.debug("Order Columns of {} by: {}", table, orderColumns);
-        return orderColumns;
-    }
-
     /**
      * Generated a query for checking if a table exists
      * @param session session the query should use
@@ -117,18 +83,100 @@ public class ReportDBHelper {
     }
 
     /**
-     * Generated a query for all local entries of a report db table
+     * Lists the columns of a report db table, resolving its name like the statements using it
      * @param session session the query should use
      * @param table table name
-     * @param log the logger
-     * @return select mode query
+     * @return the column names, in the table order
+     */
+    public List<String> listColumns(Session session, String table) {
+        final String sqlStatement = "SELECT attname AS column_name FROM pg_attribute " +
+                " WHERE attrelid = to_regclass(:table_name) AND attnum > 0 AND NOT attisdropped " +
+                " ORDER BY attnum";
+        SelectMode query = new GeneratedSelectMode("columns.reportdbtable", session, sqlStatement,
+                List.of("table_name"));
+        DataResult<Map<String, Object>> columns = query.execute(Map.of("table_name", table.toLowerCase()));
+        return columns.stream().map(c -> (String) c.get("column_name")).toList();
+    }
+
+    /**
+     * Lists the columns of a report db table that can be copied from a remote report db, as the servers may run
+     * different versions
+     * @param remoteSession session of the remote report db
+     * @param localSession session of the local report db
+     * @param table table name
+     * @return the column names known in both report dbs excluding mgm_id, in the remote table order
      */
-    public SelectMode generateQuery(Session session, String table, Logger log) {
-        String orderColumns = getOrderColumns(session, table, log);
+    public List<String> listCommonColumns(Session remoteSession, Session localSession, String table) {
+        List<String> localColumns = listColumns(localSession, table);
+        return listColumns(remoteSession, table).stream()
+                .filter(c -> !"mgm_id".equals(c) && localColumns.contains(c))
+                .toList();
+    }
 
-        final String sqlStatement = "SELECT * FROM " + table +
-                " WHERE mgm_id = " + LOCAL_MGM_ID +  " ORDER BY " + orderColumns + " OFFSET :offset LIMIT :limit";
-        return new GeneratedSelectMode("select." + table, session, sqlStatement, List.of("offset", "limit"));
+    /**
+     * Replaces the rows of a server in a report db table with the local rows of a remote report db.
+     *
+     * The rows are streamed with COPY from the remote database into a temporary staging table, without being
+     * held in memory, and then merged into the table.
+     * @param remoteSession session of the remote report db
+     * @param localSession session of the local report db
+     * @param table table name
+     * @param mgmId the mgm_id of the remote server in the local report db
+     * @param columns the columns to copy, excluding mgm_id
+     * @return the amount of copied data
+     */
+    public CopyStats copyTable(Session remoteSession, Session localSession, String table, long mgmId,
+                               List<String> columns) {
+        final String columnList = String.join(", ", columns);
+        final String staging = "staging_" + table.toLowerCase();
+
+        // a staging table left by a failed copy in the same transaction would make the creation fail
+        new GeneratedWriteMode("drop.previous.staging." + table, localSession,
+                "DROP TABLE IF EXISTS " + staging, List.of())
+                .executeUpdate(Map.of());
+        new GeneratedWriteMode("create.staging." + table, localSession,
+                "CREATE TEMPORARY TABLE " + staging + " (LIKE " + table + " INCLUDING DEFAULTS)", List.of())
+                .executeUpdate(Map.of());
+
+        final String copyOut = "COPY (SELECT " + mgmId + ", " + columnList + " FROM " + table +
+                " WHERE mgm_id = " + LOCAL_MGM_ID + ") TO STDOUT";
+        final String copyIn = "COPY " + staging + " (mgm_id, " + columnList + ") FROM STDIN";
+        CopyStats stats = remoteSession.doReturningWork(remote -> localSession.doReturningWork(local -> {
+            CopyOut out = remote.unwrap(PGConnection.class).getCopyAPI().copyOut(copyOut);
+            try {
+                CopyIn in = local.unwrap(PGConnection.class).getCopyAPI().copyIn(copyIn);
+                try {
+                    long bytes = 0;
+                    byte[] buffer;
+                    while ((buffer = out.readFromCopy()) != null) {
+                        in.writeToCopy(buffer, 0, buffer.length);
+                        bytes += buffer.length;
+                    }
+                    return new CopyStats(in.endCopy(), bytes);
+                }
+                finally {
+                    if (in.isActive()) {
+                        in.cancelCopy();
+                    }
+                }
+            }
+            finally {
+                if (out.isActive()) {
+                    out.cancelCopy();
+                }
+            }
+        }));
+
+        generateDelete(localSession, table).executeUpdate(Map.of("mgm_id", mgmId));
+        new GeneratedWriteMode("merge.staging." + table, localSession,
+                "INSERT INTO " + table + " (mgm_id, " + columnList + ") " +
+                "     SELECT mgm_id, " + columnList + " FROM " + staging +
+                " ON CONFLICT DO NOTHING", List.of())
+                .executeUpdate(Map.of());
+        new GeneratedWriteMode("drop.staging." + table, localSession, "DROP TABLE " + staging, List.of())
+                .executeUpdate(Map.of());
+
+        return stats;
     }
 
     /**
@@ -145,25 +193,17 @@ public class ReportDBHelper {
     }
 
     /**
-     * Generates an insert statement for a report db table
+     * Generates a delete statement for the rows of some systems in a report db table, taking mgm_id and
+     * the list of system ids as parameters
      * @param session session the query should use
      * @param table table name
-     * @param mgmId mgmId to insert
-     * @param params table column names (excluding mgm_id)
      * @return write mode query
      */
-    public WriteMode generateInsert(Session session, String table, long mgmId, Set<String> params) {
-        final String sqlStatement = String.format(
-                "INSERT INTO %s (mgm_id, %s) " +
-                "     VALUES (%s, %s) " +
-                "ON CONFLICT DO NOTHING",
-                table,
-                String.join(",", params),
-                mgmId,
-                params.stream().map(p -> ":" + p).collect(Collectors.joining(","))
-        );
+    public WriteMode generateDeleteForSystems(Session session, String table) {
+        final String sqlStatement = "DELETE FROM " + table + " WHERE mgm_id = :mgm_id AND system_id = ANY(:system_ids)";
+        final List<String> params = List.of("mgm_id", "system_ids");
 
-        return new GeneratedWriteMode("insert." + table, session, sqlStatement, params);
+        return new GeneratedWriteMode("delete.systems." + table, session, sqlStatement, params);
     }
 
     /**
@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2025 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.redhat.rhn.taskomatic.task;
+
+import static com.redhat.rhn.common.conf.ConfigDefaults.REPORT_DB_BATCH_SIZE;
+
+import com.redhat.rhn.common.conf.Config;
+
+/**
+ * Updates the reporting database with the data of the systems changed since the last update, as recorded
+ * in suseReportDbChange. Data which is not tied to a system is only updated by {@link ReportDbUpdateTask}.
+ */
+public class ReportDbIncrementalUpdateTask extends ReportDbUpdateTask {
+
+    /**
+     * Default constructor
+     */
+    public ReportDbIncrementalUpdateTask() {
+        super(ReportDBHelper.INSTANCE, Config.get().getInt(REPORT_DB_BATCH_SIZE, 2000), true);
+    }
+}
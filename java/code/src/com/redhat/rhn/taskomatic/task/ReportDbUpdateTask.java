@@ -27,13 +27,22 @@ import com.redhat.rhn.common.hibernate.ConnectionManagerFactory;
 import com.redhat.rhn.common.hibernate.ReportDbHibernateFactory;
 import com.redhat.rhn.common.util.TimeUtils;
 
+import com.suse.manager.metrics.ReportDbMetrics;
+
 import org.hibernate.Session;
 import org.quartz.JobExecutionContext;
 import org.quartz.JobExecutionException;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.NavigableSet;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
 
 
 public class ReportDbUpdateTask extends RhnJavaJob {
@@ -67,10 +76,86 @@ public class ReportDbUpdateTask extends RhnJavaJob {
     public static final String REPORT_ID = "report_id";
     public static final String RESULT_TYPE = "result_type";
 
+    private static final List<ReportTable> TABLES = List.of(
+            table(GENERAL_REPORT_QUERIES, "SystemGroup", Map.of(SYSTEM_GROUP_ID, 0)),
+            table(GENERAL_REPORT_QUERIES, "SystemGroupPermission", Map.of(SYSTEM_GROUP_ID, 0, ACCOUNT_ID, 0)),
+            table(GENERAL_REPORT_QUERIES, "Account", Map.of(ACCOUNT_ID, 0)),
+            table(GENERAL_REPORT_QUERIES, "AccountGroup", Map.of(ACCOUNT_ID, 0, ACCOUNT_GROUP_ID, 0)),
+
+            table(SYSTEM_REPORT_QUERIES, "System", Map.of(SYSTEM_ID, 0),
+                    "rhnServer", "rhnServerInfo", "suseMinionInfo"),
+            table(SYSTEM_REPORT_QUERIES, "SystemHistory", Map.of(SYSTEM_ID, 0, HISTORY_ID, 0),
+                    "rhnServerHistory"),
+            table(SYSTEM_REPORT_QUERIES, "SystemAction", Map.of(SYSTEM_ID, 0, ACTION_ID, 0),
+                    "rhnServerAction"),
+            table(SYSTEM_REPORT_QUERIES, "SystemChannel", Map.of(SYSTEM_ID, 0, CHANNEL_ID, 0),
+                    "rhnServerChannel"),
+            table(SYSTEM_REPORT_QUERIES, "SystemConfigChannel", Map.of(SYSTEM_ID, 0, CONFIG_CHANNEL_ID, 0),
+                    "rhnServerConfigChannel"),
+            table(SYSTEM_REPORT_QUERIES, "SystemVirtualData", Map.of(INSTANCE_ID, 0)),
+            table(SYSTEM_REPORT_QUERIES, "SystemNetInterface", Map.of(SYSTEM_ID, 0, INTERFACE_ID, 0),
+                    "rhnServerNetInterface"),
+            table(SYSTEM_REPORT_QUERIES, "SystemNetAddressV4", Map.of(SYSTEM_ID, 0, INTERFACE_ID, 0, ADDRESS, ""),
+                    "rhnServerNetInterface", "rhnServerNetAddress4"),
+            table(SYSTEM_REPORT_QUERIES, "SystemNetAddressV6", Map.of(SYSTEM_ID, 0, INTERFACE_ID, 0, ADDRESS, ""),
+                    "rhnServerNetInterface", "rhnServerNetAddress6"),
+            table(SYSTEM_REPORT_QUERIES, "SystemOutdated", Map.of(SYSTEM_ID, 0),
+                    "rhnServerNeededCache"),
+            table(SYSTEM_REPORT_QUERIES, "SystemGroupMember", Map.of(SYSTEM_ID, 0, SYSTEM_GROUP_ID, 0),
+                    "rhnServerGroupMembers"),
+            table(SYSTEM_REPORT_QUERIES, "SystemEntitlement", Map.of(SYSTEM_ID, 0, SYSTEM_GROUP_ID, 0),
+                    "rhnServerGroupMembers"),
+            table(SYSTEM_REPORT_QUERIES, "SystemErrata", Map.of(SYSTEM_ID, 0, ERRATA_ID, 0),
+                    "rhnServerNeededCache"),
+            tableById(SYSTEM_REPORT_QUERIES, "SystemPackageInstalled", Map.of(NAME, ""),
+                    "rhnServerPackage"),
+            tableById(SYSTEM_REPORT_QUERIES, "SystemPackageUpdate", Map.of(PACKAGE_ID, 0),
+                    "rhnServerNeededCache"),
+            table(SYSTEM_REPORT_QUERIES, "SystemCustomInfo", Map.of(ORGANIZATION, "", SYSTEM_ID, 0, KEY, "")),
+
+            table(CHANNEL_REPORT_QUERIES, "Channel", Map.of(CHANNEL_ID, 0)),
+            table(CHANNEL_REPORT_QUERIES, "ChannelErrata", Map.of(CHANNEL_ID, 0, ERRATA_ID, 0)),
+            table(CHANNEL_REPORT_QUERIES, "ChannelPackage", Map.of(CHANNEL_ID, 0, PACKAGE_ID, 0)),
+            table(CHANNEL_REPORT_QUERIES, "ChannelRepository", Map.of(CHANNEL_ID, 0, REPOSITORY_ID, 0)),
+            table(CHANNEL_REPORT_QUERIES, "Errata", Map.of(ERRATA_ID, 0)),
+            table(CHANNEL_REPORT_QUERIES, "Package", Map.of(PACKAGE_ID, 0)),
+            table(CHANNEL_REPORT_QUERIES, "Repository", Map.of(REPOSITORY_ID, 0)),
+
+            table(SCAP_REPORT_QUERIES, "XccdScan", Map.of(SCAN_ID, 0)),
+            table(SCAP_REPORT_QUERIES, "XccdScanResult", Map.of(SCAN_ID, 0, RULE_ID, 0, IDENT_ID, 0)),
+
+            table(COCO_ATTESTATION_REPORT_QUERIES, "CoCoAttestation", Map.of(REPORT_ID, 0)),
+            table(COCO_ATTESTATION_REPORT_QUERIES, "CoCoAttestationResult", Map.of(REPORT_ID, 0, RESULT_TYPE, 0))
+    );
+
+    // Only one update of the reporting database at a time
+    private static final ReentrantLock UPDATE_LOCK = new ReentrantLock();
+
+    /**
+     * A table of the reporting database.
+     * @param xmlName the name of the file of the query extracting the table data
+     * @param tableName the table name, also the name of the query
+     * @param filterMap the keys of the query with their initial value
+     * @param byId true if the data is extracted one system at a time
+     * @param sources the tables whose changes are recorded in suseReportDbChange for this table. Tables without
+     * sources are refreshed only by the full update.
+     */
+    private record ReportTable(String xmlName, String tableName, Map<String, Object> filterMap, boolean byId,
+                               Set<String> sources) { }
+
+    /**
+     * The changes recorded in suseReportDbChange.
+     * @param ids the ids of the change records
+     * @param systemsBySource the ids of the changed systems, by source table
+     */
+    private record Changes(List<Long> ids, Map<String, NavigableSet<Long>> systemsBySource) { }
+
     private final int batchSize;
 
     private final ReportDBHelper dbHelper;
 
+    private final boolean incremental;
+
     /**
      * Default constructor
      */
@@ -84,86 +169,78 @@ public class ReportDbUpdateTask extends RhnJavaJob {
      * @param batchSizeIn the batch size
      */
     public ReportDbUpdateTask(ReportDBHelper dbHelperIn, int batchSizeIn) {
+        this(dbHelperIn, batchSizeIn, false);
+    }
+
+    /**
+     * Constructor
+     * @param dbHelperIn the {@link ReportDBHelper}
+     * @param batchSizeIn the batch size
+     * @param incrementalIn true to only refresh the data of the systems changed since the last update
+     */
+    public ReportDbUpdateTask(ReportDBHelper dbHelperIn, int batchSizeIn, boolean incrementalIn) {
         this.dbHelper = dbHelperIn;
         this.batchSize = batchSizeIn;
+        this.incremental = incrementalIn;
+    }
+
+    private static ReportTable table(String xmlName, String tableName, Map<String, Object> filterMap,
+                                     String... sources) {
+        return new ReportTable(xmlName, tableName, filterMap, false, Set.of(sources));
+    }
+
+    private static ReportTable tableById(String xmlName, String tableName, Map<String, Object> filterMap,
+                                         String... sources) {
+        return new ReportTable(xmlName, tableName, filterMap, true, Set.of(sources));
     }
 
     @Override
     public void execute(JobExecutionContext arg0) throws JobExecutionException {
+        if (!incremental) {
+            UPDATE_LOCK.lock();
+        }
+        else if (!UPDATE_LOCK.tryLock()) {
+            log.info("The reporting db is being updated, skipping the incremental update.");
+            return;
+        }
+
+        try {
+            update();
+        }
+        finally {
+            UPDATE_LOCK.unlock();
+        }
+    }
+
+    private void update() throws JobExecutionException {
         ConnectionManager rcm = ConnectionManagerFactory.localReportingConnectionManager();
         ReportDbHibernateFactory rh = new ReportDbHibernateFactory(rcm);
 
         try {
-            fillReportDbTable(rh.getSession(), GENERAL_REPORT_QUERIES, "SystemGroup",
-                Map.of(SYSTEM_GROUP_ID, 0));
-            fillReportDbTable(rh.getSession(), GENERAL_REPORT_QUERIES, "SystemGroupPermission",
-                Map.of(SYSTEM_GROUP_ID, 0, ACCOUNT_ID, 0));
-            fillReportDbTable(rh.getSession(), GENERAL_REPORT_QUERIES, "Account",
-                Map.of(ACCOUNT_ID, 0));
-            fillReportDbTable(rh.getSession(), GENERAL_REPORT_QUERIES, "AccountGroup",
-                Map.of(ACCOUNT_ID, 0, ACCOUNT_GROUP_ID, 0));
-
-            fillReportDbTable(rh.getSession(), SYSTEM_REPORT_QUERIES, "System",
-                Map.of(SYSTEM_ID, 0));
-            fillReportDbTable(rh.getSession(), SYSTEM_REPORT_QUERIES, "SystemHistory",
-                Map.of(SYSTEM_ID, 0, HISTORY_ID, 0));
-            fillReportDbTable(rh.getSession(), SYSTEM_REPORT_QUERIES, "SystemAction",
-                Map.of(SYSTEM_ID, 0, ACTION_ID, 0));
-            fillReportDbTable(rh.getSession(), SYSTEM_REPORT_QUERIES, "SystemChannel",
-                Map.of(SYSTEM_ID, 0, CHANNEL_ID, 0));
-            fillReportDbTable(rh.getSession(), SYSTEM_REPORT_QUERIES, "SystemConfigChannel",
-                Map.of(SYSTEM_ID, 0, CONFIG_CHANNEL_ID, 0));
-            fillReportDbTable(rh.getSession(), SYSTEM_REPORT_QUERIES, "SystemVirtualData",
-                Map.of(INSTANCE_ID, 0));
-            fillReportDbTable(rh.getSession(), SYSTEM_REPORT_QUERIES, "SystemNetInterface",
-                Map.of(SYSTEM_ID, 0, INTERFACE_ID, 0));
-            fillReportDbTable(rh.getSession(), SYSTEM_REPORT_QUERIES, "SystemNetAddressV4",
-                Map.of(SYSTEM_ID, 0, INTERFACE_ID, 0, ADDRESS, ""));
-            fillReportDbTable(rh.getSession(), SYSTEM_REPORT_QUERIES, "SystemNetAddressV6",
-                Map.of(SYSTEM_ID, 0, INTERFACE_ID, 0, ADDRESS, ""));
-            fillReportDbTable(rh.getSession(), SYSTEM_REPORT_QUERIES, "SystemOutdated",
-                Map.of(SYSTEM_ID, 0));
-            fillReportDbTable(rh.getSession(), SYSTEM_REPORT_QUERIES, "SystemGroupMember",
-                Map.of(SYSTEM_ID, 0, SYSTEM_GROUP_ID, 0));
-            fillReportDbTable(rh.getSession(), SYSTEM_REPORT_QUERIES, "SystemEntitlement",
-                Map.of(SYSTEM_ID, 0, SYSTEM_GROUP_ID, 0));
-            fillReportDbTable(rh.getSession(), SYSTEM_REPORT_QUERIES, "SystemErrata",
-                Map.of(SYSTEM_ID, 0, ERRATA_ID, 0));
-            fillReportDbTableById(rh.getSession(), SYSTEM_REPORT_QUERIES, "SystemPackageInstalled",
-                Map.of(NAME, ""));
-            fillReportDbTableById(rh.getSession(), SYSTEM_REPORT_QUERIES, "SystemPackageUpdate",
-                Map.of(PACKAGE_ID, 0));
-            fillReportDbTable(rh.getSession(), SYSTEM_REPORT_QUERIES, "SystemCustomInfo",
-                Map.of(ORGANIZATION, "", SYSTEM_ID, 0, KEY, ""));
-
-            fillReportDbTable(rh.getSession(), CHANNEL_REPORT_QUERIES, "Channel",
-                Map.of(CHANNEL_ID, 0));
-            fillReportDbTable(rh.getSession(), CHANNEL_REPORT_QUERIES, "ChannelErrata",
-                Map.of(CHANNEL_ID, 0, ERRATA_ID, 0));
-            fillReportDbTable(rh.getSession(), CHANNEL_REPORT_QUERIES, "ChannelPackage",
-                Map.of(CHANNEL_ID, 0, PACKAGE_ID, 0));
-            fillReportDbTable(rh.getSession(), CHANNEL_REPORT_QUERIES, "ChannelRepository",
-                Map.of(CHANNEL_ID, 0, REPOSITORY_ID, 0));
-            fillReportDbTable(rh.getSession(), CHANNEL_REPORT_QUERIES, "Errata",
-                Map.of(ERRATA_ID, 0));
-            fillReportDbTable(rh.getSession(), CHANNEL_REPORT_QUERIES, "Package",
-                Map.of(PACKAGE_ID, 0));
-            fillReportDbTable(rh.getSession(), CHANNEL_REPORT_QUERIES, "Repository",
-                Map.of(REPOSITORY_ID, 0));
-
-            fillReportDbTable(rh.getSession(), SCAP_REPORT_QUERIES, "XccdScan",
-                Map.of(SCAN_ID, 0));
-            fillReportDbTable(rh.getSession(), SCAP_REPORT_QUERIES, "XccdScanResult",
-                Map.of(SCAN_ID, 0, RULE_ID, 0, IDENT_ID, 0));
-
-            fillReportDbTable(rh.getSession(), COCO_ATTESTATION_REPORT_QUERIES, "CoCoAttestation",
-                    Map.of(REPORT_ID, 0));
-            fillReportDbTable(rh.getSession(), COCO_ATTESTATION_REPORT_QUERIES, "CoCoAttestationResult",
-                    Map.of(REPORT_ID, 0, RESULT_TYPE, 0));
-
-            dbHelper.analyzeReportDb(rh.getSession());
+            // All the changes recorded so far are covered by this update
+            Changes changes = readChanges();
+
+            if (incremental) {
+                for (ReportTable table : TABLES) {
+                    NavigableSet<Long> systemIds = new TreeSet<>();
+                    table.sources().forEach(source -> systemIds.addAll(
+                            changes.systemsBySource().getOrDefault(source, Collections.emptyNavigableSet())));
+                    if (!systemIds.isEmpty()) {
+                        refreshChangedSystems(rh.getSession(), table, systemIds);
+                    }
+                }
+            }
+            else {
+                TABLES.forEach(table -> fillReportDbTable(rh.getSession(), table));
+                dbHelper.analyzeReportDb(rh.getSession());
+            }
 
             rh.commitTransaction();
+            // Committed with the main db transaction once the task completes
+            if (!changes.ids().isEmpty()) {
+                ModeFactory.getWriteMode(SYSTEM_REPORT_QUERIES, "delete_ReportDbChanges")
+                        .executeUpdate(Map.of(), changes.ids());
+            }
             log.info("Reporting db updated successfully.");
         }
         catch (RuntimeException ex) {
@@ -182,48 +259,126 @@ public class ReportDbUpdateTask extends RhnJavaJob {
         }
     }
 
-    private void fillReportDbTable(Session session, String xmlName, String tableName, Map<String, Object> filterMap) {
-        TimeUtils.logTime(log, "Refreshing table " + tableName, () -> {
+    private Changes readChanges() {
+        SelectMode query = ModeFactory.getMode(SYSTEM_REPORT_QUERIES, "ReportDbChanges", Map.class);
+        List<Long> ids = new ArrayList<>();
+        Map<String, NavigableSet<Long>> systemsBySource = new HashMap<>();
+        try (Stream<Map<String, Object>> changes = query.stream(Map.of())) {
+            changes.forEach(change -> {
+                ids.add(((Number) change.get("id")).longValue());
+                systemsBySource.computeIfAbsent((String) change.get("source"), s -> new TreeSet<>())
+                        .add(((Number) change.get("server_id")).longValue());
+            });
+        }
+        log.debug("{} changes recorded since the last update", ids.size());
+        return new Changes(ids, systemsBySource);
+    }
+
+    private void timed(ReportTable table, String mode, Runnable refresh) {
+        long start = System.nanoTime();
+        TimeUtils.logTime(log, "Refreshing table " + table.tableName(), refresh);
+        ReportDbMetrics.observe(table.tableName(), mode, System.nanoTime() - start);
+    }
+
+    private void fillReportDbTable(Session session, ReportTable table) {
+        timed(table, ReportDbMetrics.FULL, () -> {
             // Remove all the existing data
-            log.debug("Deleting existing data in table {}", tableName);
-            WriteMode delete = dbHelper.generateDelete(session, tableName);
+            log.debug("Deleting existing data in table {}", table.tableName());
+            WriteMode delete = dbHelper.generateDelete(session, table.tableName());
             delete.executeUpdate(Map.of("mgm_id", LOCAL_MGM_ID));
 
-            // Extract the first batch using the given filters, only adding the batch size as number of rows limit
-            Map<String, Object> parametersMap = new HashMap<>(filterMap);
-            parametersMap.put("limit", batchSize);
+            if (table.byId()) {
+                SelectMode queryData = ModeFactory.getMode(table.xmlName(), table.tableName() + "_Ids", Map.class);
 
-            fillTableInBatches(session, xmlName, tableName, tableName, parametersMap, filterMap.keySet());
+                // Walk the data set through a cursor instead of loading it all at once
+                try (Stream<Map<String, Long>> dataSet = queryData.stream(Map.of())) {
+                    dataSet.map(data -> data.get("id")).forEach(id -> fillTableForId(session, table, id));
+                }
+            }
+            else {
+                // Extract the first batch using the given filters, only adding the batch size as number of rows
+                // limit
+                Map<String, Object> parametersMap = new HashMap<>(table.filterMap());
+                parametersMap.put("limit", batchSize);
+
+                fillTableInBatches(session, table.xmlName(), table.tableName(), table.tableName(), parametersMap,
+                        table.filterMap().keySet());
+            }
         });
     }
 
-    private void fillReportDbTableById(Session session, String xmlName, String tableName,
-                                       Map<String, Object> filterMap) {
-        TimeUtils.logTime(log, "Refreshing table " + tableName, () -> {
-            SelectMode queryData = ModeFactory.getMode(xmlName, tableName + "_Ids", Map.class);
+    private void refreshChangedSystems(Session session, ReportTable table, NavigableSet<Long> systemIds) {
+        timed(table, ReportDbMetrics.INCREMENTAL, () -> {
+            log.debug("Deleting existing data of {} systems in table {}", systemIds.size(), table.tableName());
+            WriteMode delete = dbHelper.generateDeleteForSystems(session, table.tableName());
+            delete.executeUpdate(Map.of("mgm_id", LOCAL_MGM_ID, "system_ids", new ArrayList<>(systemIds)));
 
-            // Remove all the existing data
-            log.debug("Deleting existing data in table {}", tableName);
-            WriteMode delete = dbHelper.generateDelete(session, tableName);
-            delete.executeUpdate(Map.of("mgm_id", LOCAL_MGM_ID));
-
-            // Get the full data set first
-            DataResult<Map<String, Long>> dataSet = queryData.execute();
-            if (dataSet.isEmpty()) {
-                log.debug("No data extracted for table {}", tableName);
-                return;
+            if (table.byId()) {
+                systemIds.forEach(id -> fillTableForId(session, table, id));
+            }
+            else {
+                fillTableForSystems(session, table, systemIds);
             }
+        });
+    }
 
-            for (Map<String, Long> data : dataSet) {
-                Long id = data.get("id");
+    private void fillTableForId(Session session, ReportTable table, Long id) {
+        Map<String, Object> parametersMap = new HashMap<>(table.filterMap());
+        parametersMap.put("id", id);
+        parametersMap.put("limit", batchSize);
 
-                Map<String, Object> parametersMap = new HashMap<>(filterMap);
-                parametersMap.put("id", id);
-                parametersMap.put("limit", batchSize);
+        fillTableInBatches(session, table.xmlName(), table.tableName() + "_byId", table.tableName(), parametersMap,
+                table.filterMap().keySet());
+    }
 
-                fillTableInBatches(session, xmlName, tableName + "_byId", tableName, parametersMap, filterMap.keySet());
+    /**
+     * Extracts the rows of the given systems only, with the query used for the full extraction. The query is
+     * positioned right before the rows of the first system and continues with the rows after it, until a batch
+     * ends with the rows of a system which did not change: it is then positioned again before the next changed
+     * system. Each position is after the previous one, so the rows of other systems are read at most once.
+     */
+    private void fillTableForSystems(Session session, ReportTable table, NavigableSet<Long> systemIds) {
+        SelectMode query = ModeFactory.getMode(table.xmlName(), table.tableName(), Map.class);
+        WriteMode insert = null;
+        Map<String, Object> parametersMap = seekSystem(table, systemIds.first());
+        while (parametersMap != null) {
+            DataResult<Map<String, Object>> dataBatch = query.execute(parametersMap);
+            List<Map<String, Object>> changedRows = dataBatch.stream()
+                    .filter(row -> systemIds.contains(((Number) row.get(SYSTEM_ID)).longValue()))
+                    .toList();
+
+            if (!changedRows.isEmpty()) {
+                if (insert == null) {
+                    insert = dbHelper.generateInsertWithDate(session, table.tableName(), LOCAL_MGM_ID,
+                            changedRows.get(0).keySet());
+                }
+                insert.executeUpdates(changedRows);
+                log.debug("Extracted {} rows for table {}", changedRows.size(), table.tableName());
             }
-        });
+
+            if (dataBatch.size() < batchSize) {
+                break;
+            }
+            long lastSystemId = ((Number) dataBatch.get(dataBatch.size() - 1).get(SYSTEM_ID)).longValue();
+            if (systemIds.contains(lastSystemId)) {
+                // The rows of the last system may continue in the next batch
+                dbHelper.updateParameters(parametersMap, dataBatch, table.filterMap().keySet());
+            }
+            else {
+                Long nextSystemId = systemIds.higher(lastSystemId);
+                parametersMap = nextSystemId == null ? null : seekSystem(table, nextSystemId);
+            }
+        }
+    }
+
+    private Map<String, Object> seekSystem(ReportTable table, long systemId) {
+        // The system id is the first key of the tables with sources. The other keys keep their initial value,
+        // which is lower than any key as for the full extraction: the query starts with the rows of the system.
+        // When the system id is the only key, the rows after the previous id are extracted instead.
+        Map<String, Object> parametersMap = new HashMap<>(table.filterMap());
+        parametersMap.put(SYSTEM_ID, table.filterMap().size() > 1 ? systemId : systemId - 1);
+        parametersMap.put("limit", batchSize);
+        return parametersMap;
     }
 
     private void fillTableInBatches(Session session, String xmlName, String queryName, String tableName,
@@ -135,9 +135,18 @@ public class TaskConstants {
     public static final String TASK_QUERY_REPOMD_GENERATOR_CHANNEL_PACKAGES_BATCH =
         "repomdgenerator_channel_package_batch";
 
+    public static final String TASK_QUERY_REPOMD_GENERATOR_CHANNEL_PACKAGES_KEYSET =
+        "repomdgenerator_channel_package_keyset";
+
     public static final String TASK_QUERY_REPOMD_GENERATOR_CAPABILITY_FILES =
         "repomdgenerator_capability_files";
 
+    public static final String TASK_QUERY_REPOMD_GENERATOR_CAPABILITY_FILES_BY_PACKAGES =
+        "repomdgenerator_capability_files_by_packages";
+
+    public static final String TASK_QUERY_REPOMD_GENERATOR_CAPABILITY_DEPENDENCIES_BY_PACKAGES =
+        "repomdgenerator_capability_dependencies_by_packages";
+
     public static final String TASK_QUERY_REPOMD_GENERATOR_CAPABILITY_PROVIDES =
         "repomdgenerator_capability_provides";
 
@@ -171,6 +180,9 @@ public class TaskConstants {
     public static final String TASK_QUERY_REPOMD_GENERATOR_PACKAGE_CHANGELOG =
         "repomdgenerator_package_changelog";
 
+    public static final String TASK_QUERY_REPOMD_GENERATOR_PACKAGE_CHANGELOG_BY_PACKAGES =
+        "repomdgenerator_package_changelog_by_packages";
+
     public static final String MODE_NAME = "Task_queries";
 
     public static final String TASK_QUERY_REPOMD_PACKAGE_KEYWORDS =
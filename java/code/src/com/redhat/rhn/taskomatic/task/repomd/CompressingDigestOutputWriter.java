@@ -22,7 +22,6 @@ import java.io.OutputStream;
 import java.security.DigestOutputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
-import java.util.zip.GZIPOutputStream;
 
 /**
  *
@@ -46,7 +45,7 @@ public class CompressingDigestOutputWriter extends OutputStream {
                                         throws NoSuchAlgorithmException, IOException {
             compressedDigestStream = new DigestOutputStream(stream,
                     MessageDigest.getInstance(checksumAlgo));
-            compressedStream = new GZIPOutputStream(compressedDigestStream);
+            compressedStream = new ParallelGzipOutputStream(compressedDigestStream);
             uncompressedDigestStream = new DigestOutputStream(compressedStream,
                     MessageDigest.getInstance(checksumAlgo));
             bufferedStream = new BufferedOutputStream(uncompressedDigestStream);
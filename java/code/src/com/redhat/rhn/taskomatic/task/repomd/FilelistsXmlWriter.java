@@ -22,8 +22,6 @@ import com.redhat.rhn.domain.channel.Channel;
 import com.redhat.rhn.frontend.dto.PackageCapabilityDto;
 import com.redhat.rhn.frontend.dto.PackageDto;
 import com.redhat.rhn.manager.rhnpackage.PackageManager;
-import com.redhat.rhn.manager.task.TaskManager;
-import com.redhat.rhn.taskomatic.task.TaskConstants;
 
 import org.apache.commons.lang3.StringUtils;
 import org.xml.sax.SAXException;
@@ -32,6 +30,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.OutputStream;
 import java.io.Writer;
 import java.util.Collection;
+import java.util.List;
 
 /**
  *
@@ -85,6 +84,15 @@ public class FilelistsXmlWriter extends RepomdWriter {
      * @param pkgDto pkg info to add to xml
      */
     public void addPackage(PackageDto pkgDto) {
+        addPackage(pkgDto, new RepomdPackageData(List.of(pkgDto)));
+    }
+
+    /**
+     *
+     * @param pkgDto pkg info to add to xml
+     * @param pkgData file data of the package batch
+     */
+    public void addPackage(PackageDto pkgDto, RepomdPackageData pkgData) {
         try {
             String xml = pkgDto.getFilelistXml();
             if (ConfigDefaults.get().useDBRepodata() && !StringUtils.isEmpty(xml)) {
@@ -99,7 +107,7 @@ public class FilelistsXmlWriter extends RepomdWriter {
 
             tmpHandler.startDocument();
             addPackageBoilerplate(tmpHandler, pkgDto);
-            addPackageFiles(pkgDto, tmpHandler);
+            addPackageFiles(pkgDto, pkgData, tmpHandler);
             tmpHandler.endElement("package");
             tmpHandler.endDocument();
 
@@ -117,16 +125,14 @@ public class FilelistsXmlWriter extends RepomdWriter {
 
     /**
      *
-     * @param pkgId package Id info
+     * @param pkgDto package info
+     * @param pkgData file data of the package batch
      * @throws SAXException sax exception
      */
-    private void addPackageFiles(PackageDto pkgDto,
+    private void addPackageFiles(PackageDto pkgDto, RepomdPackageData pkgData,
             SimpleContentHandler localHandler) throws SAXException {
         Long pkgId = pkgDto.getId();
-        Collection<PackageCapabilityDto> files = TaskManager
-                .getPackageCapabilityDtos(
-                        pkgId,
-                        TaskConstants.TASK_QUERY_REPOMD_GENERATOR_CAPABILITY_FILES);
+        Collection<PackageCapabilityDto> files = pkgData.getFiles(pkgId);
         for (PackageCapabilityDto file : files) {
             localHandler.addElementWithCharacters("file",
                     sanitize(pkgId, file.getName()));
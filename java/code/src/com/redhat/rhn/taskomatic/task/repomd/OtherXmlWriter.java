@@ -23,7 +23,6 @@ import com.redhat.rhn.domain.channel.Channel;
 import com.redhat.rhn.frontend.dto.PackageChangelogDto;
 import com.redhat.rhn.frontend.dto.PackageDto;
 import com.redhat.rhn.manager.rhnpackage.PackageManager;
-import com.redhat.rhn.manager.task.TaskManager;
 
 import org.apache.commons.lang3.StringUtils;
 import org.xml.sax.SAXException;
@@ -32,6 +31,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.OutputStream;
 import java.io.Writer;
 import java.util.Collection;
+import java.util.List;
 
 /**
  *
@@ -84,6 +84,15 @@ public class OtherXmlWriter extends RepomdWriter {
      * @param pkgDto pkg info to add to xml
      */
     public void addPackage(PackageDto pkgDto) {
+        addPackage(pkgDto, new RepomdPackageData(List.of(pkgDto)));
+    }
+
+    /**
+     *
+     * @param pkgDto pkg info to add to xml
+     * @param pkgData changelog data of the package batch
+     */
+    public void addPackage(PackageDto pkgDto, RepomdPackageData pkgData) {
 
         try {
             String xml = pkgDto.getOtherXml();
@@ -99,7 +108,7 @@ public class OtherXmlWriter extends RepomdWriter {
             tmpHandler.startDocument();
 
             addPackageBoilerplate(tmpHandler, pkgDto);
-            addPackageChangelog(pkgDto, tmpHandler);
+            addPackageChangelog(pkgDto, pkgData, tmpHandler);
             tmpHandler.endElement("package");
             tmpHandler.endDocument();
 
@@ -116,14 +125,14 @@ public class OtherXmlWriter extends RepomdWriter {
     /**
      *
      * @param pkgDto pkg changelog info to add to xml
+     * @param pkgData changelog data of the package batch
      * @throws SAXException sax exception
      */
-    private void addPackageChangelog(PackageDto pkgDto,
+    private void addPackageChangelog(PackageDto pkgDto, RepomdPackageData pkgData,
             SimpleContentHandler tmpHandler) throws SAXException {
 
         Long pkgId = pkgDto.getId();
-        Collection<PackageChangelogDto> changelogEntries = TaskManager
-                .getPackageChangelogDtos(pkgId);
+        Collection<PackageChangelogDto> changelogEntries = pkgData.getChangelog(pkgId);
         int limit = Config.get().getInt(ConfigDefaults.CHANGELOG_ENTRY_LIMIT, 0);
         int count = 0;
         for (PackageChangelogDto changelogEntry : changelogEntries) {
@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2025 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.redhat.rhn.taskomatic.task.repomd;
+
+import com.redhat.rhn.common.conf.ConfigDefaults;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Gzip output stream compressing blocks of data on several threads.
+ *
+ * The data is split in blocks which are deflated independently, each one using the last 32k of the
+ * previous block as preset dictionary, and terminated with a sync flush so that the compressed blocks
+ * can simply be concatenated. The result is a single standard gzip member, with a compression ratio
+ * very close to the one of {@link java.util.zip.GZIPOutputStream}.
+ *
+ * All streams share one thread pool, sized by {@link ConfigDefaults#getRepomdCompressionThreads()},
+ * so generating metadata for several channels at the same time does not use more than that many cores
+ * for compression.
+ */
+public class ParallelGzipOutputStream extends OutputStream {
+
+    private static final int BLOCK_SIZE = 128 * 1024;
+    private static final int DICTIONARY_SIZE = 32 * 1024;
+    private static final byte[] HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0};
+
+    private static ExecutorService executor;
+
+    private final OutputStream out;
+    private final int maxPending;
+    private final Deque<Future<byte[]>> pending = new ArrayDeque<>();
+    private final CRC32 crc = new CRC32();
+    private final byte[] block = new byte[BLOCK_SIZE];
+    private int blockLength;
+    private byte[] dictionary;
+    private long size;
+    private boolean closed;
+
+    /**
+     * Constructor
+     * @param outIn the stream to write the compressed data to
+     * @throws IOException if writing the gzip header fails
+     */
+    public ParallelGzipOutputStream(OutputStream outIn) throws IOException {
+        out = outIn;
+        // keep every thread busy, but do not buffer more than a few blocks per thread
+        maxPending = 2 * ConfigDefaults.get().getRepomdCompressionThreads();
+        out.write(HEADER);
+    }
+
+    private static synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(ConfigDefaults.get().getRepomdCompressionThreads(),
+                    new BasicThreadFactory.Builder().namingPattern("repomd-compression-%d").daemon(true).build());
+        }
+        return executor;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        crc.update(b, off, len);
+        size += len;
+        int written = 0;
+        while (written < len) {
+            int chunk = Math.min(len - written, BLOCK_SIZE - blockLength);
+            System.arraycopy(b, off + written, block, blockLength, chunk);
+            blockLength += chunk;
+            written += chunk;
+            if (blockLength == BLOCK_SIZE) {
+                submitBlock(false);
+            }
+        }
+    }
+
+    /**
+     * Writes the blocks which are already compressed. Data of the current block is only compressed once
+     * the block is full or the stream is closed.
+     * @throws IOException if writing fails
+     */
+    @Override
+    public void flush() throws IOException {
+        while (!pending.isEmpty() && pending.peekFirst().isDone()) {
+            writeNextBlock();
+        }
+        out.flush();
+    }
+
+    /**
+     * Compresses the remaining data, writes the gzip trailer and closes the underlying stream.
+     * @throws IOException if writing fails
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            submitBlock(true);
+            while (!pending.isEmpty()) {
+                writeNextBlock();
+            }
+            writeIntLE((int) crc.getValue());
+            writeIntLE((int) size);
+        }
+        finally {
+            closed = true;
+            pending.forEach(f -> f.cancel(true));
+            out.close();
+        }
+    }
+
+    private void submitBlock(boolean last) throws IOException {
+        byte[] input = Arrays.copyOf(block, blockLength);
+        byte[] presetDictionary = dictionary;
+        pending.addLast(getExecutor().submit(() -> deflate(input, presetDictionary, last)));
+
+        if (input.length >= DICTIONARY_SIZE || presetDictionary == null) {
+            dictionary = Arrays.copyOfRange(input, Math.max(0, input.length - DICTIONARY_SIZE), input.length);
+        }
+        else {
+            byte[] joined = Arrays.copyOf(presetDictionary, presetDictionary.length + input.length);
+            System.arraycopy(input, 0, joined, presetDictionary.length, input.length);
+            dictionary = Arrays.copyOfRange(joined, Math.max(0, joined.length - DICTIONARY_SIZE), joined.length);
+        }
+        blockLength = 0;
+
+        while (pending.size() > maxPending) {
+            writeNextBlock();
+        }
+    }
+
+    private void writeNextBlock() throws IOException {
+        try {
+            out.write(pending.removeFirst().get());
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while compressing");
+        }
+        catch (ExecutionException e) {
+            throw new IOException("Compression failed", e.getCause());
+        }
+    }
+
+    private void writeIntLE(int value) throws IOException {
+        out.write(value & 0xff);
+        out.write((value >> 8) & 0xff);
+        out.write((value >> 16) & 0xff);
+        out.write((value >> 24) & 0xff);
+    }
+
+    private static byte[] deflate(byte[] input, byte[] presetDictionary, boolean last) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            if (presetDictionary != null && presetDictionary.length > 0) {
+                deflater.setDictionary(presetDictionary);
+            }
+            deflater.setInput(input);
+            ByteArrayOutputStream result = new ByteArrayOutputStream(input.length / 2 + 64);
+            byte[] buffer = new byte[64 * 1024];
+            if (last) {
+                deflater.finish();
+                while (!deflater.finished()) {
+                    int count = deflater.deflate(buffer);
+                    result.write(buffer, 0, count);
+                }
+            }
+            else {
+                int count;
+                do {
+                    count = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                    result.write(buffer, 0, count);
+                } while (count == buffer.length);
+            }
+            return result.toByteArray();
+        }
+        finally {
+            deflater.end();
+        }
+    }
+}
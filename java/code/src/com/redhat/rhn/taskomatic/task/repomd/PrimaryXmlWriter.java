@@ -23,8 +23,6 @@ import com.redhat.rhn.domain.channel.Channel;
 import com.redhat.rhn.frontend.dto.PackageCapabilityDto;
 import com.redhat.rhn.frontend.dto.PackageDto;
 import com.redhat.rhn.manager.rhnpackage.PackageManager;
-import com.redhat.rhn.manager.task.TaskManager;
-import com.redhat.rhn.taskomatic.task.TaskConstants;
 
 import org.apache.commons.lang3.StringUtils;
 import org.xml.sax.SAXException;
@@ -32,9 +30,11 @@ import org.xml.sax.SAXException;
 import java.io.ByteArrayOutputStream;
 import java.io.Writer;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * Primary.xml writer class
@@ -42,6 +42,9 @@ import java.util.Map;
  */
 public class PrimaryXmlWriter extends RepomdWriter {
 
+    private static final List<String> DEPENDENCY_TYPES = List.of("provides", "requires", "conflicts",
+            "obsoletes", "recommends", "suggests", "supplements", "enhances");
+
     /**
      *
      * @param writer The writer object for primary xml
@@ -88,6 +91,15 @@ public class PrimaryXmlWriter extends RepomdWriter {
      * @param pkgDto pkg info to add to xml
      */
     public void addPackage(PackageDto pkgDto) {
+        addPackage(pkgDto, new RepomdPackageData(List.of(pkgDto)));
+    }
+
+    /**
+     *
+     * @param pkgDto pkg info to add to xml
+     * @param pkgData dependency and file data of the package batch
+     */
+    public void addPackage(PackageDto pkgDto, RepomdPackageData pkgData) {
         try {
             String xml = pkgDto.getPrimaryXml();
             if (ConfigDefaults.get().useDBRepodata() && !StringUtils.isEmpty(xml)) {
@@ -109,7 +121,7 @@ public class PrimaryXmlWriter extends RepomdWriter {
             tmpHandler.startElement("package", attr);
 
             addBasicPackageDetails(pkgDto, tmpHandler);
-            addPackageFormatDetails(pkgDto, tmpHandler);
+            addPackageFormatDetails(pkgDto, pkgData, tmpHandler);
             tmpHandler.endElement("package");
             tmpHandler.endDocument();
 
@@ -128,7 +140,7 @@ public class PrimaryXmlWriter extends RepomdWriter {
      * @param pkgDto pkg info to add to xml
      * @throws SAXException sax exception
      */
-    private void addPackageFormatDetails(PackageDto pkgDto,
+    private void addPackageFormatDetails(PackageDto pkgDto, RepomdPackageData pkgData,
             SimpleContentHandler localHandler) throws SAXException {
         long pkgId = pkgDto.getId();
 
@@ -151,8 +163,8 @@ public class PrimaryXmlWriter extends RepomdWriter {
         localHandler.startElement("rpm:header-range", attr);
         localHandler.endElement("rpm:header-range");
 
-        addPackagePrcoData(pkgDto, localHandler);
-        addEssentialPackageFiles(pkgId, localHandler);
+        addPackagePrcoData(pkgDto, pkgData, localHandler);
+        addEssentialPackageFiles(pkgId, pkgData, localHandler);
         localHandler.endElement("format");
     }
 
@@ -225,47 +237,29 @@ public class PrimaryXmlWriter extends RepomdWriter {
     /**
      *
      * @param pkgDto pkg info to add to xml
+     * @param pkgData dependency data of the package batch
      * @throws SAXException
      */
-    private void addPackagePrcoData(PackageDto pkgDto,
+    private void addPackagePrcoData(PackageDto pkgDto, RepomdPackageData pkgData,
             SimpleContentHandler localHandler) throws SAXException {
-        addPackageDepData(
-                TaskConstants.TASK_QUERY_REPOMD_GENERATOR_CAPABILITY_PROVIDES,
-                pkgDto.getId(), "provides", localHandler);
-        addPackageDepData(
-                TaskConstants.TASK_QUERY_REPOMD_GENERATOR_CAPABILITY_REQUIRES,
-                pkgDto.getId(), "requires", localHandler);
-        addPackageDepData(
-                TaskConstants.TASK_QUERY_REPOMD_GENERATOR_CAPABILITY_CONFLICTS,
-                pkgDto.getId(), "conflicts", localHandler);
-        addPackageDepData(
-                TaskConstants.TASK_QUERY_REPOMD_GENERATOR_CAPABILITY_OBSOLETES,
-                pkgDto.getId(), "obsoletes", localHandler);
-        addPackageDepData(
-                TaskConstants.TASK_QUERY_REPOMD_GENERATOR_CAPABILITY_RECOMMENDS,
-                pkgDto.getId(), "recommends", localHandler);
-        addPackageDepData(
-                TaskConstants.TASK_QUERY_REPOMD_GENERATOR_CAPABILITY_SUGGESTS,
-                pkgDto.getId(), "suggests", localHandler);
-        addPackageDepData(
-                TaskConstants.TASK_QUERY_REPOMD_GENERATOR_CAPABILITY_SUPPLEMENTS,
-                pkgDto.getId(), "supplements", localHandler);
-        addPackageDepData(
-                TaskConstants.TASK_QUERY_REPOMD_GENERATOR_CAPABILITY_ENHANCES,
-                pkgDto.getId(), "enhances", localHandler);
+        Map<String, List<PackageCapabilityDto>> byDependency = pkgData.getDependencies(pkgDto.getId())
+                .stream()
+                .collect(Collectors.groupingBy(PackageCapabilityDto::getDependency));
+        for (String dep : DEPENDENCY_TYPES) {
+            addPackageDepData(byDependency.getOrDefault(dep, Collections.emptyList()),
+                    pkgDto.getId(), dep, localHandler);
+        }
     }
 
     /**
      *
-     * @param pkgCapIter pkg capability info
+     * @param capabilities pkg capability info
      * @param pkgId package Id to set
      * @param dep dependency info
      * @throws SAXException sax exception
      */
-    private void addPackageDepData(String query, Long pkgId,
+    private void addPackageDepData(Collection<PackageCapabilityDto> capabilities, Long pkgId,
             String dep, SimpleContentHandler localHandler) throws SAXException {
-        Collection<PackageCapabilityDto> capabilities = TaskManager
-                .getPackageCapabilityDtos(pkgId, query);
         localHandler.startElement("rpm:" + dep);
         for (PackageCapabilityDto capability : capabilities) {
             SimpleAttributesImpl attr = new SimpleAttributesImpl();
@@ -344,15 +338,13 @@ public class PrimaryXmlWriter extends RepomdWriter {
     /**
      *
      * @param pkgId package Id info
+     * @param pkgData file data of the package batch
      * @throws SAXException sax exception
      */
-    private void addEssentialPackageFiles(long pkgId,
+    private void addEssentialPackageFiles(long pkgId, RepomdPackageData pkgData,
             SimpleContentHandler hndlr) throws SAXException {
         List<String> fullPaths = List.of("/usr/lib.sendmail", "/lib/cpp");
-        Collection<PackageCapabilityDto> files = TaskManager
-                .getPackageCapabilityDtos(
-                        pkgId,
-                        TaskConstants.TASK_QUERY_REPOMD_GENERATOR_CAPABILITY_FILES);
+        Collection<PackageCapabilityDto> files = pkgData.getFiles(pkgId);
         for (PackageCapabilityDto file : files) {
             String path = sanitize(pkgId, file.getName());
             if (path.contains("bin/") || path.startsWith("/etc/") || fullPaths.contains(path)) {
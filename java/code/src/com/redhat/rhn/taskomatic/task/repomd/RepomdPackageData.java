@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2025 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.redhat.rhn.taskomatic.task.repomd;
+
+import com.redhat.rhn.common.conf.Config;
+import com.redhat.rhn.common.conf.ConfigDefaults;
+import com.redhat.rhn.frontend.dto.PackageCapabilityDto;
+import com.redhat.rhn.frontend.dto.PackageChangelogDto;
+import com.redhat.rhn.frontend.dto.PackageDto;
+import com.redhat.rhn.manager.task.TaskManager;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Dependency, file and changelog data of a batch of packages. Instead of querying the data package by
+ * package while writing the repository metadata, the data of the whole batch is loaded with one query
+ * per kind on first access. Only packages whose metadata is not already cached in the database are
+ * taken into account.
+ */
+public class RepomdPackageData {
+
+    private final Collection<PackageDto> packages;
+    private final boolean useCachedXml;
+
+    private Map<Long, List<PackageCapabilityDto>> dependencies;
+    private Map<Long, List<PackageCapabilityDto>> files;
+    private Map<Long, List<PackageChangelogDto>> changelogs;
+
+    /**
+     * Constructor
+     * @param packagesIn the batch of packages
+     */
+    public RepomdPackageData(Collection<PackageDto> packagesIn) {
+        packages = packagesIn;
+        useCachedXml = ConfigDefaults.get().useDBRepodata();
+    }
+
+    /**
+     * Get the dependencies of a package
+     * @param pkgId the package id
+     * @return the capabilities of the package, see {@link PackageCapabilityDto#getDependency()} for the type
+     */
+    public List<PackageCapabilityDto> getDependencies(Long pkgId) {
+        if (dependencies == null) {
+            dependencies = TaskManager.getPackageDependencyDtos(
+                    idsWithoutCachedXml(PackageDto::getPrimaryXml, PackageDto::getPrimaryXml));
+        }
+        return dependencies.getOrDefault(pkgId, Collections.emptyList());
+    }
+
+    /**
+     * Get the files of a package
+     * @param pkgId the package id
+     * @return the files of the package
+     */
+    public List<PackageCapabilityDto> getFiles(Long pkgId) {
+        if (files == null) {
+            // files are written to both primary.xml and filelists.xml
+            files = TaskManager.getPackageFileDtos(
+                    idsWithoutCachedXml(PackageDto::getPrimaryXml, PackageDto::getFilelistXml));
+        }
+        return files.getOrDefault(pkgId, Collections.emptyList());
+    }
+
+    /**
+     * Get the changelog entries of a package, limited by the configured changelog entry limit
+     * @param pkgId the package id
+     * @return the changelog entries of the package
+     */
+    public List<PackageChangelogDto> getChangelog(Long pkgId) {
+        if (changelogs == null) {
+            changelogs = TaskManager.getPackageChangelogDtos(
+                    idsWithoutCachedXml(PackageDto::getOtherXml, PackageDto::getOtherXml),
+                    Config.get().getInt(ConfigDefaults.CHANGELOG_ENTRY_LIMIT, 0));
+        }
+        return changelogs.getOrDefault(pkgId, Collections.emptyList());
+    }
+
+    private List<Long> idsWithoutCachedXml(Function<PackageDto, String> xml,
+            Function<PackageDto, String> otherXml) {
+        return packages.stream()
+                .filter(p -> !useCachedXml || StringUtils.isEmpty(xml.apply(p)) ||
+                        StringUtils.isEmpty(otherXml.apply(p)))
+                .map(PackageDto::getId)
+                .collect(Collectors.toList());
+    }
+}
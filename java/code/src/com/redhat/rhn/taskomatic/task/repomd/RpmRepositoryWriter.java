@@ -296,10 +296,18 @@ public class RpmRepositoryWriter extends RepositoryWriter {
         susedata.begin(channel);
 
         // batch the elaboration so we don't have to hold many thousands of packages in memory at once
+        // pages are selected by package id so that later pages are as fast to fetch as the first one
         final int batchSize = 1000;
-        for (long i = 0; i < channel.getPackageCount(); i += batchSize) {
-            DataResult<PackageDto> packageBatch = TaskManager.getChannelPackageDtos(channel, i, batchSize);
+        long lastId = 0;
+        long processed = 0;
+        DataResult<PackageDto> packageBatch;
+        do {
+            packageBatch = TaskManager.getChannelPackageDtosAfter(channel, lastId, batchSize);
+            if (packageBatch.isEmpty()) {
+                break;
+            }
             packageBatch.elaborate();
+            RepomdPackageData pkgData = new RepomdPackageData(packageBatch);
             for (PackageDto pkgDto : packageBatch) {
                 // this is a sanity check
                 // package may have been deleted before packageBatch.elaborate()
@@ -309,26 +317,19 @@ public class RpmRepositoryWriter extends RepositoryWriter {
                             " removed from server, interrupting repo generation for " +
                             channel.getLabel());
                 }
-                primary.addPackage(pkgDto);
-                filelists.addPackage(pkgDto);
-                other.addPackage(pkgDto);
+                primary.addPackage(pkgDto, pkgData);
+                filelists.addPackage(pkgDto, pkgData);
+                other.addPackage(pkgDto, pkgData);
                 susedata.addPackage(pkgDto);
-                try {
-                    primaryFile.flush();
-                    filelistsFile.flush();
-                    otherFile.flush();
-                    susedataFile.flush();
-                }
-                catch (IOException e) {
-                    throw new RepomdRuntimeException(e);
-                }
             }
-            log.info("Processed {} packages", i + packageBatch.getEnd());
+            lastId = packageBatch.get(packageBatch.size() - 1).getId();
+            processed += packageBatch.size();
+            log.info("Processed {} packages", processed);
             if (commitTransaction) {
                 // commit pre generated XML snippets in the cache
                 HibernateFactory.commitTransaction();
             }
-        }
+        } while (packageBatch.size() == batchSize);
         primary.end();
         filelists.end();
         other.end();
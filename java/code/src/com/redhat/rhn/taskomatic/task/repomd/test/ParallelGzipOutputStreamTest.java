@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2025 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.redhat.rhn.taskomatic.task.repomd.test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.redhat.rhn.taskomatic.task.repomd.ParallelGzipOutputStream;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+public class ParallelGzipOutputStreamTest {
+
+    private static byte[] createData(int size) {
+        StringBuilder sb = new StringBuilder();
+        int i = 0;
+        while (sb.length() < size) {
+            sb.append("<package type=\"rpm\"><name>pkg").append(i++ % 997).append("</name></package>\n");
+        }
+        return Arrays.copyOf(sb.toString().getBytes(StandardCharsets.UTF_8), size);
+    }
+
+    private static byte[] roundTrip(byte[] data) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (OutputStream out = new BufferedOutputStream(new ParallelGzipOutputStream(compressed))) {
+            out.write(data);
+        }
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray()))) {
+            return in.readAllBytes();
+        }
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        for (int size : new int[] {0, 1, 1000, 32 * 1024 + 5, 128 * 1024, 7 * 128 * 1024 + 333, 3_000_000}) {
+            byte[] data = createData(size);
+            assertArrayEquals(data, roundTrip(data), "size " + size);
+        }
+    }
+
+    @Test
+    public void testSingleByteWrites() throws IOException {
+        byte[] data = createData(200 * 1024);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (OutputStream out = new ParallelGzipOutputStream(compressed)) {
+            for (byte b : data) {
+                out.write(b);
+            }
+        }
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray()))) {
+            assertArrayEquals(data, in.readAllBytes());
+        }
+    }
+
+    @Test
+    public void testWriteAfterClose() throws IOException {
+        OutputStream out = new ParallelGzipOutputStream(new ByteArrayOutputStream());
+        out.close();
+        assertThrows(IOException.class, () -> out.write(1));
+    }
+}
@@ -29,6 +29,7 @@ import com.redhat.rhn.domain.rhnpackage.PackageCapability;
 import com.redhat.rhn.domain.rhnpackage.PackageProvides;
 import com.redhat.rhn.domain.rhnpackage.PackageRequires;
 import com.redhat.rhn.domain.rhnpackage.test.PackageCapabilityTest;
+import com.redhat.rhn.frontend.dto.PackageCapabilityDto;
 import com.redhat.rhn.frontend.dto.PackageDto;
 import com.redhat.rhn.manager.rhnpackage.PackageManager;
 import com.redhat.rhn.manager.rhnpackage.test.PackageManagerTest;
@@ -53,7 +54,10 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.zip.GZIPInputStream;
 
 public class RpmRepositoryWriterTest extends JMockBaseTestCaseWithUser {
@@ -92,6 +96,38 @@ public class RpmRepositoryWriterTest extends JMockBaseTestCaseWithUser {
         assertEquals(25, pkgs.size());
     }
 
+    @Test
+    public void testKeysetPagination() throws Exception {
+        for (int i = 0; i < 25; i++) {
+            PackageManagerTest.addKickstartPackageToChannel("pkgks" + i, channel);
+        }
+
+        HibernateFactory.getSession().flush();
+        HibernateFactory.getSession().clear();
+
+        Set<Long> seen = new HashSet<>();
+        long lastId = 0;
+        DataResult<PackageDto> pkgs;
+        do {
+            pkgs = TaskManager.getChannelPackageDtosAfter(channel, lastId, 10);
+            for (PackageDto pkg : pkgs) {
+                assertTrue(pkg.getId() > lastId);
+                assertTrue(seen.add(pkg.getId()));
+                lastId = pkg.getId();
+            }
+        } while (pkgs.size() == 10);
+        assertEquals(25, seen.size());
+
+        List<Long> ids = new ArrayList<>(seen);
+        assertEquals(25, TaskManager.getPackageDependencyDtos(ids).values().stream()
+                .flatMap(List::stream)
+                .filter(c -> "provides".equals(c.getDependency()))
+                .map(PackageCapabilityDto::getPackageId)
+                .distinct()
+                .count());
+        assertTrue(TaskManager.getPackageChangelogDtos(ids, 1).values().stream().allMatch(e -> e.size() <= 1));
+    }
+
     @Test
     public void testMetadataKeyFiles() {
         // Mock an Executor instance to stub system calls to 'mgr-sign-metadata'
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2026 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.redhat.rhn.taskomatic.task.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.redhat.rhn.common.hibernate.ConnectionManager;
+import com.redhat.rhn.common.hibernate.ConnectionManagerFactory;
+import com.redhat.rhn.taskomatic.task.ReportDBHelper;
+import com.redhat.rhn.testing.RhnBaseTestCase;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests the copy of the report db tables of a peripheral server to the hub. The remote and the local report dbs
+ * are two connections to the local report db, each with its own temporary test table.
+ */
+public class ReportDBHelperTest extends RhnBaseTestCase {
+
+    private static final String TABLE = "copytest";
+
+    private ConnectionManager remoteConnectionManager;
+    private ConnectionManager localConnectionManager;
+    private Session remoteSession;
+    private Session localSession;
+
+    @Override
+    @BeforeEach
+    protected void setUp() throws Exception {
+        super.setUp();
+        remoteConnectionManager = ConnectionManagerFactory.localReportingConnectionManager();
+        localConnectionManager = ConnectionManagerFactory.localReportingConnectionManager();
+        remoteSession = remoteConnectionManager.getSession();
+        localSession = localConnectionManager.getSession();
+
+        // The remote table has a column unknown to the local one and misses a local column
+        execute(remoteSession, "CREATE TEMPORARY TABLE " + TABLE + " (mgm_id NUMERIC NOT NULL, " +
+                "id NUMERIC NOT NULL, remote_only VARCHAR(16), name VARCHAR(128), notes TEXT, " +
+                "PRIMARY KEY (mgm_id, id))");
+        execute(localSession, "CREATE TEMPORARY TABLE " + TABLE + " (mgm_id NUMERIC NOT NULL, " +
+                "id NUMERIC NOT NULL, name VARCHAR(128), local_only VARCHAR(16) DEFAULT 'default', notes TEXT, " +
+                "PRIMARY KEY (mgm_id, id))");
+    }
+
+    @Override
+    @AfterEach
+    public void tearDown() throws Exception {
+        // the rollback drops the temporary tables
+        for (ConnectionManager connectionManager : List.of(remoteConnectionManager, localConnectionManager)) {
+            connectionManager.rollbackTransaction();
+            connectionManager.closeSession();
+            connectionManager.close();
+        }
+        super.tearDown();
+    }
+
+    @Test
+    public void canListCommonColumns() {
+        assertEquals(List.of("mgm_id", "id", "remote_only", "name", "notes"),
+                ReportDBHelper.INSTANCE.listColumns(remoteSession, TABLE));
+        assertEquals(List.of("id", "name", "notes"),
+                ReportDBHelper.INSTANCE.listCommonColumns(remoteSession, localSession, TABLE));
+    }
+
+    @Test
+    public void canCopyTable() {
+        insert(remoteSession, 1, 1, "plain", "a");
+        insert(remoteSession, 1, 2, null, null);
+        insert(remoteSession, 1, 3, "tab\there", "back\\slash\nnewline m\u00fcller");
+        // the rows of the other servers known to the remote server are not copied
+        insert(remoteSession, 5, 4, "other server", null);
+        // the previous rows of the remote server are replaced, the rows of the local server are kept
+        insert(localSession, 7, 9, "stale", null);
+        insert(localSession, 1, 1, "local", null);
+
+        List<String> columns = ReportDBHelper.INSTANCE.listCommonColumns(remoteSession, localSession, TABLE);
+        ReportDBHelper.CopyStats stats = ReportDBHelper.INSTANCE.copyTable(remoteSession, localSession, TABLE, 7,
+                columns);
+
+        String copied = "7\t1\tplain\ta\n" +
+                "7\t2\t\\N\t\\N\n" +
+                "7\t3\ttab\\there\tback\\\\slash\\nnewline m\u00fcller\n";
+        assertEquals(3, stats.rows());
+        assertEquals(copied.getBytes(StandardCharsets.UTF_8).length, stats.bytes());
+        assertEquals(List.of(
+                Arrays.asList("1", "1", "local", "default", null),
+                Arrays.asList("7", "1", "plain", "default", "a"),
+                Arrays.asList("7", "2", null, "default", null),
+                Arrays.asList("7", "3", "tab\there", "default", "back\\slash\nnewline m\u00fcller")
+        ), selectRows(localSession));
+    }
+
+    @Test
+    public void canCopyTableAgain() {
+        insert(remoteSession, 1, 1, "plain", "a");
+        List<String> columns = ReportDBHelper.INSTANCE.listCommonColumns(remoteSession, localSession, TABLE);
+
+        ReportDBHelper.INSTANCE.copyTable(remoteSession, localSession, TABLE, 7, columns);
+        insert(remoteSession, 1, 2, "second", null);
+        ReportDBHelper.CopyStats stats = ReportDBHelper.INSTANCE.copyTable(remoteSession, localSession, TABLE, 7,
+                columns);
+
+        assertEquals(2, stats.rows());
+        assertEquals(2, selectRows(localSession).size());
+    }
+
+    private static void execute(Session session, String sql) {
+        session.doWork(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(sql);
+            }
+        });
+    }
+
+    private static void insert(Session session, long mgmId, long id, String name, String notes) {
+        session.doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO " + TABLE + " (mgm_id, id, name, notes) VALUES (?, ?, ?, ?)")) {
+                statement.setLong(1, mgmId);
+                statement.setLong(2, id);
+                statement.setString(3, name);
+                statement.setString(4, notes);
+                statement.executeUpdate();
+            }
+        });
+    }
+
+    private static List<List<String>> selectRows(Session session) {
+        return session.doReturningWork(connection -> {
+            List<List<String>> rows = new ArrayList<>();
+            try (Statement statement = connection.createStatement();
+                 ResultSet result = statement.executeQuery("SELECT mgm_id, id, name, local_only, notes FROM " +
+                         TABLE + " ORDER BY mgm_id, id")) {
+                while (result.next()) {
+                    rows.add(Arrays.asList(result.getString(1), result.getString(2), result.getString(3),
+                            result.getString(4), result.getString(5)));
+                }
+            }
+            return rows;
+        });
+    }
+}
@@ -21,12 +21,14 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 
 import com.redhat.rhn.common.hibernate.ConnectionManager;
 import com.redhat.rhn.common.hibernate.ConnectionManagerFactory;
+import com.redhat.rhn.common.hibernate.HibernateFactory;
 import com.redhat.rhn.domain.channel.Channel;
 import com.redhat.rhn.domain.channel.ChannelFactory;
 import com.redhat.rhn.domain.rhnpackage.Package;
 import com.redhat.rhn.domain.rhnpackage.test.PackageTest;
 import com.redhat.rhn.domain.server.Server;
 import com.redhat.rhn.domain.server.ServerFactory;
+import com.redhat.rhn.domain.server.ServerHistoryEvent;
 import com.redhat.rhn.domain.server.test.ServerFactoryTest;
 import com.redhat.rhn.manager.system.SystemManager;
 import com.redhat.rhn.taskomatic.task.ReportDBHelper;
@@ -34,6 +36,7 @@ import com.redhat.rhn.taskomatic.task.ReportDbUpdateTask;
 import com.redhat.rhn.testing.ChannelTestUtils;
 import com.redhat.rhn.testing.JMockBaseTestCaseWithUser;
 import com.redhat.rhn.testing.PackageTestUtils;
+import com.redhat.rhn.testing.TestUtils;
 
 import org.apache.commons.collections.CollectionUtils;
 import org.hibernate.Session;
@@ -169,6 +172,61 @@ public class ReportDbUpdateTaskTest extends JMockBaseTestCaseWithUser {
         });
     }
 
+    @Test
+    public void canUpdateChangedSystems() {
+        Server server = ServerFactoryTest.createTestServer(user);
+        HibernateFactory.getSession().flush();
+
+        ReportDbUpdateTask task = new ReportDbUpdateTask(ReportDBHelper.INSTANCE, 2, true);
+        assertDoesNotThrow(() -> task.execute(contextMock));
+
+        List<Tuple> resultList = getSession()
+            .createNativeQuery("SELECT profile_name FROM System WHERE mgm_id = 1 AND system_id = :id", Tuple.class)
+            .setParameter("id", server.getId())
+            .getResultList();
+        assertEquals(1, resultList.size());
+        assertEquals(server.getName(), resultList.get(0).get("profile_name", String.class));
+
+        // The handled changes are removed
+        Number changes = (Number) HibernateFactory.getSession()
+            .createNativeQuery("SELECT COUNT(*) FROM suseReportDbChange WHERE server_id = :id")
+            .setParameter("id", server.getId())
+            .getSingleResult();
+        assertEquals(0, changes.intValue());
+    }
+
+    @Test
+    public void canUpdateChangedSystemsAfterALargerSystem() {
+        // The previous system has more rows than the batch size in a table with several keys
+        Server previous = ServerFactoryTest.createTestServer(user);
+        Server server = ServerFactoryTest.createTestServer(user);
+        IntStream.range(0, 5).forEach(index -> addHistoryEvent(previous));
+        HibernateFactory.getSession().flush();
+
+        ReportDbUpdateTask task = new ReportDbUpdateTask(ReportDBHelper.INSTANCE, 2, true);
+        assertDoesNotThrow(() -> task.execute(contextMock));
+
+        // Only the system changes now
+        IntStream.range(0, 3).forEach(index -> addHistoryEvent(server));
+        assertDoesNotThrow(() -> task.execute(contextMock));
+
+        String query = "SELECT COUNT(*) FROM SystemHistory WHERE mgm_id = 1 AND system_id = :id";
+        assertEquals(5, ((Number) getSession().createNativeQuery(query)
+            .setParameter("id", previous.getId())
+            .getSingleResult()).intValue());
+        assertEquals(3, ((Number) getSession().createNativeQuery(query)
+            .setParameter("id", server.getId())
+            .getSingleResult()).intValue());
+    }
+
+    private static void addHistoryEvent(Server server) {
+        ServerHistoryEvent event = new ServerHistoryEvent();
+        event.setServer(server);
+        event.setSummary("summary");
+        event.setDetails("details");
+        TestUtils.saveAndFlush(event);
+    }
+
     private static synchronized Session getSession() {
         if (reportDbConnectionManager == null) {
             reportDbConnectionManager = ConnectionManagerFactory.localReportingConnectionManager();
@@ -131,6 +131,10 @@ public class RhnServletListener implements ServletContextListener {
         logStart("Hibernate");
 
         PrometheusExporter.INSTANCE.registerSystemsCollector();
+        PrometheusExporter.INSTANCE.registerQueryStatistics();
+        PrometheusExporter.INSTANCE.registerMessageQueue();
+        PrometheusExporter.INSTANCE.registerTaskomaticApiMetrics();
+        PrometheusExporter.INSTANCE.registerHardwareProfileMetrics();
 
         // the following is not safe to run in the testsuite
         // and will be excluded from test runs
@@ -17,14 +17,22 @@ package com.suse.manager.api;
 import com.redhat.rhn.common.hibernate.HibernateFactory;
 import com.redhat.rhn.frontend.xmlrpc.serializer.util.SerializerHelper;
 
+import com.google.gson.Gson;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonSerializationContext;
 import com.google.gson.JsonSerializer;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.io.Writer;
 import java.lang.reflect.Type;
+import java.util.function.BiConsumer;
 
 import redstone.xmlrpc.XmlRpcCustomSerializer;
 import redstone.xmlrpc.XmlRpcException;
@@ -46,6 +54,20 @@ public abstract class ApiResponseSerializer<T> implements XmlRpcCustomSerializer
      */
     public abstract SerializedApiResponse serialize(T src);
 
+    /**
+     * Passes the properties to be serialized of an object to a consumer, one at a time.
+     *
+     * The default implementation goes through {@link #serialize(Object)}. Serializers of objects returned in large
+     * lists override it to write the properties straight to the output, without building a
+     * {@link SerializedApiResponse} for every object.
+     *
+     * @param src the object to be serialized
+     * @param properties the consumer of the properties
+     */
+    protected void serialize(T src, BiConsumer<String, Object> properties) {
+        serialize(src).forEach(properties);
+    }
+
     @Override
     public final void serialize(Object obj, Writer writer, XmlRpcSerializer serializer) throws XmlRpcException {
         HibernateFactory.doWithoutAutoFlushing(() -> {
@@ -64,18 +86,17 @@ public abstract class ApiResponseSerializer<T> implements XmlRpcCustomSerializer
     @SuppressWarnings("unchecked")
     private void doSerialize(Object obj, Writer writer, XmlRpcSerializer serializer)
             throws XmlRpcException, IOException {
-        SerializedApiResponse serialized = serialize((T) obj);
-        SerializerHelper helper = new SerializerHelper(serializer);
-        serialized.forEach(helper::add);
-        helper.writeTo(writer);
+        writer.write("<struct>");
+        serialize((T) obj, (name, value) -> SerializerHelper.writeMember(writer, name, value, serializer));
+        writer.write("</struct>");
+        writer.write("\n");
     }
 
     @Override
     public final JsonElement serialize(T src, Type typeOfSrc, JsonSerializationContext context) {
-        SerializedApiResponse serialized = serialize(src);
         JsonObject json = new JsonObject();
 
-        serialized.forEach((key, val) -> {
+        serialize(src, (key, val) -> {
             if (val instanceof Number num) {
                 json.addProperty(key, num);
             }
@@ -96,6 +117,69 @@ public abstract class ApiResponseSerializer<T> implements XmlRpcCustomSerializer
         return json;
     }
 
+    /**
+     * Returns a Gson {@link TypeAdapterFactory} for the supported class and its subclasses. Unlike the
+     * {@link JsonSerializer} implementation, the adapters write the properties straight to the JSON output
+     * without building a {@link JsonObject} first.
+     *
+     * @return the type adapter factory
+     */
+    public TypeAdapterFactory getTypeAdapterFactory() {
+        return new TypeAdapterFactory() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <A> TypeAdapter<A> create(Gson gson, TypeToken<A> type) {
+                if (!getSupportedClass().isAssignableFrom(type.getRawType())) {
+                    return null;
+                }
+                TypeAdapter<T> delegate = (TypeAdapter<T>) gson.getDelegateAdapter(this, type);
+                return (TypeAdapter<A>) new StreamingAdapter(gson, delegate).nullSafe();
+            }
+        };
+    }
+
+    private final class StreamingAdapter extends TypeAdapter<T> {
+
+        private final Gson gson;
+        private final TypeAdapter<T> delegate;
+
+        private StreamingAdapter(Gson gsonIn, TypeAdapter<T> delegateIn) {
+            gson = gsonIn;
+            delegate = delegateIn;
+        }
+
+        @Override
+        public void write(JsonWriter out, T src) throws IOException {
+            out.beginObject();
+            try {
+                serialize(src, (key, val) -> {
+                    try {
+                        out.name(key);
+                        if (val == null) {
+                            out.nullValue();
+                        }
+                        else {
+                            gson.toJson(val, val.getClass(), out);
+                        }
+                    }
+                    catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+            catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            out.endObject();
+        }
+
+        @Override
+        public T read(JsonReader in) throws IOException {
+            // only serialization is customized
+            return delegate.read(in);
+        }
+    }
+
     @Override
     public abstract Class<T> getSupportedClass();
 }
@@ -18,6 +18,7 @@ import static com.suse.manager.webui.utils.SparkApplicationHelper.withUser;
 
 import com.redhat.rhn.frontend.xmlrpc.BaseHandler;
 import com.redhat.rhn.frontend.xmlrpc.HandlerFactory;
+import com.redhat.rhn.frontend.xmlrpc.HandlerMethod;
 
 import com.suse.manager.webui.controllers.login.LoginController;
 
@@ -27,9 +28,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
 import java.text.MessageFormat;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -85,11 +84,10 @@ public class HttpApiRegistry {
             // Keys: Method name X ReadOnly flag
             // Values: Lists of methods
             Map<Pair<String, Boolean>, List<Method>> methodsByName =
-                    Arrays.stream(handler.getClass().getDeclaredMethods())
-                            .filter(m -> Modifier.isPublic(m.getModifiers()))
-                            .filter(HttpApiRegistry::isMethodAvailable)
+                    handlerFactory.getHandlerMethods(namespace).get().getMethods(ApiType.HTTP).stream()
                             .collect(Collectors.groupingBy(
-                                    m -> new ImmutablePair<>(m.getName(), m.isAnnotationPresent(ReadOnly.class))));
+                                    m -> new ImmutablePair<>(m.getName(), m.isReadOnly()),
+                                    Collectors.mapping(HandlerMethod::getMethod, Collectors.toList())));
 
             methodsByName.forEach((groupKey, methodList) -> {
                 String path = HTTP_API_ROOT + namespace.replace('.', '/') + '/' + groupKey.getLeft();
@@ -138,14 +136,4 @@ public class HttpApiRegistry {
         registrationHelper.addPostRoute(HTTP_API_ROOT + "auth/login", LoginController::apiLogin);
         registrationHelper.addPostRoute(HTTP_API_ROOT + "auth/logout", withUser(LoginController::logout));
     }
-
-    /**
-     * Returns true if the method is available to be exposed in the HTTP interface
-     * @param method the method
-     * @return true if the method is available
-     */
-    private static boolean isMethodAvailable(Method method) {
-        return !(method.isAnnotationPresent(ApiIgnore.class) &&
-                Arrays.asList(method.getAnnotation(ApiIgnore.class).value()).contains(ApiType.HTTP));
-    }
 }
@@ -15,16 +15,17 @@
 package com.suse.manager.api;
 
 import com.redhat.rhn.domain.user.User;
+import com.redhat.rhn.frontend.xmlrpc.HandlerMethod;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 
 /**
- * An immutable class that packs together a {@link Method} and an array of arguments with which the method should be
- * invoked
+ * An immutable class that packs together a {@link HandlerMethod} and an array of arguments with which the method
+ * should be invoked
  */
 public class MethodCall {
-    private final Method method;
+    private final HandlerMethod method;
     private final Object[] args;
 
     /**
@@ -32,7 +33,7 @@ public class MethodCall {
      * @param methodIn the method
      * @param argsIn the arguments of the method
      */
-    public MethodCall(Method methodIn, Object[] argsIn) {
+    public MethodCall(HandlerMethod methodIn, Object[] argsIn) {
         this.method = methodIn;
         this.args = argsIn;
     }
@@ -42,21 +43,20 @@ public class MethodCall {
      * @param obj the object the underlying method is invoked on
      * @return the result of the invocation
      * @throws InvocationTargetException if the underlying method throws an exception
-     * @throws IllegalAccessException if the underlying method is inaccessible
+     * @throws UserNotPermittedException if a read-only user calls a method that is not read-only
      */
-    public Object invoke(Object obj) throws InvocationTargetException, IllegalAccessException,
-            UserNotPermittedException {
+    public Object invoke(Object obj) throws InvocationTargetException, UserNotPermittedException {
         ensureUserAccess();
         return method.invoke(obj, args);
     }
 
     public Method getMethod() {
-        return method;
+        return method.getMethod();
     }
 
     private void ensureUserAccess() throws UserNotPermittedException {
         for (Object arg : args) {
-            if (arg instanceof User user && user.isReadOnly() && !method.isAnnotationPresent(ReadOnly.class)) {
+            if (arg instanceof User user && user.isReadOnly() && !method.isReadOnly()) {
                     throw new UserNotPermittedException("The method is not available to read-only API users");
             }
         }
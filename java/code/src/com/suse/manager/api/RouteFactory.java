@@ -22,6 +22,8 @@ import com.redhat.rhn.FaultException;
 import com.redhat.rhn.domain.user.User;
 import com.redhat.rhn.frontend.struts.RequestContext;
 import com.redhat.rhn.frontend.xmlrpc.BaseHandler;
+import com.redhat.rhn.frontend.xmlrpc.HandlerMethod;
+import com.redhat.rhn.frontend.xmlrpc.HandlerMethods;
 import com.redhat.rhn.frontend.xmlrpc.serializer.SerializerFactory;
 import com.redhat.rhn.manager.session.SessionManager;
 
@@ -37,20 +39,26 @@ import org.apache.http.HttpStatus;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
 
@@ -66,6 +74,8 @@ import spark.Spark;
 public class RouteFactory {
 
     private static final Logger LOG = LogManager.getLogger(RouteFactory.class);
+    // Results with more elements are written straight to the response instead of being returned as string
+    private static final int STREAMING_THRESHOLD = 1000;
     private final SerializerFactory serializerFactory;
     private final ApiRequestParser requestParser;
     private final Gson gson;
@@ -169,6 +179,7 @@ public class RouteFactory {
      * @return the {@link Route}
      */
     public Route createRoute(List<Method> methods, BaseHandler handler) {
+        List<RouteMethod> routeMethods = methods.stream().map(RouteMethod::new).toList();
         Route route = (req, res) -> {
             // Collect all the parameters from the query string and the body
             Map<String, JsonElement> requestParams;
@@ -184,7 +195,7 @@ public class RouteFactory {
             String sessionKey = new RequestContext(req.raw()).getWebSession().getKey();
             try {
                 // Find an overload matching the parameter names and types
-                MethodCall call = findMethod(methods, requestParams, sessionKey, req);
+                MethodCall call = findMethod(routeMethods, requestParams, sessionKey, req);
                 HttpApiResponse<?> response = HttpApiResponse.success(call.invoke(handler));
 
                 Type genericReturnType = call.getMethod().getGenericReturnType();
@@ -192,6 +203,14 @@ public class RouteFactory {
                         primToBoxed.getOrDefault(genericReturnType, genericReturnType));
 
                 res.type("application/json");
+                if (response.getResult() instanceof Collection<?> list && list.size() > STREAMING_THRESHOLD) {
+                    // Spark does not write the route result when the response is already committed
+                    Writer writer = new BufferedWriter(
+                            new OutputStreamWriter(res.raw().getOutputStream(), StandardCharsets.UTF_8));
+                    gson.toJson(response, TypeToken.get(parameterizedType).getType(), writer);
+                    writer.flush();
+                    return "";
+                }
                 return gson.toJson(response, TypeToken.get(parameterizedType).getType());
             }
             catch (NoSuchMethodException e) {
@@ -200,10 +219,6 @@ public class RouteFactory {
             catch (UserNotPermittedException e) {
                 throw Spark.halt(HttpStatus.SC_FORBIDDEN, e.getMessage());
             }
-            catch (IllegalAccessException e) {
-                // Should not happen since we're only evaluating public methods
-                throw new RuntimeException(e);
-            }
             catch (InvocationTargetException e) {
                 Throwable exceptionInMethod = e.getCause();
                 if (exceptionInMethod instanceof FaultException) {
@@ -216,6 +231,29 @@ public class RouteFactory {
         return asJson(route);
     }
 
+    /**
+     * A handler method together with the names of the parameters to be looked up in the request,
+     * computed when the route is created.
+     */
+    private static final class RouteMethod {
+
+        private final HandlerMethod handlerMethod;
+        private final Parameter[] parameters;
+        private final Set<String> requestParameterNames;
+
+        private RouteMethod(Method method) {
+            handlerMethod = HandlerMethods.forMethod(method);
+            parameters = method.getParameters();
+            // Parameter names excluding the User, the request and the session key
+            requestParameterNames = Arrays.stream(parameters)
+                    .filter(p -> !(User.class.equals(p.getType()) ||
+                            HttpServletRequest.class.equals(p.getType())))
+                    .map(Parameter::getName)
+                    .filter(p -> !"sessionKey".equals(p))
+                    .collect(Collectors.toUnmodifiableSet());
+        }
+    }
+
     /**
      * Finds a single method matching the specified JSON argument names and types
      *
@@ -228,23 +266,17 @@ public class RouteFactory {
      * @return the matched method, if exists
      * @throws NoSuchMethodException if no match is found
      */
-    private MethodCall findMethod(List<Method> methods, Map<String, JsonElement> jsonArgs,
+    private MethodCall findMethod(List<RouteMethod> methods, Map<String, JsonElement> jsonArgs,
                                   String sessionKey, Request request)
             throws NoSuchMethodException {
-        User user = SessionManager.loadSession(sessionKey).getUser();
-        // Filter methods with parameter names that match the request parameters, excluding the User parameter
+        User user = SessionManager.lookupUserByKey(sessionKey);
+        // Filter methods with parameter names that match the request parameters
         return methods.stream()
-                .filter(m -> jsonArgs.keySet().equals(
-                        Arrays.stream(m.getParameters())
-                                .filter(p -> !(User.class.equals(p.getType()) ||
-                                        HttpServletRequest.class.equals(p.getType())))
-                                .map(Parameter::getName)
-                                .filter(p -> !"sessionKey".equals(p))
-                                .collect(Collectors.toSet())))
+                .filter(m -> jsonArgs.keySet().equals(m.requestParameterNames))
                 // Try to parse arguments according to method parameter types
                 .map(method -> {
-                    List<Object> args = new ArrayList<>(method.getParameterCount());
-                    for (Parameter param : method.getParameters()) {
+                    List<Object> args = new ArrayList<>(method.parameters.length);
+                    for (Parameter param : method.parameters) {
                         // If the method contains a User parameter, add the current user to the argument list
                         if (User.class.equals(param.getType())) {
                             args.add(user);
@@ -277,7 +309,7 @@ public class RouteFactory {
                             }
                         }
                     }
-                    return new MethodCall(method, args.toArray());
+                    return new MethodCall(method.handlerMethod, args.toArray());
                 })
                 .collect(toUnique())
                 .orElseThrow(() -> new NoSuchMethodException("No method exists with the matching parameters"));
@@ -301,7 +333,7 @@ public class RouteFactory {
         serializerFactory.getSerializers().stream()
                 // Sort the list to ensure serializers of subclasses are added after the serializers of parents
                 .sorted(this::compareSerializerHierarchy)
-                .forEach(s -> builder.registerTypeHierarchyAdapter(s.getSupportedClass(), s));
+                .forEach(s -> builder.registerTypeAdapterFactory(s.getTypeAdapterFactory()));
 
         return builder.create();
     }
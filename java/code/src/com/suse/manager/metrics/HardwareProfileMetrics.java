@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2025 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.suse.manager.metrics;
+
+import io.prometheus.client.Counter;
+
+/**
+ * Sections of the minion hardware profiles which were skipped or updated, and rows changed by the updates.
+ */
+public final class HardwareProfileMetrics {
+
+    public static final String SKIPPED = "skipped";
+    public static final String UPDATED = "updated";
+
+    public static final String INSERTED = "inserted";
+    public static final String DELETED = "deleted";
+
+    private static final Counter SECTIONS = Counter.build()
+            .name("hardware_profile_sections_total")
+            .help("tomcat - Sections of minion hardware profiles processed, by result")
+            .labelNames("section", "result")
+            .create();
+
+    private static final Counter ROWS = Counter.build()
+            .name("hardware_profile_rows_total")
+            .help("tomcat - Rows changed by minion hardware profile updates")
+            .labelNames("table", "operation")
+            .create();
+
+    private HardwareProfileMetrics() { }
+
+    /**
+     * Records the processing of a hardware profile section.
+     * @param section the section, e.g. 'devices'
+     * @param result {@link #SKIPPED} or {@link #UPDATED}
+     */
+    public static void section(String section, String result) {
+        SECTIONS.labels(section, result).inc();
+    }
+
+    /**
+     * Records rows changed by a hardware profile update.
+     * @param table the changed table
+     * @param operation {@link #INSERTED}, {@link #UPDATED} or {@link #DELETED}
+     * @param count the number of changed rows
+     */
+    public static void rows(String table, String operation, long count) {
+        if (count > 0) {
+            ROWS.labels(table, operation).inc(count);
+        }
+    }
+
+    /**
+     * Registers the metrics with the default registry.
+     */
+    static void register() {
+        SECTIONS.register();
+        ROWS.register();
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2025 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.suse.manager.metrics;
+
+import com.redhat.rhn.common.messaging.MessageQueue;
+import com.redhat.rhn.common.messaging.MessageStatistics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.prometheus.client.Collector;
+import io.prometheus.client.CounterMetricFamily;
+import io.prometheus.client.GaugeMetricFamily;
+
+/**
+ * Collector for the queues and the message types of the {@link MessageQueue}.
+ */
+public class MessageQueueCollector extends Collector {
+
+    private static final String PREFIX = "message_queue";
+
+    @Override
+    public List<MetricFamilySamples> collect() {
+        List<MetricFamilySamples> out = new ArrayList<>();
+
+        GaugeMetricFamily depth = new GaugeMetricFamily(PREFIX + "_depth",
+                "Number of messages waiting in the queue", List.of("queue"));
+        List<Integer> depths = MessageQueue.getQueueDepths();
+        for (int i = 0; i < depths.size(); i++) {
+            depth.addMetric(List.of(String.valueOf(i)), depths.get(i));
+        }
+        out.add(depth);
+
+        List<String> labels = List.of("type");
+        CounterMetricFamily published = new CounterMetricFamily(PREFIX + "_published_messages",
+                "Number of published messages", labels);
+        CounterMetricFamily executed = new CounterMetricFamily(PREFIX + "_executed_messages",
+                "Number of messages whose actions were executed", labels);
+        CounterMetricFamily waitTime = new CounterMetricFamily(PREFIX + "_wait_seconds",
+                "Time messages waited before their actions started", labels);
+        CounterMetricFamily executionTime = new CounterMetricFamily(PREFIX + "_execution_seconds",
+                "Time spent executing the actions of messages", labels);
+        for (Map.Entry<String, MessageStatistics.TypeStats> entry : MessageStatistics.getTypeStats().entrySet()) {
+            List<String> labelValues = List.of(entry.getKey());
+            MessageStatistics.TypeStats stats = entry.getValue();
+            published.addMetric(labelValues, stats.getPublished());
+            executed.addMetric(labelValues, stats.getExecuted());
+            waitTime.addMetric(labelValues, toSeconds(stats.getWaitNanos()));
+            executionTime.addMetric(labelValues, toSeconds(stats.getExecutionNanos()));
+        }
+        out.add(published);
+        out.add(executed);
+        out.add(waitTime);
+        out.add(executionTime);
+
+        return out;
+    }
+
+    private static double toSeconds(long nanos) {
+        return (double) nanos / TimeUnit.SECONDS.toNanos(1);
+    }
+}
@@ -87,6 +87,51 @@ public enum PrometheusExporter {
         }
     }
 
+    /**
+     * Register collector for the message queue statistics
+     */
+    public void registerMessageQueue() {
+        if (ENABLED) {
+            new MessageQueueCollector().register();
+        }
+    }
+
+    /**
+     * Register collector for the datasource query statistics
+     */
+    public void registerQueryStatistics() {
+        if (ENABLED) {
+            new QueryStatisticsCollector().register();
+        }
+    }
+
+    /**
+     * Register the metrics of the taskomatic API client
+     */
+    public void registerTaskomaticApiMetrics() {
+        if (ENABLED) {
+            TaskomaticApiMetrics.register();
+        }
+    }
+
+    /**
+     * Register the metrics of the minion hardware profile updates
+     */
+    public void registerHardwareProfileMetrics() {
+        if (ENABLED) {
+            HardwareProfileMetrics.register();
+        }
+    }
+
+    /**
+     * Register the metrics of the reporting database refresh
+     */
+    public void registerReportDbMetrics() {
+        if (ENABLED) {
+            ReportDbMetrics.register();
+        }
+    }
+
     /**
      * Register collector for systems statistics
      */
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2025 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.suse.manager.metrics;
+
+import com.redhat.rhn.common.db.datasource.QueryStatistics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.prometheus.client.Collector;
+import io.prometheus.client.CounterMetricFamily;
+
+/**
+ * Collector for the execution statistics of the datasource queries.
+ */
+public class QueryStatisticsCollector extends Collector {
+
+    private static final String PREFIX = "datasource";
+    private static final List<String> LABELS = List.of("query");
+
+    @Override
+    public List<MetricFamilySamples> collect() {
+        List<MetricFamilySamples> out = new ArrayList<>();
+
+        CounterMetricFamily executions = new CounterMetricFamily(PREFIX + "_query_executions",
+                PREFIX + " - Number of executions of a query", LABELS);
+        CounterMetricFamily executeTime = new CounterMetricFamily(PREFIX + "_query_execute_seconds",
+                PREFIX + " - Time spent preparing and executing a query and reading its results", LABELS);
+        for (Map.Entry<String, QueryStatistics.QueryStats> entry : QueryStatistics.getQueryStats().entrySet()) {
+            List<String> labelValues = List.of(entry.getKey());
+            QueryStatistics.QueryStats stats = entry.getValue();
+            executions.addMetric(labelValues, stats.getExecutions());
+            executeTime.addMetric(labelValues, toSeconds(stats.getExecuteNanos()));
+        }
+        out.add(executions);
+        out.add(executeTime);
+
+        out.add(CustomCollectorUtils.counterFor("statement_cache_hits",
+                "Number of statements found in the parsed statement cache", QueryStatistics.getCacheHits(), PREFIX));
+        out.add(CustomCollectorUtils.counterFor("statement_cache_misses",
+                "Number of statements which had to be parsed", QueryStatistics.getCacheMisses(), PREFIX));
+        out.add(CustomCollectorUtils.gaugeFor("statement_cache_size",
+                "Number of statements in the parsed statement cache", QueryStatistics.getCacheSize(), PREFIX));
+
+        return out;
+    }
+
+    private static double toSeconds(long nanos) {
+        return (double) nanos / TimeUnit.SECONDS.toNanos(1);
+    }
+}
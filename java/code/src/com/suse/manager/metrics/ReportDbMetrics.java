@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2025 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.suse.manager.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import io.prometheus.client.Counter;
+import io.prometheus.client.Histogram;
+
+/**
+ * Duration of the refresh of the reporting database tables, by table and mode, and amount of data copied
+ * from the peripheral servers reporting databases.
+ */
+public final class ReportDbMetrics {
+
+    public static final String FULL = "full";
+    public static final String INCREMENTAL = "incremental";
+    public static final String HUB = "hub";
+
+    private static final Histogram REFRESHES = Histogram.build()
+            .name("reportdb_table_refresh_seconds")
+            .help("taskomatic - Duration of the refresh of a reporting database table")
+            .labelNames("table", "mode")
+            .buckets(0.1, 0.5, 1, 5, 10, 30, 60, 300, 900, 1800, 3600)
+            .create();
+
+    private static final Counter HUB_ROWS = Counter.build()
+            .name("reportdb_hub_copied_rows_total")
+            .help("taskomatic - Rows copied from the reporting database of a peripheral server")
+            .labelNames("server")
+            .create();
+
+    private static final Counter HUB_BYTES = Counter.build()
+            .name("reportdb_hub_copied_bytes_total")
+            .help("taskomatic - Bytes copied from the reporting database of a peripheral server")
+            .labelNames("server")
+            .create();
+
+    private static final Histogram HUB_UPDATES = Histogram.build()
+            .name("reportdb_hub_update_seconds")
+            .help("taskomatic - Duration of the copy of the reporting database of a peripheral server")
+            .labelNames("server")
+            .buckets(1, 5, 10, 30, 60, 300, 900, 1800, 3600, 7200)
+            .create();
+
+    private ReportDbMetrics() { }
+
+    /**
+     * Records the refresh of a table.
+     * @param table the reporting database table
+     * @param mode {@link #FULL}, {@link #INCREMENTAL} or {@link #HUB}
+     * @param nanos the duration of the refresh in nanoseconds
+     */
+    public static void observe(String table, String mode, long nanos) {
+        REFRESHES.labels(table, mode).observe((double) nanos / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /**
+     * Records the copy of the reporting database of a peripheral server.
+     * @param serverId the id of the peripheral server
+     * @param rows the number of copied rows
+     * @param bytes the number of copied bytes
+     * @param nanos the duration of the copy in nanoseconds
+     */
+    public static void observeHubCopy(Long serverId, long rows, long bytes, long nanos) {
+        String server = String.valueOf(serverId);
+        HUB_ROWS.labels(server).inc(rows);
+        HUB_BYTES.labels(server).inc(bytes);
+        HUB_UPDATES.labels(server).observe((double) nanos / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /**
+     * Registers the metrics with the default registry.
+     */
+    static void register() {
+        REFRESHES.register();
+        HUB_ROWS.register();
+        HUB_BYTES.register();
+        HUB_UPDATES.register();
+    }
+}
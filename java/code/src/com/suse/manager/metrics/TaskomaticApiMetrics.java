@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2025 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.suse.manager.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import io.prometheus.client.Histogram;
+
+/**
+ * Latency of the calls to the taskomatic XMLRPC API, by method and result.
+ */
+public final class TaskomaticApiMetrics {
+
+    public static final String SUCCESS = "success";
+    public static final String ERROR = "error";
+
+    private static final Histogram CALLS = Histogram.build()
+            .name("taskomatic_api_call_seconds")
+            .help("taskomatic - Duration of the calls to the taskomatic API")
+            .labelNames("method", "result")
+            .buckets(0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30)
+            .create();
+
+    private TaskomaticApiMetrics() { }
+
+    /**
+     * Records a call to the taskomatic API.
+     * @param method the called method, e.g. 'tasko.scheduleRuns'
+     * @param result {@link #SUCCESS} or {@link #ERROR}
+     * @param nanos the duration of the call in nanoseconds
+     */
+    public static void observe(String method, String result, long nanos) {
+        CALLS.labels(method, result).observe((double) nanos / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /**
+     * Registers the metrics with the default registry.
+     */
+    static void register() {
+        CALLS.register();
+    }
+}
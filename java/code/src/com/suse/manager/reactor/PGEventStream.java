@@ -32,6 +32,7 @@ import com.suse.salt.netapi.event.AbstractEventStream;
 import com.suse.salt.netapi.exception.SaltException;
 import com.suse.salt.netapi.parser.JsonParser;
 
+import com.google.gson.JsonParseException;
 import com.impossibl.postgres.api.jdbc.PGConnection;
 import com.impossibl.postgres.api.jdbc.PGNotificationListener;
 import com.impossibl.postgres.jdbc.PGDataSource;
@@ -44,15 +45,17 @@ import java.io.IOException;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Optional;
 import java.util.Timer;
 import java.util.TimerTask;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.IntStream;
-import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
 /**
@@ -63,20 +66,27 @@ public class PGEventStream extends AbstractEventStream implements PGNotification
     private static final Logger LOG = LogManager.getLogger(PGEventStream.class);
     private static final int MAX_EVENTS_PER_COMMIT = ConfigDefaults.get().getSaltEventsPerCommit();
     private static final int THREAD_POOL_SIZE = ConfigDefaults.get().getSaltEventThreadPoolSize();
+    private static final int COALESCING_WINDOW = ConfigDefaults.get().getSaltEventCoalescingWindow();
 
     private final PGConnection connection;
-    private final List<ThreadPoolExecutor> executorServices = IntStream.range(0, THREAD_POOL_SIZE + 1).mapToObj(i ->
-        new ThreadPoolExecutor(
-                1,
-                1,
-                0L,
-                TimeUnit.MILLISECONDS,
-                new LinkedBlockingQueue<>(),
-                new BasicThreadFactory.Builder()
-                    .namingPattern(i == 0 ? "salt-global-event-thread-%d" : String.format("salt-event-thread-%d", i))
-                    .build()
-        )
-    ).toList();
+
+    // events without a minion are processed in order by a single thread
+    private final ThreadPoolExecutor globalExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(),
+            new BasicThreadFactory.Builder().namingPattern("salt-global-event-thread-%d").build());
+
+    // minion events of all the queues share the same threads, the order of the events of each minion is
+    // guaranteed by locking the minion while its events are processed
+    private final ThreadPoolExecutor minionExecutor = new ThreadPoolExecutor(THREAD_POOL_SIZE, THREAD_POOL_SIZE,
+            0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+            new BasicThreadFactory.Builder().namingPattern("salt-event-thread-%d").build());
+
+    private final List<ThreadPoolExecutor> executorServices = List.of(globalExecutor, minionExecutor);
+
+    // number of jobs scheduled or running for each queue
+    private final List<AtomicInteger> queueJobs = IntStream.range(0, THREAD_POOL_SIZE + 1)
+            .mapToObj(i -> new AtomicInteger())
+            .toList();
 
 
     /**
@@ -140,7 +150,7 @@ public class PGEventStream extends AbstractEventStream implements PGNotification
                         List<Long> allJobs = SaltEventFactory.countSaltEvents(THREAD_POOL_SIZE + 1);
 
                         List<Long> missingJobs = IntStream.range(0, allJobs.size())
-                            .mapToObj(i -> executorServices.get(i).getActiveCount() > 0 ? 0 : allJobs.get(i))
+                            .mapToObj(i -> queueJobs.get(i).get() > 0 ? 0 : allJobs.get(i))
                             .toList();
 
                         if (missingJobs.stream().mapToLong(l -> l).sum() > 0) {
@@ -183,24 +193,68 @@ public class PGEventStream extends AbstractEventStream implements PGNotification
     public void notification(List<Long> counts) {
         LOG.trace("Got notification: {}", counts);
         // compute the number of jobs we need to do - each job COMMITs individually
-        // jobs = events / MAX_EVENTS_PER_COMMIT (rounded up)
+        // jobs = events / MAX_EVENTS_PER_COMMIT (rounded up), limited to the number of threads
+        // which can work on the queue in parallel. Jobs keep rescheduling themselves until the queue is empty,
+        // so only the missing jobs are scheduled
         IntStream.range(0, THREAD_POOL_SIZE + 1).forEach(queue -> {
-            long jobs = (counts.get(queue) + MAX_EVENTS_PER_COMMIT - 1) / MAX_EVENTS_PER_COMMIT;
-
-            // queue one handlingTransaction(processEvents) call per job
-            LongStream.range(0L, jobs).forEach(job -> {
-                LOG.trace("Scheduling a job for queue {}", queue);
-                ThreadPoolExecutor executor = executorServices.get(queue);
-                executor.execute(() -> {
-                    List<SaltEvent> uncommittedEvents = new LinkedList<>();
-                    TransactionHelper.handlingTransaction(
-                            () -> processEvents(uncommittedEvents, queue),
-                            e -> handleExceptions(uncommittedEvents, e));
-                });
-            });
+            long maxJobs = queue == 0 ? 1 : THREAD_POOL_SIZE;
+            long jobs = Math.min(maxJobs, (counts.get(queue) + MAX_EVENTS_PER_COMMIT - 1) / MAX_EVENTS_PER_COMMIT);
+
+            AtomicInteger scheduled = queueJobs.get(queue);
+            for (int current = scheduled.get(); current < jobs; current = scheduled.get()) {
+                if (scheduled.compareAndSet(current, current + 1)) {
+                    LOG.trace("Scheduling a job for queue {}", queue);
+                    scheduleJob(queue);
+                }
+            }
         });
     }
 
+    private void scheduleJob(int queue) {
+        ThreadPoolExecutor executor = queue == 0 ? globalExecutor : minionExecutor;
+        executor.execute(() -> runJob(queue));
+    }
+
+    /**
+     * Processes one batch of events of a queue in its own transaction. If events were found, the job is
+     * scheduled again at the end of the executor queue, so that all queues get a fair share of the threads.
+     *
+     * @param queue the queue to process
+     */
+    private void runJob(int queue) {
+        if (processBatch(queue)) {
+            scheduleJob(queue);
+            return;
+        }
+        queueJobs.get(queue).decrementAndGet();
+        // events may have been added after the last check but before the job count was decremented, in that
+        // case their notification did not schedule a new job
+        if (processBatch(queue)) {
+            queueJobs.get(queue).incrementAndGet();
+            scheduleJob(queue);
+        }
+    }
+
+    /**
+     * Processes one batch of events of a queue in its own transaction.
+     * @param queue the queue to process
+     * @return true if any event was taken from the queue
+     */
+    private boolean processBatch(int queue) {
+        List<SaltEvent> uncommittedEvents = new LinkedList<>();
+        TransactionHelper.handlingTransaction(
+                () -> {
+                    if (queue == 0) {
+                        processEvents(uncommittedEvents, queue);
+                    }
+                    else {
+                        processMinionEvents(uncommittedEvents, queue);
+                    }
+                },
+                e -> handleExceptions(uncommittedEvents, e));
+        return !uncommittedEvents.isEmpty();
+    }
+
     /**
      * Reads one or more events from suseSaltEvent and notifies listeners
      * (typically, {@link PGEventListener#notify(Event)}).
@@ -218,10 +272,69 @@ public class PGEventStream extends AbstractEventStream implements PGNotification
                 LOG.trace(event.getData());
             }
             uncommittedEvents.add(event);
-            notifyListeners(JsonParser.EVENTS.parse(event.getData()));
+            parseEvent(event).ifPresent(this::notifyListeners);
         });
     }
 
+    /**
+     * Locks the next minion of a queue which is not being processed by another thread, reads its oldest events
+     * from suseSaltEvent and notifies listeners (typically, {@link PGEventListener#notify(Event)}). Redundant
+     * events are dropped without notifying the listeners, see {@link SaltEventCoalescer}.
+     *
+     * @param uncommittedEvents used to keep track of events being processed
+     * @param queue the queue of the minions to process
+     */
+    private void processMinionEvents(List<SaltEvent> uncommittedEvents, int queue) {
+        Optional<String> minionId = SaltEventFactory.lockNextMinion(queue);
+        if (minionId.isEmpty()) {
+            return;
+        }
+
+        List<SaltEvent> events = SaltEventFactory.peekMinionSaltEvents(minionId.get(), queue,
+                Math.max(MAX_EVENTS_PER_COMMIT, COALESCING_WINDOW));
+        // only the tags are needed to coalesce, the events are parsed when they are handled
+        List<Boolean> toHandle = COALESCING_WINDOW > 0 ?
+                SaltEventCoalescer.coalesce(events.stream()
+                        .map(event -> SaltEventCoalescer.readTag(event.getData()))
+                        .toList(), MAX_EVENTS_PER_COMMIT) :
+                Collections.nCopies(Math.min(events.size(), MAX_EVENTS_PER_COMMIT), true);
+
+        // track and delete the consumed events first, so that an event which cannot be handled is not
+        // picked again by the next job
+        List<SaltEvent> consumed = events.subList(0, toHandle.size());
+        uncommittedEvents.addAll(consumed);
+        SaltEventFactory.deleteSaltEvents(consumed.stream().map(SaltEvent::getId).toList());
+
+        for (int i = 0; i < consumed.size(); i++) {
+            SaltEvent event = consumed.get(i);
+            if (!toHandle.get(i)) {
+                LOG.debug("Dropping event {} of minion {}, superseded by a later event", event.getId(),
+                        event.getMinionId());
+                continue;
+            }
+            if (LOG.isTraceEnabled()) {
+                LOG.trace("Handling event {} of queue #{}", event.getId(), queue);
+                LOG.trace(event.getData());
+            }
+            parseEvent(event).ifPresent(this::notifyListeners);
+        }
+    }
+
+    /**
+     * Parses an event read from suseSaltEvent.
+     * @param event the event
+     * @return the parsed event, empty if the event is malformed and was dropped
+     */
+    private static Optional<Event> parseEvent(SaltEvent event) {
+        try {
+            return Optional.ofNullable(JsonParser.EVENTS.parse(event.getData()));
+        }
+        catch (JsonParseException e) {
+            LOG.error("Dropping malformed event {} of minion {}", event.getId(), event.getMinionId(), e);
+            return Optional.empty();
+        }
+    }
+
     /**
      * Handles any {@link Exception} raised from processEvents. Has special code to handle those that are thrown by
      * {@link PGEventListener}, as they may contain an exception handler.
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2025 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.suse.manager.reactor;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Drops redundant Salt events of a minion. Events which only carry the latest state of a minion are superseded
+ * when they are immediately followed by another event with the same tag, so only the last one of such a
+ * sequence needs to be handled.
+ */
+public class SaltEventCoalescer {
+
+    private static final List<Pattern> COALESCABLE_TAGS = List.of(
+            Pattern.compile("^salt/minion/[^/]+/start$"),
+            Pattern.compile("^salt/beacon/.+$")
+    );
+
+    private SaltEventCoalescer() { }
+
+    /**
+     * Checks whether an event with the given tag is superseded by a following event with the same tag
+     * @param tag the event tag
+     * @return true if the event can be coalesced
+     */
+    public static boolean isCoalescable(String tag) {
+        return tag != null && COALESCABLE_TAGS.stream().anyMatch(p -> p.matcher(tag).matches());
+    }
+
+    /**
+     * Reads the tag of a serialized Salt event without parsing the event data. The tag is written before the data,
+     * so the rest of the event is usually not even read.
+     * @param json the event as stored in suseSaltEvent, an object with the tag and data attributes
+     * @return the tag, or null if the event is malformed or has no tag
+     */
+    public static String readTag(String json) {
+        if (json == null) {
+            return null;
+        }
+        try (JsonReader reader = new JsonReader(new StringReader(json))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if ("tag".equals(reader.nextName()) && reader.peek() == JsonToken.STRING) {
+                    return reader.nextString();
+                }
+                reader.skipValue();
+            }
+            return null;
+        }
+        catch (IOException | IllegalStateException | JsonParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Decides which of the given events of a single minion are consumed in one go. Events are consumed in
+     * order until maxHandled events which need to be handled are found; superseded events do not count.
+     *
+     * @param tags the tags of the queued events of one minion, in order
+     * @param maxHandled the maximum number of events to be handled
+     * @return one entry per consumed event, in order: true if the event has to be handled, false if it is
+     * superseded by a later event and can be dropped. The list is shorter than tags if not all events are
+     * consumed.
+     */
+    public static List<Boolean> coalesce(List<String> tags, int maxHandled) {
+        List<Boolean> result = new ArrayList<>();
+        int handled = 0;
+        for (int i = 0; i < tags.size() && handled < maxHandled; i++) {
+            String tag = tags.get(i);
+            boolean superseded = i + 1 < tags.size() && isCoalescable(tag) && tag.equals(tags.get(i + 1));
+            result.add(!superseded);
+            if (!superseded) {
+                handled++;
+            }
+        }
+        return result;
+    }
+}
@@ -38,6 +38,7 @@ import com.redhat.rhn.domain.server.VirtualInstanceType;
 import com.redhat.rhn.manager.entitlement.EntitlementManager;
 import com.redhat.rhn.manager.system.VirtualInstanceManager;
 
+import com.suse.manager.metrics.HardwareProfileMetrics;
 import com.suse.manager.reactor.utils.ValueMap;
 import com.suse.manager.utils.SaltUtils;
 import com.suse.manager.webui.services.SaltGrains;
@@ -115,6 +116,28 @@ public class HardwareMapper {
         return grains.getValueAsLong("swap_total").orElse(0L);
     }
 
+    /**
+     * Maps a section of the hardware profile, unless its payload did not change since the last successful update
+     * of the section.
+     *
+     * @param section the name of the section, used in metrics
+     * @param payloadHash the hash of the payload of the section
+     * @param lastHash the hash stored by the last successful update of the section, can be null
+     * @param mapping the mapping of the section
+     * @return the hash to store for the section, null if the mapping reported errors
+     */
+    public String mapSection(String section, String payloadHash, String lastHash, Runnable mapping) {
+        if (payloadHash.equals(lastHash)) {
+            LOG.debug("Hardware profile section {} of minion {} is unchanged", section, server.getMinionId());
+            HardwareProfileMetrics.section(section, HardwareProfileMetrics.SKIPPED);
+            return lastHash;
+        }
+        int errorCount = errors.size();
+        mapping.run();
+        HardwareProfileMetrics.section(section, HardwareProfileMetrics.UPDATED);
+        return errors.size() == errorCount ? payloadHash : null;
+    }
+
     /**
      * Store CPU information given as a {@link ValueMap}.
      *
@@ -272,147 +295,183 @@ public class HardwareMapper {
     }
 
     /**
-     * Map devices as found in exported udevdb returned from Salt.
+     * Map devices as found in exported udevdb returned from Salt. Only the devices which differ from the stored
+     * ones are deleted or inserted.
      *
      * @param udevdb exported contents of udevdb
      */
     public void mapDevices(List<Map<String, Object>> udevdb) {
-        // remove any existing devices in case we're refreshing the hw info
-        for (Device device : server.getDevices()) {
-            ServerFactory.delete(device);
-        }
-        server.getDevices().clear();
-
+        List<Device> devices = new LinkedList<>();
         if (udevdb == null || udevdb.isEmpty()) {
             errors.add("Devices: Salt module 'udevdb.exportdb' returned an empty list");
             LOG.error("Salt module 'udevdb.exportdb' returned an empty list for minion: {}", server.getMinionId());
-            return;
+        }
+        else {
+            udevdb.forEach(dbdev -> toDevice(udevdb, dbdev).ifPresent(devices::add));
         }
 
-        udevdb.forEach(dbdev -> {
-            String devpath = (String)dbdev.get(SYSFS_PATH); // sysfs path without /sys
-            @SuppressWarnings("unchecked")
-            ValueMap props = new ValueMap((Map<String, Object>) dbdev.get(ENTRIES));
-            String subsys = props.getValueAsString("SUBSYSTEM");
-
-            if ("pci".equals(subsys) || "usb".equals(subsys) ||
-                    "block".equals(subsys) || "ccw".equals(subsys) ||
-                    "scsi".equals(subsys)) {
-
-                Device device = new Device();
-                device.setBus(subsys);
-                device.setDriver(props.getValueAsString("DRIVER"));
-                device.setPcitype(classifyPciType(subsys));
-                device.setDetached(0L);
-                device.setDeviceClass(classifyClass(server.getMinionId(), dbdev));
-                device.setDescription(getDeviceDesc(props));
-
-                if (device.getDeviceClass() == null) {
-                    device.setDeviceClass(Device.CLASS_OTHER);
-                }
-                if (StringUtils.isBlank(device.getDriver())) {
-                    device.setDriver("unknown");
-                }
-                switch (subsys) {
-                    case "block":
-                        if (StringUtils.isNotBlank(props.getValueAsString("ID_BUS"))) {
-                            device.setBus(props.getValueAsString("ID_BUS"));
-                        }
-                        // the sysname is the part after the last "/"
-                        // see libudev/libudev-device.c, udev_device_set_syspath(...)
-                        String name = StringUtils.substringAfterLast(devpath, "/");
-                        device.setDevice(name);
-
-                        if (props.getValueAsString("DEVTYPE").equals("partition")) {
-                            // do not report partitions, just whole disks
-                            return;
-                        }
-                        if (StringUtils.isNotBlank(props.getValueAsString("DM_NAME"))) {
-                            // LVM device
-                            return;
-                        }
-                        if (props.getValueAsString("MAJOR").equals("1")) {
-                            // ram device
-                            return;
-                        }
-                        if (props.getValueAsString("MAJOR").equals("7")) {
-                            // character devices for virtual console terminals
-                            return;
-                        }
-                        // This is interpreted as Physical. But what to do with it?
-                        // result_item['prop1'] = ''
-                        // This is interpreted as Logical. But what to do with it?
-                        // result_item['prop2'] = ''
-                        break;
-                    case "pci":
-                        String pciClass = props.getValueAsString("PCI_ID");
-                        if (StringUtils.isNotBlank(pciClass)) {
-                            String[] ids = pciClass.split(":");
-                            device.setProp1(ids.length > 0 ? ids[0] : null);
-                            device.setProp2(ids.length > 1 ? ids[1] : null);
-                        }
-                        String pciSubsys = props.getValueAsString("PCI_SUBSYS_ID");
-                        if (StringUtils.isNotBlank(pciSubsys)) {
-                            String[] ids = pciSubsys.split(":");
-                            device.setProp3(ids.length > 0 ? ids[0] : null);
-                            device.setProp4(ids.length > 1 ? ids[1] : null);
-                        }
-                        break;
-                    case "usb":
-                        String vendorId = props.getValueAsString("ID_VENDOR_ID");
-                        if (StringUtils.isNotBlank(vendorId)) {
-                            device.setProp1(vendorId);
-                        }
-                        String modelId = props.getValueAsString("ID_MODEL_ID");
-                        if (StringUtils.isNotBlank(modelId)) {
-                            device.setProp2(modelId);
-                        }
-                        break;
-                    case "scsi":
-                        // skip scsi hosts and targets
-                        if (!props.getValueAsString("DEVTYPE").equals("scsi_device")) {
-                            return;
-                        }
-                        // check if this scsi device is already listed as a block device
-                        if (udevdb.stream().anyMatch(dev ->
-                                Objects.toString(dev.get(SYSFS_PATH), "").startsWith(devpath) &&
-                                        Optional.ofNullable(dev.get(ENTRIES))
-                                                .filter(Map.class::isInstance)
-                                                .map(Map.class::cast)
-                                                .filter(m -> "block".equals(m.get("SUBSYSTEM"))
-                                                ).isPresent())) {
-                            return;
-                        }
-                        break;
-                    default:
-                        LOG.warn("ignore unknown subsystem {}", subsys);
-                        break;
-                }
+        // keep the existing devices which are also reported, remove the others and add the new ones
+        Map<DeviceKey, List<Device>> existing = server.getDevices().stream()
+                .collect(Collectors.groupingBy(DeviceKey::of, Collectors.toCollection(LinkedList::new)));
+        List<Device> added = new LinkedList<>();
+        for (Device device : devices) {
+            List<Device> same = existing.getOrDefault(DeviceKey.of(device), Collections.emptyList());
+            if (same.isEmpty()) {
+                added.add(device);
+            }
+            else {
+                same.remove(0);
+            }
+        }
+        List<Device> removed = existing.values().stream().flatMap(List::stream).toList();
+        for (Device device : removed) {
+            server.getDevices().remove(device);
+            ServerFactory.delete(device);
+        }
+        for (Device device : added) {
+            device.setServer(server);
+            server.getDevices().add(device);
+        }
+        HardwareProfileMetrics.rows("rhnDevice", HardwareProfileMetrics.DELETED, removed.size());
+        HardwareProfileMetrics.rows("rhnDevice", HardwareProfileMetrics.INSERTED, added.size());
+    }
 
-                if (props.getValueAsString("ID_BUS").equals("scsi")) {
-                    String idpath = props.getValueAsString("ID_PATH");
-                    String dpath = props.getValueAsString("DEVPATH");
-                    Matcher m;
-                    if (StringUtils.isNotBlank(idpath)) {
-                        m = Pattern.compile(".*scsi-(\\d+):(\\d+):(\\d+):(\\d+)")
-                                .matcher(idpath);
+    /**
+     * The stored values of a device.
+     */
+    private record DeviceKey(String deviceClass, String bus, Long detached, String device, String driver,
+                             String description, Long pcitype, String prop1, String prop2, String prop3,
+                             String prop4) {
+
+        static DeviceKey of(Device d) {
+            return new DeviceKey(d.getDeviceClass(), d.getBus(), d.getDetached(), d.getDevice(), d.getDriver(),
+                    d.getDescription(), d.getPcitype(), d.getProp1(), d.getProp2(), d.getProp3(), d.getProp4());
+        }
+    }
+
+    private Optional<Device> toDevice(List<Map<String, Object>> udevdb, Map<String, Object> dbdev) {
+        String devpath = (String)dbdev.get(SYSFS_PATH); // sysfs path without /sys
+        @SuppressWarnings("unchecked")
+        ValueMap props = new ValueMap((Map<String, Object>) dbdev.get(ENTRIES));
+        String subsys = props.getValueAsString("SUBSYSTEM");
+
+        if ("pci".equals(subsys) || "usb".equals(subsys) ||
+                "block".equals(subsys) || "ccw".equals(subsys) ||
+                "scsi".equals(subsys)) {
+
+            Device device = new Device();
+            device.setBus(subsys);
+            device.setDriver(props.getValueAsString("DRIVER"));
+            device.setPcitype(classifyPciType(subsys));
+            device.setDetached(0L);
+            device.setDeviceClass(classifyClass(server.getMinionId(), dbdev));
+            device.setDescription(getDeviceDesc(props));
+
+            if (device.getDeviceClass() == null) {
+                device.setDeviceClass(Device.CLASS_OTHER);
+            }
+            if (StringUtils.isBlank(device.getDriver())) {
+                device.setDriver("unknown");
+            }
+            switch (subsys) {
+                case "block":
+                    if (StringUtils.isNotBlank(props.getValueAsString("ID_BUS"))) {
+                        device.setBus(props.getValueAsString("ID_BUS"));
                     }
-                    else {
-                        m = Pattern.compile(".*/(\\d+):(\\d+):(\\d+):(\\d+)/block/")
-                                .matcher(dpath);
+                    // the sysname is the part after the last "/"
+                    // see libudev/libudev-device.c, udev_device_set_syspath(...)
+                    String name = StringUtils.substringAfterLast(devpath, "/");
+                    device.setDevice(name);
+
+                    if (props.getValueAsString("DEVTYPE").equals("partition")) {
+                        // do not report partitions, just whole disks
+                        return Optional.empty();
                     }
-                    if (m.matches()) {
-                        device.setProp1(m.group(1)); // DEV_HOST
-                        device.setProp2(m.group(2)); // DEV_ID
-                        device.setProp3(m.group(3)); // DEV_CHANNEL
-                        device.setProp4(m.group(4)); // DEV_LUN
+                    if (StringUtils.isNotBlank(props.getValueAsString("DM_NAME"))) {
+                        // LVM device
+                        return Optional.empty();
                     }
-                }
+                    if (props.getValueAsString("MAJOR").equals("1")) {
+                        // ram device
+                        return Optional.empty();
+                    }
+                    if (props.getValueAsString("MAJOR").equals("7")) {
+                        // character devices for virtual console terminals
+                        return Optional.empty();
+                    }
+                    // This is interpreted as Physical. But what to do with it?
+                    // result_item['prop1'] = ''
+                    // This is interpreted as Logical. But what to do with it?
+                    // result_item['prop2'] = ''
+                    break;
+                case "pci":
+                    String pciClass = props.getValueAsString("PCI_ID");
+                    if (StringUtils.isNotBlank(pciClass)) {
+                        String[] ids = pciClass.split(":");
+                        device.setProp1(ids.length > 0 ? ids[0] : null);
+                        device.setProp2(ids.length > 1 ? ids[1] : null);
+                    }
+                    String pciSubsys = props.getValueAsString("PCI_SUBSYS_ID");
+                    if (StringUtils.isNotBlank(pciSubsys)) {
+                        String[] ids = pciSubsys.split(":");
+                        device.setProp3(ids.length > 0 ? ids[0] : null);
+                        device.setProp4(ids.length > 1 ? ids[1] : null);
+                    }
+                    break;
+                case "usb":
+                    String vendorId = props.getValueAsString("ID_VENDOR_ID");
+                    if (StringUtils.isNotBlank(vendorId)) {
+                        device.setProp1(vendorId);
+                    }
+                    String modelId = props.getValueAsString("ID_MODEL_ID");
+                    if (StringUtils.isNotBlank(modelId)) {
+                        device.setProp2(modelId);
+                    }
+                    break;
+                case "scsi":
+                    // skip scsi hosts and targets
+                    if (!props.getValueAsString("DEVTYPE").equals("scsi_device")) {
+                        return Optional.empty();
+                    }
+                    // check if this scsi device is already listed as a block device
+                    if (udevdb.stream().anyMatch(dev ->
+                            Objects.toString(dev.get(SYSFS_PATH), "").startsWith(devpath) &&
+                                    Optional.ofNullable(dev.get(ENTRIES))
+                                            .filter(Map.class::isInstance)
+                                            .map(Map.class::cast)
+                                            .filter(m -> "block".equals(m.get("SUBSYSTEM"))
+                                            ).isPresent())) {
+                        return Optional.empty();
+                    }
+                    break;
+                default:
+                    LOG.warn("ignore unknown subsystem {}", subsys);
+                    break;
+            }
 
-                device.setServer(server);
-                server.getDevices().add(device);
+            if (props.getValueAsString("ID_BUS").equals("scsi")) {
+                String idpath = props.getValueAsString("ID_PATH");
+                String dpath = props.getValueAsString("DEVPATH");
+                Matcher m;
+                if (StringUtils.isNotBlank(idpath)) {
+                    m = Pattern.compile(".*scsi-(\\d+):(\\d+):(\\d+):(\\d+)")
+                            .matcher(idpath);
+                }
+                else {
+                    m = Pattern.compile(".*/(\\d+):(\\d+):(\\d+):(\\d+)/block/")
+                            .matcher(dpath);
+                }
+                if (m.matches()) {
+                    device.setProp1(m.group(1)); // DEV_HOST
+                    device.setProp2(m.group(2)); // DEV_ID
+                    device.setProp3(m.group(3)); // DEV_CHANNEL
+                    device.setProp4(m.group(4)); // DEV_LUN
+                }
             }
-        });
+
+            return Optional.of(device);
+        }
+        return Optional.empty();
     }
 
     /**
@@ -801,10 +860,12 @@ public class HardwareMapper {
         setFqdns(server, fqdns);
 
         // remove interfaces not present in the Salt result
-        server.getNetworkInterfaces().removeAll(
-                server.getNetworkInterfaces().stream()
-                        .filter(netIf -> !interfaces.containsKey(netIf.getName()))
-                        .collect(Collectors.toSet()));
+        Set<NetworkInterface> removedInterfaces = server.getNetworkInterfaces().stream()
+                .filter(netIf -> !interfaces.containsKey(netIf.getName()))
+                .collect(Collectors.toSet());
+        server.getNetworkInterfaces().removeAll(removedInterfaces);
+        HardwareProfileMetrics.rows("rhnServerNetInterface", HardwareProfileMetrics.DELETED,
+                removedInterfaces.size());
 
         // add/update interfaces from the Salt result
         interfaces.forEach((name, saltIface) -> {
@@ -823,12 +884,15 @@ public class HardwareMapper {
 
             server.addNetworkInterface(iface);
 
-            // we have to do this because we need the id of the interface afterwards
-            ServerFactory.saveNetworkInterface(iface);
-            // flush & refresh iface because generated="insert"
-            // on interfaceId does not seem to work
-            HibernateFactory.getSession().flush();
-            HibernateFactory.getSession().refresh(iface);
+            if (iface.getInterfaceId() == null) {
+                // we have to do this because we need the id of the interface afterwards
+                ServerFactory.saveNetworkInterface(iface);
+                // flush & refresh iface because generated="insert"
+                // on interfaceId does not seem to work
+                HibernateFactory.getSession().flush();
+                HibernateFactory.getSession().refresh(iface);
+                HardwareProfileMetrics.rows("rhnServerNetInterface", HardwareProfileMetrics.INSERTED, 1);
+            }
 
             List<ServerNetAddress4> dbipv4 = ServerNetworkFactory.findServerNetAddress4(iface.getInterfaceId());
             List<Network.INet> saltipv4 = Optional.ofNullable(saltIface.getInet()).orElse(new LinkedList<>());
@@ -855,10 +919,12 @@ public class HardwareMapper {
                     ipv4.setBroadcast(inet.getBroadcast().orElse(null));
 
                     ServerNetworkFactory.saveServerNetAddress4(ipv4);
+                    HardwareProfileMetrics.rows("rhnServerNetAddress4", HardwareProfileMetrics.INSERTED, 1);
                 }
             }
-            dbipv4.stream().filter(ipv4 -> !dbfound.contains(ipv4))
-                    .forEach(ServerNetworkFactory::removeServerNetAddress4);
+            List<ServerNetAddress4> removedIpv4 = dbipv4.stream().filter(ipv4 -> !dbfound.contains(ipv4)).toList();
+            removedIpv4.forEach(ServerNetworkFactory::removeServerNetAddress4);
+            HardwareProfileMetrics.rows("rhnServerNetAddress4", HardwareProfileMetrics.DELETED, removedIpv4.size());
 
             List<ServerNetAddress6> dbipv6 = ServerNetworkFactory.findServerNetAddress6(iface.getInterfaceId());
             List<Network.INet6> saltipv6 = Optional.ofNullable(saltIface.getInet6()).orElse(new LinkedList<>());
@@ -885,10 +951,12 @@ public class HardwareMapper {
                     ipv6.setScope(Optional.ofNullable(inet.getScope()).orElse("unknown"));
 
                     ServerNetworkFactory.saveServerNetAddress6(ipv6);
+                    HardwareProfileMetrics.rows("rhnServerNetAddress6", HardwareProfileMetrics.INSERTED, 1);
                 }
             }
-            dbipv6.stream().filter(ipv6 -> !dbfound6.contains(ipv6))
-                    .forEach(ServerNetworkFactory::removeServerNetAddress6);
+            List<ServerNetAddress6> removedIpv6 = dbipv6.stream().filter(ipv6 -> !dbfound6.contains(ipv6)).toList();
+            removedIpv6.forEach(ServerNetworkFactory::removeServerNetAddress6);
+            HardwareProfileMetrics.rows("rhnServerNetAddress6", HardwareProfileMetrics.DELETED, removedIpv6.size());
         });
 
         // reset primary IP flag, we will re-compute it
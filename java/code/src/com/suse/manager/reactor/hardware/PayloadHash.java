@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2025 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.suse.manager.reactor.hardware;
+
+import com.suse.salt.netapi.parser.JsonParser;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Content hash of Salt payloads, used to detect unchanged sections of the hardware profile of a minion.
+ */
+public final class PayloadHash {
+
+    private PayloadHash() { }
+
+    /**
+     * Computes the hash of payloads as returned by Salt. The order of the keys of JSON objects does not matter,
+     * the order of the elements of JSON arrays does.
+     *
+     * @param payloads the payloads, may contain nulls
+     * @return the hex encoded SHA-256 hash
+     */
+    public static String of(Object... payloads) {
+        MessageDigest digest = DigestUtils.getSha256Digest();
+        for (Object payload : payloads) {
+            String json = canonical(JsonParser.GSON.toJsonTree(payload)).toString();
+            digest.update(json.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+        }
+        return Hex.encodeHexString(digest.digest());
+    }
+
+    private static JsonElement canonical(JsonElement element) {
+        if (element.isJsonObject()) {
+            Map<String, JsonElement> sorted = new TreeMap<>();
+            element.getAsJsonObject().entrySet().forEach(e -> sorted.put(e.getKey(), canonical(e.getValue())));
+            JsonObject object = new JsonObject();
+            sorted.forEach(object::add);
+            return object;
+        }
+        if (element.isJsonArray()) {
+            JsonArray array = new JsonArray();
+            element.getAsJsonArray().forEach(e -> array.add(canonical(e)));
+            return array;
+        }
+        return element;
+    }
+}
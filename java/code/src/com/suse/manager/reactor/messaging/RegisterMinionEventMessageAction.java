@@ -822,6 +822,12 @@ public class RegisterMinionEventMessageAction implements MessageAction {
 
                 // remove package profile
                 minion.getPackages().clear();
+                minion.setPackageProfileHash(null);
+
+                // the next hardware profile update cannot be skipped
+                minion.setHwProfileHash(null);
+                minion.setHwDevicesHash(null);
+                minion.setHwNetworkHash(null);
 
                 // clear config channels
                 minion.setConfigChannels(Collections.emptyList(), minion.getCreator());
@@ -50,6 +50,7 @@ import com.redhat.rhn.domain.image.ImageStore;
 import com.redhat.rhn.domain.product.test.SUSEProductTestUtils;
 import com.redhat.rhn.domain.rhnpackage.Package;
 import com.redhat.rhn.domain.rhnpackage.test.PackageNameTest;
+import com.redhat.rhn.domain.server.Device;
 import com.redhat.rhn.domain.server.InstalledPackage;
 import com.redhat.rhn.domain.server.MinionServer;
 import com.redhat.rhn.domain.server.MinionServerFactory;
@@ -1076,6 +1077,49 @@ public class JobReturnEventMessageActionTest extends JMockBaseTestCaseWithUser {
         messageAction.execute(message);
     }
 
+    @Test
+    public void testHardwareProfileUnchangedIsSkipped()  throws Exception {
+        MinionServer minion = testHardwareProfileUpdate("hardware.profileupdate.x86.json", server -> {
+            assertNotNull(server.getHwProfileHash());
+            assertNotNull(server.getHwDevicesHash());
+            assertNotNull(server.getHwNetworkHash());
+        });
+        HibernateFactory.getSession().flush();
+
+        String profileHash = minion.getHwProfileHash();
+        Set<Long> deviceIds = minion.getDevices().stream().map(Device::getId).collect(Collectors.toSet());
+        assertFalse(deviceIds.isEmpty());
+
+        Action action = ActionFactoryTest.createAction(
+                user, ActionFactory.TYPE_HARDWARE_REFRESH_LIST);
+        action.addServerAction(ActionFactoryTest.createServerAction(minion, action));
+        Optional<JobReturnEvent> event = JobReturnEvent.parse(
+                getJobReturnEvent("hardware.profileupdate.x86.json", action.getId()));
+        JobReturnEventMessageAction messageAction = new JobReturnEventMessageAction(saltServerActionService, saltUtils);
+        messageAction.execute(new JobReturnEventMessage(event.get()));
+        HibernateFactory.getSession().flush();
+
+        // the devices were neither deleted nor inserted again
+        assertEquals(profileHash, minion.getHwProfileHash());
+        assertEquals(deviceIds, minion.getDevices().stream().map(Device::getId).collect(Collectors.toSet()));
+
+        // a changed udevdb only updates the rows of the changed devices
+        minion.setHwDevicesHash(null);
+        Device removed = minion.getDevices().iterator().next();
+        removed.setDescription("outdated description");
+        action = ActionFactoryTest.createAction(user, ActionFactory.TYPE_HARDWARE_REFRESH_LIST);
+        action.addServerAction(ActionFactoryTest.createServerAction(minion, action));
+        event = JobReturnEvent.parse(getJobReturnEvent("hardware.profileupdate.x86.json", action.getId()));
+        messageAction.execute(new JobReturnEventMessage(event.get()));
+        HibernateFactory.getSession().flush();
+
+        Set<Long> newDeviceIds = minion.getDevices().stream().map(Device::getId).collect(Collectors.toSet());
+        assertEquals(deviceIds.size(), newDeviceIds.size());
+        assertFalse(newDeviceIds.contains(removed.getId()));
+        newDeviceIds.retainAll(deviceIds);
+        assertEquals(deviceIds.size() - 1, newDeviceIds.size());
+    }
+
     @Test
     public void testHardwareProfileUpdatePrimaryIPsEmptySSH()  throws Exception {
         MinionServer server = MinionServerFactoryTest.createTestMinionServer(user);
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2025 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.suse.manager.reactor.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.suse.manager.reactor.SaltEventCoalescer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+/**
+ * Test for {@link SaltEventCoalescer}
+ */
+public class SaltEventCoalescerTest {
+
+    private static final String START = "salt/minion/minion1/start";
+    private static final String BEACON = "salt/beacon/minion1/pkgset/changed";
+    private static final String JOB = "salt/job/20250101000000000000/ret/minion1";
+
+    @Test
+    public void testIsCoalescable() {
+        assertTrue(SaltEventCoalescer.isCoalescable(START));
+        assertTrue(SaltEventCoalescer.isCoalescable(BEACON));
+        assertFalse(SaltEventCoalescer.isCoalescable(JOB));
+        assertFalse(SaltEventCoalescer.isCoalescable("salt/batch/20250101000000000000/start"));
+        assertFalse(SaltEventCoalescer.isCoalescable(null));
+    }
+
+    @Test
+    public void testCoalesceRepeatedEvents() {
+        // only the last of a sequence of identical events is handled
+        assertEquals(List.of(false, false, true, true),
+                SaltEventCoalescer.coalesce(List.of(START, START, START, BEACON), 10));
+
+        // job returns are never coalesced
+        assertEquals(List.of(true, true), SaltEventCoalescer.coalesce(List.of(JOB, JOB), 10));
+
+        // events separated by a different event are both handled
+        assertEquals(List.of(true, true, true), SaltEventCoalescer.coalesce(List.of(START, JOB, START), 10));
+    }
+
+    @Test
+    public void testCoalesceMaxHandled() {
+        // superseded events do not count towards the maximum
+        assertEquals(List.of(false, false, true),
+                SaltEventCoalescer.coalesce(List.of(BEACON, BEACON, BEACON, JOB, START), 1));
+        assertEquals(List.of(true, false, true), SaltEventCoalescer.coalesce(List.of(JOB, START, START), 2));
+        assertEquals(List.of(), SaltEventCoalescer.coalesce(List.of(), 1));
+    }
+
+    @Test
+    public void testReadTag() {
+        assertEquals(START,
+                SaltEventCoalescer.readTag("{\"tag\": \"" + START + "\", \"data\": {\"id\": \"minion1\"}}"));
+        assertEquals(JOB, SaltEventCoalescer.readTag("{\"data\": {\"tag\": \"x\"}, \"tag\": \"" + JOB + "\"}"));
+        // the data after the tag is not read
+        assertEquals(BEACON, SaltEventCoalescer.readTag("{\"tag\": \"" + BEACON + "\", \"data\": {"));
+        assertNull(SaltEventCoalescer.readTag("{\"data\": {}}"));
+        assertNull(SaltEventCoalescer.readTag("{\"data\": "));
+        assertNull(SaltEventCoalescer.readTag("not json"));
+        assertNull(SaltEventCoalescer.readTag(null));
+    }
+}
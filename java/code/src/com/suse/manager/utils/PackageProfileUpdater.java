@@ -0,0 +1,392 @@
+/*
+ * Copyright (c) 2025 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.suse.manager.utils;
+
+import com.redhat.rhn.common.db.datasource.DataResult;
+import com.redhat.rhn.common.db.datasource.ModeFactory;
+import com.redhat.rhn.common.db.datasource.SelectMode;
+import com.redhat.rhn.common.db.datasource.WriteMode;
+import com.redhat.rhn.domain.product.Tuple2;
+import com.redhat.rhn.domain.rhnpackage.PackageArch;
+import com.redhat.rhn.domain.rhnpackage.PackageEvr;
+import com.redhat.rhn.domain.rhnpackage.PackageFactory;
+import com.redhat.rhn.domain.rhnpackage.PackageType;
+import com.redhat.rhn.domain.server.MinionServer;
+
+import com.suse.salt.netapi.calls.modules.Pkg;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Writes the package profile reported by a minion to rhnServerPackage with plain SQL.
+ *
+ * After a patch day many minions send their full package list at the same time. Instead
+ * of loading the installed packages as Hibernate collection and looking up every new name
+ * and EVR with its own query, an update:
+ * <ul>
+ *     <li>is skipped if the hash of the reported profile matches the one stored for the minion,</li>
+ *     <li>computes the delta against the installed package rows, without loading entities,</li>
+ *     <li>resolves names and EVRs with one query each, using in-process caches of known ids,</li>
+ *     <li>writes the delta with one DELETE and one INSERT.</li>
+ * </ul>
+ * Package names, EVRs and architectures are never deleted, so cached ids stay valid unless the
+ * transaction that created them was rolled back. The INSERT skips rows referring to unknown ids,
+ * in that case the caches are dropped and the missing rows are resolved and inserted again.
+ */
+public class PackageProfileUpdater {
+
+    private static final Logger LOG = LogManager.getLogger(PackageProfileUpdater.class);
+
+    /** Maximum number of package names kept in the cache */
+    static final int MAX_NAMES = 50_000;
+
+    /** Maximum number of EVRs kept in the cache */
+    static final int MAX_EVRS = 200_000;
+
+    private static final Map<String, Long> NAME_IDS = lruCache(MAX_NAMES);
+    private static final Map<String, Long> EVR_IDS = lruCache(MAX_EVRS);
+    private static final Map<String, Long> ARCH_IDS = new ConcurrentHashMap<>();
+
+    private PackageProfileUpdater() {
+    }
+
+    private static <V> Map<String, V> lruCache(int maxSize) {
+        return Collections.synchronizedMap(new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    /**
+     * Ids of a row in rhnServerPackage. The architecture id might be null.
+     */
+    private static final class PackageIds {
+
+        private final long nameId;
+        private final long evrId;
+        private final Long archId;
+
+        private PackageIds(long nameIdIn, long evrIdIn, Long archIdIn) {
+            nameId = nameIdIn;
+            evrId = evrIdIn;
+            archId = archIdIn;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof PackageIds ids && nameId == ids.nameId && evrId == ids.evrId &&
+                    Objects.equals(archId, ids.archId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(nameId, evrId, archId);
+        }
+    }
+
+    /**
+     * EVR of a reported package, in the form stored in the database.
+     */
+    private static final class Evr {
+
+        private final String epoch;
+        private final String version;
+        private final String release;
+
+        private Evr(String epochIn, String versionIn, String releaseIn) {
+            epoch = StringUtils.defaultString(epochIn);
+            version = versionIn;
+            release = releaseIn;
+        }
+
+        private String key(PackageType type) {
+            return type.getDbString() + "|" + epoch + "|" + version + "|" + release;
+        }
+    }
+
+    /**
+     * Replaces the installed packages of a minion with the given ones.
+     *
+     * @param server the minion
+     * @param packages the reported packages as name and info, by the key produced by
+     * {@link SaltUtils#packageToKey(String, Pkg.Info)}
+     * @return true if the installed packages were changed, false if the profile was unchanged
+     */
+    public static boolean update(MinionServer server, Map<String, Tuple2<String, Pkg.Info>> packages) {
+        String hash = profileHash(packages.keySet());
+        if (hash.equals(server.getPackageProfileHash()) && countInstalledPackages(server) == packages.size()) {
+            LOG.debug("Package profile of minion {} is unchanged", server.getMinionId());
+            return false;
+        }
+
+        Map<String, PackageIds> installed = loadInstalledPackages(server);
+
+        List<PackageIds> toRemove = installed.entrySet().stream()
+                .filter(e -> !packages.containsKey(e.getKey()))
+                .map(Map.Entry::getValue)
+                .toList();
+        Map<String, Tuple2<String, Pkg.Info>> toAdd = packages.entrySet().stream()
+                .filter(e -> !installed.containsKey(e.getKey()))
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+
+        if (!toRemove.isEmpty()) {
+            deletePackages(server, toRemove);
+        }
+        if (!toAdd.isEmpty()) {
+            insertPackages(server, toAdd);
+        }
+        server.setPackageProfileHash(hash);
+
+        LOG.debug("Package profile of minion {} updated: {} removed, {} added", server.getMinionId(),
+                toRemove.size(), toAdd.size());
+        return !toRemove.isEmpty() || !toAdd.isEmpty();
+    }
+
+    /**
+     * Computes the hash identifying a package profile. The order of the keys does not matter.
+     *
+     * @param keys the keys of the packages, as produced by
+     * {@link SaltUtils#packageToKey(String, Pkg.Info)}
+     * @return the hex encoded SHA-256 hash
+     */
+    public static String profileHash(Collection<String> keys) {
+        MessageDigest digest = DigestUtils.getSha256Digest();
+        for (String key : new TreeSet<>(keys)) {
+            digest.update(key.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+        }
+        return Hex.encodeHexString(digest.digest());
+    }
+
+    /**
+     * Drops the cached package name, EVR and architecture ids.
+     */
+    public static void clearCaches() {
+        NAME_IDS.clear();
+        EVR_IDS.clear();
+        ARCH_IDS.clear();
+    }
+
+    private static long countInstalledPackages(MinionServer server) {
+        SelectMode m = ModeFactory.getMode("Package_queries", "server_package_count");
+        DataResult<Map<String, Object>> result = m.execute(Map.of("sid", server.getId()));
+        return (Long) result.get(0).get("count");
+    }
+
+    private static Map<String, PackageIds> loadInstalledPackages(MinionServer server) {
+        SelectMode m = ModeFactory.getMode("Package_queries", "server_package_profile");
+        DataResult<Map<String, Object>> rows = m.execute(Map.of("sid", server.getId()));
+
+        Map<String, PackageIds> installed = new HashMap<>(rows.size() * 2);
+        for (Map<String, Object> row : rows) {
+            PackageEvr evr = new PackageEvr((String) row.get("epoch"), (String) row.get("version"),
+                    (String) row.get("release"), (String) row.get("type"));
+            String arch = (String) row.get("arch_label");
+
+            // Same key as SaltUtils.packageToKey(InstalledPackage)
+            String key = row.get("name") + "-" + evr.toUniversalEvrString() + "." +
+                    (arch == null ? "unknown" : StringUtils.substringBeforeLast(arch, "-deb"));
+            installed.put(key, new PackageIds((Long) row.get("name_id"), (Long) row.get("evr_id"),
+                    (Long) row.get("arch_id")));
+        }
+        return installed;
+    }
+
+    private static void deletePackages(MinionServer server, List<PackageIds> packages) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("sid", server.getId());
+        params.put("name_ids", packages.stream().map(p -> p.nameId).toList());
+        params.put("evr_ids", packages.stream().map(p -> p.evrId).toList());
+        params.put("arch_ids", packages.stream().map(p -> p.archId).toList());
+
+        WriteMode m = ModeFactory.getWriteMode("Package_queries", "delete_server_packages");
+        m.executeUpdate(params);
+    }
+
+    private static void insertPackages(MinionServer server, Map<String, Tuple2<String, Pkg.Info>> packages) {
+        PackageType type = server.getPackageType();
+        Map<PackageIds, Long> rows = resolve(packages.values(), type);
+        int inserted = insertRows(server, rows);
+        if (inserted < rows.size()) {
+            // some cached id is not in the database anymore, resolve everything again
+            LOG.warn("Dropping package id caches after {} rows of minion {} were not inserted",
+                    rows.size() - inserted, server.getMinionId());
+            clearCaches();
+            Set<PackageIds> present = loadInstalledPackages(server).values().stream()
+                    .collect(Collectors.toSet());
+            Map<PackageIds, Long> missing = resolve(packages.values(), type);
+            missing.keySet().removeAll(present);
+            insertRows(server, missing);
+        }
+    }
+
+    private static int insertRows(MinionServer server, Map<PackageIds, Long> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        List<Long> nameIds = new ArrayList<>(rows.size());
+        List<Long> evrIds = new ArrayList<>(rows.size());
+        List<Long> archIds = new ArrayList<>(rows.size());
+        List<Long> installTimes = new ArrayList<>(rows.size());
+        rows.forEach((ids, installTime) -> {
+            nameIds.add(ids.nameId);
+            evrIds.add(ids.evrId);
+            archIds.add(ids.archId);
+            installTimes.add(installTime);
+        });
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("sid", server.getId());
+        params.put("name_ids", nameIds);
+        params.put("evr_ids", evrIds);
+        params.put("arch_ids", archIds);
+        params.put("install_times", installTimes);
+
+        WriteMode m = ModeFactory.getWriteMode("Package_queries", "insert_server_packages");
+        return m.executeUpdate(params);
+    }
+
+    /**
+     * Resolves the ids of the given packages, creating missing names and EVRs.
+     *
+     * @return the install times in seconds since the epoch by package ids, packages resolving
+     * to the same ids are only kept once
+     */
+    private static Map<PackageIds, Long> resolve(Collection<Tuple2<String, Pkg.Info>> packages, PackageType type) {
+        Map<Tuple2<String, Pkg.Info>, Evr> evrs = packages.stream()
+                .collect(Collectors.toMap(Function.identity(), p -> toEvr(p.getB(), type), (a, b) -> a));
+        Map<String, Long> nameIds = lookupNameIds(packages.stream().map(Tuple2::getA).collect(Collectors.toSet()));
+        Map<String, Long> evrIds = lookupEvrIds(evrs.values(), type);
+
+        Map<PackageIds, Long> rows = new HashMap<>(packages.size() * 2);
+        for (Tuple2<String, Pkg.Info> p : packages) {
+            Pkg.Info info = p.getB();
+            String arch = info.getArchitecture().get();
+            if (type == PackageType.DEB) {
+                arch += "-deb";
+            }
+            PackageIds ids = new PackageIds(nameIds.get(p.getA()), evrIds.get(evrs.get(p).key(type)),
+                    lookupArchId(arch));
+            rows.putIfAbsent(ids, info.getInstallDateUnixTime().orElse(null));
+        }
+        return rows;
+    }
+
+    private static Evr toEvr(Pkg.Info info, PackageType type) {
+        String version = info.getVersion().get();
+        switch (type) {
+            case DEB:
+                PackageEvr evr = PackageEvr.parseDebian(version);
+                return new Evr(evr.getEpoch(), evr.getVersion(), evr.getRelease());
+            case RPM:
+                return new Evr(info.getEpoch().map(StringUtils::trimToNull).orElse(null), version,
+                        info.getRelease().orElse("0"));
+            default:
+                throw new RuntimeException("unreachable");
+        }
+    }
+
+    private static Map<String, Long> lookupNameIds(Set<String> names) {
+        Map<String, Long> ids = new HashMap<>(names.size() * 2);
+        List<String> missing = new ArrayList<>();
+        for (String name : names) {
+            Long id = NAME_IDS.get(name);
+            if (id != null) {
+                ids.put(name, id);
+            }
+            else {
+                missing.add(name);
+            }
+        }
+        if (!missing.isEmpty()) {
+            // sorted, so that concurrent inserts of new names take their locks in the same order
+            Collections.sort(missing);
+            SelectMode m = ModeFactory.getMode("Package_queries", "lookup_package_name_ids");
+            DataResult<Map<String, Object>> rows = m.execute(Map.of("names", missing));
+            for (Map<String, Object> row : rows) {
+                String name = (String) row.get("name");
+                Long id = (Long) row.get("id");
+                ids.put(name, id);
+                NAME_IDS.put(name, id);
+            }
+        }
+        return ids;
+    }
+
+    private static Map<String, Long> lookupEvrIds(Collection<Evr> evrs, PackageType type) {
+        Map<String, Long> ids = new HashMap<>(evrs.size() * 2);
+        Map<String, Evr> missing = new LinkedHashMap<>();
+        for (Evr evr : evrs) {
+            String key = evr.key(type);
+            Long id = EVR_IDS.get(key);
+            if (id != null) {
+                ids.put(key, id);
+            }
+            else {
+                missing.putIfAbsent(key, evr);
+            }
+        }
+        if (!missing.isEmpty()) {
+            Map<String, Object> params = new HashMap<>();
+            params.put("epochs", missing.values().stream().map(e -> e.epoch).toList());
+            params.put("versions", missing.values().stream().map(e -> e.version).toList());
+            params.put("releases", missing.values().stream().map(e -> e.release).toList());
+            params.put("type", type.getDbString());
+
+            SelectMode m = ModeFactory.getMode("Package_queries", "lookup_evr_ids");
+            DataResult<Map<String, Object>> rows = m.execute(params);
+            for (Map<String, Object> row : rows) {
+                Evr evr = new Evr((String) row.get("epoch"), (String) row.get("version"),
+                        (String) row.get("release"));
+                Long id = (Long) row.get("id");
+                ids.put(evr.key(type), id);
+                EVR_IDS.put(evr.key(type), id);
+            }
+        }
+        return ids;
+    }
+
+    private static Long lookupArchId(String label) {
+        if (ARCH_IDS.isEmpty()) {
+            // architectures are only added with schema upgrades, load them all at once
+            for (PackageArch arch : PackageFactory.lookupPackageArch()) {
+                ARCH_IDS.put(arch.getLabel(), arch.getId());
+            }
+        }
+        return ARCH_IDS.get(label);
+    }
+}
@@ -86,6 +86,7 @@ import com.suse.manager.model.attestation.CoCoAttestationStatus;
 import com.suse.manager.model.attestation.ServerCoCoAttestationReport;
 import com.suse.manager.reactor.hardware.CpuArchUtil;
 import com.suse.manager.reactor.hardware.HardwareMapper;
+import com.suse.manager.reactor.hardware.PayloadHash;
 import com.suse.manager.reactor.messaging.ApplyStatesEventMessage;
 import com.suse.manager.reactor.messaging.ChannelsChangedEventMessage;
 import com.suse.manager.reactor.utils.RhelUtils;
@@ -148,6 +149,7 @@ import org.apache.commons.lang3.StringEscapeUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.hibernate.Hibernate;
 
 import java.io.File;
 import java.io.FileInputStream;
@@ -172,6 +174,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -418,6 +421,8 @@ public class SaltUtils {
             packagesToAdd.addAll(createPackagesFromSalt(packagesToCreate, server));
             server.getPackages().addAll(packagesToAdd);
         });
+        // the next full package profile update cannot be skipped
+        server.asMinionServer().ifPresent(minion -> minion.setPackageProfileHash(null));
         SystemManager.updateSystemOverview(server.getId());
     }
 
@@ -1590,15 +1595,7 @@ public class SaltUtils {
      */
     private static void updatePackages(MinionServer server,
             PkgProfileUpdateSlsResult result) {
-        Set<InstalledPackage> packages = server.getPackages();
-
-        Map<String, InstalledPackage> oldPackageMap = packages.stream()
-            .collect(Collectors.toMap(
-                    SaltUtils::packageToKey,
-                    Function.identity()
-             ));
-
-        Map<String, Map.Entry<String, Pkg.Info>> newPackageMap =
+        Map<String, Map.Entry<String, Pkg.Info>> reportedPackageMap =
             result.getInfoInstalled().getChanges().getRet()
                 .entrySet().stream()
                 .flatMap(entry ->
@@ -1614,6 +1611,33 @@ public class SaltUtils {
                         Function.identity(),
                         SaltUtils::resolveDuplicatePackage
                 ));
+        Map<String, Tuple2<String, Pkg.Info>> newPackageMap = reportedPackageMap.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey,
+                        e -> new Tuple2<>(e.getValue().getKey(), e.getValue().getValue())));
+
+        Set<InstalledPackage> packages = server.getPackages();
+        if (Hibernate.isInitialized(packages)) {
+            // the collection is already in the session and would not see rows written with SQL
+            updatePackages(server, packages, newPackageMap);
+        }
+        else {
+            PackageProfileUpdater.update(server, newPackageMap);
+        }
+        SystemManager.updateSystemOverview(server.getId());
+    }
+
+    private static void updatePackages(MinionServer server, Set<InstalledPackage> packages,
+            Map<String, Tuple2<String, Pkg.Info>> newPackageMap) {
+        String hash = PackageProfileUpdater.profileHash(newPackageMap.keySet());
+        if (hash.equals(server.getPackageProfileHash()) && packages.size() == newPackageMap.size()) {
+            return;
+        }
+
+        Map<String, InstalledPackage> oldPackageMap = packages.stream()
+            .collect(Collectors.toMap(
+                    SaltUtils::packageToKey,
+                    Function.identity()
+             ));
 
         Collection<InstalledPackage> unchanged = oldPackageMap.entrySet().stream().filter(
             e -> newPackageMap.containsKey(e.getKey())
@@ -1622,10 +1646,10 @@ public class SaltUtils {
 
         Map<String, Tuple2<String, Pkg.Info>> packagesToAdd = newPackageMap.entrySet().stream().filter(
                 e -> !oldPackageMap.containsKey(e.getKey())
-        ).collect(Collectors.toMap(Map.Entry::getKey, e -> new Tuple2(e.getValue().getKey(), e.getValue().getValue())));
+        ).collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
 
         packages.addAll(createPackagesFromSalt(packagesToAdd, server));
-        SystemManager.updateSystemOverview(server.getId());
+        server.setPackageProfileHash(hash);
     }
 
     private static Map.Entry<String, Info> resolveDuplicatePackage(Map.Entry<String, Info> firstEntry,
@@ -1833,31 +1857,49 @@ public class SaltUtils {
 
         HardwareMapper hwMapper = new HardwareMapper(server,
                 new ValueMap(result.getGrains()));
-        hwMapper.mapCpuInfo(new ValueMap(result.getCpuInfo()));
-        server.setRam(hwMapper.getTotalMemory());
-        server.setSwap(hwMapper.getTotalSwapMemory());
-        if (CpuArchUtil.isDmiCapable(hwMapper.getCpuArch())) {
-            hwMapper.mapDmiInfo(
-                    result.getSmbiosRecordsBios().orElse(Collections.emptyMap()),
-                    result.getSmbiosRecordsSystem().orElse(Collections.emptyMap()),
-                    result.getSmbiosRecordsBaseboard().orElse(Collections.emptyMap()),
-                    result.getSmbiosRecordsChassis().orElse(Collections.emptyMap()));
-        }
-        hwMapper.mapDevices(result.getUdevdb());
-        if (CpuArchUtil.isS390(hwMapper.getCpuArch())) {
-            hwMapper.mapSysinfo(result.getMainframeSysinfo());
-        }
+
+        // sections whose payload did not change since the last successful update are skipped
+        String profileHash = PayloadHash.of(result.getGrains(), result.getCpuInfo(),
+                result.getSmbiosRecordsBios().orElse(null), result.getSmbiosRecordsSystem().orElse(null),
+                result.getSmbiosRecordsBaseboard().orElse(null), result.getSmbiosRecordsChassis().orElse(null),
+                result.getMainframeSysinfo());
+        server.setHwProfileHash(hwMapper.mapSection("profile", profileHash, server.getHwProfileHash(), () -> {
+            hwMapper.mapCpuInfo(new ValueMap(result.getCpuInfo()));
+            server.setRam(hwMapper.getTotalMemory());
+            server.setSwap(hwMapper.getTotalSwapMemory());
+            if (CpuArchUtil.isDmiCapable(hwMapper.getCpuArch())) {
+                hwMapper.mapDmiInfo(
+                        result.getSmbiosRecordsBios().orElse(Collections.emptyMap()),
+                        result.getSmbiosRecordsSystem().orElse(Collections.emptyMap()),
+                        result.getSmbiosRecordsBaseboard().orElse(Collections.emptyMap()),
+                        result.getSmbiosRecordsChassis().orElse(Collections.emptyMap()));
+            }
+            if (CpuArchUtil.isS390(hwMapper.getCpuArch())) {
+                hwMapper.mapSysinfo(result.getMainframeSysinfo());
+            }
+        }));
+
+        String devicesHash = PayloadHash.of(result.getUdevdb());
+        server.setHwDevicesHash(hwMapper.mapSection("devices", devicesHash, server.getHwDevicesHash(),
+                () -> hwMapper.mapDevices(result.getUdevdb())));
+
+        // depends on the virtual hosts and guests known to the server, so it is never skipped
         hwMapper.mapVirtualizationInfo(result.getSmbiosRecordsSystem());
-        hwMapper.mapNetworkInfo(result.getNetworkInterfaces(), Optional.of(result.getNetworkIPs()),
-                result.getNetworkModules(),
+
+        List<String> fqdns = Stream.concat(
                 Stream.concat(
-                    Stream.concat(
-                        result.getFqdns().stream(),
-                        result.getDnsFqdns().stream()
-                    ),
-                    result.getCustomFqdns().stream()
-                ).distinct().toList()
-        );
+                    result.getFqdns().stream(),
+                    result.getDnsFqdns().stream()
+                ),
+                result.getCustomFqdns().stream()
+        ).distinct().toList();
+        Map<String, String> networkModules = new TreeMap<>();
+        result.getNetworkModules().forEach((name, module) -> networkModules.put(name, module.orElse(null)));
+        String networkHash = PayloadHash.of(result.getGrains().get("fqdn"), result.getNetworkInterfaces(),
+                result.getNetworkIPs(), networkModules, fqdns);
+        server.setHwNetworkHash(hwMapper.mapSection("network", networkHash, server.getHwNetworkHash(),
+                () -> hwMapper.mapNetworkInfo(result.getNetworkInterfaces(), Optional.of(result.getNetworkIPs()),
+                        result.getNetworkModules(), fqdns)));
         server.setPayg(result.getInstanceFlavor().map(o -> o.equals("PAYG")).orElse(false));
         server.setContainerRuntime(result.getContainerRuntime());
         server.setUname(result.getUname());
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2025 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.suse.manager.utils.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.redhat.rhn.common.hibernate.HibernateFactory;
+import com.redhat.rhn.domain.product.Tuple2;
+import com.redhat.rhn.domain.server.InstalledPackage;
+import com.redhat.rhn.domain.server.MinionServer;
+import com.redhat.rhn.domain.server.MinionServerFactory;
+import com.redhat.rhn.domain.server.test.MinionServerFactoryTest;
+import com.redhat.rhn.testing.BaseTestCaseWithUser;
+
+import com.suse.manager.utils.PackageProfileUpdater;
+import com.suse.manager.utils.SaltUtils;
+import com.suse.salt.netapi.calls.modules.Pkg;
+import com.suse.utils.Json;
+
+import com.google.gson.reflect.TypeToken;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class PackageProfileUpdaterTest extends BaseTestCaseWithUser {
+
+    private static Tuple2<String, Pkg.Info> pkg(String name, String version, String release, String arch) {
+        String json = "{" +
+                "\"install_date_time_t\": 1498636553," +
+                "\"version\": \"" + version + "\"," +
+                "\"release\": \"" + release + "\"," +
+                "\"arch\": \"" + arch + "\"" +
+                "}";
+        Pkg.Info info = Json.GSON.fromJson(json, new TypeToken<Pkg.Info>() { }.getType());
+        return new Tuple2<>(name, info);
+    }
+
+    private static Map<String, Tuple2<String, Pkg.Info>> profile(List<Tuple2<String, Pkg.Info>> packages) {
+        Map<String, Tuple2<String, Pkg.Info>> profile = new HashMap<>();
+        packages.forEach(p -> profile.put(SaltUtils.packageToKey(p.getA(), p.getB()), p));
+        return profile;
+    }
+
+    private MinionServer reloadMinion(Long id) {
+        HibernateFactory.getSession().flush();
+        HibernateFactory.getSession().clear();
+        return MinionServerFactory.lookupById(id).orElseThrow();
+    }
+
+    private static Set<String> installedKeys(MinionServer minion) {
+        return minion.getPackages().stream().map(SaltUtils::packageToKey).collect(Collectors.toSet());
+    }
+
+    @Test
+    public void testUpdate() {
+        Long id = MinionServerFactoryTest.createTestMinionServer(user).getId();
+        String uniqueName = "profile-test-" + System.nanoTime();
+
+        Map<String, Tuple2<String, Pkg.Info>> first = profile(List.of(
+                pkg("bash", "4.4", "9.10.1", "x86_64"),
+                pkg(uniqueName, "1.0", "1", "noarch")));
+        MinionServer minion = reloadMinion(id);
+        assertTrue(PackageProfileUpdater.update(minion, first));
+
+        minion = reloadMinion(id);
+        assertEquals(first.keySet(), installedKeys(minion));
+        assertEquals(PackageProfileUpdater.profileHash(first.keySet()), minion.getPackageProfileHash());
+
+        // unchanged profile
+        minion = reloadMinion(id);
+        assertFalse(PackageProfileUpdater.update(minion, first));
+
+        // update of the new package, with the caches filled by the first run
+        Map<String, Tuple2<String, Pkg.Info>> second = profile(List.of(
+                pkg("bash", "4.4", "9.10.1", "x86_64"),
+                pkg(uniqueName, "1.1", "1", "noarch")));
+        minion = reloadMinion(id);
+        assertTrue(PackageProfileUpdater.update(minion, second));
+
+        minion = reloadMinion(id);
+        assertEquals(second.keySet(), installedKeys(minion));
+        InstalledPackage updated = minion.getPackages().stream()
+                .filter(p -> p.getName().getName().equals(uniqueName))
+                .findFirst().orElseThrow();
+        assertEquals("1.1", updated.getEvr().getVersion());
+        assertEquals("noarch", updated.getArch().getLabel());
+        assertEquals(1498636553000L, updated.getInstallTime().getTime());
+    }
+
+    @Test
+    public void testProfileHash() {
+        assertEquals(PackageProfileUpdater.profileHash(List.of("a-1-1.x86_64", "b-1-1.noarch")),
+                PackageProfileUpdater.profileHash(List.of("b-1-1.noarch", "a-1-1.x86_64")));
+        assertNotEquals(PackageProfileUpdater.profileHash(List.of("a-1-1.x86_64")),
+                PackageProfileUpdater.profileHash(List.of("a-1-2.x86_64")));
+    }
+}
@@ -37,8 +37,8 @@ import com.redhat.rhn.domain.rhnpackage.PackageFactory;
 import com.redhat.rhn.domain.server.MinionServer;
 
 import com.suse.cloud.CloudPaygManager;
+import com.suse.manager.webui.utils.DownloadCache;
 import com.suse.manager.webui.utils.TokenBuilder;
-import com.suse.utils.Opt;
 
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -83,10 +83,13 @@ public class DownloadController {
             .setVerificationKey(KEY)
             .build();
 
+    private static final DownloadCache SHARED_CACHE = new DownloadCache(ConfigDefaults.get().getDownloadCacheSize());
+
     // cached value to avoid multiple calls
     private final String mountPointPath;
 
     private final CloudPaygManager cloudPaygManager;
+    private final DownloadCache cache;
     private static final long EXPIRATION_TIME_MINUTES_IN_THE_FUTURE_TEMP_TOKEN = Config.get().getInt(
             ConfigDefaults.TEMP_TOKEN_LIFETIME,
             60
@@ -234,7 +237,17 @@ public class DownloadController {
      * @param cloudPaygManagerIn the cloud payg manager
      */
     public DownloadController(CloudPaygManager cloudPaygManagerIn) {
+        this(cloudPaygManagerIn, SHARED_CACHE);
+    }
+
+    /**
+     * Constructor
+     * @param cloudPaygManagerIn the cloud payg manager
+     * @param cacheIn the cache of the verified tokens, channel accesses and package paths
+     */
+    public DownloadController(CloudPaygManager cloudPaygManagerIn, DownloadCache cacheIn) {
         cloudPaygManager = cloudPaygManagerIn;
+        cache = cacheIn;
         checkTokens = Config.get().getBoolean(ConfigDefaults.SALT_CHECK_DOWNLOAD_TOKENS);
         mountPointPath = Config.get().getString(ConfigDefaults.MOUNT_POINT);
     }
@@ -440,6 +453,26 @@ public class DownloadController {
         processToken(request, channel, basename);
 
         String mountPoint = Config.get().getString(ConfigDefaults.MOUNT_POINT);
+        File file = new File(mountPoint, lookupPackagePath(channel, path, basename)).getAbsoluteFile();
+
+        return downloadFile(request, response, file);
+    }
+
+    /**
+     * Returns the path of the package requested from a channel, from the package index of the cache if possible.
+     *
+     * @param channel the channel label
+     * @param path the request path
+     * @param basename the requested file name without extension
+     * @return the path of the package relative to the mount point
+     */
+    private String lookupPackagePath(String channel, String path, String basename) {
+        Optional<String> cached = cache.getPackagePath(channel, path);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        long generation = cache.getGeneration();
         PkgInfo pkgInfo = parsePackageFileName(path);
         Package pkg = PackageFactory.lookupByChannelLabelNevraCs(channel, pkgInfo.getName(),
                 pkgInfo.getVersion(), pkgInfo.getRelease(), pkgInfo.getEpoch(), pkgInfo.getArch(),
@@ -450,10 +483,10 @@ public class DownloadController {
             }
             halt(HttpStatus.SC_NOT_FOUND, String.format("%s not found in %s", basename, channel));
         }
-
-        File file = new File(mountPoint, pkg.getPath()).getAbsoluteFile();
-
-        return downloadFile(request, response, file);
+        if (pkg.getPath() != null) {
+            cache.putPackagePath(channel, path, pkg.getPath(), generation);
+        }
+        return pkg.getPath();
     }
 
     /**
@@ -570,8 +603,52 @@ public class DownloadController {
      * @param filename the filename
      */
     private void validateToken(String token, String channel, String filename) {
+        DownloadCache.Token verified = cache.getToken(token).orElseGet(() -> {
+            long generation = cache.getGeneration();
+            DownloadCache.Token entry = verifyToken(token, channel, filename);
+            cache.putToken(token, entry, generation);
+            return entry;
+        });
+
+        // enforce channel claim
+        if (verified.channels().isEmpty()) {
+            LOG.info("Token ...{} does provide access to any channel", sanitizeToken(token));
+        }
+        else if (!verified.channels().contains(channel)) {
+            LOG.info("Forbidden: Token ...{} does not provide access to channel {}",
+                    sanitizeToken(token), channel);
+            LOG.info("Token allow access only to the following channels: {}", String.join(",", verified.channels()));
+            halt(HttpStatus.SC_FORBIDDEN, "Token does not provide access to channel " + channel);
+        }
+
+        // enforce org claim
+        if (verified.orgId() == null) {
+            LOG.info("Forbidden: Token does not specify the organization");
+            halt(HttpStatus.SC_BAD_REQUEST, "Token does not specify the organization");
+        }
+        boolean accessible = cache.isAccessible(channel, verified.orgId()).orElseGet(() -> {
+            long generation = cache.getGeneration();
+            boolean result = ChannelFactory.isAccessibleBy(channel, verified.orgId());
+            cache.putAccessible(channel, verified.orgId(), result, generation);
+            return result;
+        });
+        if (!accessible) {
+            LOG.info("Forbidden: Token does not provide access to channel {}", channel);
+            halt(HttpStatus.SC_FORBIDDEN, "Token does not provide access to channel " + channel);
+        }
+    }
 
-        AccessTokenFactory.lookupByToken(token).ifPresentOrElse(obj -> {
+    /**
+     * Verify the signature and the validity of a token, without checking its claims against the requested channel.
+     *
+     * @param token the token to verify
+     * @param channel the channel
+     * @param filename the filename
+     * @return the verified token
+     */
+    private DownloadCache.Token verifyToken(String token, String channel, String filename) {
+        Optional<AccessToken> accessToken = AccessTokenFactory.lookupByToken(token);
+        accessToken.ifPresentOrElse(obj -> {
             Instant now = Instant.now();
             if (!obj.getValid() || now.isAfter(obj.getExpiration().toInstant())) {
                 LOG.info("Forbidden: invalid token ...{} to access {}", sanitizeToken(token), filename);
@@ -589,39 +666,26 @@ public class DownloadController {
                 halt(HttpStatus.SC_FORBIDDEN, "Token expired");
             }
 
-            // enforce channel claim
-            Optional<List<String>> channelClaim = Optional.ofNullable(claims.getStringListClaimValue("onlyChannels"))
-                    // new versions of getStringListClaimValue() return an empty list instead of null
-                    .filter(l -> !l.isEmpty());
-            Opt.consume(channelClaim,
-                    () -> LOG.info("Token ...{} does provide access to any channel",
-                            sanitizeToken(token)),
-                    channels -> {
-                if (!channels.contains(channel)) {
-                    LOG.info("Forbidden: Token ...{} does not provide access to channel {}",
-                            sanitizeToken(token), channel);
-                    LOG.info("Token allow access only to the following channels: {}", String.join(",", channels));
-                    halt(HttpStatus.SC_FORBIDDEN, "Token does not provide access to channel " + channel);
-                }
-            });
-
-            // enforce org claim
-            Optional<Long> orgClaim = Optional.ofNullable(claims.getClaimValue("org", Long.class));
-            Opt.consume(orgClaim, () -> {
-                LOG.info("Forbidden: Token does not specify the organization");
-                halt(HttpStatus.SC_BAD_REQUEST, "Token does not specify the organization");
-            }, orgId -> {
-                if (!ChannelFactory.isAccessibleBy(channel, orgId)) {
-                    LOG.info("Forbidden: Token does not provide access to channel {}", channel);
-                    halt(HttpStatus.SC_FORBIDDEN, "Token does not provide access to channel " + channel);
-                }
-            });
+            // the token is used until it expires, at most as long as an access decision
+            long validUntil = Optional.ofNullable(claims.getExpirationTime())
+                    .map(NumericDate::getValue)
+                    .orElse(Instant.now().getEpochSecond() + DownloadCache.ACCESS_LIFETIME);
+            if (accessToken.isPresent()) {
+                validUntil = Math.min(validUntil, accessToken.get().getExpiration().toInstant().getEpochSecond());
+            }
+
+            // new versions of getStringListClaimValue() return an empty list instead of null
+            List<String> channels = Optional.ofNullable(claims.getStringListClaimValue("onlyChannels"))
+                    .orElse(List.of());
+            return new DownloadCache.Token(accessToken.map(AccessToken::getId).orElse(null), channels,
+                    claims.getClaimValue("org", Long.class), validUntil);
         }
         catch (InvalidJwtException | MalformedClaimException e) {
             LOG.info("Forbidden: Token ...{} is not valid to access {} in {}: {}",
                     sanitizeToken(token), filename, channel, e.getMessage());
             halt(HttpStatus.SC_FORBIDDEN,
                  String.format("Token is not valid to access %s in %s: %s", filename, channel, e.getMessage()));
+            return null;
         }
     }
 
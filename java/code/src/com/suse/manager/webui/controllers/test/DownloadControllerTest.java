@@ -26,6 +26,7 @@ import com.redhat.rhn.common.conf.ConfigDefaults;
 import com.redhat.rhn.common.db.datasource.ModeFactory;
 import com.redhat.rhn.common.db.datasource.WriteMode;
 import com.redhat.rhn.common.hibernate.HibernateFactory;
+import com.redhat.rhn.common.util.TimeUtils;
 import com.redhat.rhn.domain.channel.AccessToken;
 import com.redhat.rhn.domain.channel.AccessTokenFactory;
 import com.redhat.rhn.domain.channel.Channel;
@@ -57,6 +58,7 @@ import com.redhat.rhn.testing.TestUtils;
 import com.suse.cloud.CloudPaygManager;
 import com.suse.cloud.test.TestCloudPaygManagerBuilder;
 import com.suse.manager.webui.controllers.DownloadController;
+import com.suse.manager.webui.utils.DownloadCache;
 import com.suse.manager.webui.utils.DownloadTokenBuilder;
 import com.suse.manager.webui.utils.TokenBuilder;
 
@@ -531,6 +533,82 @@ public class DownloadControllerTest extends BaseTestCaseWithUser {
         });
     }
 
+    /**
+     * Test that tokens and package paths are served from the cache until they are invalidated.
+     *
+     * @throws Exception if anything goes wrong
+     */
+    @Test
+    public void testCachedDownload() throws Exception {
+        DownloadCache cache = new DownloadCache(100);
+        DownloadController controller = new DownloadController(new TestCloudPaygManagerBuilder().build(), cache);
+        controller.setCheckTokens(true);
+
+        DownloadTokenBuilder tokenBuilder = new DownloadTokenBuilder(user.getOrg().getId());
+        tokenBuilder.useServerSecret();
+        tokenBuilder.onlyChannels(Set.of(channel.getLabel()));
+        AccessToken accessToken = saveTokenToDataBase(tokenBuilder);
+        Request request = getMockRequestWithParams(Map.of(accessToken.getToken(), ""));
+
+        Response first = RequestResponseFactory.create(new RhnMockHttpServletResponse());
+        controller.downloadPackage(request, first);
+        assertEquals(packageFile.getAbsolutePath(), first.raw().getHeader("X-Sendfile"));
+
+        // the database is not read again
+        pkg.setPath("moved/" + pkg.getPath());
+        TestUtils.saveAndFlush(pkg);
+        accessToken.setValid(false);
+        TestUtils.saveAndFlush(accessToken);
+        Response cached = RequestResponseFactory.create(new RhnMockHttpServletResponse());
+        controller.downloadPackage(request, cached);
+        assertEquals(packageFile.getAbsolutePath(), cached.raw().getHeader("X-Sendfile"));
+
+        cache.invalidateChannel(channel.getLabel());
+        try {
+            controller.downloadPackage(request, RequestResponseFactory.create(new RhnMockHttpServletResponse()));
+            fail("The moved package should not be found");
+        }
+        catch (spark.HaltException e) {
+            assertEquals(404, e.getStatusCode());
+        }
+
+        cache.invalidateToken(accessToken.getId());
+        try {
+            controller.downloadPackage(request, RequestResponseFactory.create(new RhnMockHttpServletResponse()));
+            fail("The invalidated token should not be accepted");
+        }
+        catch (spark.HaltException e) {
+            assertEquals(403, e.getStatusCode());
+        }
+    }
+
+    /**
+     * Test that entries read from the database before an invalidation are not cached.
+     */
+    @Test
+    public void testEntriesReadBeforeInvalidationAreNotCached() {
+        DownloadCache cache = new DownloadCache(100);
+        // connects the listener, which starts a new generation
+        assertTrue(cache.getToken("token").isEmpty());
+        DownloadCache.Token token = new DownloadCache.Token(1L, List.of(), user.getOrg().getId(),
+                TimeUtils.currentTimeSeconds() + 60);
+
+        long generation = cache.getGeneration();
+        cache.invalidateToken(1L);
+        cache.putToken("token", token, generation);
+        cache.putAccessible(channel.getLabel(), user.getOrg().getId(), true, generation);
+        cache.putPackagePath(channel.getLabel(), "path", "package", generation);
+        assertTrue(cache.getToken("token").isEmpty());
+        assertTrue(cache.isAccessible(channel.getLabel(), user.getOrg().getId()).isEmpty());
+        assertTrue(cache.getPackagePath(channel.getLabel(), "path").isEmpty());
+
+        generation = cache.getGeneration();
+        cache.putToken("token", token, generation);
+        cache.putPackagePath(channel.getLabel(), "path", "package", generation);
+        assertEquals(token, cache.getToken("token").orElseThrow());
+        assertEquals("package", cache.getPackagePath(channel.getLabel(), "path").orElseThrow());
+    }
+
     @Test
     public void testDownloadDebPackage() throws Exception {
         testCorrectChannel(() -> debPackageFile, (tokenChannel) -> {
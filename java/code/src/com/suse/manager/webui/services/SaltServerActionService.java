@@ -402,18 +402,13 @@ public class SaltServerActionService {
                     regularMinionSummaries);
         }
 
-        List<MinionServer> sshPushMinions = MinionServerFactory.findMinionsByServerIds(
-                sshMinionSummaries.stream().map(MinionSummary::getServerId).toList());
-
-        if (!sshPushMinions.isEmpty()) {
-            for (MinionServer sshMinion : sshPushMinions) {
-                try {
-                    taskomaticApi.scheduleSSHActionExecution(actionIn, sshMinion, forcePackageListRefresh);
-                }
-                catch (TaskomaticApiException e) {
-                    LOG.error("Couldn't schedule SSH action id={} minion={}",
-                            actionIn.getId(), sshMinion.getMinionId(), e);
-                }
+        if (!sshMinionSummaries.isEmpty()) {
+            try {
+                taskomaticApi.scheduleSSHActionExecutions(actionIn, sshMinionSummaries, forcePackageListRefresh);
+            }
+            catch (TaskomaticApiException e) {
+                LOG.error("Couldn't schedule SSH action id={} for {} minions",
+                        actionIn.getId(), sshMinionSummaries.size(), e);
             }
         }
     }
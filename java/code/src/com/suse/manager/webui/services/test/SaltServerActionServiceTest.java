@@ -961,7 +961,8 @@ public class SaltServerActionServiceTest extends JMockBaseTestCaseWithUser {
         SaltServerActionService testService = createSaltServerActionService(saltServiceMock, saltServiceMock);
         testService.setTaskomaticApi(taskomaticMock);
         context().checking(new Expectations() { {
-            oneOf(taskomaticMock).scheduleSSHActionExecution(action, sshMinion, false);
+            oneOf(taskomaticMock).scheduleSSHActionExecutions(with(equal(action)),
+                    with(equal(List.of(new MinionSummary(sshMinion)))), with(equal(false)));
             oneOf(saltServiceMock).callAsync(
                     with(any(LocalCall.class)), with(any(Target.class)), with(any(Optional.class)));
             LocalAsyncResult<?> result = new LocalAsyncResult() {
@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2025 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+package com.suse.manager.webui.utils;
+
+import com.redhat.rhn.common.db.DatabaseNotificationListener;
+import com.redhat.rhn.common.util.TimeUtils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process cache of the download endpoint: verified download tokens, channel access decisions per organization
+ * and the index of the package files served by each channel.
+ *
+ * Channels are invalidated through the PostgreSQL notifications sent when a channel change is queued for repodata
+ * regeneration and when the regeneration is done. Tokens are invalidated through the notifications sent when an
+ * access token is deleted or changes validity. Access decisions also depend on organization trusts, which do not
+ * queue channel changes, so they are kept for {@link #ACCESS_LIFETIME} seconds at most. The cache is bypassed while
+ * the notification connection is down, as notifications may have been missed in the meantime.
+ */
+public class DownloadCache extends DatabaseNotificationListener {
+
+    /** Channel of the notifications sent by the database when a channel is queued or its repodata regenerated */
+    public static final String CHANNEL_CHANGED = "rhn_channel_changed";
+
+    /** Channel of the notifications sent by the database when an access token is invalidated */
+    public static final String TOKEN_INVALIDATED = "channel_access_token_invalidated";
+
+    /** Maximum time an access decision is used, in seconds */
+    public static final long ACCESS_LIFETIME = 300;
+
+    private static final Logger LOG = LogManager.getLogger(DownloadCache.class);
+
+    /**
+     * A verified download token.
+     * @param accessTokenId the id of the access token in the database, null for tokens which are not stored
+     * @param channels the labels of the channels the token is restricted to, empty if any channel is allowed
+     * @param orgId the organization claimed by the token, null if the token does not specify it
+     * @param validUntil the time until the entry may be used, in seconds
+     */
+    public record Token(Long accessTokenId, List<String> channels, Long orgId, long validUntil) { }
+
+    private record Access(boolean accessible, long validUntil) { }
+
+    private record ChannelOrg(String channel, Long orgId) { }
+
+    private final boolean enabled;
+    private final Map<String, Token> tokens;
+    private final Map<ChannelOrg, Access> accesses;
+    private final Map<String, Map<String, String>> packagePaths = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor
+     * @param maxSize maximum number of cached tokens and access decisions, 0 to disable the cache
+     */
+    public DownloadCache(int maxSize) {
+        super(CHANNEL_CHANGED, TOKEN_INVALIDATED);
+        enabled = maxSize > 0;
+        tokens = boundedMap(maxSize);
+        accesses = boundedMap(maxSize);
+    }
+
+    private static <K, V> Map<K, V> boundedMap(int maxSize) {
+        return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    private boolean isUsable() {
+        return enabled && isListening();
+    }
+
+    /**
+     * Returns a verified token, if it is still valid.
+     * @param token the token
+     * @return the verified token, empty if it is not cached or the cache cannot be used right now
+     */
+    public Optional<Token> getToken(String token) {
+        if (!isUsable()) {
+            return Optional.empty();
+        }
+        Token entry = tokens.get(token);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.validUntil() <= TimeUtils.currentTimeSeconds()) {
+            tokens.remove(token, entry);
+            return Optional.empty();
+        }
+        return Optional.of(entry);
+    }
+
+    /**
+     * Caches a verified token. Tokens which already expired are not cached, nor tokens verified before an
+     * invalidation.
+     * @param token the token
+     * @param entry the verification result
+     * @param generation the generation taken with {@link #getGeneration()} before verifying the token
+     */
+    public void putToken(String token, Token entry, long generation) {
+        if (enabled && entry.validUntil() > TimeUtils.currentTimeSeconds()) {
+            synchronized (tokens) {
+                if (isCurrent(generation)) {
+                    tokens.put(token, entry);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns whether an organization can access a channel, if it was checked recently.
+     * @param channel the channel label
+     * @param orgId the organization id
+     * @return the cached decision, empty if it is not cached or the cache cannot be used right now
+     */
+    public Optional<Boolean> isAccessible(String channel, Long orgId) {
+        if (!isUsable()) {
+            return Optional.empty();
+        }
+        ChannelOrg key = new ChannelOrg(channel, orgId);
+        Access access = accesses.get(key);
+        if (access == null) {
+            return Optional.empty();
+        }
+        if (access.validUntil() <= TimeUtils.currentTimeSeconds()) {
+            accesses.remove(key, access);
+            return Optional.empty();
+        }
+        return Optional.of(access.accessible());
+    }
+
+    /**
+     * Caches whether an organization can access a channel, unless an invalidation happened since it was checked.
+     * @param channel the channel label
+     * @param orgId the organization id
+     * @param accessible true if the channel is accessible
+     * @param generation the generation taken with {@link #getGeneration()} before checking the access
+     */
+    public void putAccessible(String channel, Long orgId, boolean accessible, long generation) {
+        if (enabled) {
+            synchronized (accesses) {
+                if (isCurrent(generation)) {
+                    accesses.put(new ChannelOrg(channel, orgId),
+                            new Access(accessible, TimeUtils.currentTimeSeconds() + ACCESS_LIFETIME));
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the path of a package file served by a channel.
+     * @param channel the channel label
+     * @param requestPath the path of the download request
+     * @return the path of the package relative to the mount point, empty if it is not cached or the cache cannot
+     * be used right now
+     */
+    public Optional<String> getPackagePath(String channel, String requestPath) {
+        if (!isUsable()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(packagePaths.getOrDefault(channel, Map.of()).get(requestPath));
+    }
+
+    /**
+     * Adds a package file served by a channel to the index, unless an invalidation happened since it was looked up.
+     * @param channel the channel label
+     * @param requestPath the path of the download request
+     * @param packagePath the path of the package relative to the mount point
+     * @param generation the generation taken with {@link #getGeneration()} before looking up the package
+     */
+    public void putPackagePath(String channel, String requestPath, String packagePath, long generation) {
+        if (enabled) {
+            // compute is atomic with the removal of the channel, which happens after the generation changed
+            packagePaths.compute(channel, (c, paths) -> {
+                if (!isCurrent(generation)) {
+                    return paths;
+                }
+                Map<String, String> result = paths == null ? new ConcurrentHashMap<>() : paths;
+                result.put(requestPath, packagePath);
+                return result;
+            });
+        }
+    }
+
+    /**
+     * Removes the access decisions and the package index of a channel.
+     * @param channel the channel label
+     */
+    public void invalidateChannel(String channel) {
+        newGeneration();
+        packagePaths.remove(channel);
+        synchronized (accesses) {
+            accesses.keySet().removeIf(k -> k.channel().equals(channel));
+        }
+    }
+
+    /**
+     * Removes an access token from the cache.
+     * @param accessTokenId the id of the access token
+     */
+    public void invalidateToken(Long accessTokenId) {
+        newGeneration();
+        synchronized (tokens) {
+            tokens.values().removeIf(t -> Objects.equals(t.accessTokenId(), accessTokenId));
+        }
+    }
+
+    /**
+     * Removes everything from the cache.
+     */
+    public void clear() {
+        newGeneration();
+        tokens.clear();
+        accesses.clear();
+        packagePaths.clear();
+    }
+
+    @Override
+    protected void onMissedNotifications() {
+        clear();
+    }
+
+    @Override
+    public void notification(int processId, String channelName, String payload) {
+        if (CHANNEL_CHANGED.equals(channelName)) {
+            invalidateChannel(payload);
+            return;
+        }
+        try {
+            invalidateToken(Long.valueOf(payload));
+        }
+        catch (NumberFormatException e) {
+            LOG.warn("Unexpected access token invalidation payload '{}', clearing the download cache", payload);
+            clear();
+        }
+    }
+}
@@ -15,8 +15,6 @@
 
 package com.suse.oval;
 
-import static java.util.stream.Collectors.groupingBy;
-
 import com.redhat.rhn.common.db.datasource.CallableMode;
 import com.redhat.rhn.common.db.datasource.DataResult;
 import com.redhat.rhn.common.db.datasource.ModeFactory;
@@ -37,10 +35,13 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.hibernate.Session;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public class OVALCachingFactory extends HibernateFactory {
     private static final Logger LOG = LogManager.getLogger(OVALCachingFactory.class);
@@ -60,51 +61,102 @@ public class OVALCachingFactory extends HibernateFactory {
      * @param rootType the OVAL root to extract from
      * */
     public static void savePlatformsVulnerablePackages(OvalRootType rootType) {
-        CallableMode mode = ModeFactory.getCallableMode("oval_queries", "add_product_vulnerable_package");
-
         OVALLookupHelper ovalLookupHelper = new OVALLookupHelper(rootType);
 
-        List<ProductVulnerablePackages> productVulnerablePackages = new ArrayList<>();
+        VulnerablePackagesWriter writer = new VulnerablePackagesWriter();
         for (DefinitionType definition : rootType.getDefinitions()) {
             VulnerablePackagesExtractor vulnerablePackagesExtractor =
                     VulnerablePackagesExtractors.create(definition, rootType.getOsFamily(), ovalLookupHelper);
 
-            productVulnerablePackages.addAll(vulnerablePackagesExtractor.extract());
+            writer.write(vulnerablePackagesExtractor.extract());
         }
+        writer.flush();
+    }
 
-        // Clear previous OVAL metadata
-        productVulnerablePackages.stream()
-                .collect(groupingBy(ProductVulnerablePackages::getProductCpe))
-                .keySet().forEach(OVALCachingFactory::clearOVALMetadataByPlatform);
-
-        // Write OVAL metadata in batches
-        DataResult<Map<String, Object>> batch = new DataResult<>(new ArrayList<>(1000));
-        for (ProductVulnerablePackages pvp : productVulnerablePackages) {
-            for (String cve : pvp.getCves()) {
-                for (VulnerablePackage vulnerablePackage : pvp.getVulnerablePackages()) {
-                    Map<String, Object> params = new HashMap<>();
-                    params.put("product_name", pvp.getProductCpe());
-                    params.put("cve_name", cve);
-                    params.put("package_name", vulnerablePackage.getName());
-                    params.put("fix_version", vulnerablePackage.getFixVersion().orElse(null));
-
-                    batch.add(params);
-
-                    if (batch.size() % 1000 == 0) {
-                        mode.getQuery().executeBatchUpdates(batch);
-                        batch.clear();
-                        commitTransaction();
-
-                        Session session = getSession();
-                        if (!inTransaction()) {
-                            session.beginTransaction();
+    /**
+     * Extracts and save the list of vulnerable packages from the given OVAL file. The file is streamed: tests,
+     * objects and states are indexed first, then definitions are cleaned up and extracted one at a time, and the
+     * vulnerable packages are written in batches as they are found.
+     *
+     * @param ovalFile the OVAL file to extract from
+     * @param osFamily the os family of the OVAL file
+     * @param osVersion the os version of the OVAL file
+     * */
+    public static void savePlatformsVulnerablePackages(File ovalFile, OsFamily osFamily, String osVersion) {
+        OvalParser parser = new OvalParser();
+
+        OVALLookupHelper ovalLookupHelper = new OVALLookupHelper();
+        parser.parseResources(ovalFile,
+                test -> {
+                    OVALCleaner.cleanupTest(test, osFamily, osVersion);
+                    ovalLookupHelper.addTest(test);
+                },
+                object -> {
+                    OVALCleaner.cleanupObject(object, osFamily, osVersion);
+                    ovalLookupHelper.addObject(object);
+                },
+                state -> {
+                    OVALCleaner.cleanupState(state, osFamily, osVersion);
+                    ovalLookupHelper.addState(state);
+                });
+
+        VulnerablePackagesWriter writer = new VulnerablePackagesWriter();
+        parser.parseDefinitions(ovalFile, definition -> {
+            if (OVALCleaner.isRelevantDefinition(definition, osFamily)) {
+                OVALCleaner.cleanupDefinition(definition, osFamily, osVersion);
+                writer.write(VulnerablePackagesExtractors.create(definition, osFamily, ovalLookupHelper).extract());
+            }
+        });
+        writer.flush();
+    }
+
+    /**
+     * Writes vulnerable packages in batches, clearing the previous OVAL metadata of each platform the first time
+     * the platform is seen.
+     */
+    private static class VulnerablePackagesWriter {
+        private static final int BATCH_SIZE = 1000;
+
+        private final CallableMode mode = ModeFactory.getCallableMode("oval_queries",
+                "add_product_vulnerable_package");
+        private final Set<String> clearedPlatforms = new HashSet<>();
+        private final List<Map<String, Object>> batch = new ArrayList<>(BATCH_SIZE);
+
+        void write(List<ProductVulnerablePackages> productVulnerablePackages) {
+            for (ProductVulnerablePackages pvp : productVulnerablePackages) {
+                if (clearedPlatforms.add(pvp.getProductCpe())) {
+                    // Clear previous OVAL metadata
+                    clearOVALMetadataByPlatform(pvp.getProductCpe());
+                }
+                for (String cve : pvp.getCves()) {
+                    for (VulnerablePackage vulnerablePackage : pvp.getVulnerablePackages()) {
+                        Map<String, Object> params = new HashMap<>();
+                        params.put("product_name", pvp.getProductCpe());
+                        params.put("cve_name", cve);
+                        params.put("package_name", vulnerablePackage.getName());
+                        params.put("fix_version", vulnerablePackage.getFixVersion().orElse(null));
+
+                        batch.add(params);
+
+                        if (batch.size() == BATCH_SIZE) {
+                            mode.executeBatch(batch);
+                            batch.clear();
+                            commitTransaction();
+
+                            Session session = getSession();
+                            if (!inTransaction()) {
+                                session.beginTransaction();
+                            }
                         }
                     }
                 }
             }
         }
 
-        mode.getQuery().executeBatchUpdates(new DataResult<>(batch));
+        void flush() {
+            mode.executeBatch(batch);
+            batch.clear();
+        }
     }
 
     /**
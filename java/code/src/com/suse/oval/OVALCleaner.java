@@ -56,25 +56,44 @@ public class OVALCleaner {
         root.setOsFamily(osFamily);
         root.setOsVersion(osVersion);
 
-        if (osFamily == OsFamily.REDHAT_ENTERPRISE_LINUX) {
-            root.getDefinitions().removeIf(def -> def.getId().contains("unaffected"));
+        root.getDefinitions().removeIf(def -> !isRelevantDefinition(def, osFamily));
+
+        root.getDefinitions().forEach(definition -> cleanupDefinition(definition, osFamily, osVersion));
+        root.getTests().forEach(test -> cleanupTest(test, osFamily, osVersion));
+        root.getStates().forEach(state -> cleanupState(state, osFamily, osVersion));
+        root.getObjects().forEach(object -> cleanupObject(object, osFamily, osVersion));
+    }
+
+    /**
+     * Checks if the given {@code definition} is relevant for extracting vulnerable packages. Irrelevant definitions
+     * are removed by {@link #cleanup(OvalRootType, OsFamily, String)}.
+     *
+     * @param definition the definition to check
+     * @param osFamily the osFamily of the OVAL
+     * @return {@code True} if the definition should be kept and {@code False} otherwise
+     * */
+    public static boolean isRelevantDefinition(DefinitionType definition, OsFamily osFamily) {
+        if (osFamily == OsFamily.REDHAT_ENTERPRISE_LINUX && definition.getId().contains("unaffected")) {
+            return false;
         }
 
         // Debian OVAL files could contain patch definitions, but we're only interested in vulnerability definitions
-        if (osFamily == OsFamily.DEBIAN) {
-            root.getDefinitions().removeIf(def -> def.getDefinitionClass() != DefinitionClassEnum.VULNERABILITY);
+        if (osFamily == OsFamily.DEBIAN && definition.getDefinitionClass() != DefinitionClassEnum.VULNERABILITY) {
+            return false;
         }
 
         // Although it's rare, but it's possible to get null criteria trees.
-        root.getDefinitions().removeIf(def -> def.getCriteria() == null);
-
-        root.getDefinitions().forEach(definition -> doCleanupDefinition(definition, osFamily, osVersion));
-        root.getTests().forEach(test -> doCleanupTest(test, osFamily, osVersion));
-        root.getStates().forEach(state -> doCleanupState(state, osFamily, osVersion));
-        root.getObjects().forEach(object -> doCleanupObject(object, osFamily, osVersion));
+        return definition.getCriteria() != null;
     }
 
-    private static void doCleanupDefinition(DefinitionType definition, OsFamily osFamily, String osVersion) {
+    /**
+     * Cleanup a single relevant OVAL definition
+     *
+     * @param definition the definition to clean up
+     * @param osFamily the osFamily of the OVAL
+     * @param osVersion the osVersion of the OVAL
+     * */
+    public static void cleanupDefinition(DefinitionType definition, OsFamily osFamily, String osVersion) {
         fillCves(definition, osFamily);
         fillOsFamily(definition, osFamily);
         fillOsVersion(definition, osVersion);
@@ -133,7 +152,14 @@ public class OVALCleaner {
         definition.setOsVersion(osVersion);
     }
 
-    private static void doCleanupTest(TestType test, OsFamily osFamily, String osVersion) {
+    /**
+     * Cleanup a single OVAL test
+     *
+     * @param test the test to clean up
+     * @param osFamily the osFamily of the OVAL
+     * @param osVersion the osVersion of the OVAL
+     * */
+    public static void cleanupTest(TestType test, OsFamily osFamily, String osVersion) {
         if (osFamily == OsFamily.DEBIAN) {
             test.setId(convertDebianId(test.getId(), osVersion));
             test.setObjectRef(convertDebianId(test.getObjectRef(), osVersion));
@@ -141,13 +167,27 @@ public class OVALCleaner {
         }
     }
 
-    private static void doCleanupState(StateType state, OsFamily osFamily, String osVersion) {
+    /**
+     * Cleanup a single OVAL state
+     *
+     * @param state the state to clean up
+     * @param osFamily the osFamily of the OVAL
+     * @param osVersion the osVersion of the OVAL
+     * */
+    public static void cleanupState(StateType state, OsFamily osFamily, String osVersion) {
         if (osFamily == OsFamily.DEBIAN) {
             state.setId(convertDebianId(state.getId(), osVersion));
         }
     }
 
-    private static void doCleanupObject(ObjectType object, OsFamily osFamily, String osVersion) {
+    /**
+     * Cleanup a single OVAL object
+     *
+     * @param object the object to clean up
+     * @param osFamily the osFamily of the OVAL
+     * @param osVersion the osVersion of the OVAL
+     * */
+    public static void cleanupObject(ObjectType object, OsFamily osFamily, String osVersion) {
         if (osFamily == OsFamily.DEBIAN) {
             object.setId(convertDebianId(object.getId(), osVersion));
         }
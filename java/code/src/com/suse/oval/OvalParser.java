@@ -16,21 +16,74 @@
 package com.suse.oval;
 
 import com.suse.oval.exceptions.OvalParserException;
+import com.suse.oval.ovaltypes.DefinitionType;
+import com.suse.oval.ovaltypes.ObjectType;
 import com.suse.oval.ovaltypes.OvalRootType;
+import com.suse.oval.ovaltypes.StateType;
+import com.suse.oval.ovaltypes.TestType;
+import com.suse.oval.ovaltypes.linux.DpkginfoObject;
+import com.suse.oval.ovaltypes.linux.DpkginfoState;
+import com.suse.oval.ovaltypes.linux.DpkginfoTest;
+import com.suse.oval.ovaltypes.linux.RpminfoObject;
+import com.suse.oval.ovaltypes.linux.RpminfoState;
+import com.suse.oval.ovaltypes.linux.RpminfoTest;
 
+import java.io.BufferedInputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.util.Map;
+import java.util.function.Consumer;
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Unmarshaller;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 /**
  * The Oval Parser is responsible for parsing OVAL(Open Vulnerability and Assessment Language) documents
  */
 public class OvalParser {
 
+    private static final String OVAL_NS = "http://oval.mitre.org/XMLSchema/oval-definitions-5";
+    private static final String LINUX_NS = "http://oval.mitre.org/XMLSchema/oval-definitions-5#linux";
+
+    private static final QName DEFINITIONS = new QName(OVAL_NS, "definitions");
+    private static final QName TESTS = new QName(OVAL_NS, "tests");
+    private static final QName OBJECTS = new QName(OVAL_NS, "objects");
+    private static final QName STATES = new QName(OVAL_NS, "states");
+
+    private static final Map<QName, Class<?>> DEFINITION_TYPES = Map.of(
+            new QName(OVAL_NS, "definition"), DefinitionType.class);
+    private static final Map<QName, Class<?>> TEST_TYPES = Map.of(
+            new QName(LINUX_NS, "rpminfo_test"), RpminfoTest.class,
+            new QName(LINUX_NS, "dpkginfo_test"), DpkginfoTest.class,
+            new QName(OVAL_NS, "test"), TestType.class);
+    private static final Map<QName, Class<?>> OBJECT_TYPES = Map.of(
+            new QName(LINUX_NS, "rpminfo_object"), RpminfoObject.class,
+            new QName(LINUX_NS, "dpkginfo_object"), DpkginfoObject.class,
+            new QName(OVAL_NS, "object"), ObjectType.class);
+    private static final Map<QName, Class<?>> STATE_TYPES = Map.of(
+            new QName(LINUX_NS, "rpminfo_state"), RpminfoState.class,
+            new QName(LINUX_NS, "dpkginfo_state"), DpkginfoState.class,
+            new QName(OVAL_NS, "state"), StateType.class);
+
+    private static JAXBContext jaxbContext;
+
+    private static synchronized JAXBContext getJaxbContext() throws JAXBException {
+        if (jaxbContext == null) {
+            jaxbContext = JAXBContext.newInstance(OvalRootType.class);
+        }
+        return jaxbContext;
+    }
+
     /**
      * Parse the given OVAL file
      *
@@ -39,8 +92,7 @@ public class OvalParser {
      * */
     public OvalRootType parse(File ovalFile) throws OvalParserException {
         try {
-            JAXBContext jaxbContext = JAXBContext.newInstance(OvalRootType.class);
-            Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
+            Unmarshaller unmarshaller = getJaxbContext().createUnmarshaller();
             return (OvalRootType) unmarshaller.unmarshal(ovalFile);
         }
         catch (JAXBException e) {
@@ -63,4 +115,131 @@ public class OvalParser {
         }
     }
 
+    /**
+     * Stream the tests, objects and states of the given OVAL file, one element at a time. Definitions are skipped,
+     * so the memory needed doesn't depend on the number of definitions in the file.
+     *
+     * @param ovalFile the OVAL file to parse
+     * @param testConsumer receives each parsed test
+     * @param objectConsumer receives each parsed object
+     * @param stateConsumer receives each parsed state
+     * */
+    public void parseResources(File ovalFile, Consumer<TestType> testConsumer, Consumer<ObjectType> objectConsumer,
+                               Consumer<StateType> stateConsumer) {
+        stream(ovalFile, (section, element) -> {
+            if (section.equals(TESTS)) {
+                testConsumer.accept((TestType) element);
+            }
+            else if (section.equals(OBJECTS)) {
+                objectConsumer.accept((ObjectType) element);
+            }
+            else if (section.equals(STATES)) {
+                stateConsumer.accept((StateType) element);
+            }
+        }, TESTS, OBJECTS, STATES);
+    }
+
+    /**
+     * Stream the definitions of the given OVAL file, one definition at a time. Parsing stops at the end of the
+     * definitions section, tests, objects and states are not read.
+     *
+     * @param ovalFile the OVAL file to parse
+     * @param definitionConsumer receives each parsed definition
+     * */
+    public void parseDefinitions(File ovalFile, Consumer<DefinitionType> definitionConsumer) {
+        stream(ovalFile, (section, element) -> definitionConsumer.accept((DefinitionType) element), DEFINITIONS);
+    }
+
+    /**
+     * Receives each element of a section of an OVAL file
+     */
+    @FunctionalInterface
+    private interface ElementHandler {
+        void handle(QName section, Object element);
+    }
+
+    private void stream(File ovalFile, ElementHandler handler, QName... sections) {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+
+        try (InputStream in = new BufferedInputStream(new FileInputStream(ovalFile))) {
+            Unmarshaller unmarshaller = getJaxbContext().createUnmarshaller();
+            XMLStreamReader reader = factory.createXMLStreamReader(in);
+            try {
+                int remainingSections = sections.length;
+                QName section = null;
+                while (reader.hasNext() && remainingSections > 0) {
+                    int event = reader.getEventType();
+                    if (event == XMLStreamConstants.START_ELEMENT) {
+                        QName name = reader.getName();
+                        if (section == null) {
+                            if (isOneOf(name, sections)) {
+                                section = name;
+                            }
+                        }
+                        else {
+                            Class<?> type = getElementTypes(section).get(name);
+                            if (type != null) {
+                                // unmarshal moves the reader past the end of the element
+                                handler.handle(section, unmarshaller.unmarshal(reader, type).getValue());
+                                continue;
+                            }
+                            skipElement(reader);
+                        }
+                    }
+                    else if (event == XMLStreamConstants.END_ELEMENT && section != null &&
+                            reader.getName().equals(section)) {
+                        section = null;
+                        remainingSections--;
+                    }
+                    reader.next();
+                }
+            }
+            finally {
+                reader.close();
+            }
+        }
+        catch (IOException | XMLStreamException | JAXBException e) {
+            throw new OvalParserException("Failed to parse the given OVAL file at: " + ovalFile.getAbsolutePath(), e);
+        }
+    }
+
+    private static Map<QName, Class<?>> getElementTypes(QName section) {
+        if (section.equals(DEFINITIONS)) {
+            return DEFINITION_TYPES;
+        }
+        else if (section.equals(TESTS)) {
+            return TEST_TYPES;
+        }
+        else if (section.equals(OBJECTS)) {
+            return OBJECT_TYPES;
+        }
+        return STATE_TYPES;
+    }
+
+    private static boolean isOneOf(QName name, QName... names) {
+        for (QName candidate : names) {
+            if (candidate.equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Moves the reader, positioned on a start element, to the matching end element
+     */
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            }
+            else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
 }
@@ -20,6 +20,9 @@ import com.suse.oval.ovaltypes.OvalRootType;
 import com.suse.oval.ovaltypes.StateType;
 import com.suse.oval.ovaltypes.TestType;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -31,6 +34,18 @@ public class OVALLookupHelper {
     private final OvalTestManager testManager;
     private final OvalObjectManager objectManager;
 
+    private final Map<String, String> ids = new HashMap<>();
+
+    /**
+     * Creates an empty lookup helper, to be filled with {@link #addTest(TestType)}, {@link #addObject(ObjectType)}
+     * and {@link #addState(StateType)} while streaming an OVAL file.
+     */
+    public OVALLookupHelper() {
+        this.stateManager = new OvalStateManager(List.of());
+        this.testManager = new OvalTestManager(List.of());
+        this.objectManager = new OvalObjectManager(List.of());
+    }
+
     /**
      * Standard constructor
      *
@@ -71,4 +86,44 @@ public class OVALLookupHelper {
     public Optional<ObjectType> lookupObjectById(String objectId) {
         return objectManager.get(objectId);
     }
+
+    /**
+     * Adds an OVAL test. Only the data needed to extract vulnerable packages is kept, ids are shared with the
+     * objects and states referencing them.
+     *
+     * @param test the test to add
+     */
+    public void addTest(TestType test) {
+        test.setComment(null);
+        test.setId(intern(test.getId()));
+        test.setObjectRef(intern(test.getObjectRef()));
+        test.getStateRef().ifPresent(stateRef -> test.setStateRef(intern(stateRef)));
+        testManager.add(test);
+    }
+
+    /**
+     * Adds an OVAL object, see {@link #addTest(TestType)}
+     *
+     * @param object the object to add
+     */
+    public void addObject(ObjectType object) {
+        object.setComment(null);
+        object.setId(intern(object.getId()));
+        objectManager.add(object);
+    }
+
+    /**
+     * Adds an OVAL state, see {@link #addTest(TestType)}
+     *
+     * @param state the state to add
+     */
+    public void addState(StateType state) {
+        state.setComment(null);
+        state.setId(intern(state.getId()));
+        stateManager.add(state);
+    }
+
+    private String intern(String id) {
+        return id == null ? null : ids.computeIfAbsent(id, k -> k);
+    }
 }
@@ -48,4 +48,13 @@ public class OvalObjectManager {
     public Optional<ObjectType> get(String objectId) {
         return Optional.ofNullable(objectsMap.get(objectId));
     }
+
+    /**
+     * Stores an OVAL object to lookup later
+     *
+     * @param objectIn the object to store
+     * */
+    public void add(ObjectType objectIn) {
+        objectsMap.put(objectIn.getId(), objectIn);
+    }
 }
@@ -48,4 +48,13 @@ public class OvalStateManager {
     public Optional<StateType> get(String stateId) {
         return Optional.ofNullable(statesMap.get(stateId));
     }
+
+    /**
+     * Stores an OVAL state to lookup later
+     *
+     * @param stateIn the state to store
+     * */
+    public void add(StateType stateIn) {
+        statesMap.put(stateIn.getId(), stateIn);
+    }
 }
@@ -49,4 +49,13 @@ public class OvalTestManager {
     public Optional<TestType> get(String testId) {
         return Optional.ofNullable(testsMap.get(testId));
     }
+
+    /**
+     * Stores an OVAL test to lookup later
+     *
+     * @param testIn the test to store
+     * */
+    public void add(TestType testIn) {
+        testsMap.put(testIn.getId(), testIn);
+    }
 }
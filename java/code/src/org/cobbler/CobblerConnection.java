@@ -69,7 +69,10 @@ public class CobblerConnection {
     public CobblerConnection(String url) {
         try {
             actualUrl = url + "/cobbler_api";
-            client = new XmlRpcClient(actualUrl, false);
+            XmlRpcClient xmlRpcClient = new XmlRpcClient(actualUrl, false);
+            // let the HTTP connection be reused by the following calls
+            xmlRpcClient.setRequestProperty("Connection", "keep-alive");
+            client = xmlRpcClient;
         }
         catch (MalformedURLException e) {
             throw new XmlRpcException(e);
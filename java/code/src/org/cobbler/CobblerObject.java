@@ -25,6 +25,8 @@ import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -110,6 +112,14 @@ public abstract class CobblerObject {
      * Constant to define the value Cobbler uses for inheritance
      */
     public static final String INHERIT_KEY = "<<inherit>>";
+    /**
+     * Criteria value matching any object in the find XML-RPC methods
+     */
+    protected static final String ANY = "*";
+    /**
+     * Prefix of the XML-RPC handles of the objects not saved to disk yet
+     */
+    private static final String NEW_HANDLE_PREFIX = "___NEW___";
 
     /**
      * Holds the identifier for the XML-RPC API
@@ -127,6 +137,18 @@ public abstract class CobblerObject {
      * The connection to the Cobbler server
      */
     protected CobblerConnection client;
+    /**
+     * The modifications not sent to the server yet, or null if modifications are sent immediately
+     */
+    private Map<String, Object> pendingChanges;
+    /**
+     * The keys of the pending modifications whose resolved value must be refreshed
+     */
+    private Set<String> pendingResolved;
+    /**
+     * The keys whose resolved value is refreshed from the server when it is read next
+     */
+    private final Set<String> staleResolved = new HashSet<>();
 
     /**
      * Helper method used by all cobbler objects to
@@ -176,6 +198,32 @@ public abstract class CobblerObject {
 
     }
 
+    /**
+     * look up the resolved data maps of all the objects matching a certain criteria with a single call
+     *
+     * @param client     the XML-RPC client
+     * @param critera    (i.e. name, profile, etc..)
+     * @param value      the value of the criteria, {@link #ANY} matches all the objects
+     * @param findMethod the find method to use (find_system, find_profile)
+     * @return the resolved data maps by object name
+     */
+    @SuppressWarnings("unchecked")
+    protected static Map<String, Map<String, Object>> lookupResolvedDataMapsByCriteria(
+            CobblerConnection client, String critera, String value, String findMethod) {
+        Map<String, String> criteria = new HashMap<>();
+        criteria.put(critera, value);
+        List<Map<String, Object>> maps = (List<Map<String, Object>>) client.invokeTokenMethod(findMethod, criteria,
+                true, // expand
+                true // resolved
+        );
+
+        Map<String, Map<String, Object>> mapsByName = new HashMap<>();
+        for (Map<String, Object> map : maps) {
+            mapsByName.put((String) map.get(NAME), map);
+        }
+        return mapsByName;
+    }
+
 
     /**
      * Helper method used by all cobbler objects to return a Map of themselves
@@ -210,6 +258,14 @@ public abstract class CobblerObject {
      */
     protected abstract void invokeModify(String key, Object value);
 
+    /**
+     * This method executes the Cobbler server side modification of several raw values of an object saved to disk,
+     * and saves it, in a single call.
+     *
+     * @param attributes The new values, by key
+     */
+    protected abstract void invokeEdit(Map<String, Object> attributes);
+
     /**
      * This method executes the Cobbler server side modification with a resolved value
      *
@@ -238,7 +294,8 @@ public abstract class CobblerObject {
     protected abstract String invokeGetHandle();
 
     /**
-     * This method forgets the local state of the object and loads the current state from the Cobbler server
+     * This method forgets the local state of the object and loads the current state from the Cobbler server, after
+     * sending the buffered modifications
      */
     protected abstract void reload();
 
@@ -261,6 +318,7 @@ public abstract class CobblerObject {
      * @return The resolved value or in case an attribute doesn't resolve its raw value
      */
     protected final Object getResolvedValue(String key) {
+        flush();
         return client.invokeMethod("get_item_resolved_value", getUid(), key);
     }
 
@@ -323,7 +381,8 @@ public abstract class CobblerObject {
     }
 
     /**
-     * This method modifies the object on Cobbler server side.
+     * This method modifies the object on Cobbler server side. The modification is sent immediately, or buffered
+     * until {@link #flush()} after {@link #startBatch()}.
      *
      * @param key   The property name. Normally this is one of the constants defined above.
      * @param value The new value for the property. This must be a "raw" object value and not a resolved one.
@@ -336,6 +395,16 @@ public abstract class CobblerObject {
                     "CobblerObject.modify cannot be null or emtpy! Must be a non-emtpy string!"
             );
         }
+        if (pendingChanges != null) {
+            // the last modification of a key is sent after the previous modifications of other keys
+            pendingChanges.remove(key);
+            pendingChanges.put(key, value);
+            if (updateResolved) {
+                pendingResolved.add(key);
+            }
+            dataMap.put(key, value);
+            return;
+        }
         invokeModify(key, value);
         dataMap.put(key, value);
         if (updateResolved) {
@@ -349,17 +418,92 @@ public abstract class CobblerObject {
      * @param key The key to update.
      */
     protected void refreshResolved(String key) {
+        flush();
         if (getUid() == null) {
             throw new RuntimeException("getUid() was null!");
         }
+        Object resolvedValue = client.invokeMethod("get_item_resolved_value", getUid(), resolvedKey(key));
+        dataMapResolved.put(resolvedKey(key), resolvedValue);
+        staleResolved.remove(resolvedKey(key));
+    }
+
+    /**
+     * Gets a value of the resolved data map, refreshing it first if it was modified in a batch.
+     *
+     * @param key The key of the resolved value
+     * @return The resolved value
+     */
+    protected Object getResolvedData(String key) {
+        if ((pendingResolved != null && pendingResolved.contains(key)) || staleResolved.contains(key)) {
+            refreshResolved(key);
+        }
+        return dataMapResolved.get(key);
+    }
+
+    private static String resolvedKey(String key) {
         if (key.equals(SystemRecord.SET_INTERFACES)) {
             // This exception is needed here because the API Client cannot yet work with the new style property on
             // Cobbler for Network interfaces. Since the network interface handling has not been polished, this is
             // the most reasonable way to add this special case.
-            key = "interfaces";
+            return "interfaces";
+        }
+        return key;
+    }
+
+    /**
+     * Starts buffering the modifications of this object: setters only update the local values until
+     * {@link #flush()} or {@link #save()} sends the modifications to the server. Only the last modification of a
+     * key is sent, and the resolved values of the modified keys are refreshed when they are read next. Reading a
+     * value from the server, renaming the object or setting a resolved value flushes the buffered modifications
+     * first.
+     */
+    public void startBatch() {
+        if (pendingChanges == null) {
+            pendingChanges = new LinkedHashMap<>();
+            pendingResolved = new LinkedHashSet<>();
+        }
+    }
+
+    /**
+     * Sends the modifications buffered since {@link #startBatch()} to the server and stops buffering. Does nothing
+     * if no batch was started.
+     * <p>
+     * The modifications of an object saved to disk are sent in a single call, which also saves the object. Objects
+     * not saved yet, and network interfaces, which the single call does not support, are modified key by key.
+     */
+    public void flush() {
+        sendPendingChanges();
+    }
+
+    /**
+     * Sends the buffered modifications and stops buffering.
+     *
+     * @return true if the modifications were sent in a single call, which saved the object
+     */
+    private boolean sendPendingChanges() {
+        if (pendingChanges == null) {
+            return false;
         }
-        Object resolvedValue = client.invokeMethod("get_item_resolved_value", getUid(), key);
-        dataMapResolved.put(key, resolvedValue);
+        Map<String, Object> changes = pendingChanges;
+        Set<String> resolved = pendingResolved;
+        pendingChanges = null;
+        pendingResolved = null;
+        if (changes.isEmpty()) {
+            return false;
+        }
+
+        boolean edited = false;
+        // objects looked up from the server have no handle yet and are saved already
+        boolean unsaved = handle != null && handle.startsWith(NEW_HANDLE_PREFIX);
+        if (unsaved || changes.containsKey(SystemRecord.SET_INTERFACES)) {
+            changes.forEach(this::invokeModify);
+        }
+        else {
+            invokeEdit(changes);
+            edited = true;
+        }
+        resolved.forEach(key -> staleResolved.add(resolvedKey(key)));
+        return edited;
     }
 
     /**
@@ -374,23 +518,29 @@ public abstract class CobblerObject {
      *              value or a resolved one.
      */
     protected void modifyResolved(String key, Object value) {
+        flush();
         invokeModifyResolved(key, value);
         dataMapResolved.put(key, value);
     }
 
     /**
-     * Calls save object to complete the commit
+     * Calls save object to complete the commit, after sending the buffered modifications. The object is not saved
+     * again if sending the modifications saved it already.
      */
     public void save() {
-        invokeSave();
+        if (!sendPendingChanges()) {
+            invokeSave();
+        }
     }
 
     /**
-     * Removes the kickstart object from cobbler.
+     * Removes the kickstart object from cobbler. Buffered modifications are discarded.
      *
      * @return true if successful
      */
     public boolean remove() {
+        pendingChanges = null;
+        pendingResolved = null;
         return invokeRemove();
     }
 
@@ -432,7 +582,7 @@ public abstract class CobblerObject {
      */
     @SuppressWarnings("unchecked")
     public List<String> getResolvedManagementClasses() {
-        return (List<String>) dataMapResolved.get(MGMT_CLASSES);
+        return (List<String>) getResolvedData(MGMT_CLASSES);
     }
 
     /**
@@ -541,7 +691,7 @@ public abstract class CobblerObject {
      */
     @SuppressWarnings("unchecked")
     public List<String> getResolvedOwners() {
-        return (List<String>) dataMapResolved.get(OWNERS);
+        return (List<String>) getResolvedData(OWNERS);
     }
 
     /**
@@ -800,7 +950,7 @@ public abstract class CobblerObject {
      */
     @SuppressWarnings("unchecked")
     public Map<String, Object> getResolvedAutoinstallMeta() {
-        return (Map<String, Object>) dataMapResolved.get(KS_META);
+        return (Map<String, Object>) getResolvedData(KS_META);
     }
 
     /**
@@ -837,6 +987,7 @@ public abstract class CobblerObject {
      * @param nameIn sets the new name
      */
     public void setName(String nameIn) {
+        flush();
         invokeRename(nameIn);
         dataMap.put(NAME, nameIn);
         dataMapResolved.put(NAME, nameIn);
@@ -918,7 +1069,7 @@ public abstract class CobblerObject {
      * @see #getRedHatManagementKey()
      */
     public String getResolvedRedHatManagementKey() {
-        return (String) dataMapResolved.get(REDHAT_KEY);
+        return (String) getResolvedData(REDHAT_KEY);
     }
 
     /**
@@ -120,17 +120,17 @@ public class Distro extends CobblerObject {
         List<Distro> distros = new LinkedList<>();
         List<Map<String, Object>> cDistros = (List<Map<String, Object>>)
                 connection.invokeMethod("get_distros");
+        Map<String, Map<String, Object>> resolved = lookupResolvedDataMapsByCriteria(connection, NAME, ANY,
+                "find_distro");
 
         for (Map<String, Object> distroMap : cDistros) {
-            Distro distro = new Distro(connection);
-            distro.dataMap = distroMap;
-            distro.dataMapResolved = (Map<String, Object>) connection.invokeMethod(
-                    "get_distro",
-                    distro.getName(), // object name
-                    false, // flatten
-                    true // resolved
-            );
-            distros.add(distro);
+            // get_distros may include distros that have been deleted in the mean time
+            if (resolved.containsKey(distroMap.get(NAME))) {
+                Distro distro = new Distro(connection);
+                distro.dataMap = distroMap;
+                distro.dataMapResolved = resolved.get(distroMap.get(NAME));
+                distros.add(distro);
+            }
         }
         return distros;
     }
@@ -151,6 +151,14 @@ public class Distro extends CobblerObject {
         client.invokeTokenMethod("modify_distro", getHandle(), key, value);
     }
 
+    /**
+     * @inheritDoc
+     */
+    @Override
+    protected void invokeEdit(Map<String, Object> attributes) {
+        client.invokeTokenMethod("xapi_object_edit", "distro", getName(), "edit", attributes);
+    }
+
     /**
      * @inheritDoc
      */
@@ -188,6 +196,7 @@ public class Distro extends CobblerObject {
      */
     @Override
     public void reload() {
+        flush();
         Distro newDistro = lookupById(client, getId());
         dataMap = newDistro.dataMap;
         dataMapResolved = newDistro.dataMapResolved;
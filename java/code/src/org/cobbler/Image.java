@@ -109,17 +109,17 @@ public class Image extends CobblerObject {
 
         List<Map<String, Object>> imageMaps = (List<Map<String, Object>>) client
             .invokeMethod("get_images");
+        Map<String, Map<String, Object>> resolved = lookupResolvedDataMapsByCriteria(client, NAME, ANY,
+                "find_image");
 
         for (Map<String, Object> imageMap : imageMaps) {
-            Image image = new Image(client);
-            image.dataMap = imageMap;
-            image.dataMapResolved = (Map<String, Object>) client.invokeMethod(
-                    "get_image",
-                    image.getName(), // object name
-                    false, // flatten
-                    true // resolved
-            );
-            result.add(image);
+            // get_images may include images that have been deleted in the mean time
+            if (resolved.containsKey(imageMap.get(NAME))) {
+                Image image = new Image(client);
+                image.dataMap = imageMap;
+                image.dataMapResolved = resolved.get(imageMap.get(NAME));
+                result.add(image);
+            }
         }
         return result;
     }
@@ -189,6 +189,14 @@ public class Image extends CobblerObject {
         client.invokeTokenMethod("modify_image", getHandle(), key, value);
     }
 
+    /**
+     * @inheritDoc
+     */
+    @Override
+    protected void invokeEdit(Map<String, Object> attributes) {
+        client.invokeTokenMethod("xapi_object_edit", "image", getName(), "edit", attributes);
+    }
+
     /**
      * @inheritDoc
      */
@@ -226,6 +234,7 @@ public class Image extends CobblerObject {
      */
     @Override
     protected void reload() {
+        flush();
         Image newImage = lookupById(client, getId());
         dataMap = newImage.dataMap;
         dataMapResolved = newImage.dataMapResolved;
@@ -21,12 +21,12 @@ import com.redhat.rhn.common.util.StringUtil;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 
 /**
@@ -199,27 +199,22 @@ public class Profile extends CobblerObject {
     @SuppressWarnings("unchecked")
     public static List<Profile> list(CobblerConnection connection,
                                      Set<String> excludes) {
-        return ((List<Map<String, Object>>) connection.invokeMethod("get_profiles")).stream()
-                .map(profMap -> {
-                    Profile profile = new Profile(connection);
-                    profile.dataMap = profMap;
-                    Object profileObj = connection.invokeMethod(
-                            "get_profile",
-                            profile.getName(), // object name
-                            false, // flatten
-                            true // resolved
-                    );
-                    // get_profiles may include profiles that have been deleted in the mean time
-                    if (profileObj instanceof Map) {
-                        profile.dataMapResolved = (Map<String, Object>) profileObj;
-                        if (!excludes.contains(profile.getId())) {
-                            return profile;
-                        }
-                    }
-                    return null;
-                })
-                .filter(profile -> profile != null)
-                .collect(Collectors.toList());
+        List<Map<String, Object>> profMaps = (List<Map<String, Object>>) connection.invokeMethod("get_profiles");
+        Map<String, Map<String, Object>> resolved = lookupResolvedDataMapsByCriteria(connection, NAME, ANY,
+                "find_profile");
+        List<Profile> profiles = new ArrayList<>();
+        for (Map<String, Object> profMap : profMaps) {
+            // get_profiles may include profiles that have been deleted in the mean time
+            if (resolved.containsKey(profMap.get(NAME))) {
+                Profile profile = new Profile(connection);
+                profile.dataMap = profMap;
+                profile.dataMapResolved = resolved.get(profMap.get(NAME));
+                if (!excludes.contains(profile.getId())) {
+                    profiles.add(profile);
+                }
+            }
+        }
+        return profiles;
     }
 
     /**
@@ -238,6 +233,14 @@ public class Profile extends CobblerObject {
         client.invokeTokenMethod("modify_profile", getHandle(), key, value);
     }
 
+    /**
+     * @inheritDoc
+     */
+    @Override
+    protected void invokeEdit(Map<String, Object> attributes) {
+        client.invokeTokenMethod("xapi_object_edit", "profile", getName(), "edit", attributes);
+    }
+
     /**
      * @inheritDoc
      */
@@ -267,6 +270,7 @@ public class Profile extends CobblerObject {
      */
     @Override
     protected void reload() {
+        flush();
         Profile newProfile = lookupById(client, getId());
         dataMap = newProfile.dataMap;
         dataMapResolved = newProfile.dataMapResolved;
@@ -314,7 +318,7 @@ public class Profile extends CobblerObject {
      * @return The virtual bridge name
      */
     public String getResolvedVirtBridge() {
-        return (String) dataMapResolved.get(VIRT_BRIDGE);
+        return (String) getResolvedData(VIRT_BRIDGE);
     }
 
     /**
@@ -334,7 +338,7 @@ public class Profile extends CobblerObject {
      * @see #getVirtCpus()
      */
     public Integer getResolvedVirtCpus() {
-        return (Integer) dataMapResolved.get(VIRT_CPUS);
+        return (Integer) getResolvedData(VIRT_CPUS);
     }
 
     /**
@@ -354,7 +358,7 @@ public class Profile extends CobblerObject {
      * @see #getVirtType()
      */
     public String getResolvedVirtType() {
-        return (String) dataMapResolved.get(VIRT_TYPE);
+        return (String) getResolvedData(VIRT_TYPE);
     }
 
     /**
@@ -384,7 +388,7 @@ public class Profile extends CobblerObject {
      * @see #getVirtPath()
      */
     public String getResolvedVirtPath() {
-        return (String) dataMapResolved.get(VIRT_PATH);
+        return (String) getResolvedData(VIRT_PATH);
     }
 
     /**
@@ -404,7 +408,7 @@ public class Profile extends CobblerObject {
      * @see #getServer()
      */
     public String getResolvedServer() {
-        return (String) dataMapResolved.get(SERVER);
+        return (String) getResolvedData(SERVER);
     }
 
     /**
@@ -425,7 +429,7 @@ public class Profile extends CobblerObject {
      */
     @SuppressWarnings("unchecked")
     public List<String> getResolvedNameServer() {
-        return (List<String>) dataMapResolved.get(NAME_SERVERS);
+        return (List<String>) getResolvedData(NAME_SERVERS);
     }
 
     /**
@@ -474,7 +478,7 @@ public class Profile extends CobblerObject {
      * @see #getVirtFileSize()
      */
     public Double getResolvedVirtFileSize() {
-        return (Double) dataMapResolved.get(VIRT_FILE_SIZE);
+        return (Double) getResolvedData(VIRT_FILE_SIZE);
     }
 
     /**
@@ -494,7 +498,7 @@ public class Profile extends CobblerObject {
      * @see #getVirtRam()
      */
     public Integer getResolvedVirtRam() {
-        return (Integer) dataMapResolved.get(VIRT_RAM);
+        return (Integer) getResolvedData(VIRT_RAM);
     }
 
     /**
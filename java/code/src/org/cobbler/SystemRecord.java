@@ -15,7 +15,6 @@
 
 package org.cobbler;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -200,14 +199,10 @@ public class SystemRecord extends CobblerObject {
      */
     public static List<SystemRecord> listByAssociatedProfile(CobblerConnection client,
                                                              String profileName) {
-        List<SystemRecord> toReturn = new ArrayList<>();
         List<Map<String, Object>> maps = lookupDataMapsByCriteria(
                 client, PROFILE, profileName, "find_system");
-
-        for (Map<String, Object> map : maps) {
-            toReturn.add(handleLookup(client, map));
-        }
-        return toReturn;
+        return list(client, maps, lookupResolvedDataMapsByCriteria(client, PROFILE, profileName, "find_system"),
+                Set.of());
     }
 
     /**
@@ -239,24 +234,8 @@ public class SystemRecord extends CobblerObject {
      * @param connection the cobbler connection
      * @return a list of systems.
      */
-    @SuppressWarnings("unchecked")
     public static List<SystemRecord> list(CobblerConnection connection) {
-        List<SystemRecord> systems = new LinkedList<>();
-        List<Map<String, Object>> cSystems = (List<Map<String, Object>>)
-                connection.invokeMethod("get_systems");
-
-        for (Map<String, Object> sysMap : cSystems) {
-            SystemRecord sys = new SystemRecord(connection);
-            sys.dataMap = sysMap;
-            sys.dataMapResolved = (Map<String, Object>) connection.invokeMethod(
-                    "get_system",
-                    sys.getName(), // object name
-                    false, // flatten
-                    true // resolved
-            );
-            systems.add(sys);
-        }
-        return systems;
+        return list(connection, Set.of());
     }
 
 
@@ -270,21 +249,33 @@ public class SystemRecord extends CobblerObject {
     @SuppressWarnings("unchecked")
     public static List<SystemRecord> list(CobblerConnection connection,
                                           Set<String> excludes) {
-        List<SystemRecord> systems = new LinkedList<>();
         List<Map<String, Object>> cSystems = (List<Map<String, Object>>)
                 connection.invokeMethod("get_systems");
+        return list(connection, cSystems, lookupResolvedDataMapsByCriteria(connection, NAME, ANY, "find_system"),
+                excludes);
+    }
 
-        for (Map<String, Object> sysMap : cSystems) {
-            SystemRecord sys = new SystemRecord(connection);
-            sys.dataMap = sysMap;
-            sys.dataMapResolved = (Map<String, Object>) connection.invokeMethod(
-                    "get_system",
-                    sys.getName(), // object name
-                    false, // flatten
-                    true // resolved
-            );
-            if (!excludes.contains(sys.getId())) {
-                systems.add(sys);
+    /**
+     * Creates the system records of the given data maps.
+     *
+     * @param connection the cobbler connection
+     * @param sysMaps    the raw data maps of the systems
+     * @param resolved   the resolved data maps of the systems, by name
+     * @param excludes   a list of cobbler ids to file on
+     * @return a list of systems.
+     */
+    private static List<SystemRecord> list(CobblerConnection connection, List<Map<String, Object>> sysMaps,
+                                           Map<String, Map<String, Object>> resolved, Set<String> excludes) {
+        List<SystemRecord> systems = new LinkedList<>();
+        for (Map<String, Object> sysMap : sysMaps) {
+            // systems may have been deleted in the mean time
+            if (resolved.containsKey(sysMap.get(NAME))) {
+                SystemRecord sys = new SystemRecord(connection);
+                sys.dataMap = sysMap;
+                sys.dataMapResolved = resolved.get(sysMap.get(NAME));
+                if (!excludes.contains(sys.getId())) {
+                    systems.add(sys);
+                }
             }
         }
         return systems;
@@ -306,6 +297,14 @@ public class SystemRecord extends CobblerObject {
         client.invokeTokenMethod("modify_system", getHandle(), key, value);
     }
 
+    /**
+     * @inheritDoc
+     */
+    @Override
+    protected void invokeEdit(Map<String, Object> attributes) {
+        client.invokeTokenMethod("xapi_object_edit", "system", getName(), "edit", attributes);
+    }
+
     /**
      * @inheritDoc
      */
@@ -335,6 +334,7 @@ public class SystemRecord extends CobblerObject {
      */
     @Override
     protected void reload() {
+        flush();
         SystemRecord newSystem = lookupById(client, getId());
         dataMap = newSystem.dataMap;
         dataMapResolved = newSystem.dataMapResolved;
@@ -427,7 +427,7 @@ public class SystemRecord extends CobblerObject {
      * @return The virtual bridge name
      */
     public String getResolvedVirtBridge() {
-        return (String) dataMapResolved.get(VIRT_BRIDGE);
+        return (String) getResolvedData(VIRT_BRIDGE);
     }
 
     /**
@@ -447,7 +447,7 @@ public class SystemRecord extends CobblerObject {
      * @see #getVirtCpus()
      */
     public Integer getResolvedVirtCpus() {
-        return (Integer) dataMapResolved.get(VIRT_CPUS);
+        return (Integer) getResolvedData(VIRT_CPUS);
     }
 
     /**
@@ -467,7 +467,7 @@ public class SystemRecord extends CobblerObject {
      * @see #getVirtType()
      */
     public String getResolvedVirtType() {
-        return (String) dataMapResolved.get(VIRT_TYPE);
+        return (String) getResolvedData(VIRT_TYPE);
     }
 
     /**
@@ -487,7 +487,7 @@ public class SystemRecord extends CobblerObject {
      * @see #getVirtPath()
      */
     public String getResolvedVirtPath() {
-        return (String) dataMapResolved.get(VIRT_PATH);
+        return (String) getResolvedData(VIRT_PATH);
     }
 
     /**
@@ -507,7 +507,7 @@ public class SystemRecord extends CobblerObject {
      * @see #getVirtFileSize()
      */
     public Double getResolvedVirtFileSize() {
-        return (Double) dataMapResolved.get(VIRT_FILE_SIZE);
+        return (Double) getResolvedData(VIRT_FILE_SIZE);
     }
 
     /**
@@ -527,7 +527,7 @@ public class SystemRecord extends CobblerObject {
      * @see #getVirtRam()
      */
     public Integer getResolvedVirtRam() {
-        return (Integer) dataMapResolved.get(VIRT_RAM);
+        return (Integer) getResolvedData(VIRT_RAM);
     }
 
     /**
@@ -772,7 +772,7 @@ public class SystemRecord extends CobblerObject {
      * @see #getServer()
      */
     public String getResolvedServer() {
-        return (String) dataMapResolved.get(SERVER);
+        return (String) getResolvedData(SERVER);
     }
 
     /**
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2026 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+
+package org.cobbler.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.cobbler.CobblerConnection;
+import org.cobbler.Distro;
+import org.cobbler.Profile;
+import org.cobbler.SystemRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Measures the requests sent by {@link CobblerConnection} over HTTP to a {@link FakeCobblerServer}.
+ */
+public class CobblerBatchThroughputTest {
+
+    private static final Logger LOG = LogManager.getLogger(CobblerBatchThroughputTest.class);
+
+    private static final int SYSTEMS = 50;
+
+    private FakeCobblerServer server;
+    private CobblerConnection connection;
+    private final List<String> names = new ArrayList<>();
+
+    /**
+     * Starts the server and creates the systems.
+     *
+     * @throws Exception if the server cannot be started
+     */
+    @BeforeEach
+    public void setUp() throws Exception {
+        server = new FakeCobblerServer();
+        server.start();
+        connection = new CobblerConnection(server.getUrl(), "token");
+
+        // the objects are created directly in the mock, without any request
+        CobblerConnection mock = new MockConnection("http://localhost", "token");
+        Distro distro = new Distro.Builder<String>()
+                .setName("test-distro")
+                .setKernel("kernel")
+                .setInitrd("initrd")
+                .setKsmeta(Optional.empty())
+                .setBreed("redhat")
+                .setOsVersion("rhel6")
+                .setArch("x86_64")
+                .build(mock);
+        Profile profile = Profile.create(mock, "test-profile", distro);
+        for (int i = 0; i < SYSTEMS; i++) {
+            names.add(SystemRecord.create(mock, "test-system-" + i, profile).getName());
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.stop();
+        MockConnection.clear();
+    }
+
+    /**
+     * Test that the modifications of a batch are sent in a single request.
+     */
+    @Test
+    public void testBatchedModifications() {
+        List<SystemRecord> systems = new ArrayList<>();
+        for (String name : names) {
+            systems.add(SystemRecord.lookupByName(connection, name));
+        }
+
+        int requestsBefore = server.getRequests();
+        long start = System.nanoTime();
+        for (SystemRecord system : systems) {
+            system.startBatch();
+            system.setPowerType("ipmilan");
+            system.setPowerAddress("address-" + system.getName());
+            system.setPowerUsername("user");
+            system.setPowerPassword("password");
+            system.flush();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        assertEquals(SYSTEMS, server.getRequests() - requestsBefore);
+        LOG.info("Sent {} batches of 4 modifications in {} ms", SYSTEMS, elapsed / 1_000_000);
+
+        CobblerConnection mock = new MockConnection("http://localhost", "token");
+        for (String name : names) {
+            SystemRecord system = SystemRecord.lookupByName(mock, name);
+            assertEquals("ipmilan", system.getPowerType());
+            assertEquals("address-" + name, system.getPowerAddress());
+            assertEquals("user", system.getPowerUsername());
+            assertEquals("password", system.getPowerPassword());
+        }
+    }
+
+    /**
+     * Test that the same modifications without a batch send one modification and one resolved value lookup each.
+     */
+    @Test
+    public void testUnbatchedModifications() {
+        SystemRecord system = SystemRecord.lookupByName(connection, names.get(0));
+        // retrieves the handle, used by the following modifications
+        system.setPowerId("0");
+
+        int requestsBefore = server.getRequests();
+        system.setPowerType("ipmilan");
+        system.setPowerAddress("address");
+        system.setPowerUsername("user");
+        system.setPowerPassword("password");
+
+        assertEquals(8, server.getRequests() - requestsBefore);
+    }
+
+    /**
+     * Test that listing the systems with their resolved values takes two requests, whatever their number.
+     */
+    @Test
+    public void testList() {
+        int requestsBefore = server.getRequests();
+        long start = System.nanoTime();
+        List<SystemRecord> systems = SystemRecord.list(connection);
+        long elapsed = System.nanoTime() - start;
+
+        assertEquals(SYSTEMS, systems.size());
+        assertEquals(2, server.getRequests() - requestsBefore);
+        LOG.info("Listed {} systems in {} ms", SYSTEMS, elapsed / 1_000_000);
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2026 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+
+package org.cobbler.test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import org.apache.commons.lang3.StringEscapeUtils;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+/**
+ * Cobbler XML-RPC endpoint running in the JVM, answering with a {@link MockConnection}. Unlike the
+ * {@link MockConnection}, it lets a {@link org.cobbler.CobblerConnection} send its calls over HTTP, so that
+ * the number of requests and their cost can be measured.
+ */
+public class FakeCobblerServer {
+
+    private final MockConnection mock = new MockConnection("http://localhost");
+    private final AtomicInteger requests = new AtomicInteger();
+    private HttpServer server;
+
+    /**
+     * Starts listening on a free port of the loopback interface.
+     *
+     * @throws IOException if the server cannot be started
+     */
+    public void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/cobbler_api", this::handle);
+        server.start();
+    }
+
+    /**
+     * Stops the server.
+     */
+    public void stop() {
+        server.stop(0);
+    }
+
+    /**
+     * Returns the base url of the server, to be passed to a {@link org.cobbler.CobblerConnection}.
+     *
+     * @return the url
+     */
+    public String getUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    /**
+     * Returns the number of HTTP requests received since the server was started.
+     *
+     * @return the number of requests
+     */
+    public int getRequests() {
+        return requests.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        String response;
+        try (InputStream body = exchange.getRequestBody()) {
+            Element call = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(body).getDocumentElement();
+            String methodName = childElement(call, "methodName").getTextContent().trim();
+            List<Object> params = new ArrayList<>();
+            Element paramsElement = childElement(call, "params");
+            if (paramsElement != null) {
+                for (Element param : childElements(paramsElement)) {
+                    params.add(parseValue(childElement(param, "value")));
+                }
+            }
+            response = "<params><param>" + serializeValue(mock.invokeMethod(methodName, params.toArray())) +
+                    "</param></params>";
+        }
+        catch (Exception e) {
+            Map<String, Object> fault = new HashMap<>();
+            fault.put("faultCode", 1);
+            fault.put("faultString", String.valueOf(e.getMessage()));
+            response = "<fault>" + serializeValue(fault) + "</fault>";
+        }
+
+        byte[] bytes = ("<?xml version=\"1.0\"?><methodResponse>" + response + "</methodResponse>")
+                .getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/xml");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static Object parseValue(Element value) {
+        Element typed = childElements(value).stream().findFirst().orElse(null);
+        if (typed == null) {
+            // untyped values are strings
+            return value.getTextContent();
+        }
+        String text = typed.getTextContent().trim();
+        switch (typed.getTagName()) {
+            case "string":
+                return typed.getTextContent();
+            case "int":
+            case "i4":
+                return Integer.valueOf(text);
+            case "boolean":
+                return "1".equals(text);
+            case "double":
+                return Double.valueOf(text);
+            case "array":
+                List<Object> list = new ArrayList<>();
+                for (Element item : childElements(childElement(typed, "data"))) {
+                    list.add(parseValue(item));
+                }
+                return list;
+            case "struct":
+                Map<String, Object> map = new HashMap<>();
+                for (Element member : childElements(typed)) {
+                    map.put(childElement(member, "name").getTextContent(),
+                            parseValue(childElement(member, "value")));
+                }
+                return map;
+            default:
+                throw new IllegalArgumentException("Unsupported XML-RPC type: " + typed.getTagName());
+        }
+    }
+
+    private static String serializeValue(Object value) {
+        StringBuilder xml = new StringBuilder("<value>");
+        if (value == null) {
+            // like Cobbler, which sends None as "~"
+            xml.append("<string>~</string>");
+        }
+        else if (value instanceof Boolean) {
+            xml.append("<boolean>").append((Boolean) value ? "1" : "0").append("</boolean>");
+        }
+        else if (value instanceof Integer) {
+            xml.append("<int>").append(value).append("</int>");
+        }
+        else if (value instanceof Double) {
+            xml.append("<double>").append(value).append("</double>");
+        }
+        else if (value instanceof Map) {
+            xml.append("<struct>");
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                xml.append("<member><name>").append(StringEscapeUtils.escapeXml10(String.valueOf(entry.getKey())))
+                        .append("</name>").append(serializeValue(entry.getValue())).append("</member>");
+            }
+            xml.append("</struct>");
+        }
+        else if (value instanceof List) {
+            xml.append("<array><data>");
+            for (Object item : (List<?>) value) {
+                xml.append(serializeValue(item));
+            }
+            xml.append("</data></array>");
+        }
+        else {
+            xml.append("<string>").append(StringEscapeUtils.escapeXml10(value.toString())).append("</string>");
+        }
+        return xml.append("</value>").toString();
+    }
+
+    private static Element childElement(Element parent, String name) {
+        return childElements(parent).stream().filter(e -> e.getTagName().equals(name)).findFirst().orElse(null);
+    }
+
+    private static List<Element> childElements(Element parent) {
+        List<Element> elements = new ArrayList<>();
+        for (Node node = parent.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (node.getNodeType() == Node.ELEMENT_NODE) {
+                elements.add((Element) node);
+            }
+        }
+        return elements;
+    }
+}
@@ -152,7 +152,7 @@ public class MockConnection extends CobblerConnection {
                 return convertItemListToMapList(profiles, false);
             case "find_profile":
                 List<MockItem> findResultsProfile = find((Map<String, Object>) args[0], profiles);
-                return convertItemListToMapList(findResultsProfile, false);
+                return convertItemListToMapList(findResultsProfile, isResolvedFind(args));
             case "modify_profile":
                 log.debug("PROFILE: Modify  w/ handle {}, set {} to {}", args[0], args[1], args[2]);
                 modifyItem(profiles, (String) args[0], (String) args[1], args[2]);
@@ -169,7 +169,7 @@ public class MockConnection extends CobblerConnection {
             //distros
             case "find_distro":
                 List<MockItem> findResultsDistro = find((Map<String, Object>) args[0], distros);
-                return convertItemListToMapList(findResultsDistro, false);
+                return convertItemListToMapList(findResultsDistro, isResolvedFind(args));
             case "get_distros":
                 return convertItemListToMapList(distros, false);
             case "modify_distro":
@@ -193,7 +193,7 @@ public class MockConnection extends CobblerConnection {
             //System
             case "find_system":
                 List<MockItem> findResultsSystem = find((Map<String, Object>) args[0], systems);
-                return convertItemListToMapList(findResultsSystem, false);
+                return convertItemListToMapList(findResultsSystem, isResolvedFind(args));
             case "get_systems":
                 return convertItemListToMapList(systems, false);
             case "modify_system":
@@ -236,7 +236,7 @@ public class MockConnection extends CobblerConnection {
             // images
             case "find_image":
                 List<MockItem> findResultsImage = find((Map<String, Object>) args[0], images);
-                return convertItemListToMapList(findResultsImage, false);
+                return convertItemListToMapList(findResultsImage, isResolvedFind(args));
             case "get_images":
                 return convertItemListToMapList(images, false);
             case "modify_image":
@@ -255,6 +255,17 @@ public class MockConnection extends CobblerConnection {
             case "new_image":
                 return newImage();
             // other
+            case "xapi_object_edit":
+                // Arguments are the object type, the object name, the edit type, the attributes and the token
+                List<MockItem> editCollection = getCollection((String) args[0]);
+                MockItem editItem = findByName((String) args[1], editCollection);
+                if (editItem == null) {
+                    throw new RuntimeException(String.format("Item with name '%s' not found!", args[1]));
+                }
+                for (Map.Entry<String, Object> attribute : ((Map<String, Object>) args[3]).entrySet()) {
+                    modifyItem(editCollection, editItem.getXmlrpcHandle(), attribute.getKey(), attribute.getValue());
+                }
+                return true;
             case "get_item_resolved_value":
                 if (args.length != 2) {
                     throw new RuntimeException("get_item_resolved_value needs exactly two arguments!");
@@ -446,7 +457,10 @@ public class MockConnection extends CobblerConnection {
         List<Map<String, Object>> returnValue = new LinkedList<>();
         for (MockItem item : collection) {
             if (resolved) {
-                returnValue.add(new HashMap<>(item.getDataMapResolved()));
+                // the resolved values complete the raw ones, like the values Cobbler resolves from the parents
+                Map<String, Object> resolvedMap = new HashMap<>(item.getDataMap());
+                resolvedMap.putAll(item.getDataMapResolved());
+                returnValue.add(resolvedMap);
             }
             else {
                 returnValue.add(new HashMap<>(item.getDataMap()));
@@ -455,12 +469,32 @@ public class MockConnection extends CobblerConnection {
         return returnValue;
     }
 
+    private List<MockItem> getCollection(String objectType) {
+        switch (objectType) {
+            case "profile":
+                return profiles;
+            case "distro":
+                return distros;
+            case "system":
+                return systems;
+            case "image":
+                return images;
+            default:
+                throw new RuntimeException(String.format("Unknown object type '%s'!", objectType));
+        }
+    }
+
+    private static boolean isResolvedFind(Object... args) {
+        // Arguments are the criteria, the expand flag, the optional resolved flag and the token
+        return args.length == 4 && Boolean.TRUE.equals(args[2]);
+    }
+
     private List<MockItem> find(Map<String, Object> criteria, List<MockItem> maps) {
         List<MockItem> ret = new LinkedList<>();
         for (MockItem map : maps) {
             int matched = 0;
             for (String key : criteria.keySet()) {
-                if (!criteria.get(key).equals(map.getDataMap().get(key))) {
+                if (!"*".equals(criteria.get(key)) && !criteria.get(key).equals(map.getDataMap().get(key))) {
                     break;
                 }
                 matched++;
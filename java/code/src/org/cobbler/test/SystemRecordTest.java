@@ -195,6 +195,38 @@ public class SystemRecordTest {
         assertSystemKeyEquals(expected.getName(), SystemRecord.IMAGE);
     }
 
+    /**
+     * Test that modifications in a batch are sent on flush, the last one per key.
+     */
+    @Test
+    public void testBatch() {
+        // Arrange
+        String address = TestUtils.randomString();
+        String username = TestUtils.randomString();
+        String password = TestUtils.randomString();
+
+        // Act
+        system.startBatch();
+        system.setPowerType("ipmilan");
+        system.setPowerAddress(TestUtils.randomString());
+        system.setPowerAddress(address);
+        system.setPowerUsername(username);
+        system.setPowerPassword(password);
+
+        // Assert
+        assertSystemKeyEquals(null, SystemRecord.POWER_ADDRESS);
+        system.flush();
+        assertEquals(address, system.getPowerAddress());
+        assertSystemKeyEquals("ipmilan", SystemRecord.POWER_TYPE);
+        assertSystemKeyEquals(address, SystemRecord.POWER_ADDRESS);
+        assertSystemKeyEquals(username, SystemRecord.POWER_USERNAME);
+        assertSystemKeyEquals(password, SystemRecord.POWER_PASSWORD);
+
+        // modifications are sent immediately again after the flush
+        system.setPowerId("1");
+        assertSystemKeyEquals("1", SystemRecord.POWER_ID);
+    }
+
     /**
      * Check in MockConnection that the current system has a certain value
      * corresponding to a key
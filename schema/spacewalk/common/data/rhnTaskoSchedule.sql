@@ -181,6 +181,13 @@ VALUES (sequence_nextval('rhn_tasko_schedule_id_seq'), 'update-reporting-hub-def
         (SELECT id FROM rhnTaskoBunch WHERE name='mgr-update-reporting-hub-bunch'),
         current_timestamp, '0 30 1 ? * *');
 
+-- Every hour, the full update still runs every night
+
+INSERT INTO rhnTaskoSchedule (id, job_label, bunch_id, active_from, cron_expr)
+VALUES (sequence_nextval('rhn_tasko_schedule_id_seq'), 'update-reporting-incremental-default',
+        (SELECT id FROM rhnTaskoBunch WHERE name='mgr-update-reporting-incremental-bunch'),
+        current_timestamp, '0 30 * ? * *');
+
 -- Once a month at the 2nd Saturday at 5am
 
 INSERT INTO rhnTaskoSchedule (id, job_label, bunch_id, active_from, cron_expr)
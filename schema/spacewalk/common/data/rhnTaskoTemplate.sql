@@ -294,6 +294,13 @@ INSERT INTO rhnTaskoTemplate (id, bunch_id, task_id, ordering, start_if)
                     0,
                     null);
 
+INSERT INTO rhnTaskoTemplate (id, bunch_id, task_id, ordering, start_if)
+            VALUES (sequence_nextval('rhn_tasko_template_id_seq'),
+                    (SELECT id FROM rhnTaskoBunch WHERE name='mgr-update-reporting-incremental-bunch'),
+                    (SELECT id FROM rhnTaskoTask WHERE name='mgr-update-reporting-incremental'),
+                    0,
+                    null);
+
 INSERT INTO rhnTaskoTemplate (id, bunch_id, task_id, ordering, start_if)
             VALUES (sequence_nextval('rhn_tasko_template_id_seq'),
                     (SELECT id FROM rhnTaskoBunch WHERE name='update-system-overview-bunch'),
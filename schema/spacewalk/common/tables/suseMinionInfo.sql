@@ -26,6 +26,10 @@ CREATE TABLE suseMinionInfo
     reboot_required_after TIMESTAMPTZ,
     uname                 VARCHAR,
     container_runtime     VARCHAR,
+    package_profile_hash  VARCHAR(64),
+    hw_profile_hash       VARCHAR(64),
+    hw_devices_hash       VARCHAR(64),
+    hw_network_hash       VARCHAR(64),
     created   TIMESTAMPTZ
                   DEFAULT (current_timestamp) NOT NULL,
     modified  TIMESTAMPTZ
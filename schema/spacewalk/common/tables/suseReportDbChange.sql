@@ -0,0 +1,23 @@
+--
+-- Copyright (c) 2026 SUSE LLC
+--
+-- This software is licensed to you under the GNU General Public License,
+-- version 2 (GPLv2). There is NO WARRANTY for this software, express or
+-- implied, including the implied warranties of MERCHANTABILITY or FITNESS
+-- FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+-- along with this software; if not, see
+-- http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+--
+
+-- Systems whose data changed since the last refresh of the reporting database.
+-- There is no foreign key to rhnServer: the deletion of a system needs to be recorded too.
+CREATE TABLE suseReportDbChange
+(
+    id          NUMERIC NOT NULL
+                    CONSTRAINT suse_rdb_change_id_pk PRIMARY KEY,
+    server_id   NUMERIC NOT NULL,
+    source      VARCHAR(64) NOT NULL,
+    created     TIMESTAMPTZ DEFAULT (current_timestamp) NOT NULL
+);
+
+CREATE SEQUENCE suse_rdb_change_id_seq;
@@ -9,3 +9,6 @@ CREATE TABLE suseSaltEvent (
 
 CREATE INDEX suse_salt_event_minion_id_idx
   ON suseSaltEvent (queue, minion_id NULLS FIRST, id);
+
+CREATE INDEX suse_salt_event_queue_id_idx
+  ON suseSaltEvent (queue, id);
@@ -0,0 +1,39 @@
+--
+-- Copyright (c) 2026 SUSE LLC
+--
+-- This software is licensed to you under the GNU General Public License,
+-- version 2 (GPLv2). There is NO WARRANTY for this software, express or
+-- implied, including the implied warranties of MERCHANTABILITY or FITNESS
+-- FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+-- along with this software; if not, see
+-- http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+--
+
+-- Notifies the API session caches of the Java processes about deleted sessions and sessions changing user.
+-- Expired sessions are not cached, so deleting them does not need a notification.
+CREATE OR REPLACE FUNCTION pxtsessions_invalidate_trig_fun() RETURNS TRIGGER AS
+$$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        IF OLD.expires > extract(epoch FROM current_timestamp) THEN
+            PERFORM pg_notify('pxtsessions_invalidated', OLD.id::text);
+        END IF;
+        RETURN OLD;
+    END IF;
+    PERFORM pg_notify('pxtsessions_invalidated', OLD.id::text);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER
+pxtsessions_delete_trig
+AFTER DELETE ON PXTSessions
+FOR EACH ROW
+EXECUTE PROCEDURE pxtsessions_invalidate_trig_fun();
+
+CREATE TRIGGER
+pxtsessions_user_trig
+AFTER UPDATE OF web_user_id ON PXTSessions
+FOR EACH ROW
+WHEN (OLD.web_user_id IS DISTINCT FROM NEW.web_user_id)
+EXECUTE PROCEDURE pxtsessions_invalidate_trig_fun();
@@ -19,3 +19,23 @@ for each row
 execute procedure rhn_repo_regen_queue_mod_trig_fun();
 
 
+
+-- notifies the download caches of the java processes when a channel changes
+-- and when its repodata has been regenerated
+create or replace function rhn_repo_regen_queue_notify_trig_fun() returns trigger as
+$$
+begin
+	if tg_op = 'DELETE' then
+		perform pg_notify('rhn_channel_changed', old.channel_label);
+		return old;
+	end if;
+	perform pg_notify('rhn_channel_changed', new.channel_label);
+	return new;
+end;
+$$ language plpgsql;
+
+create trigger
+rhn_repo_regen_queue_notify_trig
+after insert or delete on rhnRepoRegenQueue
+for each row
+execute procedure rhn_repo_regen_queue_notify_trig_fun();
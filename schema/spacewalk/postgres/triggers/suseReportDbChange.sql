@@ -0,0 +1,193 @@
+--
+-- Copyright (c) 2026 SUSE LLC
+--
+-- This software is licensed to you under the GNU General Public License,
+-- version 2 (GPLv2). There is NO WARRANTY for this software, express or
+-- implied, including the implied warranties of MERCHANTABILITY or FITNESS
+-- FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+-- along with this software; if not, see
+-- http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+--
+
+-- Records the systems changed by a statement in suseReportDbChange, once per system and statement.
+-- Arguments: the source table, the column holding the system id and, when that column references
+-- another table, the table mapping it to the system id.
+CREATE OR REPLACE FUNCTION suse_rdb_change_trig_fun() RETURNS TRIGGER AS
+$$
+DECLARE
+    changed TEXT;
+BEGIN
+    changed := CASE TG_OP
+                   WHEN 'INSERT' THEN format('SELECT %I FROM new_rows', TG_ARGV[1])
+                   WHEN 'DELETE' THEN format('SELECT %I FROM old_rows', TG_ARGV[1])
+                   ELSE format('SELECT %1$I FROM new_rows UNION SELECT %1$I FROM old_rows', TG_ARGV[1])
+               END;
+    IF TG_NARGS > 2 THEN
+        changed := format('SELECT server_id FROM %I WHERE id IN (%s)', TG_ARGV[2], changed);
+    END IF;
+    EXECUTE format('INSERT INTO suseReportDbChange (id, server_id, source)
+                    SELECT nextval(''suse_rdb_change_id_seq''), server_id, $1
+                      FROM (SELECT DISTINCT * FROM (%s) c) changed(server_id)
+                     WHERE server_id IS NOT NULL', changed)
+      USING TG_ARGV[0];
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Transition tables cannot be used by triggers for more than one event: each table has three triggers
+
+CREATE TRIGGER suse_rdb_change_ins_trig AFTER INSERT ON rhnServer
+REFERENCING NEW TABLE AS new_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServer', 'id');
+
+CREATE TRIGGER suse_rdb_change_upd_trig AFTER UPDATE ON rhnServer
+REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServer', 'id');
+
+CREATE TRIGGER suse_rdb_change_del_trig AFTER DELETE ON rhnServer
+REFERENCING OLD TABLE AS old_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServer', 'id');
+
+CREATE TRIGGER suse_rdb_change_ins_trig AFTER INSERT ON rhnServerInfo
+REFERENCING NEW TABLE AS new_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerInfo', 'server_id');
+
+CREATE TRIGGER suse_rdb_change_upd_trig AFTER UPDATE ON rhnServerInfo
+REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerInfo', 'server_id');
+
+CREATE TRIGGER suse_rdb_change_del_trig AFTER DELETE ON rhnServerInfo
+REFERENCING OLD TABLE AS old_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerInfo', 'server_id');
+
+CREATE TRIGGER suse_rdb_change_ins_trig AFTER INSERT ON suseMinionInfo
+REFERENCING NEW TABLE AS new_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('suseMinionInfo', 'server_id');
+
+CREATE TRIGGER suse_rdb_change_upd_trig AFTER UPDATE ON suseMinionInfo
+REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('suseMinionInfo', 'server_id');
+
+CREATE TRIGGER suse_rdb_change_del_trig AFTER DELETE ON suseMinionInfo
+REFERENCING OLD TABLE AS old_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('suseMinionInfo', 'server_id');
+
+CREATE TRIGGER suse_rdb_change_ins_trig AFTER INSERT ON rhnServerHistory
+REFERENCING NEW TABLE AS new_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerHistory', 'server_id');
+
+CREATE TRIGGER suse_rdb_change_upd_trig AFTER UPDATE ON rhnServerHistory
+REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerHistory', 'server_id');
+
+CREATE TRIGGER suse_rdb_change_del_trig AFTER DELETE ON rhnServerHistory
+REFERENCING OLD TABLE AS old_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerHistory', 'server_id');
+
+CREATE TRIGGER suse_rdb_change_ins_trig AFTER INSERT ON rhnServerAction
+REFERENCING NEW TABLE AS new_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerAction', 'server_id');
+
+CREATE TRIGGER suse_rdb_change_upd_trig AFTER UPDATE ON rhnServerAction
+REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerAction', 'server_id');
+
+CREATE TRIGGER suse_rdb_change_del_trig AFTER DELETE ON rhnServerAction
+REFERENCING OLD TABLE AS old_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerAction', 'server_id');
+
+CREATE TRIGGER suse_rdb_change_ins_trig AFTER INSERT ON rhnServerChannel
+REFERENCING NEW TABLE AS new_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerChannel', 'server_id');
+
+CREATE TRIGGER suse_rdb_change_upd_trig AFTER UPDATE ON rhnServerChannel
+REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerChannel', 'server_id');
+
+CREATE TRIGGER suse_rdb_change_del_trig AFTER DELETE ON rhnServerChannel
+REFERENCING OLD TABLE AS old_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerChannel', 'server_id');
+
+CREATE TRIGGER suse_rdb_change_ins_trig AFTER INSERT ON rhnServerConfigChannel
+REFERENCING NEW TABLE AS new_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerConfigChannel', 'server_id');
+
+CREATE TRIGGER suse_rdb_change_upd_trig AFTER UPDATE ON rhnServerConfigChannel
+REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerConfigChannel', 'server_id');
+
+CREATE TRIGGER suse_rdb_change_del_trig AFTER DELETE ON rhnServerConfigChannel
+REFERENCING OLD TABLE AS old_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerConfigChannel', 'server_id');
+
+CREATE TRIGGER suse_rdb_change_ins_trig AFTER INSERT ON rhnServerNetInterface
+REFERENCING NEW TABLE AS new_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerNetInterface', 'server_id');
+
+CREATE TRIGGER suse_rdb_change_upd_trig AFTER UPDATE ON rhnServerNetInterface
+REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerNetInterface', 'server_id');
+
+CREATE TRIGGER suse_rdb_change_del_trig AFTER DELETE ON rhnServerNetInterface
+REFERENCING OLD TABLE AS old_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerNetInterface', 'server_id');
+
+CREATE TRIGGER suse_rdb_change_ins_trig AFTER INSERT ON rhnServerNetAddress4
+REFERENCING NEW TABLE AS new_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerNetAddress4', 'interface_id', 'rhnservernetinterface');
+
+CREATE TRIGGER suse_rdb_change_upd_trig AFTER UPDATE ON rhnServerNetAddress4
+REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerNetAddress4', 'interface_id', 'rhnservernetinterface');
+
+CREATE TRIGGER suse_rdb_change_del_trig AFTER DELETE ON rhnServerNetAddress4
+REFERENCING OLD TABLE AS old_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerNetAddress4', 'interface_id', 'rhnservernetinterface');
+
+CREATE TRIGGER suse_rdb_change_ins_trig AFTER INSERT ON rhnServerNetAddress6
+REFERENCING NEW TABLE AS new_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerNetAddress6', 'interface_id', 'rhnservernetinterface');
+
+CREATE TRIGGER suse_rdb_change_upd_trig AFTER UPDATE ON rhnServerNetAddress6
+REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerNetAddress6', 'interface_id', 'rhnservernetinterface');
+
+CREATE TRIGGER suse_rdb_change_del_trig AFTER DELETE ON rhnServerNetAddress6
+REFERENCING OLD TABLE AS old_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerNetAddress6', 'interface_id', 'rhnservernetinterface');
+
+CREATE TRIGGER suse_rdb_change_ins_trig AFTER INSERT ON rhnServerGroupMembers
+REFERENCING NEW TABLE AS new_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerGroupMembers', 'server_id');
+
+CREATE TRIGGER suse_rdb_change_upd_trig AFTER UPDATE ON rhnServerGroupMembers
+REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerGroupMembers', 'server_id');
+
+CREATE TRIGGER suse_rdb_change_del_trig AFTER DELETE ON rhnServerGroupMembers
+REFERENCING OLD TABLE AS old_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerGroupMembers', 'server_id');
+
+CREATE TRIGGER suse_rdb_change_ins_trig AFTER INSERT ON rhnServerNeededCache
+REFERENCING NEW TABLE AS new_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerNeededCache', 'server_id');
+
+CREATE TRIGGER suse_rdb_change_upd_trig AFTER UPDATE ON rhnServerNeededCache
+REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerNeededCache', 'server_id');
+
+CREATE TRIGGER suse_rdb_change_del_trig AFTER DELETE ON rhnServerNeededCache
+REFERENCING OLD TABLE AS old_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerNeededCache', 'server_id');
+
+CREATE TRIGGER suse_rdb_change_ins_trig AFTER INSERT ON rhnServerPackage
+REFERENCING NEW TABLE AS new_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerPackage', 'server_id');
+
+CREATE TRIGGER suse_rdb_change_upd_trig AFTER UPDATE ON rhnServerPackage
+REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerPackage', 'server_id');
+
+CREATE TRIGGER suse_rdb_change_del_trig AFTER DELETE ON rhnServerPackage
+REFERENCING OLD TABLE AS old_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerPackage', 'server_id');
@@ -0,0 +1,285 @@
+--
+-- Copyright (c) 2026 SUSE LLC
+--
+-- This software is licensed to you under the GNU General Public License,
+-- version 2 (GPLv2). There is NO WARRANTY for this software, express or
+-- implied, including the implied warranties of MERCHANTABILITY or FITNESS
+-- FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+-- along with this software; if not, see
+-- http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+--
+
+-- Systems whose data changed since the last refresh of the reporting database.
+-- There is no foreign key to rhnServer: the deletion of a system needs to be recorded too.
+CREATE TABLE IF NOT EXISTS suseReportDbChange
+(
+    id          NUMERIC NOT NULL
+                    CONSTRAINT suse_rdb_change_id_pk PRIMARY KEY,
+    server_id   NUMERIC NOT NULL,
+    source      VARCHAR(64) NOT NULL,
+    created     TIMESTAMPTZ DEFAULT (current_timestamp) NOT NULL
+);
+
+CREATE SEQUENCE IF NOT EXISTS suse_rdb_change_id_seq;
+
+-- Records the systems changed by a statement in suseReportDbChange, once per system and statement.
+-- Arguments: the source table, the column holding the system id and, when that column references
+-- another table, the table mapping it to the system id.
+CREATE OR REPLACE FUNCTION suse_rdb_change_trig_fun() RETURNS TRIGGER AS
+$$
+DECLARE
+    changed TEXT;
+BEGIN
+    changed := CASE TG_OP
+                   WHEN 'INSERT' THEN format('SELECT %I FROM new_rows', TG_ARGV[1])
+                   WHEN 'DELETE' THEN format('SELECT %I FROM old_rows', TG_ARGV[1])
+                   ELSE format('SELECT %1$I FROM new_rows UNION SELECT %1$I FROM old_rows', TG_ARGV[1])
+               END;
+    IF TG_NARGS > 2 THEN
+        changed := format('SELECT server_id FROM %I WHERE id IN (%s)', TG_ARGV[2], changed);
+    END IF;
+    EXECUTE format('INSERT INTO suseReportDbChange (id, server_id, source)
+                    SELECT nextval(''suse_rdb_change_id_seq''), server_id, $1
+                      FROM (SELECT DISTINCT * FROM (%s) c) changed(server_id)
+                     WHERE server_id IS NOT NULL', changed)
+      USING TG_ARGV[0];
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Transition tables cannot be used by triggers for more than one event: each table has three triggers
+
+DROP TRIGGER IF EXISTS suse_rdb_change_ins_trig ON rhnServer;
+CREATE TRIGGER suse_rdb_change_ins_trig AFTER INSERT ON rhnServer
+REFERENCING NEW TABLE AS new_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServer', 'id');
+
+DROP TRIGGER IF EXISTS suse_rdb_change_upd_trig ON rhnServer;
+CREATE TRIGGER suse_rdb_change_upd_trig AFTER UPDATE ON rhnServer
+REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServer', 'id');
+
+DROP TRIGGER IF EXISTS suse_rdb_change_del_trig ON rhnServer;
+CREATE TRIGGER suse_rdb_change_del_trig AFTER DELETE ON rhnServer
+REFERENCING OLD TABLE AS old_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServer', 'id');
+
+DROP TRIGGER IF EXISTS suse_rdb_change_ins_trig ON rhnServerInfo;
+CREATE TRIGGER suse_rdb_change_ins_trig AFTER INSERT ON rhnServerInfo
+REFERENCING NEW TABLE AS new_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerInfo', 'server_id');
+
+DROP TRIGGER IF EXISTS suse_rdb_change_upd_trig ON rhnServerInfo;
+CREATE TRIGGER suse_rdb_change_upd_trig AFTER UPDATE ON rhnServerInfo
+REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerInfo', 'server_id');
+
+DROP TRIGGER IF EXISTS suse_rdb_change_del_trig ON rhnServerInfo;
+CREATE TRIGGER suse_rdb_change_del_trig AFTER DELETE ON rhnServerInfo
+REFERENCING OLD TABLE AS old_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerInfo', 'server_id');
+
+DROP TRIGGER IF EXISTS suse_rdb_change_ins_trig ON suseMinionInfo;
+CREATE TRIGGER suse_rdb_change_ins_trig AFTER INSERT ON suseMinionInfo
+REFERENCING NEW TABLE AS new_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('suseMinionInfo', 'server_id');
+
+DROP TRIGGER IF EXISTS suse_rdb_change_upd_trig ON suseMinionInfo;
+CREATE TRIGGER suse_rdb_change_upd_trig AFTER UPDATE ON suseMinionInfo
+REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('suseMinionInfo', 'server_id');
+
+DROP TRIGGER IF EXISTS suse_rdb_change_del_trig ON suseMinionInfo;
+CREATE TRIGGER suse_rdb_change_del_trig AFTER DELETE ON suseMinionInfo
+REFERENCING OLD TABLE AS old_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('suseMinionInfo', 'server_id');
+
+DROP TRIGGER IF EXISTS suse_rdb_change_ins_trig ON rhnServerHistory;
+CREATE TRIGGER suse_rdb_change_ins_trig AFTER INSERT ON rhnServerHistory
+REFERENCING NEW TABLE AS new_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerHistory', 'server_id');
+
+DROP TRIGGER IF EXISTS suse_rdb_change_upd_trig ON rhnServerHistory;
+CREATE TRIGGER suse_rdb_change_upd_trig AFTER UPDATE ON rhnServerHistory
+REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerHistory', 'server_id');
+
+DROP TRIGGER IF EXISTS suse_rdb_change_del_trig ON rhnServerHistory;
+CREATE TRIGGER suse_rdb_change_del_trig AFTER DELETE ON rhnServerHistory
+REFERENCING OLD TABLE AS old_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerHistory', 'server_id');
+
+DROP TRIGGER IF EXISTS suse_rdb_change_ins_trig ON rhnServerAction;
+CREATE TRIGGER suse_rdb_change_ins_trig AFTER INSERT ON rhnServerAction
+REFERENCING NEW TABLE AS new_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerAction', 'server_id');
+
+DROP TRIGGER IF EXISTS suse_rdb_change_upd_trig ON rhnServerAction;
+CREATE TRIGGER suse_rdb_change_upd_trig AFTER UPDATE ON rhnServerAction
+REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerAction', 'server_id');
+
+DROP TRIGGER IF EXISTS suse_rdb_change_del_trig ON rhnServerAction;
+CREATE TRIGGER suse_rdb_change_del_trig AFTER DELETE ON rhnServerAction
+REFERENCING OLD TABLE AS old_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerAction', 'server_id');
+
+DROP TRIGGER IF EXISTS suse_rdb_change_ins_trig ON rhnServerChannel;
+CREATE TRIGGER suse_rdb_change_ins_trig AFTER INSERT ON rhnServerChannel
+REFERENCING NEW TABLE AS new_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerChannel', 'server_id');
+
+DROP TRIGGER IF EXISTS suse_rdb_change_upd_trig ON rhnServerChannel;
+CREATE TRIGGER suse_rdb_change_upd_trig AFTER UPDATE ON rhnServerChannel
+REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerChannel', 'server_id');
+
+DROP TRIGGER IF EXISTS suse_rdb_change_del_trig ON rhnServerChannel;
+CREATE TRIGGER suse_rdb_change_del_trig AFTER DELETE ON rhnServerChannel
+REFERENCING OLD TABLE AS old_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerChannel', 'server_id');
+
+DROP TRIGGER IF EXISTS suse_rdb_change_ins_trig ON rhnServerConfigChannel;
+CREATE TRIGGER suse_rdb_change_ins_trig AFTER INSERT ON rhnServerConfigChannel
+REFERENCING NEW TABLE AS new_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerConfigChannel', 'server_id');
+
+DROP TRIGGER IF EXISTS suse_rdb_change_upd_trig ON rhnServerConfigChannel;
+CREATE TRIGGER suse_rdb_change_upd_trig AFTER UPDATE ON rhnServerConfigChannel
+REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerConfigChannel', 'server_id');
+
+DROP TRIGGER IF EXISTS suse_rdb_change_del_trig ON rhnServerConfigChannel;
+CREATE TRIGGER suse_rdb_change_del_trig AFTER DELETE ON rhnServerConfigChannel
+REFERENCING OLD TABLE AS old_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerConfigChannel', 'server_id');
+
+DROP TRIGGER IF EXISTS suse_rdb_change_ins_trig ON rhnServerNetInterface;
+CREATE TRIGGER suse_rdb_change_ins_trig AFTER INSERT ON rhnServerNetInterface
+REFERENCING NEW TABLE AS new_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerNetInterface', 'server_id');
+
+DROP TRIGGER IF EXISTS suse_rdb_change_upd_trig ON rhnServerNetInterface;
+CREATE TRIGGER suse_rdb_change_upd_trig AFTER UPDATE ON rhnServerNetInterface
+REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerNetInterface', 'server_id');
+
+DROP TRIGGER IF EXISTS suse_rdb_change_del_trig ON rhnServerNetInterface;
+CREATE TRIGGER suse_rdb_change_del_trig AFTER DELETE ON rhnServerNetInterface
+REFERENCING OLD TABLE AS old_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerNetInterface', 'server_id');
+
+DROP TRIGGER IF EXISTS suse_rdb_change_ins_trig ON rhnServerNetAddress4;
+CREATE TRIGGER suse_rdb_change_ins_trig AFTER INSERT ON rhnServerNetAddress4
+REFERENCING NEW TABLE AS new_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerNetAddress4', 'interface_id', 'rhnservernetinterface');
+
+DROP TRIGGER IF EXISTS suse_rdb_change_upd_trig ON rhnServerNetAddress4;
+CREATE TRIGGER suse_rdb_change_upd_trig AFTER UPDATE ON rhnServerNetAddress4
+REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerNetAddress4', 'interface_id', 'rhnservernetinterface');
+
+DROP TRIGGER IF EXISTS suse_rdb_change_del_trig ON rhnServerNetAddress4;
+CREATE TRIGGER suse_rdb_change_del_trig AFTER DELETE ON rhnServerNetAddress4
+REFERENCING OLD TABLE AS old_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerNetAddress4', 'interface_id', 'rhnservernetinterface');
+
+DROP TRIGGER IF EXISTS suse_rdb_change_ins_trig ON rhnServerNetAddress6;
+CREATE TRIGGER suse_rdb_change_ins_trig AFTER INSERT ON rhnServerNetAddress6
+REFERENCING NEW TABLE AS new_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerNetAddress6', 'interface_id', 'rhnservernetinterface');
+
+DROP TRIGGER IF EXISTS suse_rdb_change_upd_trig ON rhnServerNetAddress6;
+CREATE TRIGGER suse_rdb_change_upd_trig AFTER UPDATE ON rhnServerNetAddress6
+REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerNetAddress6', 'interface_id', 'rhnservernetinterface');
+
+DROP TRIGGER IF EXISTS suse_rdb_change_del_trig ON rhnServerNetAddress6;
+CREATE TRIGGER suse_rdb_change_del_trig AFTER DELETE ON rhnServerNetAddress6
+REFERENCING OLD TABLE AS old_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerNetAddress6', 'interface_id', 'rhnservernetinterface');
+
+DROP TRIGGER IF EXISTS suse_rdb_change_ins_trig ON rhnServerGroupMembers;
+CREATE TRIGGER suse_rdb_change_ins_trig AFTER INSERT ON rhnServerGroupMembers
+REFERENCING NEW TABLE AS new_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerGroupMembers', 'server_id');
+
+DROP TRIGGER IF EXISTS suse_rdb_change_upd_trig ON rhnServerGroupMembers;
+CREATE TRIGGER suse_rdb_change_upd_trig AFTER UPDATE ON rhnServerGroupMembers
+REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerGroupMembers', 'server_id');
+
+DROP TRIGGER IF EXISTS suse_rdb_change_del_trig ON rhnServerGroupMembers;
+CREATE TRIGGER suse_rdb_change_del_trig AFTER DELETE ON rhnServerGroupMembers
+REFERENCING OLD TABLE AS old_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerGroupMembers', 'server_id');
+
+DROP TRIGGER IF EXISTS suse_rdb_change_ins_trig ON rhnServerNeededCache;
+CREATE TRIGGER suse_rdb_change_ins_trig AFTER INSERT ON rhnServerNeededCache
+REFERENCING NEW TABLE AS new_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerNeededCache', 'server_id');
+
+DROP TRIGGER IF EXISTS suse_rdb_change_upd_trig ON rhnServerNeededCache;
+CREATE TRIGGER suse_rdb_change_upd_trig AFTER UPDATE ON rhnServerNeededCache
+REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerNeededCache', 'server_id');
+
+DROP TRIGGER IF EXISTS suse_rdb_change_del_trig ON rhnServerNeededCache;
+CREATE TRIGGER suse_rdb_change_del_trig AFTER DELETE ON rhnServerNeededCache
+REFERENCING OLD TABLE AS old_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerNeededCache', 'server_id');
+
+DROP TRIGGER IF EXISTS suse_rdb_change_ins_trig ON rhnServerPackage;
+CREATE TRIGGER suse_rdb_change_ins_trig AFTER INSERT ON rhnServerPackage
+REFERENCING NEW TABLE AS new_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerPackage', 'server_id');
+
+DROP TRIGGER IF EXISTS suse_rdb_change_upd_trig ON rhnServerPackage;
+CREATE TRIGGER suse_rdb_change_upd_trig AFTER UPDATE ON rhnServerPackage
+REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerPackage', 'server_id');
+
+DROP TRIGGER IF EXISTS suse_rdb_change_del_trig ON rhnServerPackage;
+CREATE TRIGGER suse_rdb_change_del_trig AFTER DELETE ON rhnServerPackage
+REFERENCING OLD TABLE AS old_rows FOR EACH STATEMENT
+EXECUTE PROCEDURE suse_rdb_change_trig_fun('rhnServerPackage', 'server_id');
+
+
+INSERT INTO rhnTaskoTask (id, name, class)
+SELECT sequence_nextval('rhn_tasko_task_id_seq'), 'mgr-update-reporting-incremental',
+       'com.redhat.rhn.taskomatic.task.ReportDbIncrementalUpdateTask'
+WHERE NOT EXISTS (SELECT 1
+                  FROM rhnTaskoTask
+                  WHERE name = 'mgr-update-reporting-incremental');
+
+INSERT INTO rhnTaskoBunch (id, name, description, org_bunch)
+SELECT sequence_nextval('rhn_tasko_bunch_id_seq'),
+       'mgr-update-reporting-incremental-bunch',
+       'Update Reporting DB with the data of the systems changed since the last update',
+       null
+WHERE NOT EXISTS (SELECT 1
+                  FROM rhnTaskoBunch
+                  WHERE name = 'mgr-update-reporting-incremental-bunch');
+
+INSERT INTO rhnTaskoTemplate (id, bunch_id, task_id, ordering, start_if)
+SELECT sequence_nextval('rhn_tasko_template_id_seq'),
+       (SELECT id FROM rhnTaskoBunch WHERE name = 'mgr-update-reporting-incremental-bunch'),
+       (SELECT id FROM rhnTaskoTask WHERE name = 'mgr-update-reporting-incremental'),
+       0,
+       null
+WHERE NOT EXISTS (SELECT 1
+                  FROM rhnTaskoTemplate
+                  WHERE bunch_id = (SELECT id FROM rhnTaskoBunch WHERE name = 'mgr-update-reporting-incremental-bunch')
+                    AND task_id = (SELECT id FROM rhnTaskoTask WHERE name = 'mgr-update-reporting-incremental')
+                    AND ordering = 0);
+
+-- Every hour, the full update still runs every night
+INSERT INTO rhnTaskoSchedule (id, job_label, bunch_id, active_from, cron_expr)
+SELECT sequence_nextval('rhn_tasko_schedule_id_seq'),
+       'update-reporting-incremental-default',
+       (SELECT id FROM rhnTaskoBunch WHERE name = 'mgr-update-reporting-incremental-bunch'),
+       current_timestamp,
+       '0 30 * ? * *'
+WHERE NOT EXISTS (SELECT 1
+                  FROM rhnTaskoSchedule
+                  WHERE job_label = 'update-reporting-incremental-default');
@@ -0,0 +1,62 @@
+--
+-- Copyright (c) 2026 SUSE LLC
+--
+-- This software is licensed to you under the GNU General Public License,
+-- version 2 (GPLv2). There is NO WARRANTY for this software, express or
+-- implied, including the implied warranties of MERCHANTABILITY or FITNESS
+-- FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+-- along with this software; if not, see
+-- http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+--
+
+-- Notifies the download caches of the Java processes when a channel changes and when its repodata has been
+-- regenerated.
+CREATE OR REPLACE FUNCTION rhn_repo_regen_queue_notify_trig_fun() RETURNS TRIGGER AS
+$$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        PERFORM pg_notify('rhn_channel_changed', OLD.channel_label);
+        RETURN OLD;
+    END IF;
+    PERFORM pg_notify('rhn_channel_changed', NEW.channel_label);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS rhn_repo_regen_queue_notify_trig ON rhnRepoRegenQueue;
+
+CREATE TRIGGER
+rhn_repo_regen_queue_notify_trig
+AFTER INSERT OR DELETE ON rhnRepoRegenQueue
+FOR EACH ROW
+EXECUTE PROCEDURE rhn_repo_regen_queue_notify_trig_fun();
+
+-- Notifies the download caches of the Java processes about deleted access tokens and tokens changing validity.
+CREATE OR REPLACE FUNCTION suse_chan_access_token_invalidate_trig_fun() RETURNS TRIGGER AS
+$$
+BEGIN
+    PERFORM pg_notify('channel_access_token_invalidated', OLD.id::text);
+    IF TG_OP = 'DELETE' THEN
+        RETURN OLD;
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS suse_chan_access_token_delete_trig ON suseChannelAccessToken;
+
+CREATE TRIGGER
+suse_chan_access_token_delete_trig
+AFTER DELETE ON suseChannelAccessToken
+FOR EACH ROW
+EXECUTE PROCEDURE suse_chan_access_token_invalidate_trig_fun();
+
+DROP TRIGGER IF EXISTS suse_chan_access_token_valid_trig ON suseChannelAccessToken;
+
+CREATE TRIGGER
+suse_chan_access_token_valid_trig
+AFTER UPDATE OF valid, expiration, token ON suseChannelAccessToken
+FOR EACH ROW
+WHEN (OLD.valid IS DISTINCT FROM NEW.valid OR OLD.expiration IS DISTINCT FROM NEW.expiration
+      OR OLD.token IS DISTINCT FROM NEW.token)
+EXECUTE PROCEDURE suse_chan_access_token_invalidate_trig_fun();
@@ -28,9 +28,7 @@ import org.apache.lucene.analysis.PerFieldAnalyzerWrapper;
 import org.apache.lucene.analysis.standard.StandardAnalyzer;
 import org.apache.lucene.document.DateTools;
 import org.apache.lucene.document.Document;
-import org.apache.lucene.index.CorruptIndexException;
 import org.apache.lucene.index.IndexReader;
-import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.Term;
 import org.apache.lucene.queryParser.ParseException;
 import org.apache.lucene.queryParser.QueryParser;
@@ -38,14 +36,11 @@ import org.apache.lucene.search.Explanation;
 import org.apache.lucene.search.Hits;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.Query;
-import org.apache.lucene.store.Directory;
-import org.apache.lucene.store.FSDirectory;
-import org.apache.lucene.store.LockObtainFailedException;
+import org.picocontainer.Startable;
 
-import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -57,7 +52,7 @@ import java.util.TreeMap;
  *
  * @version $Rev$
  */
-public class IndexManager {
+public class IndexManager implements Startable {
 
     private static Logger log = LogManager.getLogger(IndexManager.class);
     private String indexWorkDir;
@@ -70,6 +65,8 @@ public class IndexManager {
     private int max_ngram;
     private boolean filterDocResults = false;
     private boolean explainResults = false;
+    private int commitInterval;
+    private final Map<String, ManagedIndex> indexes = new HashMap<String, ManagedIndex>();
     // Name conflict with our Configuration class and Hadoop's
     private Map<String, String> docLocaleLookUp = new TreeMap<String, String>
                                                                                                 (String.CASE_INSENSITIVE_ORDER);
@@ -97,6 +94,7 @@ public class IndexManager {
         max_ngram = config.getInt("search.max_ngram", 5);
         filterDocResults = config.getBoolean("search.doc.limit_results");
         explainResults = config.getBoolean("search.log.explain.results");
+        commitInterval = config.getInt("search.index_commit_interval", 100);
     }
 
 
@@ -142,12 +140,13 @@ public class IndexManager {
     public List<Result> search(String indexName, String query, String lang,
             boolean isFineGrained)
             throws IndexingException, QueryParseException {
-        IndexSearcher searcher = null;
-        IndexReader reader = null;
+        ManagedIndex index = getIndex(indexName);
+        ManagedIndex.SearcherReference ref = null;
         List<Result> retval = null;
+        long start = System.nanoTime();
         try {
-            reader = getIndexReader(indexName, lang);
-            searcher = getIndexSearcher(indexName, lang);
+            ref = index.acquire();
+            IndexSearcher searcher = ref.getSearcher();
             QueryParser qp = getQueryParser(indexName, lang, isFineGrained);
             Query q = qp.parse(query);
             if (log.isDebugEnabled()) {
@@ -161,7 +160,7 @@ public class IndexManager {
             Set<Term> queryTerms = null;
             try {
                 queryTerms = new HashSet<Term>();
-                Query newQ = q.rewrite(reader);
+                Query newQ = q.rewrite(ref.getReader());
                 newQ.extractTerms(queryTerms);
             }
             catch (Exception e) {
@@ -188,16 +187,14 @@ public class IndexManager {
         }
         finally {
             try {
-                if (searcher != null) {
-                    searcher.close();
-                }
-                if (reader != null) {
-                    reader.close();
+                if (ref != null) {
+                    index.release(ref);
                 }
             }
             catch (IOException ex) {
                 throw new IndexingException(ex);
             }
+            index.recordQuery(System.nanoTime() - start);
         }
         return retval;
     }
@@ -214,25 +211,7 @@ public class IndexManager {
         throws IndexingException {
 
         try {
-            IndexWriter writer = getIndexWriter(indexName, lang);
-            try {
-                writer.flush();
-            }
-            finally {
-                try {
-                    writer.close();
-                }
-                finally {
-                    // unlock it if it is locked.
-                    unlockIndex(indexName);
-                }
-            }
-        }
-        catch (CorruptIndexException e) {
-            throw new IndexingException(e);
-        }
-        catch (LockObtainFailedException e) {
-            throw new IndexingException(e);
+            getIndex(indexName).commit();
         }
         catch (IOException e) {
             throw new IndexingException(e);
@@ -252,26 +231,7 @@ public class IndexManager {
         throws IndexingException {
 
         try {
-            IndexWriter writer = getIndexWriter(indexName, lang);
-            try {
-                writer.addDocument(doc);
-                writer.flush();
-            }
-            finally {
-                try {
-                    writer.close();
-                }
-                finally {
-                    // unlock it if it is locked.
-                    unlockIndex(indexName);
-                }
-            }
-        }
-        catch (CorruptIndexException e) {
-            throw new IndexingException(e);
-        }
-        catch (LockObtainFailedException e) {
-            throw new IndexingException(e);
+            getIndex(indexName).addDocument(doc);
         }
         catch (IOException e) {
             throw new IndexingException(e);
@@ -287,37 +247,29 @@ public class IndexManager {
     public void addUniqueToIndex(String indexName, Document doc,
             String uniqueField, String lang)
         throws IndexingException {
-        IndexReader reader = null;
-        int numFound = 0;
+        Term term = new Term(uniqueField, doc.get(uniqueField));
         try {
-            reader = getIndexReader(indexName, lang);
-            Term term = new Term(uniqueField, doc.get(uniqueField));
-            numFound = reader.docFreq(term);
-        }
-        catch (FileNotFoundException e) {
-            // Index doesn't exist, so this add will be unique
-            // we don't need to do anything/
+            // replaces any existing document with the same unique field
+            getIndex(indexName).updateDocument(term, doc);
         }
         catch (IOException e) {
             throw new IndexingException(e);
         }
-        finally {
-            if (reader != null) {
-                try {
-                    reader.close();
-                }
-                catch (IOException e) {
-                    //
-                }
-            }
+    }
+
+    /**
+     * Commits the pending changes of an index, making them visible to searches
+     *
+     * @param indexName index to use
+     * @throws IndexingException something went wrong writing the index
+     */
+    public void commitIndex(String indexName) throws IndexingException {
+        try {
+            getIndex(indexName).commit();
         }
-        if (numFound > 0) {
-            log.info("Found " + numFound + " <" + indexName + " docs for " +
-                    uniqueField + ":" + doc.get(uniqueField) +
-                    " will remove them now.");
-            removeFromIndex(indexName, uniqueField, doc.get(uniqueField));
+        catch (IOException e) {
+            throw new IndexingException(e);
         }
-        addToIndex(indexName, doc, lang);
     }
 
     /**
@@ -333,21 +285,8 @@ public class IndexManager {
         log.info("Removing <" + indexName + "> " + uniqueField + ":" +
                 objectId);
         Term t = new Term(uniqueField, objectId);
-        IndexReader reader;
         try {
-            reader = getIndexReader(indexName, IndexHandler.DEFAULT_LANG);
-            try {
-                reader.deleteDocuments(t);
-                reader.flush();
-            }
-            finally {
-               if (reader != null) {
-                    reader.close();
-               }
-            }
-        }
-        catch (CorruptIndexException e) {
-            throw new IndexingException(e);
+            getIndex(indexName).deleteDocuments(t);
         }
         catch (IOException e) {
             throw new IndexingException(e);
@@ -355,49 +294,54 @@ public class IndexManager {
     }
 
     /**
-     * Unlocks the index at the given directory if it is currently locked.
-     * Otherwise, does nothing.
-     * @param indexName index name
-     * @throws IOException thrown if there is a problem unlocking the index.
+     * Returns query latency, reopen and commit statistics of the indexes opened so far
+     *
+     * @return statistics by index name
      */
-    private void unlockIndex(String indexName) throws IOException {
-        String path = indexWorkDir + indexName;
-        File f = new File(path);
-        Directory dir = FSDirectory.getDirectory(f);
-        if (IndexReader.isLocked(dir)) {
-            IndexReader.unlock(dir);
+    public Map<String, Map<String, Object>> getStatistics() {
+        Map<String, Map<String, Object>> stats = new TreeMap<String, Map<String, Object>>();
+        synchronized (indexes) {
+            for (Map.Entry<String, ManagedIndex> entry : indexes.entrySet()) {
+                stats.put(entry.getKey(), entry.getValue().getStatistics());
+            }
         }
+        return stats;
     }
 
-    private IndexWriter getIndexWriter(String name, String lang)
-            throws CorruptIndexException, LockObtainFailedException,
-            IOException {
-        String path = indexWorkDir + name;
-        File f = new File(path);
-        f.mkdirs();
-        Analyzer analyzer = getAnalyzer(name, lang);
-        IndexWriter writer = new IndexWriter(path, analyzer);
-        writer.setUseCompoundFile(true);
-        return writer;
+    /**
+     * {@inheritDoc}
+     */
+    public void start() {
+        // indexes are opened on first use
     }
 
-    private IndexReader getIndexReader(String indexName, String locale)
-            throws CorruptIndexException, IOException {
-        String path = indexWorkDir + indexName;
-        log.info("IndexManager::getIndexReader(" + indexName + ", " + locale +
-                ") path = " + path);
-        File f = new File(path);
-        IndexReader retval = IndexReader.open(FSDirectory.getDirectory(f));
-        return retval;
+    /**
+     * Commits all the pending changes and closes the indexes
+     */
+    public void stop() {
+        synchronized (indexes) {
+            for (Map.Entry<String, ManagedIndex> entry : indexes.entrySet()) {
+                try {
+                    entry.getValue().close();
+                }
+                catch (IOException e) {
+                    log.error("Failed to close index <" + entry.getKey() + ">", e);
+                }
+            }
+            indexes.clear();
+        }
     }
 
-    private IndexSearcher getIndexSearcher(String indexName, String locale)
-            throws CorruptIndexException, IOException {
-        String path = indexWorkDir + indexName;
-        log.info("IndexManager::getIndexSearcher(" + indexName + ", " + locale +
-                ") path = " + path);
-        IndexSearcher retval = new IndexSearcher(path);
-        return retval;
+    private ManagedIndex getIndex(String indexName) {
+        synchronized (indexes) {
+            ManagedIndex index = indexes.get(indexName);
+            if (index == null) {
+                index = new ManagedIndex(indexName, indexWorkDir + indexName,
+                        getAnalyzer(indexName, IndexHandler.DEFAULT_LANG), commitInterval);
+                indexes.put(indexName, index);
+            }
+            return index;
+        }
     }
 
     private QueryParser getQueryParser(String indexName, String lang,
@@ -595,9 +539,11 @@ public class IndexManager {
     public int deleteRecordsNotInList(Set<String> ids, String indexName,
             String uniqField) {
         int count = 0;
-        IndexReader reader = null;
+        ManagedIndex index = getIndex(indexName);
+        ManagedIndex.SearcherReference ref = null;
         try {
-            reader = getIndexReader(indexName, IndexHandler.DEFAULT_LANG);
+            ref = index.acquire();
+            IndexReader reader = ref.getReader();
 
             // Use maxDoc() to iterate over all docs, numDocs() returns the
             // number of currently alive docs leaving out the deleted ones.
@@ -616,6 +562,7 @@ public class IndexManager {
                     }
                 }
             }
+            index.commit();
         }
         catch (IOException e) {
             e.printStackTrace();
@@ -626,9 +573,9 @@ public class IndexManager {
             log.info("deleteRecordsNotInList() caught exception : " + e);
         }
         finally {
-            if (reader != null) {
+            if (ref != null) {
                 try {
-                    reader.close();
+                    index.release(ref);
                 }
                 catch (IOException e) {
                     //
@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) 2025 SUSE LLC
+ *
+ * This software is licensed to you under the GNU General Public License,
+ * version 2 (GPLv2). There is NO WARRANTY for this software, express or
+ * implied, including the implied warranties of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. You should have received a copy of GPLv2
+ * along with this software; if not, see
+ * http://www.gnu.org/licenses/old-licenses/gpl-2.0.txt.
+ *
+ * Red Hat trademarks are not licensed under GPLv2. No permission is
+ * granted to use or replicate Red Hat trademarks that are incorporated
+ * in this software or its documentation.
+ */
+
+package com.redhat.satellite.search.index;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A Lucene index kept open for the lifetime of the search server.
+ *
+ * The index has a single long-lived writer, committed every <code>commitInterval</code>
+ * changes and before searching, and a shared searcher which is only reopened after the
+ * writer committed changes. Searchers are reference counted, so a reopen never closes
+ * a reader which is still in use by a running query.
+ *
+ * @version $Rev$
+ */
+class ManagedIndex {
+
+    private static Logger log = LogManager.getLogger(ManagedIndex.class);
+
+    private final String name;
+    private final String path;
+    private final Analyzer analyzer;
+    private final int commitInterval;
+
+    private Directory directory;
+    private IndexWriter writer;
+    private int uncommitted = 0;
+    private boolean stale = true;
+    private SearcherReference current;
+
+    // statistics
+    private long queries = 0;
+    private long queryNanos = 0;
+    private long maxQueryNanos = 0;
+    private long reopens = 0;
+    private long reopenNanos = 0;
+    private long commits = 0;
+
+    /**
+     * A searcher shared by concurrent queries
+     */
+    static final class SearcherReference {
+        private final IndexReader reader;
+        private final IndexSearcher searcher;
+        private int refs = 1;
+
+        private SearcherReference(IndexReader readerIn) {
+            reader = readerIn;
+            searcher = new IndexSearcher(readerIn);
+        }
+
+        /**
+         * @return the reader of the searcher
+         */
+        IndexReader getReader() {
+            return reader;
+        }
+
+        /**
+         * @return the searcher
+         */
+        IndexSearcher getSearcher() {
+            return searcher;
+        }
+    }
+
+    /**
+     * Constructor
+     * @param nameIn index name
+     * @param pathIn directory of the index
+     * @param analyzerIn analyzer used to write documents
+     * @param commitIntervalIn number of changes after which the writer commits
+     */
+    ManagedIndex(String nameIn, String pathIn, Analyzer analyzerIn, int commitIntervalIn) {
+        name = nameIn;
+        path = pathIn;
+        analyzer = analyzerIn;
+        commitInterval = Math.max(1, commitIntervalIn);
+    }
+
+    /**
+     * Get a searcher seeing all the changes made so far. The searcher must be
+     * given back with {@link #release(SearcherReference)}.
+     * @return the searcher
+     * @throws IOException if the index cannot be opened
+     */
+    synchronized SearcherReference acquire() throws IOException {
+        if (uncommitted > 0) {
+            commit();
+        }
+        if (current == null || stale) {
+            long start = System.nanoTime();
+            IndexReader reader;
+            if (current == null) {
+                reader = IndexReader.open(getDirectory());
+            }
+            else {
+                reader = current.reader.reopen();
+            }
+            if (current == null || reader != current.reader) {
+                SearcherReference previous = current;
+                current = new SearcherReference(reader);
+                if (previous != null) {
+                    release(previous);
+                }
+                reopens++;
+                reopenNanos += System.nanoTime() - start;
+                if (log.isDebugEnabled()) {
+                    log.debug("Reopened index <" + name + "> in " +
+                            (System.nanoTime() - start) / 1000000 + "ms");
+                }
+            }
+            stale = false;
+        }
+        current.refs++;
+        return current;
+    }
+
+    /**
+     * Give back a searcher obtained with {@link #acquire()}
+     * @param ref the searcher
+     * @throws IOException if closing an outdated searcher fails
+     */
+    synchronized void release(SearcherReference ref) throws IOException {
+        ref.refs--;
+        if (ref.refs == 0) {
+            ref.searcher.close();
+            ref.reader.close();
+        }
+    }
+
+    /**
+     * Record the duration of a query
+     * @param nanos the duration in nanoseconds
+     */
+    synchronized void recordQuery(long nanos) {
+        queries++;
+        queryNanos += nanos;
+        maxQueryNanos = Math.max(maxQueryNanos, nanos);
+    }
+
+    /**
+     * Add a document to the index
+     * @param doc the document
+     * @throws IOException if writing fails
+     */
+    synchronized void addDocument(Document doc) throws IOException {
+        getWriter().addDocument(doc);
+        changed();
+    }
+
+    /**
+     * Replace all the documents containing the given term with a document
+     * @param term the term identifying the document
+     * @param doc the document
+     * @throws IOException if writing fails
+     */
+    synchronized void updateDocument(Term term, Document doc) throws IOException {
+        getWriter().updateDocument(term, doc);
+        changed();
+    }
+
+    /**
+     * Remove all the documents containing the given term
+     * @param term the term identifying the documents
+     * @throws IOException if writing fails
+     */
+    synchronized void deleteDocuments(Term term) throws IOException {
+        getWriter().deleteDocuments(term);
+        changed();
+    }
+
+    /**
+     * Commit the pending changes, creating the index if it does not exist yet
+     * @throws IOException if writing fails
+     */
+    synchronized void commit() throws IOException {
+        getWriter().commit();
+        uncommitted = 0;
+        stale = true;
+        commits++;
+    }
+
+    /**
+     * Commit the pending changes and close the writer and the searcher
+     * @throws IOException if writing fails
+     */
+    synchronized void close() throws IOException {
+        try {
+            if (writer != null) {
+                writer.close();
+                writer = null;
+            }
+        }
+        finally {
+            if (current != null) {
+                release(current);
+                current = null;
+            }
+        }
+    }
+
+    /**
+     * @return query, reopen and commit statistics of this index
+     */
+    synchronized Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<String, Object>();
+        stats.put("queries", (int) queries);
+        stats.put("query_time_avg_ms", queries == 0 ? 0.0 : queryNanos / 1e6 / queries);
+        stats.put("query_time_max_ms", maxQueryNanos / 1e6);
+        stats.put("reopens", (int) reopens);
+        stats.put("reopen_time_avg_ms", reopens == 0 ? 0.0 : reopenNanos / 1e6 / reopens);
+        stats.put("commits", (int) commits);
+        return stats;
+    }
+
+    private void changed() throws IOException {
+        uncommitted++;
+        if (uncommitted >= commitInterval) {
+            commit();
+        }
+    }
+
+    private IndexWriter getWriter() throws IOException {
+        if (writer == null) {
+            new File(path).mkdirs();
+            Directory dir = getDirectory();
+            // a lock left behind by a previous run of the server
+            if (IndexWriter.isLocked(dir)) {
+                IndexWriter.unlock(dir);
+            }
+            writer = new IndexWriter(dir, analyzer, IndexWriter.MaxFieldLength.LIMITED);
+            writer.setUseCompoundFile(true);
+        }
+        return writer;
+    }
+
+    private synchronized Directory getDirectory() throws IOException {
+        if (directory == null) {
+            directory = FSDirectory.getDirectory(new File(path));
+        }
+        return directory;
+    }
+}
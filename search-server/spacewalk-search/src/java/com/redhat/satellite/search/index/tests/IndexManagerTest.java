@@ -57,6 +57,31 @@ public class IndexManagerTest extends BaseTestCase {
         assertTrue(results.size() >= 1);
     }
 
+    public void testUniqueIndexingReusesSearcher()
+        throws IndexingException, QueryParseException {
+
+        String index = "bar";
+        Map<String, String> meta = new HashMap<String, String>();
+        meta.put("name", "bar");
+        meta.put("desc", "A really nice bar");
+        meta.put("size", "12345");
+        meta.put("dateCreated", "7/13/2007");
+        DocumentBuilder pdb = new PackageDocumentBuilder();
+        indexManager.addUniqueToIndex(index, pdb.buildDocument(new Long(456), meta),
+                "id", "en");
+        indexManager.addUniqueToIndex(index, pdb.buildDocument(new Long(456), meta),
+                "id", "en");
+        indexManager.commitIndex(index);
+
+        assertEquals(1, indexManager.search(index, "name:bar", "en").size());
+        assertEquals(1, indexManager.search(index, "desc:really", "en").size());
+
+        Map<String, Object> stats = indexManager.getStatistics().get(index);
+        assertEquals(2, stats.get("queries"));
+        // both queries are served by the same searcher
+        assertEquals(1, stats.get("reopens"));
+    }
+
 
     @SuppressWarnings("unchecked")
     @Override
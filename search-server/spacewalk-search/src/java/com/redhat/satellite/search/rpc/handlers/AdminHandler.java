@@ -22,6 +22,8 @@ import com.redhat.satellite.search.scheduler.ScheduleManager;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.Map;
+
 /**
  * XML-RPC handler which handles calls for administration
  * Updating indexes maybe more tasks later
@@ -31,6 +33,7 @@ import org.apache.logging.log4j.Logger;
 public class AdminHandler {
 
     private static Logger log = LogManager.getLogger(AdminHandler.class);
+    private IndexManager indexManager;
     private ScheduleManager scheduleManager;
 
     /**
@@ -42,6 +45,7 @@ public class AdminHandler {
     public AdminHandler(IndexManager idxManager, DatabaseManager dbMgr,
             ScheduleManager schedMgr) {
         log.info("** AdminHandler constructor invoked");
+        indexManager = idxManager;
         scheduleManager = schedMgr;
     }
     /**
@@ -56,4 +60,13 @@ public class AdminHandler {
         }
         return scheduleManager.triggerIndexTask(indexName);
     }
+
+    /**
+     * Returns the query latency, searcher reopen and commit statistics of each index
+     *
+     * @return statistics by index name
+     */
+    public Map<String, Map<String, Object>> getIndexStatistics() {
+        return indexManager.getStatistics();
+    }
 }
@@ -72,7 +72,9 @@ public abstract class GenericIndexTask implements StatefulJob {
                 GenericRecord current = iter.next();
                 indexRecord(indexManager, current);
                 count++;
-                if (count == 10 || !iter.hasNext()) {
+                if (count == 100 || !iter.hasNext()) {
+                    // make the indexed documents durable before recording the progress
+                    indexManager.commitIndex(getIndexName());
                     if (System.getProperties().get("isTesting") == null) {
                         updateLastRecord(databaseManager, current.getId());
                     }
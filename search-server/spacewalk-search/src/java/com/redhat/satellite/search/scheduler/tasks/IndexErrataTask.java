@@ -67,7 +67,9 @@ public class IndexErrataTask implements Job {
                 Errata current = iter.next();
                 indexErrata(indexManager, current);
                 count++;
-                if (count == 10 || !iter.hasNext()) {
+                if (count == 100 || !iter.hasNext()) {
+                    // make the indexed documents durable before recording the progress
+                    indexManager.commitIndex("errata");
                     if (System.getProperties().get("isTesting") == null) {
                         updateLastErrataId(databaseManager, current.getId());
                     }
@@ -69,7 +69,9 @@ public class IndexPackagesTask implements Job {
                 RhnPackage current = iter.next();
                 indexPackage(indexManager, current);
                 count++;
-                if (count == 10 || !iter.hasNext()) {
+                if (count == 100 || !iter.hasNext()) {
+                    // make the indexed documents durable before recording the progress
+                    indexManager.commitIndex("package");
                     if (System.getProperties().get("isTesting") == null) {
                         updateLastPackageId(databaseManager, current.getId());
                     }